@@ -0,0 +1,243 @@
+package io.github.siddharth177.bootcommons.benchmarks;
+
+import io.github.siddharth177.bootcommons.aop.annotations.HandleException;
+import io.github.siddharth177.bootcommons.aop.annotations.Loggable;
+import io.github.siddharth177.bootcommons.aop.annotations.ThrowIf;
+import io.github.siddharth177.bootcommons.aop.annotations.Timed;
+import io.github.siddharth177.bootcommons.aop.aspects.ExceptionAspect;
+import io.github.siddharth177.bootcommons.aop.aspects.LoggingAspect;
+import io.github.siddharth177.bootcommons.aop.aspects.TimingAspect;
+import io.github.siddharth177.bootcommons.aop.logging.AsyncLogWriter;
+import io.github.siddharth177.bootcommons.aop.timing.TimingRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.event.Level;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of the library's aspects by calling the same methods directly and through an
+ * AspectJ proxy. {@code proxiedPlain} isolates the cost of the proxy itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AspectBenchmark {
+
+    private Target direct;
+    private Target proxied;
+    private AsyncLogWriter logWriter;
+    private int argument = 42;
+
+    /**
+     * Default constructor for {@code AspectBenchmark}.
+     */
+    public AspectBenchmark() {
+        // Default constructor
+    }
+
+    /**
+     * Creates the target and its proxy with all aspects applied.
+     */
+    @Setup
+    public void setUp() {
+        direct = new Target();
+        logWriter = new AsyncLogWriter(true, 8192);
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(logWriter));
+        factory.addAspect(new TimingAspect(new TimingRegistry()));
+        factory.addAspect(new ExceptionAspect());
+        proxied = factory.getProxy();
+    }
+
+    /**
+     * Stops the log writer.
+     */
+    @TearDown
+    public void tearDown() {
+        logWriter.close();
+    }
+
+    /**
+     * Calls the target without a proxy.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int direct() {
+        return direct.plain(argument);
+    }
+
+    /**
+     * Calls an unadvised method through the proxy.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int proxiedPlain() {
+        return proxied.plain(argument);
+    }
+
+    /**
+     * Calls a {@code @Loggable} method whose level is enabled.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int loggable() {
+        return proxied.logged(argument);
+    }
+
+    /**
+     * Calls a {@code @Loggable} method whose level is disabled.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int loggableDisabled() {
+        return proxied.loggedAtTrace(argument);
+    }
+
+    /**
+     * Calls a {@code @Loggable} method that logs one call in a hundred.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int loggableSampled() {
+        return proxied.loggedSampled(argument);
+    }
+
+    /**
+     * Calls a {@code @Timed} method.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int timed() {
+        return proxied.timed(argument);
+    }
+
+    /**
+     * Calls a {@code @ThrowIf} method whose condition is not met.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int throwIf() {
+        return proxied.checked(argument);
+    }
+
+    /**
+     * Calls a {@code @HandleException} method that does not throw.
+     *
+     * @return The result.
+     */
+    @Benchmark
+    public int handleException() {
+        return proxied.handled(argument);
+    }
+
+    /**
+     * The advised class. Each method does the same trivial work.
+     */
+    public static class Target {
+
+        /**
+         * Default constructor for {@code Target}.
+         */
+        public Target() {
+            // Default constructor
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        public int plain(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @Loggable
+        public int logged(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @Loggable(level = Level.TRACE)
+        public int loggedAtTrace(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @Loggable(sampleRate = 0.01)
+        public int loggedSampled(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @Timed
+        public int timed(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @ThrowIf(expression = "#returnValue < 0", exception = IllegalStateException.class)
+        public int checked(int value) {
+            return value + 1;
+        }
+
+        /**
+         * Returns the argument plus one.
+         *
+         * @param value The argument.
+         * @return The argument plus one.
+         */
+        @HandleException
+        public int handled(int value) {
+            return value + 1;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.siddharth177.bootcommons.benchmarks;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+import io.github.siddharth177.bootcommons.services.cache.BoundedCacheService;
+import io.github.siddharth177.bootcommons.services.cache.CacheBackend;
+import io.github.siddharth177.bootcommons.services.cache.CacheSpec;
+import io.github.siddharth177.bootcommons.services.cache.LocalInvalidationBus;
+import io.github.siddharth177.bootcommons.services.cache.OffHeapCacheService;
+import io.github.siddharth177.bootcommons.services.cache.OffHeapCacheSpec;
+import io.github.siddharth177.bootcommons.services.cache.SimpleKeySerializer;
+import io.github.siddharth177.bootcommons.services.cache.TieredCacheService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of each {@link CacheService} backend under contention, with eight threads
+ * sharing one cache. {@code readHeavy} runs seven readers against one writer and {@code balanced}
+ * runs four of each. Keys are drawn uniformly from a key space that fits in the cache, so reads
+ * mostly hit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class CacheServiceBenchmark {
+
+    @Param({"HEAP", "OFF_HEAP", "TIERED"})
+    private CacheBackend backend;
+
+    @Param({"10000"})
+    private int keys;
+
+    private CacheService<Integer, String> cache;
+    private String[] values;
+
+    /**
+     * Default constructor for {@code CacheServiceBenchmark}.
+     */
+    public CacheServiceBenchmark() {
+        // Default constructor
+    }
+
+    /**
+     * Creates the cache and fills it with every key.
+     */
+    @Setup
+    public void setUp() {
+        cache = switch (backend) {
+            case HEAP -> heapCache(keys);
+            case OFF_HEAP -> offHeapCache();
+            case TIERED -> TieredCacheService.of("benchmark", Integer.class, heapCache(keys / 10), offHeapCache(),
+                    new LocalInvalidationBus(), new SimpleKeySerializer<>());
+        };
+        values = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            values[i] = "value-" + i;
+            cache.save(i, values[i]);
+        }
+    }
+
+    /**
+     * Closes the cache if it holds resources.
+     *
+     * @throws Exception If the cache cannot be closed.
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        if (cache instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * A reader in the read-heavy mix.
+     *
+     * @param random The thread's random key source.
+     * @return The cached value.
+     */
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(7)
+    public String readHeavyGet(ThreadRandom random) {
+        return cache.get(random.nextKey(keys));
+    }
+
+    /**
+     * The writer in the read-heavy mix.
+     *
+     * @param random The thread's random key source.
+     * @return The previous value.
+     */
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public String readHeavySave(ThreadRandom random) {
+        int key = random.nextKey(keys);
+        return cache.save(key, values[key]);
+    }
+
+    /**
+     * A reader in the balanced mix.
+     *
+     * @param random The thread's random key source.
+     * @return The cached value.
+     */
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public String balancedGet(ThreadRandom random) {
+        return cache.get(random.nextKey(keys));
+    }
+
+    /**
+     * A writer in the balanced mix.
+     *
+     * @param random The thread's random key source.
+     * @return The previous value.
+     */
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(4)
+    public String balancedSave(ThreadRandom random) {
+        int key = random.nextKey(keys);
+        return cache.save(key, values[key]);
+    }
+
+    private static CacheService<Integer, String> heapCache(long maximumSize) {
+        return new BoundedCacheService<>(CacheSpec.<Integer, String>builder().maximumSize(maximumSize).build());
+    }
+
+    private static CacheService<Integer, String> offHeapCache() {
+        return new OffHeapCacheService<>(OffHeapCacheSpec.<Integer, String>builder()
+                .capacity(64L << 20)
+                .slabSize(1 << 20)
+                .build());
+    }
+
+    /**
+     * A per-thread source of random keys, so threads do not contend on the generator.
+     */
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        /**
+         * Default constructor for {@code ThreadRandom}.
+         */
+        public ThreadRandom() {
+            // Default constructor
+        }
+
+        int nextKey(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+}
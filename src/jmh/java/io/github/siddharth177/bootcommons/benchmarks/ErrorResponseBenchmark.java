@@ -0,0 +1,116 @@
+package io.github.siddharth177.bootcommons.benchmarks;
+
+import io.github.siddharth177.bootcommons.exceptions.ApiError;
+import io.github.siddharth177.bootcommons.exceptions.ApiErrorWriter;
+import io.github.siddharth177.bootcommons.exceptions.ErrorResponse;
+import io.github.siddharth177.bootcommons.exceptions.ResourceNotFoundException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating and throwing the library's business exceptions, with and without a
+ * stack trace, and of writing the resulting error body. {@code depth} adds frames below the benchmark
+ * method, since capturing a stack trace costs more on a deep stack such as a Spring MVC request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ErrorResponseBenchmark {
+
+    private static final String MESSAGE = "Resource not found with id 42";
+
+    @Param({"false", "true"})
+    private boolean stackless;
+
+    @Param({"0", "100"})
+    private int depth;
+
+    private final ApiErrorWriter writer = new ApiErrorWriter();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+    /**
+     * Default constructor for {@code ErrorResponseBenchmark}.
+     */
+    public ErrorResponseBenchmark() {
+        // Default constructor
+    }
+
+    /**
+     * Creates an {@link ErrorResponse}.
+     *
+     * @return The exception.
+     */
+    @Benchmark
+    public ErrorResponse createErrorResponse() {
+        return createAt(depth);
+    }
+
+    /**
+     * Creates a {@link ResourceNotFoundException}.
+     *
+     * @return The exception.
+     */
+    @Benchmark
+    public ResourceNotFoundException createResourceNotFound() {
+        return resourceNotFoundAt(depth);
+    }
+
+    /**
+     * Throws an {@link ErrorResponse} from {@code depth} frames down and catches it.
+     *
+     * @return The caught exception's status code.
+     */
+    @Benchmark
+    public int throwAndCatch() {
+        try {
+            throwAt(depth);
+            return 0;
+        } catch (ErrorResponse e) {
+            return e.getStatusCode();
+        }
+    }
+
+    /**
+     * Creates an {@link ErrorResponse} and writes its body, as the exception handler does.
+     *
+     * @return The number of bytes written.
+     * @throws IOException Never; the body is written to memory.
+     */
+    @Benchmark
+    public int writeApiError() throws IOException {
+        buffer.reset();
+        writer.write(ApiError.of(createAt(depth)), buffer);
+        return buffer.size();
+    }
+
+    private ErrorResponse createAt(int frames) {
+        return frames == 0 ? new ErrorResponse(HttpStatus.NOT_FOUND, MESSAGE, null, stackless) : createAt(frames - 1);
+    }
+
+    private ResourceNotFoundException resourceNotFoundAt(int frames) {
+        return frames == 0 ? new ResourceNotFoundException(MESSAGE, stackless) : resourceNotFoundAt(frames - 1);
+    }
+
+    private void throwAt(int frames) {
+        if (frames == 0) {
+            throw new ErrorResponse(HttpStatus.NOT_FOUND, MESSAGE, null, stackless);
+        }
+        throwAt(frames - 1);
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.siddharth177.bootcommons.benchmarks;
+
+import io.github.siddharth177.bootcommons.benchmarks.rest.BenchmarkApplication;
+import io.github.siddharth177.bootcommons.benchmarks.rest.Product;
+import io.github.siddharth177.bootcommons.benchmarks.rest.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Measures requests to a {@link io.github.siddharth177.bootcommons.controller.GenericRestController}
+ * through {@link MockMvc}, including JSON serialization and the queries against an in-memory H2
+ * database holding 1,000 products. No web server is started and no HTTP connection is involved.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestControllerBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private long productId;
+    private byte[] newProduct;
+
+    /**
+     * Default constructor for {@code RestControllerBenchmark}.
+     */
+    public RestControllerBenchmark() {
+        // Default constructor
+    }
+
+    /**
+     * Starts the application in a mock servlet environment, without a web server, and stores the products.
+     */
+    @Setup
+    public void setUp() {
+        MockServletContext servletContext = new MockServletContext();
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .contextFactory(type -> new GenericWebApplicationContext(servletContext))
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.open-in-view=false")
+                .run();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        List<Product> products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setDescription("Description of product " + i);
+            product.setPrice(BigDecimal.valueOf(i, 2));
+            product.setQuantity(i);
+            products.add(product);
+        }
+        productId = context.getBean(ProductRepository.class).saveAll(products).get(PRODUCTS / 2).getId();
+        newProduct = "{\"name\":\"New product\",\"description\":\"Created by the benchmark\",\"price\":9.99,\"quantity\":1}"
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stops the application.
+     */
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Reads one product.
+     *
+     * @return The response body.
+     * @throws Exception If the request fails.
+     */
+    @Benchmark
+    public byte[] getById() throws Exception {
+        return mockMvc.perform(get("/api/products/{id}", productId))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Reads the first page of 100 products.
+     *
+     * @return The response body.
+     * @throws Exception If the request fails.
+     */
+    @Benchmark
+    public byte[] getPage() throws Exception {
+        return mockMvc.perform(get("/api/products").param("page", "0").param("size", "100"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Reads two fields of the first page of 100 products.
+     *
+     * @return The response body.
+     * @throws Exception If the request fails.
+     */
+    @Benchmark
+    public byte[] getPageFields() throws Exception {
+        return mockMvc.perform(get("/api/products").param("fields", "name,price").param("page", "0").param("size", "100"))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Creates a product. The table grows during the run, which does not affect the other benchmarks.
+     *
+     * @return The response body.
+     * @throws Exception If the request fails.
+     */
+    @Benchmark
+    public byte[] create() throws Exception {
+        return mockMvc.perform(post("/api/products").contentType(MediaType.APPLICATION_JSON).content(newProduct))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.siddharth177.bootcommons.benchmarks.rest;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * The application started by the REST benchmarks. It scans only this package, and the library's
+ * auto-configurations apply as in any application that depends on it.
+ */
+@SpringBootApplication
+public class BenchmarkApplication {
+
+    /**
+     * Default constructor for {@code BenchmarkApplication}.
+     */
+    public BenchmarkApplication() {
+        // Default constructor
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.siddharth177.bootcommons.benchmarks.rest;
+
+import io.github.siddharth177.bootcommons.controller.GenericRestController;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The controller of {@link Product}.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductController extends GenericRestController<Product, Long> {
+
+    /**
+     * Constructs a new {@code ProductController}.
+     *
+     * @param service The service of {@link Product}.
+     */
+    public ProductController(ProductService service) {
+        super(service);
+    }
+}
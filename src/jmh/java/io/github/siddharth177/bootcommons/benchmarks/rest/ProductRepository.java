@@ -0,0 +1,11 @@
+package io.github.siddharth177.bootcommons.benchmarks.rest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The repository of {@link Product}.
+ */
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long> {
+}
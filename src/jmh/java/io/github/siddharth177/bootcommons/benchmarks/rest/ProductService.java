@@ -0,0 +1,20 @@
+package io.github.siddharth177.bootcommons.benchmarks.rest;
+
+import io.github.siddharth177.bootcommons.services.BaseService;
+import org.springframework.stereotype.Service;
+
+/**
+ * The service of {@link Product}.
+ */
+@Service
+public class ProductService extends BaseService<Product, Long> {
+
+    /**
+     * Constructs a new {@code ProductService}.
+     *
+     * @param repository The repository of {@link Product}.
+     */
+    public ProductService(ProductRepository repository) {
+        super(repository);
+    }
+}
@@ -28,6 +28,7 @@ import java.lang.annotation.Target;
  *
  * @see #statusCode()
  * @see #message()
+ * @see #stackless()
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -46,4 +47,34 @@ public @interface HandleException {
      * @return The error message.
      */
     String message() default "An unexpected error occurred.";
+
+    /**
+     * Whether the {@link ErrorResponse} is created without a stack trace, which makes throwing it
+     * much cheaper. The wrapped exception keeps its own stack trace.
+     *
+     * @return {@link Stackless#ALWAYS} or {@link Stackless#NEVER} to override
+     * {@code bootcommons.exceptions.stackless} for this method; {@link Stackless#DEFAULT} by default.
+     */
+    Stackless stackless() default Stackless.DEFAULT;
+
+    /**
+     * Whether an exception is created without a stack trace.
+     */
+    enum Stackless {
+
+        /**
+         * As set by {@code bootcommons.exceptions.stackless}.
+         */
+        DEFAULT,
+
+        /**
+         * Without a stack trace.
+         */
+        ALWAYS,
+
+        /**
+         * With a stack trace.
+         */
+        NEVER
+    }
 }
@@ -1,5 +1,7 @@
 package io.github.siddharth177.bootcommons.aop.annotations;
 
+import org.slf4j.event.Level;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -10,13 +12,25 @@ import java.lang.annotation.Target;
  * method entry, arguments, exit, and the return value. This is useful for debugging and tracing the
  * flow of an application without cluttering the code with logging statements.
  *
- * <p>The logging is performed at the INFO level. To control the log output, you can configure the
- * logging level for the class where the aspect is defined.</p>
+ * <p>The logging is performed at the {@link #level()}, INFO by default. To control the log output, you
+ * can configure the logging level for the class where the aspect is defined. Arguments and return
+ * values are only formatted if that level is enabled and the call is logged. They are formatted on the
+ * calling thread, when the method is entered and when it returns, and only the finished text is written
+ * on a background thread, see {@link io.github.siddharth177.bootcommons.aop.logging.AsyncLogWriter}.</p>
+ *
+ * <p>For immutable arguments and results, {@link #formatInBackground()} moves the formatting to the
+ * writer thread as well. It must not be used for values that the caller may change after the call, nor
+ * for JPA entities: the writer would read them after the method has returned, so a changed argument is
+ * logged with its new state, a collection changed meanwhile fails with a
+ * {@link java.util.ConcurrentModificationException} and a lazy association can no longer be loaded.</p>
+ *
+ * <p>On hot paths, {@link #sampleRate()} and {@link #maxPerSecond()} limit how many calls are logged,
+ * and {@link #maxArgLength()} and {@link #maxDepth()} limit how much of each value is written.</p>
  *
  * <p><b>Usage:</b></p>
  * <pre>
  * {@code
- * @Loggable
+ * @Loggable(level = Level.DEBUG, sampleRate = 0.01, maxArgLength = 200)
  * public String createUser(String username, String password) {
  *     // ... business logic
  *     return "user-created";
@@ -27,4 +41,52 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Loggable {
+
+    /**
+     * The level at which calls are logged.
+     *
+     * @return The level; INFO by default.
+     */
+    Level level() default Level.INFO;
+
+    /**
+     * The share of calls that are logged, for example {@code 0.01} for one call in a hundred, chosen at
+     * random. The entry and exit of a call are always logged together.
+     *
+     * @return The sampling rate between {@code 0} and {@code 1}; {@code 1} by default.
+     */
+    double sampleRate() default 1.0;
+
+    /**
+     * The maximum number of calls logged per second. Further calls in the same second are counted and
+     * the count is logged with the next logged call.
+     *
+     * @return The limit, or {@code 0} for no limit.
+     */
+    int maxPerSecond() default 0;
+
+    /**
+     * The maximum number of characters written for each argument and for the return value. Longer
+     * values are cut off and end with {@code ...}.
+     *
+     * @return The maximum length, or a negative value for no limit; 1,000 by default.
+     */
+    int maxArgLength() default 1000;
+
+    /**
+     * The number of nested arrays, collections and maps whose elements are written. Deeper ones are
+     * written as their type and size.
+     *
+     * @return The maximum depth; 3 by default.
+     */
+    int maxDepth() default 3;
+
+    /**
+     * Whether arguments and the return value are formatted on the background writer thread, after the
+     * caller has moved on. Only safe for immutable values. When {@code false}, they are formatted on the
+     * calling thread and only the finished text is written in the background.
+     *
+     * @return {@code false} by default.
+     */
+    boolean formatInBackground() default false;
 }
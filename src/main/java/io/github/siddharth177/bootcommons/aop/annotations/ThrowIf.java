@@ -30,6 +30,8 @@ import java.lang.annotation.Target;
  * @see #expression()
  * @see #exception()
  * @see #message()
+ * @see #stackless()
+ * @see #readOnly()
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -39,13 +41,17 @@ public @interface ThrowIf {
      * The SpEL expression to evaluate against the method's return value. The return value
      * can be accessed in the expression using the name {@code #returnValue}.
      *
+     * <p>The expression is parsed once and compiled after its first evaluation. It may use the whole of
+     * SpEL, including type references such as {@code T(java.util.Objects)} and bean references such as
+     * {@code @userService}, unless {@link #readOnly()} is set.</p>
+     *
      * @return The SpEL expression.
      */
     String expression();
 
     /**
      * The type of exception to throw if the SpEL expression evaluates to {@code true}.
-     * The exception class must have a constructor that accepts a single {@link String} message.
+     * The exception class must have a public constructor that accepts a single {@link String} message.
      *
      * @return The exception class.
      */
@@ -57,4 +63,32 @@ public @interface ThrowIf {
      * @return The exception message.
      */
     String message() default "Condition evaluated to true, throwing exception.";
+
+    /**
+     * Whether to throw the exception without a stack trace. This suits exceptions that signal an
+     * expected outcome.
+     *
+     * <p>If the exception class has a public {@code (String, Throwable, boolean, boolean)} constructor,
+     * like {@link RuntimeException}'s protected one, the exception is created once with suppression and
+     * the stack trace disabled, and that instance is thrown every time, which makes throwing almost free.
+     * Otherwise a new exception is created for each throw and its stack trace is cleared; this saves
+     * only on the size of the exception.</p>
+     *
+     * <p>{@link io.github.siddharth177.bootcommons.exceptions.ResourceNotFoundException} is also created
+     * without a stack trace when {@code bootcommons.exceptions.stackless=true}.</p>
+     *
+     * @return {@code true} to throw a stackless exception; {@code false} by default.
+     */
+    boolean stackless() default false;
+
+    /**
+     * Whether to evaluate the expression in a read-only
+     * {@link org.springframework.expression.spel.support.SimpleEvaluationContext}. The expression may then
+     * only read properties and call methods, and cannot use type references, constructors, bean
+     * references or assignments, which suits expressions that should not reach beyond the return value.
+     * It also saves creating an evaluation context per call.
+     *
+     * @return {@code true} for a read-only context; {@code false} by default.
+     */
+    boolean readOnly() default false;
 }
@@ -4,16 +4,23 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
 
 /**
- * An annotation that, when applied to a method, logs the execution time of that method.
- * This is particularly useful for performance monitoring and identifying bottlenecks in
- * an application. The execution time is logged in milliseconds at the INFO level.
+ * An annotation that, when applied to a method, records the execution time of every call into a
+ * latency histogram for that method. This is particularly useful for performance monitoring and
+ * identifying bottlenecks in an application.
+ *
+ * <p>Times are measured with {@link System#nanoTime()}. Percentiles, the maximum and the
+ * {@link #buckets()} counts are available from
+ * {@link io.github.siddharth177.bootcommons.aop.timing.TimingRegistry} and, if Micrometer is on the
+ * classpath, as meters. Individual calls are logged at DEBUG level; only calls slower than
+ * {@link #slowThreshold()} or {@link #slowPercentile()} are logged at WARN level.</p>
  *
  * <p><b>Usage:</b></p>
  * <pre>
  * {@code
- * @Timed
+ * @Timed(buckets = {10, 50, 250}, slowThreshold = 500)
  * public void processData() {
  *     // ... time-consuming operation
  * }
@@ -23,4 +30,35 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Timed {
+
+    /**
+     * The unit of {@link #buckets()} and {@link #slowThreshold()}.
+     *
+     * @return The time unit; milliseconds by default.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * The upper bounds of service-level buckets, for example {@code {10, 50, 250}}. For each bound,
+     * the number of calls that took at most that long is reported.
+     *
+     * @return The bucket bounds in {@link #unit()}; none by default.
+     */
+    long[] buckets() default {};
+
+    /**
+     * Calls that take longer than this are logged at WARN level.
+     *
+     * @return The threshold in {@link #unit()}, or a negative value to disable it.
+     */
+    long slowThreshold() default -1;
+
+    /**
+     * Calls slower than this percentile of the method's recorded latencies, for example {@code 99.9},
+     * are logged at WARN level. The cutoff is recomputed once a second and only applied once the
+     * method has been called 1,000 times.
+     *
+     * @return The percentile between {@code 0} and {@code 100}, or {@code 0} to disable it.
+     */
+    double slowPercentile() default 0;
 }
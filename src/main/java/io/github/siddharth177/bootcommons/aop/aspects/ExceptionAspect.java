@@ -2,19 +2,46 @@ package io.github.siddharth177.bootcommons.aop.aspects;
 
 import io.github.siddharth177.bootcommons.aop.annotations.HandleException;
 import io.github.siddharth177.bootcommons.aop.annotations.ThrowIf;
+import io.github.siddharth177.bootcommons.configs.ExceptionsProperties;
 import io.github.siddharth177.bootcommons.exceptions.ErrorResponse;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.expression.ExpressionParser;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.ConstructorResolver;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.IndexAccessor;
+import org.springframework.expression.MethodResolver;
+import org.springframework.expression.OperatorOverloader;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypeComparator;
+import org.springframework.expression.TypeConverter;
+import org.springframework.expression.TypeLocator;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * An aspect that provides advanced exception handling capabilities. It is responsible for
@@ -27,13 +54,57 @@ import java.lang.reflect.Constructor;
  *     <li><b>Conditional Exception Throwing:</b> Conditionally throws exceptions based on a SpEL expression
  *     evaluated against the return value of methods annotated with {@code @ThrowIf}.</li>
  * </ul>
+ *
+ * <p>The expression of each {@code @ThrowIf} method is parsed once and compiled to bytecode after its
+ * first evaluation. The exception constructor is looked up once as well, and with
+ * {@code @ThrowIf(stackless = true)} the exception itself is created once if its class allows
+ * suppression to be disabled.</p>
  */
 @Aspect
 @Component
-public class ExceptionAspect {
+public class ExceptionAspect implements BeanFactoryAware {
 
     private static final Logger logger = LoggerFactory.getLogger(ExceptionAspect.class);
-    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private static final String RETURN_VALUE_VARIABLE = "returnValue";
+    private static final MethodType EXCEPTION_CONSTRUCTOR = MethodType.methodType(Throwable.class, String.class);
+    private static final MethodType STACKLESS_CONSTRUCTOR =
+            MethodType.methodType(Throwable.class, String.class, Throwable.class, boolean.class, boolean.class);
+
+    private final EvaluationContext readOnlyContext = SimpleEvaluationContext.forReadOnlyDataBinding()
+            .withInstanceMethods()
+            .build();
+    private final StandardEvaluationContext standardContext = new StandardEvaluationContext();
+    private final Map<Method, ThrowIfRule> rules = new ConcurrentHashMap<>();
+    private ExceptionsProperties exceptionsProperties = new ExceptionsProperties();
+
+    /**
+     * Default constructor for {@code ExceptionAspect}.
+     */
+    public ExceptionAspect() {
+        // Default constructor
+    }
+
+    /**
+     * Applies {@code bootcommons.exceptions.stackless} to {@code @HandleException} methods that do not
+     * choose for themselves. It is injected automatically if the properties are bound.
+     *
+     * @param exceptionsProperties The exception settings.
+     */
+    @Autowired(required = false)
+    public void setExceptionsProperties(ExceptionsProperties exceptionsProperties) {
+        this.exceptionsProperties = exceptionsProperties;
+    }
+
+    /**
+     * Lets {@code @ThrowIf} expressions refer to beans as {@code @beanName}.
+     *
+     * @param beanFactory The bean factory of the application context.
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        standardContext.setBeanResolver(new BeanFactoryResolver(beanFactory));
+    }
 
     /**
      * An after-throwing advice that catches exceptions from methods annotated with {@code @HandleException},
@@ -48,7 +119,12 @@ public class ExceptionAspect {
         String methodName = joinPoint.getSignature().toShortString();
         logger.error("Exception in method: {}. Details: {}", methodName, ex.getMessage(), ex);
 
-        throw new ErrorResponse(handleException.statusCode(), handleException.message(), ex);
+        boolean skipStackTrace = switch (handleException.stackless()) {
+            case ALWAYS -> true;
+            case NEVER -> false;
+            case DEFAULT -> exceptionsProperties.isStackless();
+        };
+        throw new ErrorResponse(handleException.statusCode(), handleException.message(), ex, skipStackTrace);
     }
 
     /**
@@ -62,22 +138,177 @@ public class ExceptionAspect {
      */
     @AfterReturning(pointcut = "@annotation(throwIf)", returning = "returnValue")
     public void throwIf(JoinPoint joinPoint, ThrowIf throwIf, Object returnValue) throws Throwable {
-        StandardEvaluationContext context = new StandardEvaluationContext();
-        context.setVariable("returnValue", returnValue);
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        ThrowIfRule rule = rules.get(method);
+        if (rule == null) {
+            rule = rules.computeIfAbsent(method, key -> new ThrowIfRule(key, throwIf));
+        }
 
-        boolean shouldThrow = Boolean.TRUE.equals(parser.parseExpression(throwIf.expression()).getValue(context, Boolean.class));
+        boolean shouldThrow = Boolean.TRUE.equals(rule.expression.getValue(context(rule, returnValue), Boolean.class));
 
         if (shouldThrow) {
-            Class<? extends Throwable> exceptionClass = throwIf.exception();
-            String message = throwIf.message();
+            throw rule.exception();
+        }
+    }
+
+    private EvaluationContext context(ThrowIfRule rule, Object returnValue) {
+        if (rule.readOnly) {
+            return new ReturnValueContext(readOnlyContext, returnValue);
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        standardContext.applyDelegatesTo(context);
+        context.setVariable(RETURN_VALUE_VARIABLE, returnValue);
+        return context;
+    }
+
+    private static final class ThrowIfRule {
+
+        private final Expression expression;
+        private final boolean readOnly;
+        private final Class<? extends Throwable> exceptionClass;
+        private final String message;
+        private final boolean stackless;
+        private final MethodHandle constructor;
+        private final Throwable preallocated;
+
+        private ThrowIfRule(Method method, ThrowIf throwIf) {
+            SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.MIXED,
+                    method.getDeclaringClass().getClassLoader());
+            this.expression = new SpelExpressionParser(configuration).parseExpression(throwIf.expression());
+            this.readOnly = throwIf.readOnly();
+            this.exceptionClass = throwIf.exception();
+            this.message = throwIf.message();
+            this.stackless = throwIf.stackless();
+            MethodHandle handle = null;
+            try {
+                handle = MethodHandles.publicLookup()
+                        .findConstructor(exceptionClass, MethodType.methodType(void.class, String.class))
+                        .asType(EXCEPTION_CONSTRUCTOR);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                logger.error("Failed to find a public String constructor of exception type {}", exceptionClass.getName(), e);
+            }
+            this.constructor = handle;
+            this.preallocated = stackless ? preallocate() : null;
+        }
+
+        private Throwable exception() {
+            if (preallocated != null) {
+                return preallocated;
+            }
+            Throwable exception = newException();
+            if (stackless) {
+                exception.setStackTrace(new StackTraceElement[0]);
+            }
+            return exception;
+        }
+
+        /**
+         * Creates the shared instance through a public {@code (String, Throwable, boolean, boolean)}
+         * constructor, with suppression and the stack trace disabled, so throwing it from several threads
+         * leaves it unchanged. Without such a constructor, each throw creates a new instance instead.
+         */
+        private Throwable preallocate() {
             try {
-                Constructor<? extends Throwable> constructor = exceptionClass.getConstructor(String.class);
-                throw constructor.newInstance(message);
-            } catch (Exception e) {
+                MethodHandle handle = MethodHandles.publicLookup()
+                        .findConstructor(exceptionClass, MethodType.methodType(void.class, String.class, Throwable.class, boolean.class, boolean.class))
+                        .asType(STACKLESS_CONSTRUCTOR);
+                return (Throwable) handle.invokeExact(message, (Throwable) null, false, false);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                logger.debug("Exception type {} has no public constructor that disables suppression, creating one per throw",
+                        exceptionClass.getName());
+            } catch (Throwable e) {
                 logger.error("Failed to instantiate exception of type {}", exceptionClass.getName(), e);
-                // Fallback to a generic exception if instantiation fails
-                throw new RuntimeException("Condition met to throw exception, but failed to create the specified exception: " + message);
             }
+            return null;
+        }
+
+        private Throwable newException() {
+            if (constructor != null) {
+                try {
+                    return (Throwable) constructor.invokeExact(message);
+                } catch (Throwable e) {
+                    logger.error("Failed to instantiate exception of type {}", exceptionClass.getName(), e);
+                }
+            }
+            // Fallback to a generic exception if instantiation fails
+            return new RuntimeException("Condition met to throw exception, but failed to create the specified exception: " + message);
+        }
+    }
+
+    /**
+     * Exposes the return value as {@code #returnValue} and takes everything else from a shared,
+     * read-only {@link SimpleEvaluationContext}, so an evaluation only allocates this wrapper.
+     */
+    private record ReturnValueContext(EvaluationContext delegate, Object returnValue) implements EvaluationContext {
+
+        @Override
+        public TypedValue getRootObject() {
+            return delegate.getRootObject();
+        }
+
+        @Override
+        public List<PropertyAccessor> getPropertyAccessors() {
+            return delegate.getPropertyAccessors();
+        }
+
+        @Override
+        public List<IndexAccessor> getIndexAccessors() {
+            return delegate.getIndexAccessors();
+        }
+
+        @Override
+        public List<ConstructorResolver> getConstructorResolvers() {
+            return delegate.getConstructorResolvers();
+        }
+
+        @Override
+        public List<MethodResolver> getMethodResolvers() {
+            return delegate.getMethodResolvers();
+        }
+
+        @Override
+        public BeanResolver getBeanResolver() {
+            return delegate.getBeanResolver();
+        }
+
+        @Override
+        public TypeLocator getTypeLocator() {
+            return delegate.getTypeLocator();
+        }
+
+        @Override
+        public TypeConverter getTypeConverter() {
+            return delegate.getTypeConverter();
+        }
+
+        @Override
+        public TypeComparator getTypeComparator() {
+            return delegate.getTypeComparator();
+        }
+
+        @Override
+        public OperatorOverloader getOperatorOverloader() {
+            return delegate.getOperatorOverloader();
+        }
+
+        @Override
+        public TypedValue assignVariable(String name, Supplier<TypedValue> valueSupplier) {
+            throw new UnsupportedOperationException("Variables cannot be assigned in a @ThrowIf expression");
+        }
+
+        @Override
+        public void setVariable(String name, Object value) {
+            throw new UnsupportedOperationException("Variables cannot be set in a @ThrowIf expression");
+        }
+
+        @Override
+        public Object lookupVariable(String name) {
+            return RETURN_VALUE_VARIABLE.equals(name) ? returnValue : null;
+        }
+
+        @Override
+        public boolean isAssignmentEnabled() {
+            return false;
         }
     }
 }
@@ -1,20 +1,34 @@
 package io.github.siddharth177.bootcommons.aop.aspects;
 
+import io.github.siddharth177.bootcommons.aop.annotations.Loggable;
+import io.github.siddharth177.bootcommons.aop.logging.ArgumentFormatter;
+import io.github.siddharth177.bootcommons.aop.logging.AsyncLogWriter;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * An aspect that provides logging functionality for methods annotated with
  * {@link io.github.siddharth177.bootcommons.aop.annotations.Loggable}.
  *
  * <p>This aspect uses {@code @Around} advice to wrap the execution of annotated methods,
- * allowing it to log method entry, exit, arguments, and return values.</p>
+ * allowing it to log method entry, exit, arguments, and return values. The calling thread decides
+ * whether a call is logged and, only if it is, formats the arguments and return value; the
+ * {@link AsyncLogWriter} writes the log lines. With {@link Loggable#formatInBackground()}, the
+ * formatting is left to the writer as well.</p>
  */
 @Aspect
 @Component
@@ -22,25 +36,118 @@ public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
 
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AsyncLogWriter logWriter;
+    private final Map<Method, MethodLogger> methodLoggers = new ConcurrentHashMap<>();
+
     /**
-     * Around advice that logs the entry, exit, and execution time of a method
-     * annotated with {@code @Loggable}.
+     * Constructs a new {@code LoggingAspect}.
+     *
+     * @param logWriter The writer that formats and writes the log lines.
+     */
+    public LoggingAspect(AsyncLogWriter logWriter) {
+        this.logWriter = logWriter;
+    }
+
+    /**
+     * Around advice that logs the entry and exit of a method annotated with {@code @Loggable},
+     * if its level is enabled and the call is sampled and within the rate limit.
      *
      * @param joinPoint The proceeding join point.
+     * @param loggable  The annotation of the method.
      * @return The result of the method execution.
      * @throws Throwable If an error occurs during method execution.
      */
-    @Around("@annotation(io.github.siddharth177.bootcommons.aop.annotations.Loggable)")
-    public Object loggable(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] methodArgs = joinPoint.getArgs();
+    @Around("@annotation(loggable)")
+    public Object loggable(ProceedingJoinPoint joinPoint, Loggable loggable) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodLogger methodLogger = methodLoggers.get(method);
+        if (methodLogger == null) {
+            methodLogger = methodLoggers.computeIfAbsent(method, key -> new MethodLogger(joinPoint.getSignature().toShortString(), loggable));
+        }
+        if (!methodLogger.shouldLog()) {
+            return joinPoint.proceed();
+        }
 
-        logger.info("Entering method: {} with arguments: {}", methodName, Arrays.toString(methodArgs));
+        MethodLogger entered = methodLogger;
+        Object[] methodArgs = joinPoint.getArgs();
+        long suppressed = entered.takeSuppressed();
+        if (entered.formatInBackground) {
+            logWriter.submit(() -> entered.entering(entered.formatter.formatArgs(methodArgs), suppressed));
+        } else {
+            String formattedArgs = entered.formatter.formatArgs(methodArgs);
+            logWriter.submit(() -> entered.entering(formattedArgs, suppressed));
+        }
 
         Object result = joinPoint.proceed();
 
-        logger.info("Exiting method: {} with result: {}", methodName, result);
+        if (entered.formatInBackground) {
+            logWriter.submit(() -> entered.exiting(entered.formatter.format(result)));
+        } else {
+            String formattedResult = entered.formatter.format(result);
+            logWriter.submit(() -> entered.exiting(formattedResult));
+        }
 
         return result;
     }
+
+    private static final class MethodLogger {
+
+        private final String methodName;
+        private final Level level;
+        private final double sampleRate;
+        private final int maxPerSecond;
+        private final ArgumentFormatter formatter;
+        private final boolean formatInBackground;
+        private final AtomicLong window = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger logged = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        private MethodLogger(String methodName, Loggable loggable) {
+            this.methodName = methodName;
+            this.level = loggable.level();
+            this.sampleRate = loggable.sampleRate();
+            this.maxPerSecond = loggable.maxPerSecond();
+            this.formatter = new ArgumentFormatter(loggable.maxArgLength(), loggable.maxDepth());
+            this.formatInBackground = loggable.formatInBackground();
+        }
+
+        private boolean shouldLog() {
+            if (!logger.isEnabledForLevel(level)) {
+                return false;
+            }
+            if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return false;
+            }
+            if (maxPerSecond <= 0) {
+                return true;
+            }
+            long second = System.nanoTime() / NANOS_PER_SECOND;
+            long current = window.get();
+            if (second != current && window.compareAndSet(current, second)) {
+                logged.set(0);
+            }
+            if (logged.incrementAndGet() <= maxPerSecond) {
+                return true;
+            }
+            suppressed.incrementAndGet();
+            return false;
+        }
+
+        private long takeSuppressed() {
+            return maxPerSecond > 0 && suppressed.get() > 0 ? suppressed.getAndSet(0) : 0;
+        }
+
+        private void entering(String formattedArgs, long suppressedCalls) {
+            if (suppressedCalls > 0) {
+                logger.atLevel(level).log("Skipped logging {} calls to method: {} because of the rate limit", suppressedCalls, methodName);
+            }
+            logger.atLevel(level).log("Entering method: {} with arguments: {}", methodName, formattedArgs);
+        }
+
+        private void exiting(String formattedResult) {
+            logger.atLevel(level).log("Exiting method: {} with result: {}", methodName, formattedResult);
+        }
+    }
 }
@@ -1,18 +1,31 @@
 package io.github.siddharth177.bootcommons.aop.aspects;
 
+import io.github.siddharth177.bootcommons.aop.annotations.Timed;
+import io.github.siddharth177.bootcommons.aop.timing.LatencyHistogram;
+import io.github.siddharth177.bootcommons.aop.timing.LatencySnapshot;
+import io.github.siddharth177.bootcommons.aop.timing.TimingRegistry;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 /**
  * An aspect that provides timing functionality for methods annotated with
  * {@link io.github.siddharth177.bootcommons.aop.annotations.Timed}.
  *
- * <p>This aspect uses {@code @Around} advice to wrap the execution of annotated methods,
- * allowing it to log the execution time.</p>
+ * <p>This aspect uses {@code @Around} advice to wrap the execution of annotated methods and records
+ * their execution time, including calls that throw, into the method's histogram in the
+ * {@link TimingRegistry}.</p>
  */
 @Aspect
 @Component
@@ -20,23 +33,104 @@ public class TimingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(TimingAspect.class);
 
+    private static final long MIN_PERCENTILE_SAMPLES = 1_000;
+    private static final long PERCENTILE_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final TimingRegistry timingRegistry;
+    private final Map<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
     /**
-     * Around advice that logs the execution time of a method annotated with {@code @Timed}.
+     * Constructs a new {@code TimingAspect}.
+     *
+     * @param timingRegistry The registry that holds the histograms of timed methods.
+     */
+    public TimingAspect(TimingRegistry timingRegistry) {
+        this.timingRegistry = timingRegistry;
+    }
+
+    /**
+     * Around advice that records the execution time of a method annotated with {@code @Timed}.
      *
      * @param joinPoint The proceeding join point.
+     * @param timed     The annotation of the method.
      * @return The result of the method execution.
      * @throws Throwable If an error occurs during method execution.
      */
-    @Around("@annotation(io.github.siddharth177.bootcommons.aop.annotations.Timed)")
-    public Object timed(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().toShortString();
+    @Around("@annotation(timed)")
+    public Object timed(ProceedingJoinPoint joinPoint, Timed timed) throws Throwable {
+        long startTime = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - startTime;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            MethodTimer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, key -> new MethodTimer(name(key), timed));
+            }
+            timer.record(elapsed);
+        }
+    }
 
-        Object result = joinPoint.proceed();
+    private final class MethodTimer {
 
-        long endTime = System.currentTimeMillis();
-        logger.info("Method {} executed in {} ms", methodName, (endTime - startTime));
+        private final LatencyHistogram histogram;
+        private final long slowThresholdNanos;
+        private final double slowPercentile;
+        private volatile long percentileCutoffNanos = Long.MAX_VALUE;
+        private volatile long nextRefreshNanos = System.nanoTime();
+
+        private MethodTimer(String name, Timed timed) {
+            long[] boundaries = new long[timed.buckets().length];
+            for (int i = 0; i < boundaries.length; i++) {
+                boundaries[i] = timed.unit().toNanos(timed.buckets()[i]);
+            }
+            this.histogram = timingRegistry.histogram(name, boundaries);
+            this.slowThresholdNanos = timed.slowThreshold() < 0 ? Long.MAX_VALUE : timed.unit().toNanos(timed.slowThreshold());
+            this.slowPercentile = timed.slowPercentile();
+        }
+
+        private void record(long elapsed) {
+            histogram.record(elapsed);
+            if (elapsed > slowThresholdNanos) {
+                logger.warn("Method {} executed in {} ms, above the threshold of {} ms",
+                        histogram.getName(), millis(elapsed), millis(slowThresholdNanos));
+            } else if (slowPercentile > 0 && elapsed > percentileCutoff()) {
+                logger.warn("Method {} executed in {} ms, above its p{} of {} ms",
+                        histogram.getName(), millis(elapsed), slowPercentile, millis(percentileCutoffNanos));
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Method {} executed in {} ms", histogram.getName(), millis(elapsed));
+            }
+        }
+
+        private long percentileCutoff() {
+            long now = System.nanoTime();
+            long refresh = nextRefreshNanos;
+            if (now - refresh >= 0) {
+                nextRefreshNanos = now + PERCENTILE_REFRESH_NANOS;
+                LatencySnapshot snapshot = histogram.snapshot();
+                percentileCutoffNanos = snapshot.getCount() < MIN_PERCENTILE_SAMPLES
+                        ? Long.MAX_VALUE
+                        : snapshot.valueAtPercentile(slowPercentile);
+            }
+            return percentileCutoffNanos;
+        }
+    }
+
+    /**
+     * Names a method by its declaring class and parameter types, such as
+     * {@code com.example.StudentService.findById(java.lang.String)}, so overloads and classes with the
+     * same simple name get histograms of their own.
+     */
+    private static String name(Method method) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> type : method.getParameterTypes()) {
+            parameters.add(type.getTypeName());
+        }
+        return method.getDeclaringClass().getName() + "." + method.getName() + parameters;
+    }
 
-        return result;
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
     }
 }
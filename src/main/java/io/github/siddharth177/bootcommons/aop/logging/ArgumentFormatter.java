@@ -0,0 +1,135 @@
+package io.github.siddharth177.bootcommons.aop.logging;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Formats method arguments and return values for logging, with limits on how much is written.
+ * Arrays, collections and maps are formatted element by element down to a maximum depth, and the
+ * text of each value is cut off at a maximum length, so large payloads produce short log lines.
+ *
+ * <p>Other objects are formatted with {@link Object#toString()}. If it throws, for example because
+ * a lazily loaded association can no longer be loaded, the exception is written instead.</p>
+ */
+public final class ArgumentFormatter {
+
+    private static final String TRUNCATED = "...";
+
+    private final int maxLength;
+    private final int maxDepth;
+
+    /**
+     * Constructs a new {@code ArgumentFormatter}.
+     *
+     * @param maxLength The maximum number of characters written for a value, or a negative value for no limit.
+     * @param maxDepth  The number of nested arrays, collections and maps whose elements are written.
+     */
+    public ArgumentFormatter(int maxLength, int maxDepth) {
+        this.maxLength = maxLength < 0 ? Integer.MAX_VALUE : maxLength;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Formats method arguments like {@link java.util.Arrays#toString(Object[])}, applying the limits
+     * to each argument.
+     *
+     * @param args The arguments.
+     * @return The formatted arguments.
+     */
+    public String formatArgs(Object[] args) {
+        if (args == null) {
+            return "null";
+        }
+        StringBuilder builder = new StringBuilder().append('[');
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(format(args[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Formats a single value.
+     *
+     * @param value The value.
+     * @return The formatted value, at most the maximum length plus the truncation marker.
+     */
+    public String format(Object value) {
+        StringBuilder builder = new StringBuilder();
+        append(builder, value, 0, maxLength);
+        if (builder.length() > maxLength) {
+            builder.setLength(maxLength);
+            builder.append(TRUNCATED);
+        }
+        return builder.toString();
+    }
+
+    private void append(StringBuilder builder, Object value, int depth, int limit) {
+        if (builder.length() > limit) {
+            return;
+        }
+        if (value == null) {
+            builder.append("null");
+        } else if (value instanceof CharSequence text) {
+            int room = limit - builder.length();
+            builder.append(text, 0, room < text.length() ? room + 1 : text.length());
+        } else if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            if (depth >= maxDepth) {
+                builder.append(value.getClass().getComponentType().getSimpleName()).append('[').append(length).append(']');
+                return;
+            }
+            builder.append('[');
+            for (int i = 0; i < length && builder.length() <= limit; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                append(builder, Array.get(value, i), depth + 1, limit);
+            }
+            builder.append(']');
+        } else if (value instanceof Collection<?> collection) {
+            if (depth >= maxDepth) {
+                builder.append(value.getClass().getSimpleName()).append("(size=").append(collection.size()).append(')');
+                return;
+            }
+            builder.append('[');
+            Iterator<?> iterator = collection.iterator();
+            for (boolean first = true; iterator.hasNext() && builder.length() <= limit; first = false) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                append(builder, iterator.next(), depth + 1, limit);
+            }
+            builder.append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            if (depth >= maxDepth) {
+                builder.append(value.getClass().getSimpleName()).append("(size=").append(map.size()).append(')');
+                return;
+            }
+            builder.append('{');
+            Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+            for (boolean first = true; iterator.hasNext() && builder.length() <= limit; first = false) {
+                if (!first) {
+                    builder.append(", ");
+                }
+                Map.Entry<?, ?> entry = iterator.next();
+                append(builder, entry.getKey(), depth + 1, limit);
+                builder.append('=');
+                append(builder, entry.getValue(), depth + 1, limit);
+            }
+            builder.append('}');
+        } else {
+            String text;
+            try {
+                text = value.toString();
+            } catch (RuntimeException e) {
+                text = "<" + value.getClass().getSimpleName() + ".toString() threw " + e + ">";
+            }
+            append(builder, text, depth, limit);
+        }
+    }
+}
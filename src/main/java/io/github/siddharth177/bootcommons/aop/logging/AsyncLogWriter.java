@@ -0,0 +1,237 @@
+package io.github.siddharth177.bootcommons.aop.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs log tasks, such as formatting arguments and writing the log line, on a single background
+ * thread so the calling thread does not wait for them. Tasks are handed over through a bounded,
+ * lock-free ring buffer:
+ * <ul>
+ *     <li>{@code bootcommons.logging.async.enabled}: Whether tasks run in the background. Defaults to
+ *     {@code true}. When {@code false}, tasks run on the calling thread.</li>
+ *     <li>{@code bootcommons.logging.async.buffer-size}: The number of tasks that can wait for the writer,
+ *     rounded up to a power of two. Defaults to 8,192.</li>
+ * </ul>
+ *
+ * <p>When the buffer is full, tasks are dropped rather than blocking the caller. The number of dropped
+ * tasks is logged at WARN level, at most once a second. Tasks submitted by one thread run in the
+ * order they were submitted. Tasks still in the buffer are run when the writer is closed.</p>
+ *
+ * <p>Each task runs with the {@link MDC} of the thread that submitted it, and the writer thread takes
+ * that thread's name while the task runs, so {@code %X} and {@code %thread} in log patterns show the
+ * caller rather than the writer.</p>
+ */
+@Component
+public class AsyncLogWriter implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncLogWriter.class);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final boolean enabled;
+    private final int mask;
+    private final AtomicReferenceArray<Runnable> tasks;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code AsyncLogWriter}.
+     *
+     * @param enabled    Whether tasks run on a background thread.
+     * @param bufferSize The capacity of the ring buffer.
+     */
+    public AsyncLogWriter(@Value("${bootcommons.logging.async.enabled:true}") boolean enabled,
+                          @Value("${bootcommons.logging.async.buffer-size:8192}") int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bootcommons.logging.async.buffer-size must be positive: " + bufferSize);
+        }
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.enabled = enabled;
+        this.mask = Math.max(capacity, 2) - 1;
+        this.tasks = new AtomicReferenceArray<>(mask + 1);
+        this.sequences = new AtomicLongArray(mask + 1);
+        for (int i = 0; i <= mask; i++) {
+            sequences.set(i, i);
+        }
+        this.writer = enabled
+                ? Thread.ofPlatform().name("bootcommons-log-writer").daemon().start(this::drain)
+                : null;
+    }
+
+    /**
+     * Runs the task on the writer thread, or on the calling thread if the writer is disabled or closed.
+     *
+     * @param task The task to run. Must not be {@literal null}.
+     * @return {@code true} if the task was accepted, {@code false} if it was dropped because the
+     * buffer is full.
+     */
+    public boolean submit(Runnable task) {
+        if (!enabled || closed) {
+            run(task);
+            return true;
+        }
+        if (!offer(new CallerTask(task, MDC.getCopyOfContextMap(), Thread.currentThread().getName()))) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (sleeping) {
+            sleeping = false;
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of tasks dropped because the buffer was full.
+     *
+     * @return The number of dropped tasks since the application started.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops the writer thread after it has run the tasks still in the buffer, waiting at most five
+     * seconds. Tasks submitted afterwards run on the calling thread.
+     */
+    @Override
+    public void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (!writer.isAlive()) {
+            // Tasks offered by threads that had not seen the writer close yet
+            for (Runnable task = poll(); task != null; task = poll()) {
+                run(task);
+            }
+        }
+    }
+
+    private boolean offer(Runnable task) {
+        long position = tail.get();
+        while (true) {
+            int slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    tasks.set(slot, task);
+                    sequences.set(slot, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private Runnable poll() {
+        long position = head.get();
+        int slot = (int) position & mask;
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+        Runnable task = tasks.get(slot);
+        tasks.set(slot, null);
+        head.set(position + 1);
+        sequences.set(slot, position + mask + 1);
+        return task;
+    }
+
+    private void drain() {
+        long reportedDrops = 0;
+        long nextReport = System.nanoTime();
+        while (true) {
+            Runnable task = poll();
+            if (task != null) {
+                run(task);
+                continue;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops && (closed || System.nanoTime() - nextReport >= 0)) {
+                logger.warn("Dropped {} log events because the buffer was full", drops - reportedDrops);
+                reportedDrops = drops;
+                nextReport = System.nanoTime() + DROP_REPORT_INTERVAL_NANOS;
+            }
+            if (closed) {
+                return;
+            }
+            sleeping = true;
+            if (sequences.get((int) head.get() & mask) == head.get() + 1 || closed) {
+                sleeping = false;
+                continue;
+            }
+            if (dropped.get() != reportedDrops) {
+                LockSupport.parkNanos(this, DROP_REPORT_INTERVAL_NANOS);
+            } else {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+    }
+
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.warn("Log task failed", e);
+        }
+    }
+
+    /**
+     * A task with the MDC and name of the thread that submitted it, which it restores on the writer
+     * thread while it runs.
+     */
+    private record CallerTask(Runnable task, Map<String, String> mdc, String threadName) implements Runnable {
+
+        @Override
+        public void run() {
+            Thread current = Thread.currentThread();
+            String currentName = current.getName();
+            Map<String, String> currentMdc = MDC.getCopyOfContextMap();
+            replaceMdc(mdc);
+            current.setName(threadName);
+            try {
+                task.run();
+            } finally {
+                current.setName(currentName);
+                replaceMdc(currentMdc);
+            }
+        }
+
+        private static void replaceMdc(Map<String, String> context) {
+            if (context == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(context);
+            }
+        }
+    }
+}
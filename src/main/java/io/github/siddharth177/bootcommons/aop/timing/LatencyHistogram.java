@@ -0,0 +1,157 @@
+package io.github.siddharth177.bootcommons.aop.timing;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds, with log-linear buckets in the style of
+ * HdrHistogram. Every power-of-two range is split into 32 buckets, so a recorded value is off by at
+ * most about 3% when it is read back, from one nanosecond up to an hour. Longer values are counted
+ * in the last bucket, but {@link LatencySnapshot#getMaxNanos()} stays exact.
+ *
+ * <p>Recording is wait-free and does not allocate. Counts are spread over stripes chosen by thread,
+ * so threads that record into the same histogram rarely touch the same memory. Stripes are allocated
+ * on first use, and {@link #snapshot()} merges them.</p>
+ *
+ * <p>Counts are cumulative since the histogram was created or last {@link #reset()}.</p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+    private static final int BUCKET_COUNT = index(HIGHEST_TRACKABLE_VALUE) + 1;
+    private static final int MAX_STRIPES = 16;
+
+    private final String name;
+    private final long[] boundaries;
+    private final AtomicReferenceArray<Stripe> stripes;
+    private final int stripeMask;
+
+    /**
+     * Constructs a new {@code LatencyHistogram}.
+     *
+     * @param name       The name of the histogram, usually the timed method.
+     * @param boundaries The upper bounds, in nanoseconds, of the service-level buckets whose
+     *                   cumulative counts are reported in snapshots. May be empty.
+     */
+    public LatencyHistogram(String name, long... boundaries) {
+        this.name = name;
+        this.boundaries = boundaries.clone();
+        Arrays.sort(this.boundaries);
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+        this.stripes = new AtomicReferenceArray<>(stripeCount);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos The latency in nanoseconds. Negative values are recorded as zero.
+     */
+    public void record(long nanos) {
+        stripe().record(Math.max(0, nanos));
+    }
+
+    /**
+     * Takes a snapshot of the recorded latencies. Values recorded while the snapshot is being taken
+     * may or may not be included.
+     *
+     * @return The snapshot; never {@literal null}.
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < stripes.length(); i++) {
+            Stripe stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                    counts[bucket] += stripe.counts.get(bucket);
+                }
+                total += stripe.total.get();
+                max = Math.max(max, stripe.max.get());
+            }
+        }
+        return new LatencySnapshot(this, counts, total, max);
+    }
+
+    /**
+     * Clears all recorded latencies.
+     */
+    public void reset() {
+        for (int i = 0; i < stripes.length(); i++) {
+            stripes.set(i, null);
+        }
+    }
+
+    /**
+     * Returns the name of the histogram.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the upper bounds of the service-level buckets.
+     *
+     * @return The bounds in nanoseconds, in ascending order.
+     */
+    public long[] getBoundaries() {
+        return boundaries.clone();
+    }
+
+    static int index(long value) {
+        long clamped = Math.min(value, HIGHEST_TRACKABLE_VALUE);
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(clamped) - SUB_BUCKET_BITS);
+        return shift * HALF_SUB_BUCKETS + (int) (clamped >>> shift);
+    }
+
+    static long highestEquivalentValue(int index) {
+        if (index < 2 * HALF_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private Stripe stripe() {
+        long probe = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        int index = (int) (probe >>> 32) & stripeMask;
+        Stripe stripe = stripes.get(index);
+        if (stripe == null) {
+            Stripe created = new Stripe();
+            stripe = stripes.compareAndExchange(index, null, created);
+            if (stripe == null) {
+                stripe = created;
+            }
+        }
+        return stripe;
+    }
+
+    private static final class Stripe {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private void record(long nanos) {
+            counts.incrementAndGet(index(nanos));
+            total.addAndGet(nanos);
+            long current = max.get();
+            while (nanos > current) {
+                long witness = max.compareAndExchange(current, nanos);
+                if (witness == current) {
+                    break;
+                }
+                current = witness;
+            }
+        }
+    }
+}
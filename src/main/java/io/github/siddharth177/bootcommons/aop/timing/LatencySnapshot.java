@@ -0,0 +1,148 @@
+package io.github.siddharth177.bootcommons.aop.timing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An immutable view of the latencies recorded by a {@link LatencyHistogram} at one point in time.
+ * Percentiles are accurate to the histogram's precision of about 3% and never exceed the maximum.
+ */
+public final class LatencySnapshot {
+
+    private final String name;
+    private final long[] counts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final Map<Long, Long> bucketCounts;
+
+    LatencySnapshot(LatencyHistogram histogram, long[] counts, long totalNanos, long maxNanos) {
+        this.name = histogram.getName();
+        this.counts = counts;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        long sum = 0;
+        for (long bucket : counts) {
+            sum += bucket;
+        }
+        this.count = sum;
+        Map<Long, Long> buckets = new LinkedHashMap<>();
+        for (long boundary : histogram.getBoundaries()) {
+            long below = 0;
+            int last = LatencyHistogram.index(boundary);
+            for (int i = 0; i <= last; i++) {
+                below += counts[i];
+            }
+            buckets.put(boundary, below);
+        }
+        this.bucketCounts = Collections.unmodifiableMap(buckets);
+    }
+
+    /**
+     * Returns the name of the histogram.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the sum of the recorded latencies.
+     *
+     * @return The total in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     *
+     * @return The maximum in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return The mean in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Returns the latency at or below which the given share of the recorded latencies fall.
+     *
+     * @param percentile The percentile, between {@code 0} and {@code 100}.
+     * @return The latency in nanoseconds, or {@code 0} if nothing was recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestEquivalentValue(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Returns the median latency.
+     *
+     * @return The 50th percentile in nanoseconds.
+     */
+    public long getP50Nanos() {
+        return valueAtPercentile(50);
+    }
+
+    /**
+     * Returns the 99th percentile latency.
+     *
+     * @return The 99th percentile in nanoseconds.
+     */
+    public long getP99Nanos() {
+        return valueAtPercentile(99);
+    }
+
+    /**
+     * Returns the 99.9th percentile latency.
+     *
+     * @return The 99.9th percentile in nanoseconds.
+     */
+    public long getP999Nanos() {
+        return valueAtPercentile(99.9);
+    }
+
+    /**
+     * Returns how many latencies fall into each service-level bucket of the histogram.
+     *
+     * @return The cumulative count of latencies at or below each bucket's upper bound, keyed by the
+     * bound in nanoseconds, in ascending order. Counts are accurate to the histogram's precision.
+     */
+    public Map<Long, Long> getBucketCounts() {
+        return bucketCounts;
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.siddharth177.bootcommons.aop.timing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Holds one {@link LatencyHistogram} per method timed with
+ * {@link io.github.siddharth177.bootcommons.aop.annotations.Timed}, keyed by the method's qualified
+ * signature, such as {@code com.example.StudentService.findById(java.lang.String)}.
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * timingRegistry.snapshot("com.example.StudentService.findById(java.lang.String)")
+ *         .ifPresent(snapshot -> log.info("p99 {} ns", snapshot.getP99Nanos()));
+ * }
+ * </pre>
+ */
+@Component
+public class TimingRegistry {
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final List<Consumer<LatencyHistogram>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Default constructor for {@code TimingRegistry}.
+     */
+    public TimingRegistry() {
+        // Default constructor
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it if it does not exist yet.
+     *
+     * @param name       The name of the histogram.
+     * @param boundaries The service-level bucket bounds in nanoseconds, used if the histogram is created.
+     * @return The {@link LatencyHistogram}; never {@literal null}.
+     */
+    public LatencyHistogram histogram(String name, long... boundaries) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+        LatencyHistogram created = new LatencyHistogram(name, boundaries);
+        histogram = histograms.putIfAbsent(name, created);
+        if (histogram != null) {
+            return histogram;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    /**
+     * Takes a snapshot of the histogram with the given name.
+     *
+     * @param name The name of the histogram.
+     * @return The snapshot, or {@link Optional#empty()} if the method has not been called yet.
+     */
+    public Optional<LatencySnapshot> snapshot(String name) {
+        return Optional.ofNullable(histograms.get(name)).map(LatencyHistogram::snapshot);
+    }
+
+    /**
+     * Takes a snapshot of every histogram.
+     *
+     * @return The snapshots keyed by name, in name order.
+     */
+    public Map<String, LatencySnapshot> snapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Returns all histograms.
+     *
+     * @return An unmodifiable view of the histograms, keyed by name.
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Registers a listener that is called with every existing histogram and then with every histogram
+     * created later. A histogram created while the listener is being registered may be passed twice.
+     *
+     * @param listener The listener. Must not be {@literal null}.
+     */
+    public void addListener(Consumer<LatencyHistogram> listener) {
+        listeners.add(listener);
+        histograms.values().forEach(listener);
+    }
+}
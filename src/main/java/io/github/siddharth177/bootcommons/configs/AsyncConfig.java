@@ -0,0 +1,57 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class that provides a bounded {@code bootCommonsExecutor} when virtual threads are
+ * not enabled. It runs {@link io.github.siddharth177.bootcommons.services.AsyncBaseService} operations
+ * and cache refreshes on a fixed number of platform threads:
+ * <ul>
+ *     <li>{@code bootcommons.async.pool-size}: The maximum number of threads. Defaults to 32. Keep it close
+ *     to the size of the connection pool, since every task usually holds a connection.</li>
+ *     <li>{@code bootcommons.async.queue-capacity}: The number of tasks that can wait for a thread. Defaults
+ *     to 1,000. Tasks submitted to a full queue are rejected with a
+ *     {@link java.util.concurrent.RejectedExecutionException}.</li>
+ * </ul>
+ *
+ * <p>Idle threads are stopped after a minute. With {@code bootcommons.virtual-threads.enabled=true},
+ * {@link VirtualThreadsConfig} provides the executor instead.</p>
+ */
+@Configuration
+@AutoConfigureAfter(VirtualThreadsConfig.class)
+public class AsyncConfig {
+
+    /**
+     * Default constructor for {@code AsyncConfig}.
+     */
+    public AsyncConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates a bounded thread pool, unless the application or {@link VirtualThreadsConfig} provides
+     * a {@code bootCommonsExecutor}.
+     *
+     * @param poolSize      The maximum number of threads.
+     * @param queueCapacity The maximum number of waiting tasks.
+     * @return The {@link ExecutorService} bean; it is shut down with the application context.
+     */
+    @Bean(name = VirtualThreadsConfig.EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = VirtualThreadsConfig.EXECUTOR_BEAN_NAME)
+    public ExecutorService bootCommonsExecutor(@Value("${bootcommons.async.pool-size:32}") int poolSize,
+                                               @Value("${bootcommons.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(queueCapacity), Thread.ofPlatform().name("bootcommons-", 0).factory());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.entities.AuditEntityListener;
+import io.github.siddharth177.bootcommons.services.audit.AuditSink;
+import io.github.siddharth177.bootcommons.services.audit.AuditTrail;
+import io.github.siddharth177.bootcommons.services.audit.FileAuditSink;
+import io.github.siddharth177.bootcommons.services.audit.JdbcAuditSink;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration class that records the field-level change history of
+ * {@link io.github.siddharth177.bootcommons.entities.Auditable} entities when
+ * {@code bootcommons.audit.enabled=true}. Changes are queued in memory by an {@link AuditTrail} and
+ * written in batches by a background thread:
+ * <ul>
+ *     <li>{@code bootcommons.audit.sink}: {@code jdbc} (the default) to insert records into a table through
+ *     the application's {@link DataSource}, or {@code file} to append them to a local file as JSON lines.
+ *     Ignored if the application defines an {@link AuditSink} bean.</li>
+ *     <li>{@code bootcommons.audit.table}: The table of the {@code jdbc} sink. Defaults to {@code audit_log}.</li>
+ *     <li>{@code bootcommons.audit.file}: The file of the {@code file} sink. Defaults to {@code audit.log}.</li>
+ *     <li>{@code bootcommons.audit.queue-capacity}: The number of records that can wait to be written.
+ *     Defaults to 10,000.</li>
+ *     <li>{@code bootcommons.audit.batch-size}: The number of records written at once. Defaults to 500.</li>
+ *     <li>{@code bootcommons.audit.flush-interval}: The longest a record waits for its batch to fill.
+ *     Defaults to one second.</li>
+ *     <li>{@code bootcommons.audit.max-block}: The longest a committing thread waits for space in a full
+ *     queue before the record is dropped. Defaults to five seconds.</li>
+ * </ul>
+ */
+@Configuration
+@ConditionalOnProperty(name = "bootcommons.audit.enabled", havingValue = "true")
+public class AuditConfig {
+
+    /**
+     * Default constructor for {@code AuditConfig}.
+     */
+    public AuditConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates the sink selected by {@code bootcommons.audit.sink}, unless the application provides one.
+     *
+     * @param type         The sink type, {@code jdbc} or {@code file}.
+     * @param table        The table of the {@code jdbc} sink.
+     * @param file         The file of the {@code file} sink.
+     * @param dataSource   The application's data source.
+     * @param objectMapper The application's {@link ObjectMapper}, if any.
+     * @return The {@link AuditSink} bean.
+     * @throws IOException If the audit file cannot be opened.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditSink auditSink(@Value("${bootcommons.audit.sink:jdbc}") String type,
+                               @Value("${bootcommons.audit.table:audit_log}") String table,
+                               @Value("${bootcommons.audit.file:audit.log}") String file,
+                               ObjectProvider<DataSource> dataSource,
+                               ObjectProvider<ObjectMapper> objectMapper) throws IOException {
+        ObjectMapper mapper = objectMapper.getIfAvailable(() -> JsonMapper.builder().build());
+        return switch (type) {
+            case "jdbc" -> new JdbcAuditSink(dataSource.getObject(), table, mapper);
+            case "file" -> new FileAuditSink(Path.of(file), mapper);
+            default -> throw new IllegalArgumentException("Unknown bootcommons.audit.sink: " + type);
+        };
+    }
+
+    /**
+     * Creates the audit trail and installs it in the {@link AuditEntityListener}, with the application's
+     * {@link AuditorAware} to credit deletions to.
+     *
+     * @param auditSink     The sink the records are written to.
+     * @param auditorAware  The application's {@link AuditorAware}, if any.
+     * @param queueCapacity The maximum number of queued records.
+     * @param batchSize     The maximum number of records written at once.
+     * @param flushInterval The longest a record waits for its batch to fill.
+     * @param maxBlock      The longest a committing thread waits for space in a full queue.
+     * @return The {@link AuditTrail} bean; it is closed with the application context.
+     */
+    @Bean
+    public AuditTrail auditTrail(AuditSink auditSink,
+                                 ObjectProvider<AuditorAware<?>> auditorAware,
+                                 @Value("${bootcommons.audit.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${bootcommons.audit.batch-size:500}") int batchSize,
+                                 @Value("${bootcommons.audit.flush-interval:1s}") Duration flushInterval,
+                                 @Value("${bootcommons.audit.max-block:5s}") Duration maxBlock) {
+        AuditTrail auditTrail = new AuditTrail(auditSink, queueCapacity, batchSize, flushInterval, maxBlock);
+        AuditEntityListener.install(auditTrail, auditorAware.getIfUnique());
+        return auditTrail;
+    }
+}
@@ -0,0 +1,244 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.models.Caches;
+import io.github.siddharth177.bootcommons.services.CacheService;
+import io.github.siddharth177.bootcommons.services.cache.BoundedCacheService;
+import io.github.siddharth177.bootcommons.services.cache.CacheBackend;
+import io.github.siddharth177.bootcommons.services.cache.CacheRegistry;
+import io.github.siddharth177.bootcommons.services.cache.CacheSpec;
+import io.github.siddharth177.bootcommons.services.cache.DatagramInvalidationBus;
+import io.github.siddharth177.bootcommons.services.cache.InvalidationBus;
+import io.github.siddharth177.bootcommons.services.cache.LocalInvalidationBus;
+import io.github.siddharth177.bootcommons.services.cache.OffHeapCacheService;
+import io.github.siddharth177.bootcommons.services.cache.OffHeapCacheSpec;
+import io.github.siddharth177.bootcommons.services.cache.SimpleKeySerializer;
+import io.github.siddharth177.bootcommons.services.cache.TieredCacheService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Configuration class that registers a bounded {@link CacheService} for every {@link Caches} entry.
+ *
+ * <p>Each cache is exposed both through the {@link CacheRegistry} bean and as a bean of its own,
+ * named after {@link Caches#getCacheName()}, so it can be injected with
+ * {@code @Qualifier("student-cache")}. Each cache can be tuned with the following properties,
+ * falling back to {@code bootcommons.cache.default.*} and then to the built-in defaults:</p>
+ * <ul>
+ *     <li>{@code bootcommons.cache.<cache-name>.backend}: {@code heap} (the default) for a
+ *     {@link BoundedCacheService}, {@code off-heap} for an {@link OffHeapCacheService}, or
+ *     {@code tiered} for a {@link TieredCacheService}.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.maximum-size}: The maximum number of entries.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.concurrency-level}: The number of lock stripes.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.expire-after-write}: How long an entry lives after it is saved.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.expire-after-access}: How long an entry lives after it was last
+ *     read. Heap caches only.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.off-heap.capacity}: The off-heap memory reserved for the cache.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.off-heap.slab-size}: The size of each off-heap slab.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.off-heap.file}: A file to memory-map the slabs from, which
+ *     keeps the cache warm across restarts.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.tiered.l1-maximum-size}: The entry count of the near-cache.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.tiered.l1-expire-after-write}: How long the near-cache keeps an entry.</li>
+ *     <li>{@code bootcommons.cache.<cache-name>.tiered.l2-backend}: The backend of the second tier,
+ *     {@code off-heap} (the default) or {@code heap}.</li>
+ * </ul>
+ *
+ * <p>Tiered caches exchange invalidations through the {@link InvalidationBus} bean. Unless the
+ * application defines its own, {@code bootcommons.cache.invalidation.bus} selects {@code local}
+ * (the default, in-JVM only) or {@code udp}, which binds
+ * {@code bootcommons.cache.invalidation.udp.bind-address}/{@code port} and sends events to the
+ * comma-separated {@code host:port} list in {@code bootcommons.cache.invalidation.udp.peers}. The UDP
+ * bus requires {@code bootcommons.cache.invalidation.udp.secret}, a shared key of at least 16 bytes
+ * that authenticates events. Tiered caches send keys with a {@link SimpleKeySerializer}, so the
+ * {@link Caches#getKeyType() key type} of a tiered cache must be a string, UUID or primitive wrapper,
+ * and evict peer events from both tiers, since their L2 is local to the node.</p>
+ *
+ * <p>Heap caches run refresh-ahead reloads on the {@code bootCommonsExecutor}, a bounded pool from
+ * {@link AsyncConfig} or, with {@code bootcommons.virtual-threads.enabled=true}, a virtual thread per
+ * reload from {@link VirtualThreadsConfig}. The UDP bus then also receives events on a virtual thread.</p>
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final String PREFIX = "bootcommons.cache.";
+    private static final String DEFAULTS = PREFIX + "default.";
+
+    /**
+     * Default constructor for {@code CacheConfig}.
+     */
+    public CacheConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates the {@link InvalidationBus} used by tiered caches, unless the application provides one.
+     *
+     * @param type        The bus type, {@code local} or {@code udp}.
+     * @param bindAddress The address the UDP bus listens on.
+     * @param port        The port the UDP bus listens on.
+     * @param peers       The {@code host:port} addresses of the other nodes for the UDP bus.
+     * @param secret      The key that authenticates the events of the UDP bus.
+     * @param virtualThreads Whether the UDP bus receives events on a virtual thread.
+     * @return The {@link InvalidationBus} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public InvalidationBus invalidationBus(
+            @Value("${bootcommons.cache.invalidation.bus:local}") String type,
+            @Value("${bootcommons.cache.invalidation.udp.bind-address:127.0.0.1}") String bindAddress,
+            @Value("${bootcommons.cache.invalidation.udp.port:47100}") int port,
+            @Value("${bootcommons.cache.invalidation.udp.peers:}") List<String> peers,
+            @Value("${bootcommons.cache.invalidation.udp.secret:}") String secret,
+            @Value("${" + VirtualThreadsEnvironmentPostProcessor.ENABLED_PROPERTY + ":false}") boolean virtualThreads) {
+        if (!"udp".equalsIgnoreCase(type)) {
+            return new LocalInvalidationBus();
+        }
+        if (secret.isBlank()) {
+            throw new IllegalStateException("bootcommons.cache.invalidation.udp.secret must be set to use the UDP invalidation bus");
+        }
+        List<InetSocketAddress> peerAddresses = peers.stream()
+                .filter(peer -> !peer.isBlank())
+                .map(peer -> {
+                    int separator = peer.lastIndexOf(':');
+                    return new InetSocketAddress(peer.substring(0, separator).trim(), Integer.parseInt(peer.substring(separator + 1).trim()));
+                })
+                .toList();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("bootcommons-invalidation-bus").factory()
+                : Thread.ofPlatform().daemon().name("bootcommons-invalidation-bus").factory();
+        return new DatagramInvalidationBus(new InetSocketAddress(bindAddress, port), peerAddresses,
+                secret.getBytes(StandardCharsets.UTF_8), threadFactory);
+    }
+
+    /**
+     * Creates the {@link CacheRegistry} holding one cache per {@link Caches} entry.
+     *
+     * @param environment     The environment used to resolve per-cache properties.
+     * @param invalidationBus The bus used by tiered caches.
+     * @param executor        The executor for refresh-ahead reloads, if there is one.
+     * @return The {@link CacheRegistry} bean.
+     */
+    @Bean
+    public CacheRegistry cacheRegistry(Environment environment, InvalidationBus invalidationBus,
+                                       @Qualifier(VirtualThreadsConfig.EXECUTOR_BEAN_NAME) ObjectProvider<Executor> executor) {
+        Executor refreshExecutor = executor.getIfAvailable();
+        return new CacheRegistry(cache -> createCache(environment, cache, invalidationBus, refreshExecutor));
+    }
+
+    /**
+     * Registers every cache held by the {@link CacheRegistry} as a bean named after its cache name.
+     *
+     * @return The {@link BeanDefinitionRegistryPostProcessor} bean.
+     */
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor cacheServiceRegistrar() {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                for (Caches cache : Caches.values()) {
+                    GenericBeanDefinition definition = new GenericBeanDefinition();
+                    definition.setBeanClass(CacheService.class);
+                    definition.setFactoryBeanName("cacheRegistry");
+                    definition.setFactoryMethodName("get");
+                    definition.getConstructorArgumentValues().addGenericArgumentValue(cache);
+                    registry.registerBeanDefinition(cache.getCacheName(), definition);
+                }
+            }
+
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                // Nothing to post-process
+            }
+        };
+    }
+
+    static <T> T property(Environment environment, Caches cache, String name, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + cache.getCacheName() + "." + name, type);
+        return value != null ? value : environment.getProperty(DEFAULTS + name, type, defaultValue);
+    }
+
+    private static CacheService<?, ?> createCache(Environment environment, Caches cache, InvalidationBus invalidationBus,
+                                                  Executor executor) {
+        CacheBackend backend = property(environment, cache, "backend", CacheBackend.class, CacheBackend.HEAP);
+        return switch (backend) {
+            case HEAP -> new BoundedCacheService<>(cacheSpec(environment, cache, executor));
+            case OFF_HEAP -> new OffHeapCacheService<>(offHeapCacheSpec(environment, cache));
+            case TIERED -> tieredCache(environment, cache, invalidationBus, executor);
+        };
+    }
+
+    private static TieredCacheService<Object, Object> tieredCache(Environment environment, Caches cache, InvalidationBus invalidationBus,
+                                                                  Executor executor) {
+        CacheSpec.Builder<Object, Object> l1Spec = CacheSpec.builder()
+                .maximumSize(property(environment, cache, "tiered.l1-maximum-size", Long.class, 1_000L));
+        Duration l1ExpireAfterWrite = property(environment, cache, "tiered.l1-expire-after-write", Duration.class, null);
+        if (l1ExpireAfterWrite != null) {
+            l1Spec.expireAfterWrite(l1ExpireAfterWrite);
+        }
+
+        CacheBackend l2Backend = property(environment, cache, "tiered.l2-backend", CacheBackend.class, CacheBackend.OFF_HEAP);
+        CacheService<Object, Object> l2 = switch (l2Backend) {
+            case HEAP -> new BoundedCacheService<>(cacheSpec(environment, cache, executor));
+            case OFF_HEAP -> new OffHeapCacheService<>(offHeapCacheSpec(environment, cache));
+            case TIERED -> throw new IllegalStateException("The second tier of cache " + cache.getCacheName() + " cannot itself be tiered");
+        };
+        @SuppressWarnings("unchecked")
+        Class<Object> keyType = (Class<Object>) cache.getKeyType();
+        return TieredCacheService.of(cache.getCacheName(), keyType, new BoundedCacheService<>(l1Spec.build()), l2,
+                invalidationBus, new SimpleKeySerializer<>(), false);
+    }
+
+    private static OffHeapCacheSpec<Object, Object> offHeapCacheSpec(Environment environment, Caches cache) {
+        OffHeapCacheSpec.Builder<Object, Object> builder = OffHeapCacheSpec.builder()
+                .capacity(property(environment, cache, "off-heap.capacity", DataSize.class,
+                        DataSize.ofBytes(OffHeapCacheSpec.DEFAULT_CAPACITY)).toBytes())
+                .slabSize((int) property(environment, cache, "off-heap.slab-size", DataSize.class,
+                        DataSize.ofBytes(OffHeapCacheSpec.DEFAULT_SLAB_SIZE)).toBytes());
+
+        Duration expireAfterWrite = property(environment, cache, "expire-after-write", Duration.class, null);
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        String file = environment.getProperty(PREFIX + cache.getCacheName() + ".off-heap.file");
+        if (file != null) {
+            builder.persistTo(Path.of(file));
+        }
+        return builder.build();
+    }
+
+    private static CacheSpec<Object, Object> cacheSpec(Environment environment, Caches cache, Executor executor) {
+        CacheSpec.Builder<Object, Object> builder = CacheSpec.builder()
+                .maximumSize(property(environment, cache, "maximum-size", Long.class, CacheSpec.DEFAULT_MAXIMUM_SIZE))
+                .concurrencyLevel(property(environment, cache, "concurrency-level", Integer.class, CacheSpec.DEFAULT_CONCURRENCY_LEVEL));
+
+        Duration expireAfterWrite = property(environment, cache, "expire-after-write", Duration.class, null);
+        if (expireAfterWrite != null) {
+            builder.expireAfterWrite(expireAfterWrite);
+        }
+        Duration expireAfterAccess = property(environment, cache, "expire-after-access", Duration.class, null);
+        if (expireAfterAccess != null) {
+            builder.expireAfterAccess(expireAfterAccess);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.models.Caches;
+import io.github.siddharth177.bootcommons.services.CacheService;
+import io.github.siddharth177.bootcommons.services.cache.CacheRegistry;
+import io.github.siddharth177.bootcommons.services.cache.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Configuration class that publishes the {@link CacheStats} of every {@link Caches} entry as
+ * Micrometer meters. It is only active when Micrometer is on the classpath.
+ *
+ * <p>Every meter is tagged with {@code cache=<cache-name>}:</p>
+ * <ul>
+ *     <li>{@code cache.gets}: Lookups, tagged {@code result=hit} or {@code result=miss}.</li>
+ *     <li>{@code cache.loads}: Loads, tagged {@code result=success} or {@code result=failure}.</li>
+ *     <li>{@code cache.load.duration}: The count and total time of loads.</li>
+ *     <li>{@code cache.evictions}: Entries evicted because of the size bound or expiry.</li>
+ *     <li>{@code cache.size}: The current number of entries.</li>
+ *     <li>{@code cache.weight}: The current weight of the entries; bytes in use for off-heap caches.</li>
+ * </ul>
+ *
+ * <p>The meters read the caches' counters when they are scraped, so recording stays free of any
+ * Micrometer overhead. A scrape reads every meter of a cache from one {@link CacheStats} snapshot,
+ * which is reused for {@value #STATS_REUSE_MILLIS} ms, so the cache is locked once per scrape rather
+ * than once per meter and the meters agree with each other.</p>
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class CacheMetricsConfig {
+
+    static final long STATS_REUSE_MILLIS = 1_000;
+
+    /**
+     * Default constructor for {@code CacheMetricsConfig}.
+     */
+    public CacheMetricsConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates a {@link MeterBinder} that registers the meters of every registered cache.
+     *
+     * @param cacheRegistry The registry holding the caches.
+     * @return The binder.
+     */
+    @Bean
+    public MeterBinder cacheMetrics(CacheRegistry cacheRegistry) {
+        return registry -> {
+            for (Map.Entry<Caches, CacheService<?, ?>> entry : cacheRegistry.getAll().entrySet()) {
+                bind(registry, entry.getKey().getCacheName(), entry.getValue());
+            }
+        };
+    }
+
+    private static void bind(MeterRegistry registry, String cacheName, CacheService<?, ?> cache) {
+        Tags tags = Tags.of("cache", cacheName);
+        CachedStats cached = new CachedStats(cache);
+
+        counter(registry, "cache.gets", tags.and("result", "hit"), cache, cached, CacheStats::hitCount,
+                "The number of lookups that found a value");
+        counter(registry, "cache.gets", tags.and("result", "miss"), cache, cached, CacheStats::missCount,
+                "The number of lookups that found no value");
+        counter(registry, "cache.loads", tags.and("result", "success"), cache, cached, CacheStats::loadSuccessCount,
+                "The number of loads that completed");
+        counter(registry, "cache.loads", tags.and("result", "failure"), cache, cached, CacheStats::loadFailureCount,
+                "The number of loads that threw an exception");
+        counter(registry, "cache.evictions", tags, cache, cached, CacheStats::evictionCount,
+                "The number of entries evicted because of the size bound or expiry");
+
+        FunctionTimer.builder("cache.load.duration", cache,
+                        c -> {
+                            CacheStats stats = cached.get();
+                            return stats.loadSuccessCount() + stats.loadFailureCount();
+                        },
+                        c -> cached.get().totalLoadTime(), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("The time spent loading values")
+                .register(registry);
+
+        gauge(registry, "cache.size", tags, cache, cached, stats -> stats.size(), "The number of entries");
+        gauge(registry, "cache.weight", tags, cache, cached, stats -> stats.weight(), "The weight of the entries");
+    }
+
+    private static void counter(MeterRegistry registry, String name, Tags tags, CacheService<?, ?> cache,
+                                CachedStats cached, ToLongFunction<CacheStats> value, String description) {
+        FunctionCounter.builder(name, cache, c -> value.applyAsLong(cached.get()))
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private static void gauge(MeterRegistry registry, String name, Tags tags, CacheService<?, ?> cache,
+                              CachedStats cached, ToDoubleFunction<CacheStats> value, String description) {
+        Gauge.builder(name, cache, c -> value.applyAsDouble(cached.get()))
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * The latest stats of a cache, shared by its meters. New stats are taken when the last are older
+     * than {@link #STATS_REUSE_MILLIS}, so the meters read during one scrape agree with each other and
+     * the cache is snapshotted once per scrape.
+     *
+     * <p>Readers do not block each other: callers that find the stats stale at the same time may each
+     * take a snapshot, but only the first is kept and returned to all of them.</p>
+     */
+    static final class CachedStats {
+
+        private static final long REUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(STATS_REUSE_MILLIS);
+
+        private final CacheService<?, ?> cache;
+        private final AtomicReference<Taken> latest = new AtomicReference<>();
+
+        CachedStats(CacheService<?, ?> cache) {
+            this.cache = cache;
+        }
+
+        CacheStats get() {
+            long now = System.nanoTime();
+            Taken current = latest.get();
+            if (current != null && now - current.nanos() < REUSE_NANOS) {
+                return current.stats();
+            }
+            Taken next = new Taken(cache.stats(), now);
+            return latest.compareAndSet(current, next) ? next.stats() : latest.get().stats();
+        }
+
+        private record Taken(CacheStats stats, long nanos) {
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.exceptions.ApiErrorHttpMessageConverter;
+import io.github.siddharth177.bootcommons.exceptions.ApiErrorWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Configuration class that binds the exception settings of the library, see {@link ExceptionsProperties},
+ * for the beans that use them.
+ *
+ * <p>It also registers an {@link ApiErrorWriter} that follows the application's {@link ObjectMapper}, and adds
+ * an {@link ApiErrorHttpMessageConverter} to the server's message converters, ahead of Jackson, to write the {@link io.github.siddharth177.bootcommons.exceptions.ApiError}
+ * bodies returned by {@link io.github.siddharth177.bootcommons.exceptions.GlobalExceptionHandler}.</p>
+ */
+@Configuration
+@EnableConfigurationProperties(ExceptionsProperties.class)
+public class ExceptionsConfig {
+
+    /**
+     * Default constructor for {@code ExceptionsConfig}.
+     */
+    public ExceptionsConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates the writer for error bodies, unless the application provides one. It writes JSON like the
+     * application's {@link ObjectMapper}, or like a default one if there is none.
+     *
+     * @param objectMapper The application's {@link ObjectMapper}, if it is a bean.
+     * @return The {@link ApiErrorWriter} bean.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ApiErrorWriter apiErrorWriter(ObjectProvider<ObjectMapper> objectMapper) {
+        ObjectMapper mapper = objectMapper.getIfAvailable();
+        return mapper == null ? new ApiErrorWriter() : new ApiErrorWriter(mapper);
+    }
+
+    /**
+     * Adds the message converter for error bodies to the converters of Spring MVC.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ServerHttpMessageConvertersCustomizer.class)
+    static class ApiErrorConverterConfig {
+
+        /**
+         * Creates a customizer that adds an {@link ApiErrorHttpMessageConverter} ahead of the default converters.
+         *
+         * @param apiErrorWriter The writer for error bodies.
+         * @return The {@link ServerHttpMessageConvertersCustomizer} bean.
+         */
+        @Bean
+        ServerHttpMessageConvertersCustomizer apiErrorMessageConverterCustomizer(ApiErrorWriter apiErrorWriter) {
+            return converters -> converters.addCustomConverter(new ApiErrorHttpMessageConverter(apiErrorWriter));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The exception settings of the library, bound from {@code bootcommons.exceptions.*}:
+ * <ul>
+ *     <li>{@code bootcommons.exceptions.stackless}: Whether the library creates
+ *     {@link io.github.siddharth177.bootcommons.exceptions.ErrorResponse}s without a stack trace, and whether
+ *     {@link io.github.siddharth177.bootcommons.exceptions.GlobalExceptionHandler} reuses error bodies.
+ *     Defaults to {@code false}.</li>
+ * </ul>
+ *
+ * <p>Capturing a stack trace is by far the most expensive part of throwing an exception. Where errors
+ * are a normal outcome, such as a lookup that finds nothing, thousands of times a second, turning it
+ * off saves most of that cost. Stackless exceptions also keep no suppressed exceptions.</p>
+ *
+ * <p>Inject this bean to apply the setting to exceptions the application creates itself:</p>
+ * <pre>
+ * {@code
+ * throw new ResourceNotFoundException("Student not found: " + id, exceptionsProperties.isStackless());
+ * }
+ * </pre>
+ */
+@ConfigurationProperties("bootcommons.exceptions")
+public class ExceptionsProperties {
+
+    private boolean stackless;
+
+    /**
+     * Default constructor for {@code ExceptionsProperties}.
+     */
+    public ExceptionsProperties() {
+        // Default constructor
+    }
+
+    /**
+     * Returns whether exceptions are created without a stack trace.
+     *
+     * @return {@code true} if stack traces are skipped.
+     */
+    public boolean isStackless() {
+        return stackless;
+    }
+
+    /**
+     * Sets whether exceptions are created without a stack trace.
+     *
+     * @param stackless {@code true} to skip stack traces.
+     */
+    public void setStackless(boolean stackless) {
+        this.stackless = stackless;
+    }
+}
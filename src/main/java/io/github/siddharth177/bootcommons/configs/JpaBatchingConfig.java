@@ -0,0 +1,40 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that lets Hibernate keep the JDBC batches of
+ * {@link io.github.siddharth177.bootcommons.services.BaseService#bulkSave} intact. Without statement
+ * ordering, a chunk whose entities cascade to other tables alternates between tables and every switch
+ * ends the current batch.
+ *
+ * <p>Sets {@code hibernate.order_inserts} and {@code hibernate.order_updates} to {@code true} unless the
+ * application sets them, for example through {@code spring.jpa.properties.hibernate.order_inserts}.</p>
+ */
+@Configuration
+@ConditionalOnClass(HibernatePropertiesCustomizer.class)
+public class JpaBatchingConfig {
+
+    /**
+     * Default constructor for {@code JpaBatchingConfig}.
+     */
+    public JpaBatchingConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Enables insert and update ordering where the application has not configured it.
+     *
+     * @return The {@link HibernatePropertiesCustomizer} bean.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer bootCommonsBatchingCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.order_inserts", "true");
+            properties.putIfAbsent("hibernate.order_updates", "true");
+        };
+    }
+}
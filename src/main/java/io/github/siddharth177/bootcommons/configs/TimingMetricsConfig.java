@@ -0,0 +1,139 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.aop.timing.LatencyHistogram;
+import io.github.siddharth177.bootcommons.aop.timing.LatencySnapshot;
+import io.github.siddharth177.bootcommons.aop.timing.TimingRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Configuration class that publishes the histogram of every method timed with
+ * {@link io.github.siddharth177.bootcommons.aop.annotations.Timed} as Micrometer meters. It is only
+ * active when Micrometer is on the classpath, and publishes nothing without a {@link TimingRegistry} bean.
+ *
+ * <p>Every meter is tagged with {@code method=<class>.<method>(<parameter types>)}:</p>
+ * <ul>
+ *     <li>{@code timed.duration}: The count and total time of calls.</li>
+ *     <li>{@code timed.duration.percentile}: The latency in seconds, tagged {@code percentile=0.5},
+ *     {@code 0.99} or {@code 0.999}.</li>
+ *     <li>{@code timed.duration.max}: The slowest call in seconds.</li>
+ *     <li>{@code timed.duration.buckets}: The number of calls at or below each of the method's
+ *     {@code buckets}, tagged {@code le=<seconds>}.</li>
+ * </ul>
+ *
+ * <p>Methods are registered on their first call. Percentiles and the maximum cover all calls since
+ * startup, since they are read from cumulative histograms. A scrape reads every meter of a method from one
+ * snapshot, which is reused for {@value #SNAPSHOT_REUSE_MILLIS} ms, rather than merging the histogram
+ * once per meter.</p>
+ */
+@Configuration
+@ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+public class TimingMetricsConfig {
+
+    static final long SNAPSHOT_REUSE_MILLIS = 1_000;
+
+    /**
+     * Default constructor for {@code TimingMetricsConfig}.
+     */
+    public TimingMetricsConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates a {@link MeterBinder} that registers the meters of every timed method, including those
+     * first called after the registry was bound.
+     *
+     * @param timingRegistry The registry holding the histograms, if it is a bean.
+     * @return The binder.
+     */
+    @Bean
+    public MeterBinder timingMetrics(ObjectProvider<TimingRegistry> timingRegistry) {
+        return registry -> timingRegistry.ifAvailable(timings -> timings.addListener(histogram -> bind(registry, histogram)));
+    }
+
+    private static void bind(MeterRegistry registry, LatencyHistogram histogram) {
+        Tags tags = Tags.of("method", histogram.getName());
+        // Meters only hold their state object weakly, so they are registered on the histogram, which the
+        // TimingRegistry keeps, and reach the snapshot through their functions.
+        CachedSnapshot cached = new CachedSnapshot(histogram);
+
+        FunctionTimer.builder("timed.duration", histogram,
+                        h -> cached.get().getCount(), h -> cached.get().getTotalNanos(), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("The time spent in the method")
+                .register(registry);
+
+        for (double quantile : new double[]{0.5, 0.99, 0.999}) {
+            Gauge.builder("timed.duration.percentile", histogram, h -> seconds(cached.get().valueAtPercentile(quantile * 100)))
+                    .tags(tags.and("percentile", String.valueOf(quantile)))
+                    .baseUnit("seconds")
+                    .description("The latency at or below which the given share of calls fall")
+                    .register(registry);
+        }
+        Gauge.builder("timed.duration.max", histogram, h -> seconds(cached.get().getMaxNanos()))
+                .tags(tags)
+                .baseUnit("seconds")
+                .description("The latency of the slowest call")
+                .register(registry);
+
+        for (long boundary : histogram.getBoundaries()) {
+            FunctionCounter.builder("timed.duration.buckets", histogram,
+                            h -> bucketCount(cached.get(), boundary))
+                    .tags(tags.and("le", String.valueOf(seconds(boundary))))
+                    .description("The number of calls at or below the bucket bound")
+                    .register(registry);
+        }
+    }
+
+    private static double bucketCount(LatencySnapshot snapshot, long boundary) {
+        return snapshot.getBucketCounts().getOrDefault(boundary, 0L);
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+
+    /**
+     * The latest snapshot of a histogram, shared by its meters. A new one is taken when the last is
+     * older than {@link #SNAPSHOT_REUSE_MILLIS}, so the meters read during one scrape agree with each
+     * other and the histogram is merged once per scrape.
+     *
+     * <p>Readers do not block each other: callers that find the snapshot stale at the same time may
+     * each take one, but only the first is kept and returned to all of them.</p>
+     */
+    static final class CachedSnapshot {
+
+        private static final long REUSE_NANOS = TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_REUSE_MILLIS);
+
+        private final LatencyHistogram histogram;
+        private final AtomicReference<Taken> latest = new AtomicReference<>();
+
+        CachedSnapshot(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        LatencySnapshot get() {
+            long now = System.nanoTime();
+            Taken current = latest.get();
+            if (current != null && now - current.nanos() < REUSE_NANOS) {
+                return current.snapshot();
+            }
+            Taken next = new Taken(histogram.snapshot(), now);
+            return latest.compareAndSet(current, next) ? next.snapshot() : latest.get().snapshot();
+        }
+
+        private record Taken(LatencySnapshot snapshot, long nanos) {
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration class that provides the executor the library runs its own background work on when
+ * {@code bootcommons.virtual-threads.enabled=true}.
+ *
+ * <p>The {@code bootCommonsExecutor} bean starts a new virtual thread per task. It replaces the bounded
+ * pool from {@link AsyncConfig}, which caches use for refresh-ahead reloads and applications pass to
+ * {@link io.github.siddharth177.bootcommons.services.AsyncBaseService}. Request handling and
+ * {@code @Async} methods are switched to virtual threads by {@link VirtualThreadsEnvironmentPostProcessor}.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = VirtualThreadsEnvironmentPostProcessor.ENABLED_PROPERTY, havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * The name of the executor bean used for the library's background work.
+     */
+    public static final String EXECUTOR_BEAN_NAME = "bootCommonsExecutor";
+
+    /**
+     * Default constructor for {@code VirtualThreadsConfig}.
+     */
+    public VirtualThreadsConfig() {
+        // Default constructor
+    }
+
+    /**
+     * Creates an executor that runs every task on a new virtual thread.
+     *
+     * @return The {@link ExecutorService} bean; it is shut down with the application context.
+     */
+    @Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public ExecutorService bootCommonsExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bootcommons-", 0).factory());
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import org.springframework.boot.EnvironmentPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * Turns on Spring Boot's virtual-thread support when {@code bootcommons.virtual-threads.enabled} is
+ * {@code true}.
+ *
+ * <p>It sets {@code spring.threads.virtual.enabled=true} as a default, so Boot runs servlet requests,
+ * {@code @Async} methods, asynchronous MVC results such as {@code StreamingResponseBody} and
+ * {@code @Scheduled} tasks on virtual threads. The default is added with the lowest precedence, so an
+ * explicit {@code spring.threads.virtual.enabled=false} still wins.</p>
+ */
+public class VirtualThreadsEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    /**
+     * The property that enables virtual threads for the library and the application.
+     */
+    public static final String ENABLED_PROPERTY = "bootcommons.virtual-threads.enabled";
+
+    private static final String PROPERTY_SOURCE_NAME = "bootcommonsVirtualThreads";
+
+    /**
+     * Default constructor for {@code VirtualThreadsEnvironmentPostProcessor}.
+     */
+    public VirtualThreadsEnvironmentPostProcessor() {
+        // Default constructor
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty(ENABLED_PROPERTY, Boolean.class, false)) {
+            environment.getPropertySources().addLast(
+                    new MapPropertySource(PROPERTY_SOURCE_NAME, Map.of("spring.threads.virtual.enabled", "true")));
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.configs.ExceptionsProperties;
+import io.github.siddharth177.bootcommons.services.AsyncBaseService;
+import io.github.siddharth177.bootcommons.services.IBaseService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A variant of {@link GenericRestController} whose endpoints return {@link CompletableFuture}s. The
+ * database work runs on the executor of an {@link AsyncBaseService}, and the servlet thread is
+ * released as soon as the request has been parsed, so a slow query does not hold up one of the
+ * container's request threads. Spring MVC writes the response when the future completes, or answers
+ * {@code 503 (Service Unavailable)} once {@code spring.mvc.async.request-timeout} has elapsed.
+ *
+ * <p>It offers the single-entity endpoints and the paged reads of {@link GenericRestController}, and
+ * runs the same code for them on the executor, so paging, {@code ETag}s, {@code If-Match} and the
+ * error statuses are identical. Projections, streaming and batch requests are only offered by
+ * {@link GenericRestController}.</p>
+ *
+ * <p>If the entity is a JPA entity, an entity manager is bound to the executor thread while an
+ * endpoint runs, as open-in-view does for the servlet thread, and the response body is serialized
+ * once before it is closed. Lazy associations that the JSON includes are therefore loaded on the
+ * executor thread rather than failing when the response is written.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * @RestController
+ * @RequestMapping("/api/students")
+ * public class StudentController extends AsyncGenericRestController<Student, String> {
+ *     public StudentController(StudentService studentService, @Qualifier("bootCommonsExecutor") Executor executor) {
+ *         super(new AsyncBaseService<>(studentService, executor));
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T>  The type of the entity to be managed.
+ * @param <ID> The type of the entity's identifier (e.g., Long, String).
+ */
+@RestController
+public abstract class AsyncGenericRestController<T, ID> {
+
+    private final AsyncBaseService<T, ID> service;
+    private final GenericRestController<T, ID> endpoints;
+    private final Class<T> entityClass;
+
+    private ObjectMapper objectMapper;
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Constructs a new {@code AsyncGenericRestController} with the given service.
+     *
+     * @param service The {@link AsyncBaseService} to use for handling business logic.
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncGenericRestController(AsyncBaseService<T, ID> service) {
+        this.service = service;
+        Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), AsyncGenericRestController.class);
+        this.entityClass = arguments == null ? null : (Class<T>) arguments[0];
+        this.endpoints = new Endpoints<>(service.getDelegate(), entityClass);
+    }
+
+    /**
+     * Creates a new entity, as {@link GenericRestController#create} does.
+     *
+     * @param entity The entity to create, passed in the request body.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} containing the created entity and an
+     * HTTP status of {@code 201 (Created)}.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<T>> create(@RequestBody T entity) {
+        return async(() -> endpoints.create(entity));
+    }
+
+    /**
+     * Retrieves entities, either all at once or one page at a time, as
+     * {@link GenericRestController#getAll(Integer, Integer, String, String)} does.
+     *
+     * @param page   The zero-based page number, for offset pagination.
+     * @param size   The page size. Capped at the configured maximum.
+     * @param cursor The cursor of the page to read, for keyset pagination.
+     * @param sort   The sort order as {@code property[,asc|desc]}.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} containing the entities and an HTTP
+     * status of {@code 200 (OK)}, or {@code 400 (Bad Request)} if the paging parameters are invalid.
+     */
+    @GetMapping
+    public CompletableFuture<? extends ResponseEntity<?>> getAll(@RequestParam(required = false) Integer page,
+                                                                 @RequestParam(required = false) Integer size,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) String sort) {
+        return async(() -> endpoints.getAll(page, size, cursor, sort));
+    }
+
+    /**
+     * Retrieves an entity by its ID, as {@link GenericRestController#getById} does.
+     *
+     * @param id The ID of the entity to retrieve.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} containing the found entity with an
+     * HTTP status of {@code 200 (OK)}, {@code 304 (Not Modified)} if it matches the request's
+     * {@code If-None-Match} or {@code If-Modified-Since}, or {@code 404 (Not Found)} if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<T>> getById(@PathVariable ID id) {
+        return async(() -> endpoints.getById(id));
+    }
+
+    /**
+     * Updates an existing entity, honouring {@code If-Match} as {@link GenericRestController#update} does.
+     *
+     * @param id      The ID of the entity to update.
+     * @param entity  The updated entity data, passed in the request body.
+     * @param ifMatch The {@code If-Match} header of the request, if any.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} containing the entity as stored after
+     * the update and an HTTP status of {@code 200 (OK)}, {@code 404 (Not Found)} if the entity does not
+     * exist, {@code 412 (Precondition Failed)} if it does not match {@code If-Match}, or
+     * {@code 409 (Conflict)} if the body carries a stale version without {@code If-Match}.
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<T>> update(@PathVariable ID id, @RequestBody T entity,
+                                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return async(() -> endpoints.update(id, entity, ifMatch));
+    }
+
+    /**
+     * Changes some fields of an existing entity, following JSON Merge Patch (RFC 7396) as
+     * {@link GenericRestController#patch} does.
+     *
+     * @param id      The ID of the entity to patch.
+     * @param patch   The merge patch, passed in the request body as {@code application/merge-patch+json}
+     *                or {@code application/json}.
+     * @param ifMatch The {@code If-Match} header of the request, if any.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} with an HTTP status of
+     * {@code 204 (No Content)} if the entity was patched, {@code 404 (Not Found)} if it does not exist,
+     * {@code 400 (Bad Request)} if the patch names unknown or read-only fields,
+     * {@code 412 (Precondition Failed)} if {@code If-Match} does not match, or {@code 409 (Conflict)} if
+     * the entity was changed concurrently.
+     */
+    @PatchMapping(value = "/{id}", consumes = {GenericRestController.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public CompletableFuture<ResponseEntity<Void>> patch(@PathVariable ID id, @RequestBody Map<String, Object> patch,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return async(() -> endpoints.patch(id, patch, ifMatch));
+    }
+
+    /**
+     * Deletes an entity by its ID, as {@link GenericRestController#delete} does.
+     *
+     * @param id The ID of the entity to delete.
+     * @return A {@link CompletableFuture} of a {@link ResponseEntity} with an HTTP status of
+     * {@code 204 (No Content)} if the deletion is successful, or {@code 404 (Not Found)} if the entity
+     * does not exist.
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Void>> delete(@PathVariable ID id) {
+        return async(() -> endpoints.delete(id));
+    }
+
+    /**
+     * Sets the {@link ObjectMapper} used to compute tags and convert patches. It is injected automatically.
+     *
+     * @param objectMapper The application's {@link ObjectMapper}.
+     */
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        endpoints.setObjectMapper(objectMapper);
+    }
+
+    /**
+     * Applies {@code bootcommons.exceptions.stackless} to the errors of bad requests. It is injected
+     * automatically if the properties are bound.
+     *
+     * @param exceptionsProperties The exception settings.
+     */
+    @Autowired(required = false)
+    public void setExceptionsProperties(ExceptionsProperties exceptionsProperties) {
+        endpoints.setExceptionsProperties(exceptionsProperties);
+    }
+
+    @Autowired
+    void setPageSizes(@Value("${bootcommons.rest.default-page-size:20}") int defaultPageSize,
+                      @Value("${bootcommons.rest.max-page-size:100}") int maxPageSize) {
+        endpoints.setPageSizes(defaultPageSize, maxPageSize);
+    }
+
+    /**
+     * Keeps the application's entity manager factory if it manages the entity type.
+     */
+    @Autowired
+    void setEntityManagerFactory(ObjectProvider<EntityManagerFactory> entityManagerFactories) {
+        EntityManagerFactory factory = entityManagerFactories.getIfUnique();
+        if (factory != null && entityClass != null && factory.getMetamodel().getEntities().stream()
+                .anyMatch(entity -> entity.getJavaType() == entityClass)) {
+            this.entityManagerFactory = factory;
+        }
+    }
+
+    private <R extends ResponseEntity<?>> CompletableFuture<R> async(Supplier<R> endpoint) {
+        return CompletableFuture.supplyAsync(() -> withEntityManager(endpoint), service.getExecutor());
+    }
+
+    /**
+     * Runs an endpoint with an entity manager bound to the current thread and serializes its response
+     * body before closing it, which loads the lazy associations the body's JSON includes.
+     */
+    private <R extends ResponseEntity<?>> R withEntityManager(Supplier<R> endpoint) {
+        EntityManagerFactory factory = entityManagerFactory;
+        if (factory == null || TransactionSynchronizationManager.hasResource(factory)) {
+            return endpoint.get();
+        }
+        EntityManager entityManager = factory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(factory, new EntityManagerHolder(entityManager));
+        try {
+            R response = endpoint.get();
+            if (response.getBody() != null) {
+                objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+            }
+            return response;
+        } finally {
+            TransactionSynchronizationManager.unbindResource(factory);
+            EntityManagerFactoryUtils.closeEntityManager(entityManager);
+        }
+    }
+
+    /**
+     * The synchronous endpoints the asynchronous ones run on the executor. It is not a bean, so it is
+     * not mapped to requests itself.
+     */
+    private static final class Endpoints<T, ID> extends GenericRestController<T, ID> {
+
+        private Endpoints(IBaseService<T, ID> service, Class<T> entityClass) {
+            super(service, entityClass);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.entities.Auditable;
+import jakarta.persistence.Version;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ReflectionUtils;
+import tools.jackson.databind.ObjectMapper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Computes entity tags and modification times for conditional requests.
+ *
+ * <p>An entity's tag is derived from its {@link Version @Version} attribute, JPA's or Spring Data's
+ * {@link org.springframework.data.annotation.Version @Version} for documents, or, failing that, from
+ * {@link Auditable#getUpdatedAt()}. Both are read without serializing the entity, so a request whose
+ * {@code If-None-Match} matches can be answered with {@code 304} before any JSON is written. Entities
+ * with neither are tagged with an MD5 hash of their JSON, like Spring's {@code ShallowEtagHeaderFilter}.</p>
+ */
+final class EntityTags {
+
+    private static final Map<Class<?>, Optional<Field>> VERSION_FIELDS = new ConcurrentHashMap<>();
+    private static final Set<Class<? extends Annotation>> VERSION_ANNOTATIONS =
+            Set.of(Version.class, org.springframework.data.annotation.Version.class);
+
+    private EntityTags() {
+    }
+
+    /**
+     * Returns the tag of an entity.
+     *
+     * @param entity       The entity.
+     * @param objectMapper Serializes entities that carry no version.
+     * @return The unquoted tag.
+     */
+    static String tag(Object entity, ObjectMapper objectMapper) {
+        Object version = version(entity);
+        if (version instanceof Number number) {
+            return number.toString();
+        }
+        if (version != null) {
+            return md5(version.toString());
+        }
+        return DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(entity));
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against the current tag of an entity, using the strong
+     * comparison that RFC 9110 requires for {@code If-Match}.
+     *
+     * @param ifMatch The header value, {@code *} or a comma-separated list of quoted tags.
+     * @param tag     The unquoted tag of the current entity.
+     * @return {@code true} if the header matches the tag.
+     */
+    static boolean matches(String ifMatch, String tag) {
+        String quoted = '"' + tag + '"';
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(quoted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the tag of a list of entities, combining the ID and tag of each one in order.
+     *
+     * @param seed         Response state besides the entities, such as paging metadata.
+     * @param entities     The entities.
+     * @param ids          Returns the ID of an entity.
+     * @param objectMapper Serializes entities that carry no version.
+     * @param <T>          The type of the entities.
+     * @return The unquoted tag.
+     */
+    static <T> String tag(String seed, Collection<T> entities, Function<T, ?> ids, ObjectMapper objectMapper) {
+        StringBuilder tags = new StringBuilder(seed.length() + entities.size() * 16).append(seed).append('\n');
+        for (T entity : entities) {
+            tags.append(ids.apply(entity)).append(':').append(tag(entity, objectMapper)).append('\n');
+        }
+        return md5(tags.toString());
+    }
+
+    /**
+     * Returns when an entity was last modified.
+     *
+     * @param entity The entity.
+     * @return The modification time in epoch milliseconds, or {@code -1} if unknown.
+     */
+    static long lastModified(Object entity) {
+        if (entity instanceof Auditable<?> auditable && auditable.getUpdatedAt() != null) {
+            return toEpochMilli(auditable.getUpdatedAt());
+        }
+        return -1;
+    }
+
+    private static Object version(Object entity) {
+        Optional<Field> field = VERSION_FIELDS.computeIfAbsent(entity.getClass(), EntityTags::findVersionField);
+        if (field.isPresent()) {
+            return ReflectionUtils.getField(field.get(), entity);
+        }
+        if (entity instanceof Auditable<?> auditable) {
+            return auditable.getUpdatedAt();
+        }
+        return null;
+    }
+
+    private static Optional<Field> findVersionField(Class<?> type) {
+        Field[] found = new Field[1];
+        ReflectionUtils.doWithFields(type, field -> {
+            if (found[0] == null) {
+                ReflectionUtils.makeAccessible(field);
+                found[0] = field;
+            }
+        }, EntityTags::isVersion);
+        return Optional.ofNullable(found[0]);
+    }
+
+    private static boolean isVersion(Field field) {
+        for (Annotation annotation : field.getDeclaredAnnotations()) {
+            if (VERSION_ANNOTATIONS.contains(annotation.annotationType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static String md5(String value) {
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
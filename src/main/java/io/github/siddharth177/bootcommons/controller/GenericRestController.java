@@ -1,12 +1,48 @@
 package io.github.siddharth177.bootcommons.controller;
 
+import io.github.siddharth177.bootcommons.configs.ExceptionsProperties;
+import io.github.siddharth177.bootcommons.exceptions.ErrorResponse;
+import io.github.siddharth177.bootcommons.models.BatchItemResult;
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
 import io.github.siddharth177.bootcommons.services.IBaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.core.PropertyReferenceException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.BeanDescription;
+import tools.jackson.databind.DeserializationConfig;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.introspect.BeanPropertyDefinition;
+import tools.jackson.databind.introspect.ClassIntrospector;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * A generic REST controller that provides standard CRUD (Create, Read, Update, Delete) endpoints
@@ -16,14 +52,48 @@ import java.util.Optional;
  * <p>To use this controller, extend it and provide a concrete {@link IBaseService} implementation
  * for the specific entity and its ID type.</p>
  *
+ * <p>The page size of paginated reads defaults to {@code bootcommons.rest.default-page-size} (20)
+ * and is capped at {@code bootcommons.rest.max-page-size} (100). The NDJSON stream is flushed every
+ * {@code bootcommons.rest.stream-chunk-size} (500) entities. Batch requests accept up to
+ * {@code bootcommons.rest.max-batch-size} (10,000) items.</p>
+ *
+ * <p>Reads carry an {@code ETag} derived from the entities' {@code @Version} or {@code Auditable.updatedAt},
+ * and single {@code Auditable} entities a {@code Last-Modified} header. Requests whose {@code If-None-Match}
+ * or {@code If-Modified-Since} still match get a {@code 304 (Not Modified)} without a body being
+ * serialized. {@code PUT} and {@code PATCH} honour {@code If-Match} for optimistic concurrency.</p>
+ *
+ * <p>Both reads accept a {@code fields} parameter that selects a subset of fields, for example
+ * {@code ?fields=name,age}. Only those columns are queried and serialized.</p>
+ *
  * @param <T>  The type of the entity to be managed.
  * @param <ID> The type of the entity's identifier (e.g., Long, String).
  */
 @RestController
 public abstract class GenericRestController<T, ID> {
 
+    /**
+     * The media type of JSON Merge Patch documents, as a string.
+     */
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     private final IBaseService<T, ID> service;
 
+    @Value("${bootcommons.rest.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${bootcommons.rest.max-page-size:100}")
+    private int maxPageSize;
+
+    @Value("${bootcommons.rest.stream-chunk-size:500}")
+    private int streamChunkSize;
+
+    @Value("${bootcommons.rest.max-batch-size:10000}")
+    private int maxBatchSize;
+
+    private ObjectMapper objectMapper;
+    private ExceptionsProperties exceptionsProperties = new ExceptionsProperties();
+    private volatile Class<T> entityClass;
+
     /**
      * Constructs a new {@code GenericRestController} with the given service.
      *
@@ -33,6 +103,15 @@ public abstract class GenericRestController<T, ID> {
         this.service = service;
     }
 
+    /**
+     * Constructs a controller whose entity type is given rather than resolved from the subclass, for
+     * {@link AsyncGenericRestController}.
+     */
+    GenericRestController(IBaseService<T, ID> service, Class<T> entityClass) {
+        this.service = service;
+        this.entityClass = entityClass;
+    }
+
     /**
      * Creates a new entity.
      *
@@ -46,49 +125,233 @@ public abstract class GenericRestController<T, ID> {
     }
 
     /**
-     * Retrieves all entities.
+     * Retrieves entities, either all at once or one page at a time.
      *
-     * @return A {@link ResponseEntity} containing a list of all entities and an HTTP status of {@code 200 (OK)}.
+     * <ul>
+     *     <li>With {@code cursor}, returns a {@link KeysetPage}. Pass an empty cursor for the first page
+     *     and the returned {@code nextCursor} for the following ones.</li>
+     *     <li>With {@code page} or {@code size}, returns a {@link PagedModel} for the zero-based page.</li>
+     *     <li>Without any of them, returns the list from {@link #getAll()}.</li>
+     * </ul>
+     *
+     * @param page   The zero-based page number, for offset pagination.
+     * @param size   The page size. Capped at the configured maximum.
+     * @param cursor The cursor of the page to read, for keyset pagination.
+     * @param sort   The sort order as {@code property[,asc|desc]}.
+     * @return A {@link ResponseEntity} containing the entities and an HTTP status of {@code 200 (OK)}, or
+     * {@code 400 (Bad Request)} if the paging parameters are invalid or the sort property is unknown.
      */
     @GetMapping
+    @SuppressWarnings("deprecation")
+    public ResponseEntity<?> getAll(@RequestParam(required = false) Integer page,
+                                    @RequestParam(required = false) Integer size,
+                                    @RequestParam(required = false) String cursor,
+                                    @RequestParam(required = false) String sort) {
+        try {
+            if (cursor != null) {
+                KeysetPage<T> keysetPage = service.findAll(cursor, pageSize(size), parseSort(sort));
+                return conditional(String.valueOf(keysetPage.getNextCursor()), keysetPage.getContent(), keysetPage);
+            }
+            if (page != null || size != null) {
+                if (page != null && page < 0) {
+                    throw error(HttpStatus.BAD_REQUEST, "page must not be negative: " + page, null);
+                }
+                PageRequest pageRequest = PageRequest.of(page == null ? 0 : page, pageSize(size), parseSort(sort));
+                PagedModel<T> pagedModel = new PagedModel<>(service.findAll(pageRequest));
+                return conditional(String.valueOf(pagedModel.getMetadata()), pagedModel.getContent(), pagedModel);
+            }
+        } catch (IllegalArgumentException | PropertyReferenceException ex) {
+            throw error(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+        ResponseEntity<List<T>> all = getAll();
+        List<T> entities = all.getBody();
+        if (!all.getStatusCode().is2xxSuccessful() || entities == null) {
+            return all;
+        }
+        return conditional("", entities, entities);
+    }
+
+    /**
+     * Retrieves all entities. Requests without paging parameters are answered with this list, so
+     * subclasses that override it keep working.
+     *
+     * @return A {@link ResponseEntity} containing a list of all entities and an HTTP status of {@code 200 (OK)}.
+     * @deprecated Not mapped to a request any more; {@link #getAll(Integer, Integer, String, String)} calls it
+     * for unpaged requests and adds the {@code ETag} and {@code Last-Modified} headers. Override that method instead.
+     */
+    @Deprecated(since = "3.0.0")
     public ResponseEntity<List<T>> getAll() {
         List<T> entities = service.findAll();
         return new ResponseEntity<>(entities, HttpStatus.OK);
     }
 
+    /**
+     * Retrieves only the requested fields of entities, in the same modes as {@link #getAll(Integer, Integer, String, String)}. Only the
+     * columns of those fields are selected and only those properties are serialized.
+     *
+     * @param fields A comma-separated list of basic or embedded fields. The ID is always included.
+     * @param page   The zero-based page number, for offset pagination.
+     * @param size   The page size. Capped at the configured maximum.
+     * @param cursor The cursor of the page to read, for keyset pagination.
+     * @param sort   The sort order as {@code property[,asc|desc]}.
+     * @return A {@link ResponseEntity} containing the field maps and an HTTP status of {@code 200 (OK)}, or
+     * {@code 400 (Bad Request)} if a field or paging parameter is invalid or the sort property is unknown.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<?> getAllFields(@RequestParam String fields,
+                                          @RequestParam(required = false) Integer page,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) String sort) {
+        List<String> names = parseFields(fields);
+        try {
+            if (cursor != null) {
+                return projected(service.findAll(names, cursor, pageSize(size), parseSort(sort)));
+            }
+            if (page != null || size != null) {
+                if (page != null && page < 0) {
+                    throw error(HttpStatus.BAD_REQUEST, "page must not be negative: " + page, null);
+                }
+                PageRequest pageRequest = PageRequest.of(page == null ? 0 : page, pageSize(size), parseSort(sort));
+                return projected(new PagedModel<>(service.findAll(names, pageRequest)));
+            }
+            return projected(service.findAll(names, Pageable.unpaged(parseSort(sort))).getContent());
+        } catch (IllegalArgumentException | PropertyReferenceException ex) {
+            throw error(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Streams all entities as newline-delimited JSON ({@code application/x-ndjson}), one entity per line.
+     * Entities are written as they are read from the database and the response is flushed in chunks, so
+     * neither the server nor the client has to hold the whole table in memory.
+     *
+     * @return A {@link ResponseEntity} that writes the entities with an HTTP status of {@code 200 (OK)}.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            try {
+                service.streamAll(entity -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(entity));
+                        outputStream.write('\n');
+                        if (++written[0] % streamChunkSize == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Retrieves an entity by its ID.
      *
      * @param id The ID of the entity to retrieve.
      * @return A {@link ResponseEntity} containing the found entity if it exists, with an HTTP status of {@code 200 (OK)},
+     * {@code 304 (Not Modified)} if it matches the request's {@code If-None-Match} or {@code If-Modified-Since},
      * or an HTTP status of {@code 404 (Not Found)} if the entity does not exist.
      */
     @GetMapping("/{id}")
     public ResponseEntity<T> getById(@PathVariable ID id) {
         Optional<T> entity = service.findById(id);
-        return entity.map(value -> new ResponseEntity<>(value, HttpStatus.OK))
+        return entity.map(value -> tagged(EntityTags.tag(value, objectMapper), EntityTags.lastModified(value), value))
                 .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
-     * Updates an existing entity.
+     * Retrieves only the requested fields of an entity by its ID. Only the columns of those fields are
+     * selected and only those properties are serialized.
      *
-     * @param id     The ID of the entity to update.
-     * @param entity The updated entity data, passed in the request body.
-     * @return A {@link ResponseEntity} containing the updated entity and an HTTP status of {@code 200 (OK)}.
-     * If the entity does not exist, it returns an HTTP status of {@code 404 (Not Found)}.
+     * @param id     The ID of the entity to retrieve.
+     * @param fields A comma-separated list of basic or embedded fields. The ID is always included.
+     * @return A {@link ResponseEntity} containing the field map if the entity exists, with an HTTP status of
+     * {@code 200 (OK)}, {@code 404 (Not Found)} if it does not, or {@code 400 (Bad Request)} if a field is invalid.
+     */
+    @GetMapping(value = "/{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getByIdFields(@PathVariable ID id, @RequestParam String fields) {
+        Optional<Map<String, Object>> entity;
+        try {
+            entity = service.findById(id, parseFields(fields));
+        } catch (IllegalArgumentException ex) {
+            throw error(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+        return entity.map(this::projected).orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Updates an existing entity, see {@link IBaseService#updateById}.
+     *
+     * <p>If the request carries {@code If-Match}, the update is only applied if the entity's current
+     * {@code ETag} matches. The tag is compared in the same transaction as the update, which fails if
+     * the entity changes in between, see {@link IBaseService#updateById(Object, Object, java.util.function.Predicate)}.</p>
+     *
+     * @param id      The ID of the entity to update.
+     * @param entity  The updated entity data, passed in the request body.
+     * @param ifMatch The {@code If-Match} header of the request, if any.
+     * @return A {@link ResponseEntity} containing the entity as stored after the update, with its {@code ETag},
+     * and an HTTP status of {@code 200 (OK)}. If the entity does not exist, it returns an HTTP status of
+     * {@code 404 (Not Found)}, if it does not match {@code If-Match}, {@code 412 (Precondition Failed)},
+     * and if the body carries a stale version without {@code If-Match}, {@code 409 (Conflict)}.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<T> update(@PathVariable ID id, @RequestBody T entity) {
-        if (!service.existsById(id)) {
-            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    public ResponseEntity<T> update(@PathVariable ID id, @RequestBody T entity,
+                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<T> updated;
+        try {
+            updated = service.updateById(id, entity, ifMatch(ifMatch));
+        } catch (OptimisticLockingFailureException ex) {
+            return new ResponseEntity<>(conflict(ifMatch));
+        }
+        return updated.map(value -> tagged(EntityTags.tag(value, objectMapper), EntityTags.lastModified(value), value))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Changes some fields of an existing entity, following JSON Merge Patch (RFC 7396): fields present
+     * in the patch are replaced, {@code null} clears a field and nested objects patch embeddables. The patch
+     * is applied to the managed entity, see {@link IBaseService#patchById}.
+     * {@code If-Match} is honoured as for {@link #update}.
+     *
+     * @param id      The ID of the entity to patch.
+     * @param patch   The merge patch, passed in the request body as {@code application/merge-patch+json}
+     *                or {@code application/json}.
+     * @param ifMatch The {@code If-Match} header of the request, if any.
+     * @return A {@link ResponseEntity} with an HTTP status of {@code 204 (No Content)} if the entity was patched,
+     * {@code 404 (Not Found)} if it does not exist, {@code 400 (Bad Request)} if the patch names unknown or
+     * read-only fields, {@code 412 (Precondition Failed)} if {@code If-Match} does not match, or
+     * {@code 409 (Conflict)} if the entity was changed concurrently.
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patch(@PathVariable ID id, @RequestBody Map<String, Object> patch,
+                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        try {
+            flatten("", patch, objectMapper.convertValue(patch, entityClass()), changes, objectMapper);
+        } catch (JacksonException | IllegalArgumentException ex) {
+            throw error(HttpStatus.BAD_REQUEST, "Invalid patch: " + ex.getMessage(), ex);
+        }
+        int patched;
+        try {
+            patched = service.patchById(id, changes, ifMatch(ifMatch));
+        } catch (IllegalArgumentException ex) {
+            throw error(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (OptimisticLockingFailureException ex) {
+            return new ResponseEntity<>(conflict(ifMatch));
         }
-        T updatedEntity = service.save(entity);
-        return new ResponseEntity<>(updatedEntity, HttpStatus.OK);
+        return new ResponseEntity<>(patched == 0 ? HttpStatus.NOT_FOUND : HttpStatus.NO_CONTENT);
     }
 
     /**
-     * Deletes an entity by its ID.
+     * Deletes an entity by its ID, see {@link IBaseService#deleteByIdIfPresent}.
      *
      * @param id The ID of the entity to delete.
      * @return A {@link ResponseEntity} with an HTTP status of {@code 204 (No Content)} if the deletion is successful,
@@ -96,10 +359,298 @@ public abstract class GenericRestController<T, ID> {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable ID id) {
-        if (!service.existsById(id)) {
+        if (service.deleteByIdIfPresent(id) == 0) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        service.deleteById(id);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
+
+    /**
+     * Creates many entities in one request. Entities that carry the ID of an existing entity are
+     * rejected rather than overwriting it; the IDs are checked with a single query per chunk. The other
+     * entities are saved with {@link IBaseService#bulkSave(Iterable)}, in chunked transactions.
+     *
+     * @param entities The entities to create, passed in the request body.
+     * @return A {@link ResponseEntity} with one {@link BatchItemResult} per entity, in request order. The
+     * HTTP status is {@code 201 (Created)} if every entity was saved, or {@code 207 (Multi-Status)} if
+     * some were not. Items have status {@code 201} with the entity as stored, {@code 409} if an entity
+     * with the same ID already exists, or, if their chunk was rolled back, {@code 500}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<T>>> createAll(@RequestBody List<T> entities) {
+        checkBatchSize(entities.size());
+        List<BatchItemResult<T>> results = new ArrayList<>(Collections.nCopies(entities.size(), null));
+        List<ID> ids = new ArrayList<>();
+        for (T entity : entities) {
+            ID id = service.getId(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        Set<ID> existing = ids.isEmpty() ? Set.of() : service.findExistingIds(ids);
+        List<T> creates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            ID id = service.getId(entities.get(i));
+            if (id != null && existing.contains(id)) {
+                results.set(i, new BatchItemResult<>(i, HttpStatus.CONFLICT.value(), id, null, "Already exists"));
+            } else {
+                creates.add(entities.get(i));
+                positions.add(i);
+            }
+        }
+        writeChunked(service.bulkSave(creates), creates, results, positions, HttpStatus.CREATED);
+        return batchResponse(results, HttpStatus.CREATED);
+    }
+
+    /**
+     * Updates many existing entities in one request. Existence is checked with a single query per
+     * chunk, and the existing entities are updated with {@link IBaseService#bulkUpdate(Iterable)}, which
+     * applies each one as {@link #update} does: an entity without a version updates the current one, and
+     * the creation audit fields are kept.
+     *
+     * @param entities The updated entities, passed in the request body. Each must carry its ID.
+     * @return A {@link ResponseEntity} with one {@link BatchItemResult} per entity, in request order. The
+     * HTTP status is {@code 200 (OK)} if every entity was updated, or {@code 207 (Multi-Status)} if some
+     * were not. Items have status {@code 200} with the entity as stored, {@code 400} if the ID is missing,
+     * {@code 404} if the entity does not exist, or {@code 500} if their chunk was rolled back, for example
+     * because one of its entities carries a stale version.
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<T>>> updateAll(@RequestBody List<T> entities) {
+        checkBatchSize(entities.size());
+        List<BatchItemResult<T>> results = new ArrayList<>(entities.size());
+        List<ID> ids = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            ID id = service.getId(entities.get(i));
+            results.add(id == null ? new BatchItemResult<>(i, HttpStatus.BAD_REQUEST.value(), null, null, "Missing ID") : null);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        Set<ID> existing = service.findExistingIds(ids);
+        List<T> updates = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            if (results.get(i) == null) {
+                ID id = service.getId(entities.get(i));
+                if (existing.contains(id)) {
+                    updates.add(entities.get(i));
+                    positions.add(i);
+                } else {
+                    results.set(i, new BatchItemResult<>(i, HttpStatus.NOT_FOUND.value(), id, null, "Not found"));
+                }
+            }
+        }
+        writeChunked(service.bulkUpdate(updates), updates, results, positions, HttpStatus.OK);
+        return batchResponse(results, HttpStatus.OK);
+    }
+
+    /**
+     * Deletes many entities in one request, using {@link IBaseService#deleteAllById(Iterable)}.
+     *
+     * @param ids The IDs of the entities to delete, passed in the request body.
+     * @return A {@link ResponseEntity} with one {@link BatchItemResult} per ID, in request order. The HTTP
+     * status is {@code 200 (OK)} if every entity was deleted, or {@code 207 (Multi-Status)} if some did
+     * not exist. Items have status {@code 204} or {@code 404}.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<T>>> deleteAll(@RequestBody List<ID> ids) {
+        checkBatchSize(ids.size());
+        Set<ID> deleted = service.deleteAllById(ids);
+        List<BatchItemResult<T>> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            ID id = ids.get(i);
+            results.add(deleted.contains(id)
+                    ? new BatchItemResult<>(i, HttpStatus.NO_CONTENT.value(), id, null, null)
+                    : new BatchItemResult<>(i, HttpStatus.NOT_FOUND.value(), id, null, "Not found"));
+        }
+        return batchResponse(results, HttpStatus.OK);
+    }
+
+    /**
+     * Sets the {@link ObjectMapper} used to write streamed entities. It is injected automatically.
+     *
+     * @param objectMapper The application's {@link ObjectMapper}.
+     */
+    @Autowired
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates the errors of bad requests without a stack trace if {@code bootcommons.exceptions.stackless}
+     * is set. It is injected automatically if the properties are bound.
+     *
+     * @param exceptionsProperties The exception settings.
+     */
+    @Autowired(required = false)
+    public void setExceptionsProperties(ExceptionsProperties exceptionsProperties) {
+        this.exceptionsProperties = exceptionsProperties;
+    }
+
+    /**
+     * Sets the page sizes of a controller that is not a bean, for {@link AsyncGenericRestController}.
+     */
+    void setPageSizes(int defaultPageSize, int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Returns the precondition of an {@code If-Match} header, or {@literal null} without one.
+     */
+    private Predicate<T> ifMatch(String ifMatch) {
+        return ifMatch == null ? null : current -> EntityTags.matches(ifMatch, EntityTags.tag(current, objectMapper));
+    }
+
+    private static HttpStatus conflict(String ifMatch) {
+        return ifMatch == null ? HttpStatus.CONFLICT : HttpStatus.PRECONDITION_FAILED;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> entityClass() {
+        Class<T> type = entityClass;
+        if (type == null) {
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), GenericRestController.class);
+            if (arguments == null || arguments[0] == null) {
+                throw new IllegalStateException("Cannot resolve the entity type of " + getClass().getName());
+            }
+            type = (Class<T>) arguments[0];
+            entityClass = type;
+        }
+        return type;
+    }
+
+    /**
+     * Turns a merge patch into attribute paths and values. Values are taken from {@code partial}, the
+     * patch deserialized into the entity type, so they have the attribute types. JSON names are mapped
+     * to fields through the mapper's view of the type, so {@code @JsonProperty} renames and naming
+     * strategies apply as they did when the patch was deserialized.
+     */
+    @SuppressWarnings("unchecked")
+    static void flatten(String prefix, Map<String, Object> patch, Object partial, Map<String, Object> changes,
+                        ObjectMapper objectMapper) {
+        Map<String, String> fieldNames = partial == null ? Map.of() : fieldNames(objectMapper, partial.getClass());
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String fieldName = fieldNames.get(entry.getKey());
+            Field field = fieldName == null ? null : ReflectionUtils.findField(partial.getClass(), fieldName);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown field: " + prefix + entry.getKey());
+            }
+            String path = prefix + field.getName();
+            ReflectionUtils.makeAccessible(field);
+            Object value = ReflectionUtils.getField(field, partial);
+            if (entry.getValue() instanceof Map<?, ?> nested && value != null && !(value instanceof Map)) {
+                flatten(path + ".", (Map<String, Object>) nested, value, changes, objectMapper);
+            } else {
+                changes.put(path, entry.getValue() == null ? null : value);
+            }
+        }
+    }
+
+    /**
+     * Returns the Java property names of the type's deserializable properties by their JSON names.
+     */
+    private static Map<String, String> fieldNames(ObjectMapper objectMapper, Class<?> type) {
+        DeserializationConfig config = objectMapper.deserializationConfig();
+        ClassIntrospector introspector = config.classIntrospectorInstance().forOperation(config);
+        JavaType javaType = config.constructType(type);
+        BeanDescription description = introspector.introspectForDeserialization(javaType,
+                introspector.introspectClassAnnotations(javaType));
+        Map<String, String> names = new HashMap<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldDeserialize()) {
+                names.put(property.getName(), property.getInternalName());
+            }
+        }
+        return names;
+    }
+
+    private <B> ResponseEntity<B> projected(B body) {
+        return tagged(EntityTags.tag(body, objectMapper), -1, body);
+    }
+
+    private static List<String> parseFields(String fields) {
+        List<String> names = new ArrayList<>();
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                names.add(field.trim());
+            }
+        }
+        return names;
+    }
+
+    private <B> ResponseEntity<B> conditional(String seed, List<T> entities, B body) {
+        // No Last-Modified: a deletion changes the tag, but not the latest modification time of the rest
+        return tagged(EntityTags.tag(seed, entities, service::getId, objectMapper), -1, body);
+    }
+
+    static <B> ResponseEntity<B> tagged(String eTag, long lastModified, B body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(eTag);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Records the outcome of a bulk write in the results. The reason a chunk failed is logged by the
+     * service and not returned, since it may expose SQL or constraint names.
+     */
+    private void writeChunked(BulkWriteResult written, List<T> entities, List<BatchItemResult<T>> results,
+                              List<Integer> positions, HttpStatus status) {
+        for (ChunkResult chunk : written.getChunks()) {
+            String error = chunk.isSuccess() ? null : "Chunk " + chunk.getChunk() + " was rolled back";
+            for (int i = 0; i < chunk.getSize(); i++) {
+                int position = (int) chunk.getOffset() + i;
+                T entity = entities.get(position);
+                int index = positions.get(position);
+                results.set(index, chunk.isSuccess()
+                        ? new BatchItemResult<>(index, status.value(), service.getId(entity), entity, null)
+                        : new BatchItemResult<>(index, HttpStatus.INTERNAL_SERVER_ERROR.value(), service.getId(entity), null, error));
+            }
+        }
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw error(HttpStatus.CONTENT_TOO_LARGE, "Batch size " + size + " exceeds the maximum of " + maxBatchSize, null);
+        }
+    }
+
+    private ErrorResponse error(HttpStatus status, String message, Throwable cause) {
+        return new ErrorResponse(status, message, cause, exceptionsProperties.isStackless());
+    }
+
+    private static <E> ResponseEntity<List<BatchItemResult<E>>> batchResponse(List<BatchItemResult<E>> results,
+                                                                            HttpStatus status) {
+        boolean complete = results.stream().allMatch(result -> result.getStatus() < 300);
+        return new ResponseEntity<>(results, complete ? status : HttpStatus.MULTI_STATUS);
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (size < 1) {
+            throw error(HttpStatus.BAD_REQUEST, "size must be positive: " + size, null);
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] parts = sort.split(",");
+        if (parts.length > 2 || parts[0].isBlank()) {
+            throw error(HttpStatus.BAD_REQUEST, "sort must be property[,asc|desc]: " + sort, null);
+        }
+        Sort.Direction direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                .orElseThrow(() -> error(HttpStatus.BAD_REQUEST, "Invalid sort direction: " + parts[1], null))
+                : Sort.Direction.ASC;
+        return Sort.by(direction, parts[0].trim());
+    }
 }
@@ -0,0 +1,314 @@
+package io.github.siddharth177.bootcommons.entities;
+
+import io.github.siddharth177.bootcommons.services.audit.AuditAction;
+import io.github.siddharth177.bootcommons.services.audit.AuditRecord;
+import io.github.siddharth177.bootcommons.services.audit.AuditTrail;
+import io.github.siddharth177.bootcommons.services.audit.FieldChange;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A JPA entity listener of {@link Auditable} that records field-level changes to the
+ * {@link AuditTrail} installed by {@link io.github.siddharth177.bootcommons.configs.AuditConfig}. Without
+ * one, which is the default, it does nothing.
+ *
+ * <p>The values of an entity's basic fields are captured when it is loaded or persisted. When the
+ * entity is updated, the fields that differ are recorded with their old and new values. Basic fields
+ * are primitives and their wrappers, strings, enums, {@code BigDecimal}, {@code BigInteger},
+ * {@code UUID}, {@code java.time} values and dates. Associations, collections, embedded objects,
+ * version fields and the fields of {@link Auditable} itself are not recorded.</p>
+ *
+ * <p>Creations and updates are credited to the entity's {@code createdBy} and {@code updatedBy}.
+ * Deletions are credited to the current auditor of the {@link AuditorAware} installed with the trail,
+ * or to nobody without one.</p>
+ *
+ * <p>Inside a transaction, records are handed to the audit trail only after the transaction
+ * commits, so rolled-back changes are not recorded. A transaction started while another one is
+ * suspended, such as a chunk of a bulk save, commits or discards its records on its own. Bulk updates and deletes that bypass the
+ * persistence context, such as JPQL {@code UPDATE} and {@code DELETE} queries, do not trigger the
+ * listener. The writes of {@link io.github.siddharth177.bootcommons.services.BaseService}, including
+ * {@code updateById}, {@code patchById} and {@code deleteAllById}, load the entities and do.</p>
+ */
+public class AuditEntityListener {
+
+    private static final Map<Class<?>, AuditedFields> FIELDS = new ConcurrentHashMap<>();
+
+    private static final AtomicReference<Installed> INSTALLED = new AtomicReference<>();
+
+    /**
+     * Default constructor for {@code AuditEntityListener}.
+     */
+    public AuditEntityListener() {
+        // Default constructor
+    }
+
+    /**
+     * Sets the audit trail that changes are recorded to, without an auditor for deletions.
+     *
+     * @param trail The audit trail, or {@code null} to stop recording.
+     */
+    public static void install(AuditTrail trail) {
+        install(trail, null);
+    }
+
+    /**
+     * Sets the audit trail that changes are recorded to and the auditor that deletions are credited to.
+     *
+     * @param trail        The audit trail, or {@code null} to stop recording.
+     * @param auditorAware The application's {@link AuditorAware}, or {@code null} to leave the author
+     *                     of deletions empty.
+     */
+    public static void install(AuditTrail trail, AuditorAware<?> auditorAware) {
+        INSTALLED.set(trail == null ? null : new Installed(trail, auditorAware));
+    }
+
+    /**
+     * Stops recording to the given audit trail, if it is the installed one.
+     *
+     * @param trail The audit trail that is being closed.
+     */
+    public static void uninstall(AuditTrail trail) {
+        Installed current = INSTALLED.get();
+        if (current != null && current.trail() == trail) {
+            INSTALLED.compareAndSet(current, null);
+        }
+    }
+
+    /**
+     * Captures the field values of a loaded entity.
+     *
+     * @param entity The loaded entity.
+     */
+    @PostLoad
+    public void afterLoad(Object entity) {
+        if (INSTALLED.get() != null && entity instanceof Auditable<?> auditable) {
+            auditable.auditSnapshot = fields(entity.getClass()).values(entity);
+        }
+    }
+
+    /**
+     * Records the field values of a new entity.
+     *
+     * @param entity The persisted entity.
+     */
+    @PostPersist
+    public void afterPersist(Object entity) {
+        Installed installed = INSTALLED.get();
+        if (installed == null || !(entity instanceof Auditable<?> auditable)) {
+            return;
+        }
+        AuditedFields fields = fields(entity.getClass());
+        Object[] values = fields.values(entity);
+        List<FieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                changes.add(new FieldChange(fields.names[i], null, values[i]));
+            }
+        }
+        auditable.auditSnapshot = values;
+        enqueue(installed.trail(), new AuditRecord(entity.getClass().getSimpleName(), fields.id(entity), AuditAction.CREATE,
+                Collections.unmodifiableList(changes), user(auditable.getCreatedBy()), time(auditable.getCreatedAt())));
+    }
+
+    /**
+     * Records the fields of an entity that changed since it was loaded or last recorded.
+     *
+     * @param entity The updated entity.
+     */
+    @PostUpdate
+    public void afterUpdate(Object entity) {
+        Installed installed = INSTALLED.get();
+        if (installed == null || !(entity instanceof Auditable<?> auditable)) {
+            return;
+        }
+        AuditedFields fields = fields(entity.getClass());
+        Object[] values = fields.values(entity);
+        Object[] previous = auditable.auditSnapshot;
+        List<FieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            Object oldValue = previous == null ? null : previous[i];
+            if (!Objects.equals(oldValue, values[i])) {
+                changes.add(new FieldChange(fields.names[i], oldValue, values[i]));
+            }
+        }
+        auditable.auditSnapshot = values;
+        if (changes.isEmpty()) {
+            return;
+        }
+        enqueue(installed.trail(), new AuditRecord(entity.getClass().getSimpleName(), fields.id(entity), AuditAction.UPDATE,
+                Collections.unmodifiableList(changes), user(auditable.getUpdatedBy()), time(auditable.getUpdatedAt())));
+    }
+
+    /**
+     * Records the last field values of a deleted entity.
+     *
+     * @param entity The removed entity.
+     */
+    @PostRemove
+    public void afterRemove(Object entity) {
+        Installed installed = INSTALLED.get();
+        if (installed == null || !(entity instanceof Auditable<?> auditable)) {
+            return;
+        }
+        AuditedFields fields = fields(entity.getClass());
+        Object[] values = auditable.auditSnapshot != null ? auditable.auditSnapshot : fields.values(entity);
+        List<FieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                changes.add(new FieldChange(fields.names[i], values[i], null));
+            }
+        }
+        enqueue(installed.trail(), new AuditRecord(entity.getClass().getSimpleName(), fields.id(entity), AuditAction.DELETE,
+                Collections.unmodifiableList(changes), installed.currentAuditor(), LocalDateTime.now()));
+    }
+
+    private static void enqueue(AuditTrail trail, AuditRecord auditRecord) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            trail.record(auditRecord);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<AuditRecord> pending = (List<AuditRecord>) TransactionSynchronizationManager.getResource(trail);
+        if (pending == null) {
+            List<AuditRecord> committed = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(trail, committed);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                // A nested REQUIRES_NEW transaction, such as a bulkSave chunk, collects its own records
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(trail);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(trail, committed);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(trail);
+                    if (status == STATUS_COMMITTED) {
+                        committed.forEach(trail::record);
+                    }
+                }
+            });
+            pending = committed;
+        }
+        pending.add(auditRecord);
+    }
+
+    /**
+     * The installed audit trail and the auditor that deletions are credited to.
+     */
+    private record Installed(AuditTrail trail, AuditorAware<?> auditorAware) {
+
+        String currentAuditor() {
+            return auditorAware == null ? null : user(auditorAware.getCurrentAuditor().orElse(null));
+        }
+    }
+
+    private static String user(Object user) {
+        return user == null ? null : String.valueOf(user);
+    }
+
+    private static LocalDateTime time(LocalDateTime time) {
+        return time == null ? LocalDateTime.now() : time;
+    }
+
+    private static AuditedFields fields(Class<?> entityClass) {
+        AuditedFields fields = FIELDS.get(entityClass);
+        if (fields == null) {
+            fields = FIELDS.computeIfAbsent(entityClass, AuditedFields::of);
+        }
+        return fields;
+    }
+
+    private record AuditedFields(Field idField, Field[] fields, String[] names) {
+
+        private static AuditedFields of(Class<?> entityClass) {
+            Field idField = null;
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> type = entityClass; type != Auditable.class && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                        field.setAccessible(true);
+                        idField = field;
+                    } else if (isAudited(field)) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return new AuditedFields(idField, fields.toArray(new Field[0]),
+                    fields.stream().map(Field::getName).toArray(String[]::new));
+        }
+
+        private static boolean isAudited(Field field) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                    || field.isAnnotationPresent(Transient.class) || field.isAnnotationPresent(Version.class)
+                    || field.isAnnotationPresent(OneToMany.class) || field.isAnnotationPresent(ManyToMany.class)
+                    || field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToOne.class)
+                    || field.isAnnotationPresent(ElementCollection.class)) {
+                return false;
+            }
+            Class<?> type = field.getType();
+            return type.isPrimitive() || type.isEnum() || type == String.class || type == UUID.class
+                    || Date.class.isAssignableFrom(type)
+                    || Number.class.isAssignableFrom(type) && (type.getPackageName().equals("java.lang") || type.getPackageName().equals("java.math"))
+                    || type == Boolean.class || type == Character.class
+                    || type.getPackageName().equals("java.time");
+        }
+
+        private Object[] values(Object entity) {
+            Object[] values = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                values[i] = value(fields[i], entity);
+            }
+            return values;
+        }
+
+        private String id(Object entity) {
+            Object id = idField == null ? null : value(idField, entity);
+            return id == null ? null : String.valueOf(id);
+        }
+
+        private static Object value(Field field, Object entity) {
+            try {
+                Object value = field.get(entity);
+                // Dates are mutable; keep the instant they stood for
+                return value instanceof Date date ? Instant.ofEpochMilli(date.getTime()) : value;
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read " + field, e);
+            }
+        }
+    }
+}
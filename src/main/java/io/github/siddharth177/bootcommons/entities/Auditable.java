@@ -2,6 +2,7 @@ package io.github.siddharth177.bootcommons.entities;
 
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedBy;
@@ -17,12 +18,15 @@ import java.time.LocalDateTime;
  * This class includes fields for tracking the creation and last modification timestamps, as well as the
  * users who performed these actions.
  *
+ * <p>With {@code bootcommons.audit.enabled=true}, every change to the entity is also recorded with its
+ * field-level differences by the {@link AuditEntityListener}.</p>
+ *
  * @param <U> The type of the user identifier.
  */
 @Getter
 @Setter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, AuditEntityListener.class})
 public abstract class Auditable<U> {
 
     /**
@@ -43,4 +47,11 @@ public abstract class Auditable<U> {
 
     @LastModifiedBy
     private U updatedBy;
+
+    /**
+     * The field values last seen by the {@link AuditEntityListener}; never persisted.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    transient Object[] auditSnapshot;
 }
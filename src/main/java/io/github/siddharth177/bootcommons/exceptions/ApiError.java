@@ -0,0 +1,60 @@
+package io.github.siddharth177.bootcommons.exceptions;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The JSON body of an error response, as returned by {@link GlobalExceptionHandler}. Unlike
+ * {@link ErrorResponse}, which is thrown, it is a plain immutable value, and {@link ApiErrorWriter}
+ * writes it without reflection.
+ *
+ * <pre>
+ * {@code
+ * {"statusCode":404,"message":"Student with id 42 not found","timestamp":"2025-01-01T12:00:00.123"}
+ * }
+ * </pre>
+ */
+@Getter
+@AllArgsConstructor
+public class ApiError {
+
+    /**
+     * The HTTP status code of the error.
+     */
+    private final int statusCode;
+
+    /**
+     * The descriptive message explaining the error.
+     */
+    private final String message;
+
+    /**
+     * The timestamp when the error occurred.
+     */
+    private final LocalDateTime timestamp;
+
+    /**
+     * Creates an error with the current time, truncated to milliseconds.
+     *
+     * @param status  The HTTP status of the error.
+     * @param message The descriptive message explaining the error.
+     * @return The error.
+     */
+    public static ApiError of(HttpStatus status, String message) {
+        return new ApiError(status.value(), message, LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    /**
+     * Creates an error from a thrown {@link ErrorResponse}.
+     *
+     * @param errorResponse The thrown error response.
+     * @return The error, with the status code, message and timestamp of the error response.
+     */
+    public static ApiError of(ErrorResponse errorResponse) {
+        return new ApiError(errorResponse.getStatusCode(), errorResponse.getMessage(), errorResponse.getTimestamp());
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.siddharth177.bootcommons.exceptions;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * An {@link org.springframework.http.converter.HttpMessageConverter} that writes {@link ApiError}
+ * bodies as JSON with an {@link ApiErrorWriter}, bypassing Jackson's serializers. It only writes;
+ * error bodies are never read from requests.
+ */
+public class ApiErrorHttpMessageConverter extends AbstractHttpMessageConverter<ApiError> {
+
+    private final ApiErrorWriter writer;
+
+    /**
+     * Constructs a new {@code ApiErrorHttpMessageConverter}.
+     *
+     * @param writer The writer that produces the JSON.
+     */
+    public ApiErrorHttpMessageConverter(ApiErrorWriter writer) {
+        super(MediaType.APPLICATION_JSON);
+        this.writer = writer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ApiError.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected ApiError readInternal(Class<? extends ApiError> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("ApiError bodies cannot be read", inputMessage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Long getContentLength(ApiError error, MediaType contentType) {
+        long length = writer.contentLength(error);
+        return length < 0 ? null : length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void writeInternal(ApiError error, HttpOutputMessage outputMessage) throws IOException {
+        writer.write(error, outputMessage.getBody());
+    }
+}
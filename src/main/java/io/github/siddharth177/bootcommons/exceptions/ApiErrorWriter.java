@@ -0,0 +1,189 @@
+package io.github.siddharth177.bootcommons.exceptions;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Writes an {@link ApiError} as UTF-8 JSON straight to an output stream, exactly as the application's
+ * {@link ObjectMapper} would. The JSON is assembled from byte templates that the mapper produces once
+ * for a sample error, so its naming strategy, property order, date format and escaping apply. The
+ * status code, the latest message of each status and the latest timestamp are cached, so writing an
+ * error whose parts have been seen before allocates nothing, which keeps the error path cheap when a
+ * downstream outage turns most responses into errors.
+ *
+ * <p>If the mapper's output for the sample cannot be split into templates, for example because it
+ * indents nested values, or if an error has a {@literal null} message or timestamp, the error is
+ * written by the mapper itself.</p>
+ *
+ * <p>The writer is thread-safe. {@link io.github.siddharth177.bootcommons.configs.ExceptionsConfig} registers
+ * one for {@link ApiErrorHttpMessageConverter}; filters that reject requests before they reach a
+ * controller can use the same bean.</p>
+ */
+public class ApiErrorWriter {
+
+    private static final int MAX_STATUS_CODE = 599;
+    private static final int SAMPLE_STATUS = 1_987_654_321;
+    private static final String SAMPLE_MESSAGE = "ApiErrorWriter sample message";
+    private static final LocalDateTime SAMPLE_TIMESTAMP = LocalDateTime.of(1999, 12, 31, 23, 59, 58, 987_000_000);
+
+    private static final int STATUS = 0;
+    private static final int MESSAGE = 1;
+    private static final int TIMESTAMP = 2;
+
+    private final ObjectMapper objectMapper;
+    private final byte[][] literals;
+    private final int[] order;
+    private final AtomicReferenceArray<byte[]> statusCodes = new AtomicReferenceArray<>(MAX_STATUS_CODE + 1);
+    private final AtomicReferenceArray<CachedMessage> messages = new AtomicReferenceArray<>(MAX_STATUS_CODE + 1);
+    private volatile CachedTimestamp lastTimestamp = new CachedTimestamp(null, null);
+
+    /**
+     * Constructs a new {@code ApiErrorWriter} that writes JSON like a default {@link JsonMapper}.
+     */
+    public ApiErrorWriter() {
+        this(JsonMapper.builder().build());
+    }
+
+    /**
+     * Constructs a new {@code ApiErrorWriter} that writes JSON like the given mapper.
+     *
+     * @param objectMapper The application's {@link ObjectMapper}.
+     */
+    public ApiErrorWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        String sample = objectMapper.writeValueAsString(new ApiError(SAMPLE_STATUS, SAMPLE_MESSAGE, SAMPLE_TIMESTAMP));
+        String[] values = {
+                objectMapper.writeValueAsString(SAMPLE_STATUS),
+                objectMapper.writeValueAsString(SAMPLE_MESSAGE),
+                objectMapper.writeValueAsString(SAMPLE_TIMESTAMP)
+        };
+        int[] positions = new int[values.length];
+        boolean splittable = true;
+        for (int i = 0; i < values.length; i++) {
+            positions[i] = sample.indexOf(values[i]);
+            splittable &= positions[i] >= 0 && sample.indexOf(values[i], positions[i] + 1) < 0;
+        }
+        Integer[] sorted = {STATUS, MESSAGE, TIMESTAMP};
+        Arrays.sort(sorted, Comparator.comparingInt(i -> positions[i]));
+        for (int i = 1; splittable && i < sorted.length; i++) {
+            int previous = sorted[i - 1];
+            splittable = positions[previous] + values[previous].length() <= positions[sorted[i]];
+        }
+        if (!splittable) {
+            this.literals = null;
+            this.order = null;
+            return;
+        }
+        this.order = new int[sorted.length];
+        this.literals = new byte[sorted.length + 1][];
+        int start = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            order[i] = sorted[i];
+            literals[i] = sample.substring(start, positions[sorted[i]]).getBytes(StandardCharsets.UTF_8);
+            start = positions[sorted[i]] + values[sorted[i]].length();
+        }
+        literals[sorted.length] = sample.substring(start).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the error as JSON. The stream is neither flushed nor closed.
+     *
+     * @param error The error to write.
+     * @param out   The stream to write to.
+     * @throws IOException If writing to the stream fails.
+     */
+    public void write(ApiError error, OutputStream out) throws IOException {
+        if (!templated(error)) {
+            out.write(objectMapper.writeValueAsBytes(error));
+            return;
+        }
+        for (int i = 0; i < order.length; i++) {
+            out.write(literals[i]);
+            out.write(value(error, order[i]));
+        }
+        out.write(literals[order.length]);
+    }
+
+    /**
+     * Returns the number of bytes {@link #write(ApiError, OutputStream)} writes for the error.
+     *
+     * @param error The error.
+     * @return The length of its JSON in bytes, or {@code -1} if it is written by the mapper and its
+     * length is not known in advance.
+     */
+    public long contentLength(ApiError error) {
+        if (!templated(error)) {
+            return -1;
+        }
+        long length = literals[order.length].length;
+        for (int i = 0; i < order.length; i++) {
+            length += literals[i].length + value(error, order[i]).length;
+        }
+        return length;
+    }
+
+    private boolean templated(ApiError error) {
+        return literals != null && error.getMessage() != null && error.getTimestamp() != null;
+    }
+
+    private byte[] value(ApiError error, int field) {
+        return switch (field) {
+            case STATUS -> statusCode(error.getStatusCode());
+            case MESSAGE -> message(error.getStatusCode(), error.getMessage());
+            default -> timestamp(error.getTimestamp());
+        };
+    }
+
+    private byte[] statusCode(int statusCode) {
+        if (statusCode < 0 || statusCode > MAX_STATUS_CODE) {
+            return objectMapper.writeValueAsBytes(statusCode);
+        }
+        byte[] bytes = statusCodes.get(statusCode);
+        if (bytes == null) {
+            bytes = objectMapper.writeValueAsBytes(statusCode);
+            statusCodes.set(statusCode, bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the message as JSON, reusing the bytes of the previous message of the same status, so the
+     * cache holds at most one message per status however many distinct messages there are.
+     */
+    private byte[] message(int statusCode, String message) {
+        if (statusCode < 0 || statusCode > MAX_STATUS_CODE) {
+            return objectMapper.writeValueAsBytes(message);
+        }
+        CachedMessage cached = messages.get(statusCode);
+        if (cached != null && cached.value().equals(message)) {
+            return cached.bytes();
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(message);
+        messages.set(statusCode, new CachedMessage(message, bytes));
+        return bytes;
+    }
+
+    private byte[] timestamp(LocalDateTime timestamp) {
+        CachedTimestamp cached = lastTimestamp;
+        if (timestamp.equals(cached.value())) {
+            return cached.bytes();
+        }
+        byte[] bytes = objectMapper.writeValueAsBytes(timestamp);
+        lastTimestamp = new CachedTimestamp(timestamp, bytes);
+        return bytes;
+    }
+
+    private record CachedMessage(String value, byte[] bytes) {
+    }
+
+    private record CachedTimestamp(LocalDateTime value, byte[] bytes) {
+    }
+}
@@ -1,7 +1,6 @@
 package io.github.siddharth177.bootcommons.exceptions;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.Getter;
 import org.springframework.http.HttpStatus;
@@ -12,9 +11,11 @@ import java.time.LocalDateTime;
  * A standardized DTO for representing error responses in the application.
  * This class also serves as a RuntimeException to be thrown by aspects
  * and handled by the GlobalExceptionHandler.
+ *
+ * <p>The library creates it without a stack trace when {@code bootcommons.exceptions.stackless=true}, see
+ * {@link io.github.siddharth177.bootcommons.configs.ExceptionsProperties}.</p>
  */
 @Data
-@AllArgsConstructor
 @JsonIgnoreProperties({"cause", "stackTrace", "localizedMessage", "suppressed"})
 public class ErrorResponse extends RuntimeException {
 
@@ -33,6 +34,36 @@ public class ErrorResponse extends RuntimeException {
      */
     private final LocalDateTime timestamp;
 
+    /**
+     * Constructs a new {@code ErrorResponse} with the given status code, message, and timestamp.
+     *
+     * @param statusCode The HTTP status code of the error.
+     * @param message    The descriptive message explaining the error.
+     * @param timestamp  The timestamp when the error occurred.
+     */
+    public ErrorResponse(int statusCode, String message, LocalDateTime timestamp) {
+        super(message);
+        this.statusCode = statusCode;
+        this.message = message;
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Constructs a new {@code ErrorResponse} with the given status, message, and cause, choosing
+     * whether to capture a stack trace.
+     *
+     * @param status    The HTTP status of the error.
+     * @param message   The descriptive message explaining the error.
+     * @param cause     The cause of the error, or {@literal null}.
+     * @param stackless {@code true} to skip the stack trace and suppressed exceptions.
+     */
+    public ErrorResponse(HttpStatus status, String message, Throwable cause, boolean stackless) {
+        super(message, cause, !stackless, !stackless);
+        this.statusCode = status.value();
+        this.message = message;
+        this.timestamp = LocalDateTime.now();
+    }
+
     /**
      * Constructs a new {@code ErrorResponse} with the given status, message, and cause.
      *
@@ -41,10 +72,7 @@ public class ErrorResponse extends RuntimeException {
      * @param cause   The cause of the error.
      */
     public ErrorResponse(HttpStatus status, String message, Throwable cause) {
-        super(message, cause);
-        this.statusCode = status.value();
-        this.message = message;
-        this.timestamp = LocalDateTime.now();
+        this(status, message, cause, false);
     }
 
     /**
@@ -54,9 +82,6 @@ public class ErrorResponse extends RuntimeException {
      * @param message The descriptive message explaining the error.
      */
     public ErrorResponse(HttpStatus status, String message) {
-        super(message);
-        this.statusCode = status.value();
-        this.message = message;
-        this.timestamp = LocalDateTime.now();
+        this(status, message, null, false);
     }
 }
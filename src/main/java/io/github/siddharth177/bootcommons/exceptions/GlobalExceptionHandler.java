@@ -1,21 +1,53 @@
 package io.github.siddharth177.bootcommons.exceptions;
 
+import io.github.siddharth177.bootcommons.configs.ExceptionsProperties;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * A global exception handler that provides a centralized mechanism for handling exceptions
  * across the entire application. This handler catches specific exceptions and formats them
- * into a standardized {@link ErrorResponse} object.
+ * into a standardized {@link ApiError} body, which {@link ApiErrorHttpMessageConverter} writes
+ * without going through Jackson.
+ *
+ * <p>With {@code bootcommons.exceptions.stackless=true}, a body is reused for up to a second while its
+ * status keeps failing with the same message, so timestamps are accurate to a second. Only the
+ * latest body of each status is kept.</p>
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final long BODY_TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_STATUS_CODE = 599;
+
+    private final AtomicReferenceArray<CachedBody> bodies = new AtomicReferenceArray<>(MAX_STATUS_CODE + 1);
+    private ExceptionsProperties exceptionsProperties = new ExceptionsProperties();
+
+    /**
+     * Default constructor for {@code GlobalExceptionHandler}.
+     */
+    public GlobalExceptionHandler() {
+        // Default constructor
+    }
+
+    /**
+     * Reuses error bodies if {@code bootcommons.exceptions.stackless} is set. It is injected
+     * automatically if the properties are bound.
+     *
+     * @param exceptionsProperties The exception settings.
+     */
+    @Autowired(required = false)
+    public void setExceptionsProperties(ExceptionsProperties exceptionsProperties) {
+        this.exceptionsProperties = exceptionsProperties;
+    }
+
     /**
      * Handles {@link ResourceNotFoundException} and returns a 404 Not Found response.
      *
@@ -23,13 +55,8 @@ public class GlobalExceptionHandler {
      * @return A {@link ResponseEntity} containing the standardized error response.
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<@NonNull ErrorResponse> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.NOT_FOUND.value(),
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    public ResponseEntity<@NonNull ApiError> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return new ResponseEntity<>(body(HttpStatus.NOT_FOUND, ex.getMessage()), HttpStatus.NOT_FOUND);
     }
 
     /**
@@ -40,8 +67,8 @@ public class GlobalExceptionHandler {
      * @return A {@link ResponseEntity} containing the standardized error response.
      */
     @ExceptionHandler(ErrorResponse.class)
-    public ResponseEntity<@NonNull ErrorResponse> handleErrorResponse(ErrorResponse ex) {
-        return new ResponseEntity<>(ex, HttpStatus.valueOf(ex.getStatusCode()));
+    public ResponseEntity<@NonNull ApiError> handleErrorResponse(ErrorResponse ex) {
+        return new ResponseEntity<>(ApiError.of(ex), HttpStatus.valueOf(ex.getStatusCode()));
     }
 
     /**
@@ -51,12 +78,27 @@ public class GlobalExceptionHandler {
      * @return A {@link ResponseEntity} containing the standardized error response.
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<@NonNull ErrorResponse> handleGlobalException(Exception ex) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                "An unexpected error occurred",
-                LocalDateTime.now()
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    public ResponseEntity<@NonNull ApiError> handleGlobalException(Exception ex) {
+        return new ResponseEntity<>(body(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred"),
+                HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ApiError body(HttpStatus status, String message) {
+        if (!exceptionsProperties.isStackless()) {
+            return ApiError.of(status, message);
+        }
+        long now = System.nanoTime();
+        CachedBody cached = bodies.get(status.value());
+        if (cached != null && now - cached.expiresAt() < 0 && cached.body().getMessage().equals(message)) {
+            return cached.body();
+        }
+        ApiError body = ApiError.of(status, message);
+        if (message != null) {
+            bodies.set(status.value(), new CachedBody(body, now + BODY_TTL_NANOS));
+        }
+        return body;
+    }
+
+    private record CachedBody(ApiError body, long expiresAt) {
     }
 }
@@ -6,6 +6,17 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ResourceNotFoundException extends RuntimeException {
     public ResourceNotFoundException(String message) {
-        super(message);
+        this(message, false);
+    }
+
+    /**
+     * Constructs a new {@code ResourceNotFoundException}, choosing whether to capture a stack trace, for
+     * example from {@link io.github.siddharth177.bootcommons.configs.ExceptionsProperties#isStackless()}.
+     *
+     * @param message   The descriptive message explaining what was not found.
+     * @param stackless {@code true} to skip the stack trace and suppressed exceptions.
+     */
+    public ResourceNotFoundException(String message, boolean stackless) {
+        super(message, null, !stackless, !stackless);
     }
 }
@@ -0,0 +1,41 @@
+package io.github.siddharth177.bootcommons.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome of one item of a batch request. Fields that do not apply are left out of the JSON.
+ *
+ * @param <T> The type of the entity.
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+
+    /**
+     * The zero-based position of the item in the request.
+     */
+    private final int index;
+
+    /**
+     * The HTTP status code the item would have received as a single request.
+     */
+    private final int status;
+
+    /**
+     * The ID of the entity, if known.
+     */
+    private final Object id;
+
+    /**
+     * The saved entity, for successful creates and updates.
+     */
+    private final T entity;
+
+    /**
+     * The reason the item failed, or {@code null} if it succeeded.
+     */
+    private final String error;
+}
@@ -0,0 +1,38 @@
+package io.github.siddharth177.bootcommons.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk write, with one {@link ChunkResult} per chunk. It holds no entities, so it
+ * stays small however many rows were written.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkWriteResult {
+
+    /**
+     * The result of every chunk, in input order.
+     */
+    private final List<ChunkResult> chunks;
+
+    /**
+     * Returns the number of entities in committed chunks.
+     *
+     * @return The number of saved entities.
+     */
+    public long getSaved() {
+        return chunks.stream().filter(ChunkResult::isSuccess).mapToLong(ChunkResult::getSize).sum();
+    }
+
+    /**
+     * Returns the number of entities in chunks that were rolled back.
+     *
+     * @return The number of entities that were not saved.
+     */
+    public long getFailed() {
+        return chunks.stream().filter(chunk -> !chunk.isSuccess()).mapToLong(ChunkResult::getSize).sum();
+    }
+}
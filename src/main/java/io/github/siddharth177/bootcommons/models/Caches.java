@@ -4,10 +4,12 @@ import lombok.Getter;
 
 @Getter
 public enum Caches {
-    STUDENT_CACHE("student-cache");
+    STUDENT_CACHE("student-cache", String.class);
 
     private final String cacheName;
-    Caches(String name) {
+    private final Class<?> keyType;
+    Caches(String name, Class<?> keyType) {
         this.cacheName = name;
+        this.keyType = keyType;
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package io.github.siddharth177.bootcommons.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome of writing one chunk of a bulk write. Every chunk is written in its own transaction,
+ * so it is either saved completely or not at all.
+ */
+@Getter
+@AllArgsConstructor
+public class ChunkResult {
+
+    /**
+     * The zero-based number of the chunk.
+     */
+    private final int chunk;
+
+    /**
+     * The zero-based position of the chunk's first entity in the input.
+     */
+    private final long offset;
+
+    /**
+     * The number of entities in the chunk.
+     */
+    private final int size;
+
+    /**
+     * Whether the chunk was committed.
+     */
+    private final boolean success;
+
+    /**
+     * The reason the chunk was rolled back, or {@code null} if it was committed. It is the message of
+     * the exception, which may name tables or constraints, so it is meant for logs rather than clients.
+     */
+    private final String error;
+}
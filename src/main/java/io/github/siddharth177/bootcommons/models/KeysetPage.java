@@ -0,0 +1,42 @@
+package io.github.siddharth177.bootcommons.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A page of entities read with keyset (seek) pagination. Instead of an offset, the next page is
+ * requested with {@link #getNextCursor()}, which encodes the sort key of the last entity on this
+ * page, so reading deep pages costs the same as reading the first one.
+ *
+ * @param <T> The type of the entities.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    /**
+     * The entities on this page, in sort order.
+     */
+    private final List<T> content;
+
+    /**
+     * The requested page size.
+     */
+    private final int size;
+
+    /**
+     * The cursor of the next page, or {@code null} if this is the last page.
+     */
+    private final String nextCursor;
+
+    /**
+     * Returns whether there is a page after this one.
+     *
+     * @return {@literal true} if {@link #getNextCursor()} is set.
+     */
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,388 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Runs the operations of an {@link IBaseService} on an {@link Executor} and returns their results
+ * as {@link CompletableFuture}s, so independent queries can run at the same time.
+ *
+ * <p>Every call runs in the delegate's own transaction on an executor thread. It does not join a
+ * transaction of the caller, and it cannot see entities the caller has not committed yet. Failures
+ * complete the future exceptionally with the delegate's exception, wrapped in a
+ * {@link java.util.concurrent.CompletionException}. {@link IBaseService#streamAll()} has no
+ * counterpart, since its stream must be consumed inside the caller's transaction; use
+ * {@link #streamAll(Consumer)} instead.</p>
+ *
+ * <p>The {@code bootCommonsExecutor} bean is a good executor to pass in. It is bounded by
+ * {@code bootcommons.async.pool-size}, or starts a virtual thread per task when
+ * {@code bootcommons.virtual-threads.enabled=true}.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * AsyncBaseService<Student, String> students = new AsyncBaseService<>(studentService, bootCommonsExecutor);
+ * AsyncBaseService<Course, String> courses = new AsyncBaseService<>(courseService, bootCommonsExecutor);
+ *
+ * CompletableFuture<Optional<Student>> student = students.findById(studentId);
+ * CompletableFuture<List<Course>> enrolled = courses.findAllById(courseIds);
+ * return student.thenCombine(enrolled, Enrollment::new);
+ * }
+ * </pre>
+ *
+ * @param <T>  The type of the entity to be managed.
+ * @param <ID> The type of the entity's identifier.
+ */
+public class AsyncBaseService<T, ID> {
+
+    private final IBaseService<T, ID> delegate;
+    private final Executor executor;
+
+    /**
+     * Constructs a new {@code AsyncBaseService}.
+     *
+     * @param delegate The {@link IBaseService} that performs the actual data access. Must not be {@literal null}.
+     * @param executor The executor the operations run on. Must not be {@literal null}.
+     */
+    public AsyncBaseService(IBaseService<T, ID> delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Saves a given entity. See {@link IBaseService#save(Object)}.
+     *
+     * @param entity The entity to save. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the saved entity.
+     */
+    public CompletableFuture<T> save(T entity) {
+        return CompletableFuture.supplyAsync(() -> delegate.save(entity), executor);
+    }
+
+    /**
+     * Saves all given entities. See {@link IBaseService#saveAll(Iterable)}.
+     *
+     * @param entities The entities to save. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the saved entities.
+     */
+    public CompletableFuture<List<T>> saveAll(Iterable<T> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.saveAll(entities), executor);
+    }
+
+    /**
+     * Saves a large number of entities in chunks of the configured size. See {@link IBaseService#bulkSave(Iterable)}.
+     *
+     * @param entities The entities to save. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the result of every chunk.
+     */
+    public CompletableFuture<BulkWriteResult> bulkSave(Iterable<? extends T> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.bulkSave(entities), executor);
+    }
+
+    /**
+     * Saves a large number of entities in chunks. See {@link IBaseService#bulkSave(Iterable, int)}.
+     *
+     * @param entities  The entities to save. Must not be {@literal null}.
+     * @param chunkSize The number of entities per chunk and JDBC batch. Must be positive.
+     * @return A {@link CompletableFuture} of the result of every chunk.
+     */
+    public CompletableFuture<BulkWriteResult> bulkSave(Iterable<? extends T> entities, int chunkSize) {
+        return CompletableFuture.supplyAsync(() -> delegate.bulkSave(entities, chunkSize), executor);
+    }
+
+    /**
+     * Updates a large number of existing entities in chunks of the configured size. See {@link IBaseService#bulkUpdate(Iterable)}.
+     *
+     * @param entities The updated entities, each carrying its ID. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the result of every chunk.
+     */
+    public CompletableFuture<BulkWriteResult> bulkUpdate(Iterable<? extends T> entities) {
+        return CompletableFuture.supplyAsync(() -> delegate.bulkUpdate(entities), executor);
+    }
+
+    /**
+     * Updates a large number of existing entities in chunks. See {@link IBaseService#bulkUpdate(Iterable, int)}.
+     *
+     * @param entities  The updated entities, each carrying its ID. Must not be {@literal null}.
+     * @param chunkSize The number of entities per chunk and JDBC batch. Must be positive.
+     * @return A {@link CompletableFuture} of the result of every chunk.
+     */
+    public CompletableFuture<BulkWriteResult> bulkUpdate(Iterable<? extends T> entities, int chunkSize) {
+        return CompletableFuture.supplyAsync(() -> delegate.bulkUpdate(entities, chunkSize), executor);
+    }
+
+    /**
+     * Retrieves an entity by its ID. See {@link IBaseService#findById(Object)}.
+     *
+     * @param id The ID of the entity to retrieve. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the entity, if found.
+     */
+    public CompletableFuture<Optional<T>> findById(ID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id), executor);
+    }
+
+    /**
+     * Retrieves only the given attributes of an entity by its ID. See {@link IBaseService#findById(Object, Collection)}.
+     *
+     * @param id     The ID of the entity to retrieve. Must not be {@literal null}.
+     * @param fields The names of the attributes to select. The ID is always included.
+     * @return A {@link CompletableFuture} of the selected attributes keyed by name, if found.
+     */
+    public CompletableFuture<Optional<Map<String, Object>>> findById(ID id, Collection<String> fields) {
+        return CompletableFuture.supplyAsync(() -> delegate.findById(id, fields), executor);
+    }
+
+    /**
+     * Checks if an entity with the given ID exists. See {@link IBaseService#existsById(Object)}.
+     *
+     * @param id The ID to check. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of whether the entity exists.
+     */
+    public CompletableFuture<Boolean> existsById(ID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.existsById(id), executor);
+    }
+
+    /**
+     * Returns which of the given IDs belong to existing entities. See {@link IBaseService#findExistingIds(Iterable)}.
+     *
+     * @param ids The IDs to check. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the IDs that exist.
+     */
+    public CompletableFuture<Set<ID>> findExistingIds(Iterable<ID> ids) {
+        return CompletableFuture.supplyAsync(() -> delegate.findExistingIds(ids), executor);
+    }
+
+    /**
+     * Returns all instances of the type. See {@link IBaseService#findAll()}.
+     *
+     * @return A {@link CompletableFuture} of all entities.
+     */
+    public CompletableFuture<List<T>> findAll() {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(), executor);
+    }
+
+    /**
+     * Returns a page of entities. See {@link IBaseService#findAll(Pageable)}.
+     *
+     * @param pageable The page to return. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the requested page.
+     */
+    public CompletableFuture<Page<T>> findAll(Pageable pageable) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(pageable), executor);
+    }
+
+    /**
+     * Returns a page of entities with only the given attributes selected. See {@link IBaseService#findAll(Collection, Pageable)}.
+     *
+     * @param fields   The names of the attributes to select. The ID is always included.
+     * @param pageable The page to return. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the requested page of attribute maps.
+     */
+    public CompletableFuture<Page<Map<String, Object>>> findAll(Collection<String> fields, Pageable pageable) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(fields, pageable), executor);
+    }
+
+    /**
+     * Returns the keyset page that follows the given cursor with only the given attributes selected. See {@link IBaseService#findAll(Collection, String, int, Sort)}.
+     *
+     * @param fields The names of the attributes to select. The ID is always included.
+     * @param cursor The cursor of the previous page, or {@literal null} for the first page.
+     * @param size   The maximum number of entities to return. Must be positive.
+     * @param sort   The sort order, with at most one property.
+     * @return A {@link CompletableFuture} of the requested page of attribute maps.
+     */
+    public CompletableFuture<KeysetPage<Map<String, Object>>> findAll(Collection<String> fields, String cursor, int size, Sort sort) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(fields, cursor, size, sort), executor);
+    }
+
+    /**
+     * Returns the page of entities that follows the given cursor. See {@link IBaseService#findAll(String, int, Sort)}.
+     *
+     * @param cursor The cursor of the previous page, or {@literal null} for the first page.
+     * @param size   The maximum number of entities to return. Must be positive.
+     * @param sort   The sort order, with at most one property.
+     * @return A {@link CompletableFuture} of the requested page.
+     */
+    public CompletableFuture<KeysetPage<T>> findAll(String cursor, int size, Sort sort) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAll(cursor, size, sort), executor);
+    }
+
+    /**
+     * Passes every entity to the given action. See {@link IBaseService#streamAll(Consumer)}.
+     * The action runs on the executor's thread.
+     *
+     * @param action The action to perform on each entity. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} that completes once every entity has been passed to the action.
+     */
+    public CompletableFuture<Void> streamAll(Consumer<? super T> action) {
+        return CompletableFuture.runAsync(() -> delegate.streamAll(action), executor);
+    }
+
+    /**
+     * Returns all instances of the type with the given IDs. See {@link IBaseService#findAllById(Iterable)}.
+     *
+     * @param ids The IDs to retrieve. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the found entities.
+     */
+    public CompletableFuture<List<T>> findAllById(Iterable<ID> ids) {
+        return CompletableFuture.supplyAsync(() -> delegate.findAllById(ids), executor);
+    }
+
+    /**
+     * Returns the number of entities available. See {@link IBaseService#count()}.
+     *
+     * @return A {@link CompletableFuture} of the number of entities.
+     */
+    public CompletableFuture<Long> count() {
+        return CompletableFuture.supplyAsync(() -> delegate.count(), executor);
+    }
+
+    /**
+     * Overwrites the entity with the given ID. See {@link IBaseService#updateById(Object, Object)}.
+     *
+     * @param id     The ID of the entity to update. Must not be {@literal null}.
+     * @param entity The new state of the entity. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the updated entity, or of {@link Optional#empty()} if it does not exist.
+     */
+    public CompletableFuture<Optional<T>> updateById(ID id, T entity) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateById(id, entity), executor);
+    }
+
+    /**
+     * Overwrites the entity with the given ID if its current state satisfies a precondition. See
+     * {@link IBaseService#updateById(Object, Object, Predicate)}.
+     *
+     * @param id           The ID of the entity to update. Must not be {@literal null}.
+     * @param entity       The new state of the entity. Must not be {@literal null}.
+     * @param precondition The test the current entity must pass, or {@literal null} for none.
+     * @return A {@link CompletableFuture} of the updated entity, or of {@link Optional#empty()} if it does not exist.
+     */
+    public CompletableFuture<Optional<T>> updateById(ID id, T entity, Predicate<? super T> precondition) {
+        return CompletableFuture.supplyAsync(() -> delegate.updateById(id, entity, precondition), executor);
+    }
+
+    /**
+     * Changes some attributes of the entity with the given ID. See {@link IBaseService#patchById(Object, Map)}.
+     *
+     * @param id      The ID of the entity to patch. Must not be {@literal null}.
+     * @param changes The new attribute values, keyed by attribute path. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the number of updated rows.
+     */
+    public CompletableFuture<Integer> patchById(ID id, Map<String, ?> changes) {
+        return CompletableFuture.supplyAsync(() -> delegate.patchById(id, changes), executor);
+    }
+
+    /**
+     * Changes some attributes of the entity with the given ID if its current state satisfies a
+     * precondition. See {@link IBaseService#patchById(Object, Map, Predicate)}.
+     *
+     * @param id           The ID of the entity to patch. Must not be {@literal null}.
+     * @param changes      The new attribute values, keyed by attribute path. Must not be {@literal null}.
+     * @param precondition The test the current entity must pass, or {@literal null} for none.
+     * @return A {@link CompletableFuture} of the number of updated rows.
+     */
+    public CompletableFuture<Integer> patchById(ID id, Map<String, ?> changes, Predicate<? super T> precondition) {
+        return CompletableFuture.supplyAsync(() -> delegate.patchById(id, changes, precondition), executor);
+    }
+
+    /**
+     * Deletes the entity with the given ID, if it exists. See {@link IBaseService#deleteByIdIfPresent(Object)}.
+     *
+     * @param id The ID of the entity to delete. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the number of deleted rows.
+     */
+    public CompletableFuture<Integer> deleteByIdIfPresent(ID id) {
+        return CompletableFuture.supplyAsync(() -> delegate.deleteByIdIfPresent(id), executor);
+    }
+
+    /**
+     * Deletes the entity with the given ID. See {@link IBaseService#deleteById(Object)}.
+     *
+     * @param id The ID of the entity to delete. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} that completes once the entity is deleted.
+     */
+    public CompletableFuture<Void> deleteById(ID id) {
+        return CompletableFuture.runAsync(() -> delegate.deleteById(id), executor);
+    }
+
+    /**
+     * Deletes the entities with the given IDs using bulk delete statements. See {@link IBaseService#deleteAllById(Iterable)}.
+     *
+     * @param ids The IDs of the entities to delete. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} of the IDs of the entities that were deleted.
+     */
+    public CompletableFuture<Set<ID>> deleteAllById(Iterable<ID> ids) {
+        return CompletableFuture.supplyAsync(() -> delegate.deleteAllById(ids), executor);
+    }
+
+    /**
+     * Deletes a given entity. See {@link IBaseService#delete(Object)}.
+     *
+     * @param entity The entity to delete. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} that completes once the entity is deleted.
+     */
+    public CompletableFuture<Void> delete(T entity) {
+        return CompletableFuture.runAsync(() -> delegate.delete(entity), executor);
+    }
+
+    /**
+     * Deletes the given entities. See {@link IBaseService#deleteAll(Iterable)}.
+     *
+     * @param entities The entities to delete. Must not be {@literal null}.
+     * @return A {@link CompletableFuture} that completes once the entities are deleted.
+     */
+    public CompletableFuture<Void> deleteAll(Iterable<? extends T> entities) {
+        return CompletableFuture.runAsync(() -> delegate.deleteAll(entities), executor);
+    }
+
+    /**
+     * Deletes all entities managed by the service. See {@link IBaseService#deleteAll()}.
+     *
+     * @return A {@link CompletableFuture} that completes once the entities are deleted.
+     */
+    public CompletableFuture<Void> deleteAll() {
+        return CompletableFuture.runAsync(() -> delegate.deleteAll(), executor);
+    }
+
+    /**
+     * Returns the ID of the given entity. This does not access the database, so it runs on the
+     * calling thread.
+     *
+     * @param entity The entity. Must not be {@literal null}.
+     * @return The ID, or {@literal null} if the entity has not been saved yet.
+     */
+    public ID getId(T entity) {
+        return delegate.getId(entity);
+    }
+
+    /**
+     * Returns the service the operations are delegated to, for calls that should run on the calling thread.
+     *
+     * @return The {@link IBaseService}.
+     */
+    public IBaseService<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Returns the executor the operations run on.
+     *
+     * @return The {@link Executor}.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+}
@@ -1,8 +1,69 @@
 package io.github.siddharth177.bootcommons.services;
 
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.JpaEntityInformationSupport;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * An abstract base class that provides a concrete implementation of the {@link IBaseService} interface.
@@ -11,12 +72,31 @@ import java.util.Optional;
  *
  * <p>To use this class, extend it and provide a {@link JpaRepository} for the specific entity type.</p>
  *
+ * <p>Keyset pagination runs JPQL through the {@link EntityManager} injected into the subclass bean, and
+ * resolves the entity type from the subclass's type arguments. Entities must have a single ID attribute.</p>
+ *
+ * <p>Streaming reads fetch {@code bootcommons.jpa.stream-fetch-size} (500) rows per round trip, and
+ * bulk saves and updates write {@code bootcommons.jpa.batch-size} (500) entities per chunk.</p>
+ *
  * @param <T>  The type of the entity to be managed.
  * @param <ID> The type of the entity's identifier.
  */
 public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
 
+    private static final Logger logger = LoggerFactory.getLogger(BaseService.class);
+
     private final JpaRepository<T, ID> repository;
+    private EntityManager entityManager;
+    private volatile EntityType<T> entityType;
+    private volatile JpaEntityInformation<T, ?> entityInformation;
+    private TransactionTemplate transactionTemplate;
+    private TransactionTemplate chunkTransactionTemplate;
+
+    @Value("${bootcommons.jpa.stream-fetch-size:500}")
+    private int streamFetchSize = 500;
+
+    @Value("${bootcommons.jpa.batch-size:500}")
+    private int batchSize = 500;
 
     /**
      * Constructs a new {@code BaseService} with the given repository.
@@ -43,6 +123,68 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
         return repository.saveAll(entities);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities) {
+        return bulkSave(entities, batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>New entities are persisted and existing ones merged. Once a chunk is written, merged entities
+     * hold the stored ID, version and audit fields, as persisted ones do. Hibernate only batches inserts
+     * for entities whose IDs are not generated by {@code IDENTITY} columns; use a sequence or assigned IDs
+     * for bulk inserts.</p>
+     *
+     * <p>Each chunk runs in a new transaction with {@link TransactionDefinition#PROPAGATION_REQUIRES_NEW}
+     * and its own persistence context, which is cleared after the chunk. When called inside a transaction,
+     * that transaction is suspended and keeps its managed entities, but holds its connection while a
+     * second one is used for the chunks; chunks that touch rows it has locked wait for it.</p>
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities, int chunkSize) {
+        JpaEntityInformation<T, ?> information = entityInformation();
+        return chunked(entities, chunkSize, chunk -> {
+            Map<T, T> merged = new IdentityHashMap<>();
+            for (T entity : chunk) {
+                if (information.isNew(entity)) {
+                    entityManager.persist(entity);
+                } else {
+                    merged.put(entity, entityManager.merge(entity));
+                }
+            }
+            if (!merged.isEmpty()) {
+                // The version and audit fields are set on the managed copies when they are flushed
+                EntityType<T> type = entityType();
+                entityManager.flush();
+                merged.forEach((entity, copy) -> copyMaintained(type, copy, entity));
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities) {
+        return bulkUpdate(entities, batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Chunks run in their own transactions as in {@link #bulkSave(Iterable, int)}. The stored entities
+     * of a chunk are loaded with one query, and attributes are copied onto them as by
+     * {@link #updateById(Object, Object)}.</p>
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities, int chunkSize) {
+        return chunked(entities, chunkSize, this::updateChunk);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -59,6 +201,31 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
         return repository.existsById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>IDs are checked with one query per {@code bootcommons.jpa.batch-size} IDs.</p>
+     */
+    @Override
+    public Set<ID> findExistingIds(Iterable<ID> ids) {
+        EntityType<T> type = entityType();
+        String jpql = "select e." + idName(type) + " from " + type.getName() + " e where e." + idName(type) + " in :ids";
+        Set<ID> existing = new HashSet<>();
+        for (List<ID> chunk : chunks(ids)) {
+            existing.addAll(entityManager.createQuery(jpql, idType(type)).setParameter("ids", chunk).getResultList());
+        }
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ID getId(T entity) {
+        return (ID) entityInformation().getId(entity);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -67,6 +234,99 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
         return repository.findAll();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return repository.findAll(pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<T> findAll(String cursor, int size, Sort sort) {
+        EntityType<T> type = entityType();
+        return keyset("e", cursor, size, sort, row -> type.getJavaType().cast(row[0]));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Map<String, Object>> findById(ID id, Collection<String> fields) {
+        EntityType<T> type = entityType();
+        List<String> names = projection(type, fields);
+        String jpql = "select " + select(names) + " from " + type.getName() + " e where e." + idName(type) + " = :id";
+        List<Tuple> rows = entityManager.createQuery(jpql, Tuple.class).setParameter("id", id).getResultList();
+        return rows.isEmpty() ? Optional.empty() : Optional.of(row(names, rows.get(0).toArray()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Map<String, Object>> findAll(Collection<String> fields, Pageable pageable) {
+        EntityType<T> type = entityType();
+        List<String> names = projection(type, fields);
+        StringBuilder jpql = new StringBuilder("select ").append(select(names)).append(" from ").append(type.getName()).append(" e");
+        String separator = " order by ";
+        for (Sort.Order order : pageable.getSort()) {
+            jpql.append(separator).append("e.").append(projectable(type, order.getProperty()))
+                    .append(order.isAscending() ? " asc" : " desc");
+            separator = ", ";
+        }
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (Tuple tuple : query.getResultList()) {
+            content.add(row(names, tuple.toArray()));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> entityManager
+                .createQuery("select count(e) from " + type.getName() + " e", Long.class)
+                .getSingleResult());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<Map<String, Object>> findAll(Collection<String> fields, String cursor, int size, Sort sort) {
+        List<String> names = projection(entityType(), fields);
+        return keyset(select(names), cursor, size, sort, row -> row(names, row));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Entities are loaded read-only, so Hibernate keeps no snapshots for dirty checking.</p>
+     */
+    @Override
+    public Stream<T> streamAll() {
+        EntityType<T> type = entityType();
+        return entityManager.createQuery("select e from " + type.getName() + " e", type.getJavaType())
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<? super T> action) {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(entity -> {
+                action.accept(entity);
+                entityManager.detach(entity);
+            });
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -83,6 +343,106 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
         return repository.count();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every single-valued attribute is copied except the ID, the {@code @Version}, attributes mapped
+     * with {@code updatable = false} and the {@link CreatedDate @CreatedDate}, {@link CreatedBy @CreatedBy},
+     * {@link LastModifiedDate @LastModifiedDate} and {@link LastModifiedBy @LastModifiedBy} fields, which
+     * the auditing listener maintains.</p>
+     */
+    @Override
+    @Transactional
+    public Optional<T> updateById(ID id, T entity) {
+        return updateById(id, entity, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Attributes are copied as by {@link #updateById(Object, Object)}.</p>
+     */
+    @Override
+    @Transactional
+    public Optional<T> updateById(ID id, T entity, Predicate<? super T> precondition) {
+        Optional<T> found = findForUpdate(id, precondition);
+        if (found.isEmpty()) {
+            return found;
+        }
+        EntityType<T> type = entityType();
+        T current = found.get();
+        checkVersion(type, id, entity, current);
+        copyUpdatable(type, entity, current);
+        return Optional.of(repository.saveAndFlush(current));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The entity is loaded and the attributes are set on it, creating a {@literal null} embeddable
+     * when one of its attributes is patched. A {@literal null} embeddable clears all of its columns.
+     * Annotate the entity with Hibernate's {@link org.hibernate.annotations.DynamicUpdate @DynamicUpdate}
+     * so that the {@code UPDATE} statement only sets the changed columns.</p>
+     */
+    @Override
+    @Transactional
+    public int patchById(ID id, Map<String, ?> changes) {
+        return patchById(id, changes, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Attributes are set as by {@link #patchById(Object, Map)}.</p>
+     */
+    @Override
+    @Transactional
+    public int patchById(ID id, Map<String, ?> changes, Predicate<? super T> precondition) {
+        EntityType<T> type = entityType();
+        Optional<T> found = findForUpdate(id, precondition);
+        if (found.isEmpty()) {
+            return 0;
+        }
+        T current = found.get();
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            ManagedType<?> owner = type;
+            Object target = current;
+            String[] names = change.getKey().split("\\.");
+            for (int i = 0; i < names.length; i++) {
+                SingularAttribute<?, ?> attribute = patchableAttribute(owner, names[i], change.getKey());
+                Field field = ReflectionUtils.findField(owner.getJavaType(), names[i]);
+                ReflectionUtils.makeAccessible(field);
+                if (i == names.length - 1) {
+                    ReflectionUtils.setField(field, target, change.getValue());
+                    break;
+                }
+                if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.EMBEDDED) {
+                    throw new IllegalArgumentException("Not an embedded attribute: " + change.getKey());
+                }
+                Object embedded = ReflectionUtils.getField(field, target);
+                if (embedded == null) {
+                    embedded = BeanUtils.instantiateClass(attribute.getJavaType());
+                    ReflectionUtils.setField(field, target, embedded);
+                }
+                target = embedded;
+                owner = (ManagedType<?>) attribute.getType();
+            }
+        }
+        repository.saveAndFlush(current);
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int deleteByIdIfPresent(ID id) {
+        Optional<T> found = repository.findById(id);
+        found.ifPresent(repository::delete);
+        return found.isPresent() ? 1 : 0;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -91,6 +451,30 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
         repository.deleteById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each {@code bootcommons.jpa.batch-size} IDs are loaded with one query, then removed and flushed.</p>
+     */
+    @Override
+    public Set<ID> deleteAllById(Iterable<ID> ids) {
+        if (transactionTemplate == null) {
+            throw new IllegalStateException("No PlatformTransactionManager set on " + getClass().getName());
+        }
+        return transactionTemplate.execute(status -> {
+            Set<ID> deleted = new HashSet<>();
+            for (List<ID> chunk : chunks(ids)) {
+                List<T> found = repository.findAllById(chunk);
+                repository.deleteAll(found);
+                entityManager.flush();
+                for (T entity : found) {
+                    deleted.add(getId(entity));
+                }
+            }
+            return deleted;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -114,4 +498,383 @@ public abstract class BaseService<T, ID> implements IBaseService<T, ID> {
     public void deleteAll() {
         repository.deleteAll();
     }
+
+    /**
+     * Sets the {@link EntityManager} used for queries that {@link JpaRepository} does not provide.
+     * It is injected automatically when the service is a Spring bean.
+     *
+     * @param entityManager The shared {@link EntityManager}.
+     */
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Sets the {@link PlatformTransactionManager} that bulk saves, updates and deletes run their transactions with.
+     * It is injected automatically when the service is a Spring bean.
+     *
+     * @param transactionManager The transaction manager.
+     */
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Returns the metamodel type of the managed entity.
+     *
+     * @return The {@link EntityType}.
+     * @throws IllegalStateException if no {@link EntityManager} is set or the entity type cannot be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    protected EntityType<T> entityType() {
+        EntityType<T> type = entityType;
+        if (type == null) {
+            if (entityManager == null) {
+                throw new IllegalStateException("No EntityManager set on " + getClass().getName());
+            }
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), BaseService.class);
+            if (arguments == null || arguments[0] == null) {
+                throw new IllegalStateException("Cannot resolve the entity type of " + getClass().getName());
+            }
+            type = entityManager.getMetamodel().entity((Class<T>) arguments[0]);
+            if (!type.hasSingleIdAttribute()) {
+                throw new IllegalStateException("Entities with a composite ID are not supported: " + type.getName());
+            }
+            entityType = type;
+        }
+        return type;
+    }
+
+    private JpaEntityInformation<T, ?> entityInformation() {
+        JpaEntityInformation<T, ?> information = entityInformation;
+        if (information == null) {
+            information = JpaEntityInformationSupport.getEntityInformation(entityType().getJavaType(), entityManager);
+            entityInformation = information;
+        }
+        return information;
+    }
+
+    private <R> KeysetPage<R> keyset(String select, String cursor, int size, Sort sort, Function<Object[], R> mapper) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        EntityType<T> type = entityType();
+        String id = idName(type);
+        Sort.Order order = sortOrder(sort, id);
+        String key = order.getProperty();
+        Class<?> keyType = type.getSingularAttribute(key).getJavaType();
+        String comparison = order.isAscending() ? " > " : " < ";
+        String direction = order.isAscending() ? " asc" : " desc";
+
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+        if (after != null && !after.property().equals(key)) {
+            throw new IllegalArgumentException("Cursor was created for sort property " + after.property() + ", not " + key);
+        }
+
+        StringBuilder jpql = new StringBuilder("select ").append(select).append(", e.").append(key).append(", e.").append(id)
+                .append(" from ").append(type.getName()).append(" e");
+        if (after != null) {
+            jpql.append(key.equals(id)
+                    ? " where e." + id + comparison + ":id"
+                    : " where e." + key + comparison + ":key or (e." + key + " = :key and e." + id + comparison + ":id)");
+        }
+        jpql.append(" order by e.").append(key).append(direction);
+        if (!key.equals(id)) {
+            jpql.append(", e.").append(id).append(direction);
+        }
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        if (after != null) {
+            query.setParameter("id", KeysetCursor.convert(after.id(), type.getIdType().getJavaType()));
+            if (!key.equals(id)) {
+                query.setParameter("key", KeysetCursor.convert(after.key(), keyType));
+            }
+        }
+        List<Object[]> rows = query.setMaxResults(size + 1).getResultList();
+
+        List<R> content = new ArrayList<>(Math.min(rows.size(), size));
+        for (int i = 0; i < rows.size() && i < size; i++) {
+            content.add(mapper.apply(rows.get(i)));
+        }
+        String nextCursor = null;
+        if (rows.size() > size) {
+            Object[] last = rows.get(size - 1);
+            nextCursor = KeysetCursor.of(key, last[last.length - 2], last[last.length - 1]).encode();
+        }
+        return new KeysetPage<>(content, size, nextCursor);
+    }
+
+    private List<String> projection(EntityType<T> type, Collection<String> fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(idName(type));
+        for (String field : fields) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                names.add(projectable(type, name));
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static String projectable(EntityType<?> type, String name) {
+        Attribute<?, ?> attribute;
+        try {
+            attribute = type.getAttribute(name);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown attribute: " + name, ex);
+        }
+        if (attribute.isCollection() || attribute.isAssociation()) {
+            throw new IllegalArgumentException("Only basic and embedded attributes can be selected: " + name);
+        }
+        return name;
+    }
+
+    private static String select(List<String> names) {
+        StringBuilder select = new StringBuilder();
+        for (String name : names) {
+            select.append(select.isEmpty() ? "" : ", ").append("e.").append(name);
+        }
+        return select.toString();
+    }
+
+    private static Map<String, Object> row(List<String> names, Object[] values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            row.put(names.get(i), values[i]);
+        }
+        return row;
+    }
+
+    private static SingularAttribute<?, ?> patchableAttribute(ManagedType<?> owner, String name, String path) {
+        Attribute<?, ?> attribute;
+        try {
+            attribute = owner.getAttribute(name);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Unknown attribute: " + path, ex);
+        }
+        Field field = ReflectionUtils.findField(owner.getJavaType(), name);
+        if (!(attribute instanceof SingularAttribute<?, ?> singular) || singular.isId() || singular.isVersion()
+                || field == null || !isUpdatable(field) || field.isAnnotationPresent(LastModifiedDate.class)) {
+            throw new IllegalArgumentException("Attribute cannot be patched: " + path);
+        }
+        return singular;
+    }
+
+    /**
+     * Loads the entity to update and tests the precondition, if any, against it. A versioned entity is
+     * updated with its version in the {@code WHERE} clause, so a concurrent change since the test fails
+     * the update; other entities are locked until the transaction ends.
+     */
+    private Optional<T> findForUpdate(ID id, Predicate<? super T> precondition) {
+        if (precondition == null) {
+            return repository.findById(id);
+        }
+        EntityType<T> type = entityType();
+        T current = type.hasVersionAttribute()
+                ? entityManager.find(type.getJavaType(), id)
+                : entityManager.find(type.getJavaType(), id, LockModeType.PESSIMISTIC_WRITE);
+        if (current != null && !precondition.test(current)) {
+            throw new ObjectOptimisticLockingFailureException(type.getJavaType(), id);
+        }
+        return Optional.ofNullable(current);
+    }
+
+    /**
+     * Rejects an update whose entity carries a version other than the stored one, as merging a
+     * detached entity would.
+     */
+    private static <E> void checkVersion(EntityType<E> type, Object id, E entity, E current) {
+        if (!type.hasVersionAttribute()) {
+            return;
+        }
+        for (SingularAttribute<? super E, ?> attribute : type.getSingularAttributes()) {
+            Field field = attribute.isVersion() ? ReflectionUtils.findField(type.getJavaType(), attribute.getName()) : null;
+            if (field != null) {
+                ReflectionUtils.makeAccessible(field);
+                Object version = ReflectionUtils.getField(field, entity);
+                if (version != null && !version.equals(ReflectionUtils.getField(field, current))) {
+                    throw new ObjectOptimisticLockingFailureException(type.getJavaType(), id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies the attributes that an update replaces from the given entity onto the stored one.
+     */
+    private static <E> void copyUpdatable(EntityType<E> type, E entity, E current) {
+        for (SingularAttribute<? super E, ?> attribute : type.getSingularAttributes()) {
+            Field field = ReflectionUtils.findField(type.getJavaType(), attribute.getName());
+            if (field == null || isMaintained(attribute, field)) {
+                continue;
+            }
+            ReflectionUtils.makeAccessible(field);
+            ReflectionUtils.setField(field, current, ReflectionUtils.getField(field, entity));
+        }
+    }
+
+    /**
+     * Copies the basic attributes that an update keeps, such as the version and the creation date,
+     * from the stored entity back onto the given one, so it reflects what was written.
+     */
+    private static <E> void copyMaintained(EntityType<E> type, E current, E entity) {
+        for (SingularAttribute<? super E, ?> attribute : type.getSingularAttributes()) {
+            Field field = ReflectionUtils.findField(type.getJavaType(), attribute.getName());
+            if (field == null || attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                    || !isMaintained(attribute, field)) {
+                continue;
+            }
+            ReflectionUtils.makeAccessible(field);
+            ReflectionUtils.setField(field, entity, ReflectionUtils.getField(field, current));
+        }
+    }
+
+    /**
+     * Returns whether an attribute is kept by an update rather than taken from the given entity: the
+     * ID, the version, attributes that are not updatable and the audit dates and users.
+     */
+    private static boolean isMaintained(SingularAttribute<?, ?> attribute, Field field) {
+        return attribute.isId() || attribute.isVersion() || !isUpdatable(field)
+                || field.isAnnotationPresent(LastModifiedDate.class);
+    }
+
+    private static boolean isUpdatable(Field field) {
+        Column column = field.getAnnotation(Column.class);
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        return (column == null || column.updatable())
+                && (joinColumn == null || joinColumn.updatable())
+                && !field.isAnnotationPresent(CreatedDate.class)
+                && !field.isAnnotationPresent(CreatedBy.class)
+                && !field.isAnnotationPresent(LastModifiedBy.class);
+    }
+
+    /**
+     * Returns the current time as the given type, for {@link LastModifiedDate @LastModifiedDate} attributes,
+     * or {@literal null} if the type is not a supported date or time type.
+     */
+    static Object now(Class<?> type) {
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        } else if (type == Instant.class) {
+            return Instant.now();
+        } else if (type == OffsetDateTime.class) {
+            return OffsetDateTime.now();
+        } else if (type == ZonedDateTime.class) {
+            return ZonedDateTime.now();
+        } else if (type == Date.class) {
+            return new Date();
+        } else if (type == Long.class || type == long.class) {
+            return System.currentTimeMillis();
+        }
+        return null;
+    }
+
+    private static String idName(EntityType<?> type) {
+        return type.getId(type.getIdType().getJavaType()).getName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<ID> idType(EntityType<T> type) {
+        return (Class<ID>) ClassUtils.resolvePrimitiveIfNecessary(type.getIdType().getJavaType());
+    }
+
+    private List<List<ID>> chunks(Iterable<ID> ids) {
+        List<List<ID>> chunks = new ArrayList<>();
+        List<ID> chunk = new ArrayList<>();
+        for (ID id : ids) {
+            chunk.add(id);
+            if (chunk.size() == batchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits the input into chunks and writes each one in its own transaction, collecting their results.
+     */
+    private BulkWriteResult chunked(Iterable<? extends T> entities, int chunkSize, Consumer<List<T>> write) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (chunkTransactionTemplate == null) {
+            throw new IllegalStateException("No PlatformTransactionManager set on " + getClass().getName());
+        }
+        List<ChunkResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long offset = 0;
+        Iterator<? extends T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                results.add(writeChunk(results.size(), offset, chunk, write));
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        return new BulkWriteResult(results);
+    }
+
+    /**
+     * Applies a chunk of updates to the stored entities, failing the chunk if one of them does not
+     * exist or carries a stale version.
+     */
+    private void updateChunk(List<T> chunk) {
+        EntityType<T> type = entityType();
+        List<ID> ids = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            ID id = getId(entity);
+            if (id == null) {
+                throw new IllegalArgumentException("Cannot update an entity without an ID");
+            }
+            ids.add(id);
+        }
+        Map<ID, T> stored = new HashMap<>();
+        for (T current : repository.findAllById(ids)) {
+            stored.put(getId(current), current);
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            T current = stored.get(ids.get(i));
+            if (current == null) {
+                throw new EmptyResultDataAccessException("No " + type.getName() + " entity with id " + ids.get(i) + " exists", 1);
+            }
+            checkVersion(type, ids.get(i), chunk.get(i), current);
+            copyUpdatable(type, chunk.get(i), current);
+        }
+        entityManager.flush();
+        for (int i = 0; i < chunk.size(); i++) {
+            copyMaintained(type, stored.get(ids.get(i)), chunk.get(i));
+        }
+    }
+
+    private ChunkResult writeChunk(int number, long offset, List<T> chunk, Consumer<List<T>> write) {
+        try {
+            chunkTransactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(chunk.size());
+                write.accept(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            return new ChunkResult(number, offset, chunk.size(), true, null);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to save chunk {} of {} entities at offset {}", number, chunk.size(), offset, ex);
+            return new ChunkResult(number, offset, chunk.size(), false, ex.getMessage());
+        }
+    }
+
+    private static Sort.Order sortOrder(Sort sort, String id) {
+        List<Sort.Order> orders = sort == null ? List.of() : sort.toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property: " + sort);
+        }
+        return orders.isEmpty() ? Sort.Order.asc(id) : orders.get(0);
+    }
 }
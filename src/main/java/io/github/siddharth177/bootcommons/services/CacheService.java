@@ -1,5 +1,15 @@
 package io.github.siddharth177.bootcommons.services;
 
+import io.github.siddharth177.bootcommons.services.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 /**
  * A generic service interface for caching operations.
  *
@@ -17,6 +27,23 @@ public interface CacheService<K, V> {
      */
     V save(K key, V value);
 
+    /**
+     * Saves a value in the cache with the specified key, expiring it once the given time to live
+     * has elapsed. The time to live overrides any expiry policy configured for the cache.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations
+     * that support expiry override it.</p>
+     *
+     * @param key   The key to associate with the value.
+     * @param value The value to be cached.
+     * @param ttl   How long the entry stays in the cache after it is saved. Must be positive.
+     * @return The saved value.
+     * @throws UnsupportedOperationException if the implementation does not support expiry.
+     */
+    default V save(K key, V value, Duration ttl) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support per-entry expiry");
+    }
+
     /**
      * Retrieves a value from the cache for the specified key.
      *
@@ -25,6 +52,67 @@ public interface CacheService<K, V> {
      */
     V get(K key);
 
+    /**
+     * Retrieves a value from the cache, loading and caching it on a miss. If the loader returns
+     * {@code null}, nothing is cached and {@code null} is returned.
+     *
+     * <p>The default implementation calls the loader on every miss. Implementations may share a
+     * single in-flight load between concurrent callers that miss on the same key, so that a hot key
+     * expiring does not send every waiting thread to the underlying data source.</p>
+     *
+     * @param key    The key of the value to retrieve.
+     * @param loader Loads the value for the key on a miss. Must not be {@literal null}.
+     * @return The cached or loaded value, or {@code null} if the loader found none.
+     */
+    default V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                save(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Retrieves the values for the given keys, loading all missing keys with a single call to the
+     * bulk loader and caching the results. Keys the loader does not return a value for are absent
+     * from the result.
+     *
+     * <p>The default implementation loads every missing key on each call. Implementations may share
+     * in-flight loads between concurrent callers, in which case keys already being loaded by another
+     * caller are awaited instead of being passed to the loader again.</p>
+     *
+     * @param keys   The keys of the values to retrieve. Must not be {@literal null}.
+     * @param loader Loads the values for the set of missing keys. Must not be {@literal null}.
+     * @return A map of the found values keyed by key; never {@literal null}.
+     */
+    default Map<K, V> getAllOrLoad(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        for (K key : keys) {
+            V value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<K, V> loaded = loader.apply(missing);
+            if (loaded != null) {
+                loaded.forEach((key, value) -> {
+                    if (value != null && missing.contains(key)) {
+                        save(key, value);
+                        result.put(key, value);
+                    }
+                });
+            }
+        }
+        return result;
+    }
+
     /**
      * Removes a value from the cache for the specified key.
      *
@@ -44,4 +132,16 @@ public interface CacheService<K, V> {
      * @return {@code true} if the cache contains the key, {@code false} otherwise.
      */
     boolean contains(K key);
+
+    /**
+     * Returns a snapshot of the cache's statistics, such as hits, misses, load times and evictions.
+     *
+     * <p>The default implementation returns {@link CacheStats#empty()}; implementations that record
+     * statistics override it.</p>
+     *
+     * @return The current statistics; never {@literal null}.
+     */
+    default CacheStats stats() {
+        return CacheStats.empty();
+    }
 }
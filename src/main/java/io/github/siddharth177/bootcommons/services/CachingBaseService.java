@@ -0,0 +1,511 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * A decorator for {@link IBaseService} that serves reads from a {@link CacheService} and keeps it
+ * up to date on writes.
+ *
+ * <p>{@link #findById(Object)} and {@link #existsById(Object)} read through the cache, so concurrent
+ * misses for the same ID cause a single query. {@link #findAllById(Iterable)} only queries the IDs
+ * that are not cached, in one batch. Saved entities are written to the cache and deleted entities
+ * are evicted from it. Bulk writes hand the input to the delegate one chunk at a time and evict each
+ * entity as it is read from the input and again once its chunk is written, so a read that reloads an
+ * entity while its chunk is being written does not leave the old state cached, and only one chunk of
+ * IDs is held at a time. {@code findAll}, projections and {@link #count()} always go to the delegate.</p>
+ *
+ * <p>Cached entities are shared between callers, so treat them as read-only. The cache is updated
+ * as soon as a save or delete returns; if it runs inside a transaction that is later rolled back,
+ * the cache holds the uncommitted state until the entry is evicted or expires. Bulk writes inside a
+ * transaction evict their IDs once more when it completes, which keeps those IDs until then.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * @Bean
+ * public IBaseService<Student, String> cachedStudentService(StudentService studentService,
+ *                                                          CacheRegistry cacheRegistry) {
+ *     return new CachingBaseService<>(studentService, cacheRegistry.get(Caches.STUDENT_CACHE));
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T>  The type of the entity to be managed.
+ * @param <ID> The type of the entity's identifier.
+ */
+public class CachingBaseService<T, ID> implements IBaseService<T, ID> {
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final IBaseService<T, ID> delegate;
+    private final CacheService<ID, T> cache;
+    private final int chunkSize;
+
+    /**
+     * Constructs a new {@code CachingBaseService} that hands bulk writes without a chunk size to the
+     * delegate 500 entities at a time, the default {@code bootcommons.jpa.batch-size}.
+     *
+     * @param delegate The {@link IBaseService} that performs the actual data access. Must not be {@literal null}.
+     * @param cache    The {@link CacheService} that holds entities by ID. Must not be {@literal null}.
+     */
+    public CachingBaseService(IBaseService<T, ID> delegate, CacheService<ID, T> cache) {
+        this(delegate, cache, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code CachingBaseService}.
+     *
+     * @param delegate  The {@link IBaseService} that performs the actual data access. Must not be {@literal null}.
+     * @param cache     The {@link CacheService} that holds entities by ID. Must not be {@literal null}.
+     * @param chunkSize The number of entities handed to the delegate at a time by bulk writes without a
+     *                  chunk size; set it to the delegate's chunk size. Must be positive.
+     * @throws IllegalArgumentException if the chunk size is not positive.
+     */
+    public CachingBaseService(IBaseService<T, ID> delegate, CacheService<ID, T> cache, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.delegate = delegate;
+        this.cache = cache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T save(T entity) {
+        T saved = delegate.save(entity);
+        cache(saved);
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> saveAll(Iterable<T> entities) {
+        List<T> saved = delegate.saveAll(entities);
+        saved.forEach(this::cache);
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The input is handed to the delegate in chunks of the size given at construction. Existing
+     * entities are evicted from the cache as they are read from the input and again once their chunk
+     * is written, rather than cached, since the input may be too large to keep.</p>
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities) {
+        return evicting(entities, chunkSize, delegate::bulkSave);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The input is handed to the delegate one chunk at a time. Existing entities are evicted from
+     * the cache as they are read from the input and again once their chunk is written, rather than
+     * cached, since the input may be too large to keep.</p>
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities, int chunkSize) {
+        return evicting(entities, chunkSize, chunk -> delegate.bulkSave(chunk, chunkSize));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The input is handed to the delegate in chunks of the size given at construction. The entities
+     * are evicted from the cache as they are read from the input and again once their chunk is written.</p>
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities) {
+        return evicting(entities, chunkSize, delegate::bulkUpdate);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The input is handed to the delegate one chunk at a time. The entities are evicted from the
+     * cache as they are read from the input and again once their chunk is written.</p>
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities, int chunkSize) {
+        return evicting(entities, chunkSize, chunk -> delegate.bulkUpdate(chunk, chunkSize));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(cache.getOrLoad(id, key -> delegate.findById(key).orElse(null)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<Map<String, Object>> findById(ID id, Collection<String> fields) {
+        return delegate.findById(id, fields);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Map<String, Object>> findAll(Collection<String> fields, Pageable pageable) {
+        return delegate.findAll(fields, pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<Map<String, Object>> findAll(Collection<String> fields, String cursor, int size, Sort sort) {
+        return delegate.findAll(fields, cursor, size, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>A cache miss loads and caches the whole entity, since callers usually go on to read or
+     * modify it. IDs that do not exist are not cached.</p>
+     */
+    @Override
+    public boolean existsById(ID id) {
+        return cache.contains(id) || findById(id).isPresent();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Cached IDs count as existing; only the others are checked by the delegate.</p>
+     */
+    @Override
+    public Set<ID> findExistingIds(Iterable<ID> ids) {
+        Set<ID> existing = new HashSet<>();
+        List<ID> unknown = new ArrayList<>();
+        for (ID id : ids) {
+            if (cache.contains(id)) {
+                existing.add(id);
+            } else {
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            existing.addAll(delegate.findExistingIds(unknown));
+        }
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ID getId(T entity) {
+        return delegate.getId(entity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        return delegate.findAll(pageable);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<T> findAll(String cursor, int size, Sort sort) {
+        return delegate.findAll(cursor, size, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Stream<T> streamAll() {
+        return delegate.streamAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamAll(Consumer<? super T> action) {
+        delegate.streamAll(action);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The entities are returned in the order of the given IDs.</p>
+     */
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        Set<ID> keys = new LinkedHashSet<>();
+        ids.forEach(keys::add);
+        Map<ID, T> found = cache.getAllOrLoad(keys, this::loadAll);
+        List<T> entities = new ArrayList<>(found.size());
+        for (ID id : keys) {
+            T entity = found.get(id);
+            if (entity != null) {
+                entities.add(entity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteById(ID id) {
+        try {
+            delegate.deleteById(id);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> updateById(ID id, T entity) {
+        try {
+            return delegate.updateById(id, entity);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int patchById(ID id, Map<String, ?> changes) {
+        try {
+            return delegate.patchById(id, changes);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> updateById(ID id, T entity, Predicate<? super T> precondition) {
+        try {
+            return delegate.updateById(id, entity, precondition);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int patchById(ID id, Map<String, ?> changes, Predicate<? super T> precondition) {
+        try {
+            return delegate.patchById(id, changes, precondition);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteByIdIfPresent(ID id) {
+        try {
+            return delegate.deleteByIdIfPresent(id);
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<ID> deleteAllById(Iterable<ID> ids) {
+        try {
+            return delegate.deleteAllById(ids);
+        } finally {
+            ids.forEach(cache::remove);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(T entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            evict(entity);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        try {
+            delegate.deleteAll(entities);
+        } finally {
+            entities.forEach(this::evict);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll() {
+        try {
+            delegate.deleteAll();
+        } finally {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the cache backing this service, for example to evict entries changed outside of it.
+     *
+     * @return The {@link CacheService}.
+     */
+    public CacheService<ID, T> getCache() {
+        return cache;
+    }
+
+    private Map<ID, T> loadAll(Set<ID> missing) {
+        Map<ID, T> loaded = new LinkedHashMap<>();
+        for (T entity : delegate.findAllById(missing)) {
+            loaded.put(delegate.getId(entity), entity);
+        }
+        return loaded;
+    }
+
+    /**
+     * Runs a bulk write one chunk at a time, evicting each entity as it is read from the input and
+     * evicting the chunk's IDs again once the delegate returns, since a read during the write may have
+     * cached the entity before its chunk committed. The chunk results of the delegate calls are
+     * renumbered and their offsets shifted to positions in the whole input.
+     */
+    private BulkWriteResult evicting(Iterable<? extends T> entities, int chunkSize,
+                                     Function<List<T>, BulkWriteResult> write) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<ChunkResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>();
+        List<ID> ids = new ArrayList<>();
+        long offset = 0;
+        Iterator<? extends T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            T entity = iterator.next();
+            ID id = delegate.getId(entity);
+            if (id != null) {
+                cache.remove(id);
+                ids.add(id);
+            }
+            chunk.add(entity);
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                BulkWriteResult result;
+                try {
+                    result = write.apply(chunk);
+                } finally {
+                    evictWritten(ids);
+                }
+                for (ChunkResult written : result.getChunks()) {
+                    results.add(new ChunkResult(results.size(), offset + written.getOffset(), written.getSize(),
+                            written.isSuccess(), written.getError()));
+                }
+                offset += chunk.size();
+                chunk = new ArrayList<>();
+                ids = new ArrayList<>();
+            }
+        }
+        return new BulkWriteResult(results);
+    }
+
+    /**
+     * Evicts the IDs of a written chunk and, inside a transaction, again once it completes, since a
+     * read before then may cache rows that the transaction still rolls back.
+     */
+    private void evictWritten(List<ID> ids) {
+        ids.forEach(cache::remove);
+        if (!ids.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    ids.forEach(cache::remove);
+                }
+            });
+        }
+    }
+
+    private void cache(T entity) {
+        ID id = delegate.getId(entity);
+        if (id != null) {
+            cache.save(id, entity);
+        }
+    }
+
+    private void evict(T entity) {
+        ID id = delegate.getId(entity);
+        if (id != null) {
+            cache.remove(id);
+        }
+    }
+}
@@ -1,7 +1,20 @@
 package io.github.siddharth177.bootcommons.services;
 
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * A generic service interface that defines standard CRUD (Create, Read, Update, Delete) operations.
@@ -31,6 +44,76 @@ public interface IBaseService<T, ID> {
      */
     List<T> saveAll(Iterable<T> entities);
 
+    /**
+     * Saves a large number of entities in chunks of the configured size. See {@link #bulkSave(Iterable, int)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support bulk saves override it.</p>
+     *
+     * @param entities The entities to save. Must not be {@literal null}.
+     * @return The result of every chunk; will never be {@literal null}.
+     * @throws UnsupportedOperationException if the implementation does not support bulk saves.
+     */
+    default BulkWriteResult bulkSave(Iterable<? extends T> entities) {
+        throw unsupported("bulk saves");
+    }
+
+    /**
+     * Saves a large number of entities in chunks. Each chunk is written in its own transaction using
+     * JDBC batching, and the persistence context is flushed and cleared after it. The input is read
+     * lazily and the saved entities are not returned, so memory use does not grow with the input
+     * size. A chunk that fails is rolled back and reported, and the remaining chunks are still written.
+     *
+     * <p>Chunks do not join a surrounding transaction: each one commits or rolls back on its own, even
+     * when this method is called inside a transaction.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support bulk saves override it.</p>
+     *
+     * @param entities  The entities to save. Must not be {@literal null}.
+     * @param chunkSize The number of entities per chunk and JDBC batch. Must be positive.
+     * @return The result of every chunk; will never be {@literal null}.
+     * @throws UnsupportedOperationException if the implementation does not support bulk saves.
+     */
+    default BulkWriteResult bulkSave(Iterable<? extends T> entities, int chunkSize) {
+        throw unsupported("bulk saves");
+    }
+
+    /**
+     * Updates a large number of existing entities in chunks of the configured size. See {@link #bulkUpdate(Iterable, int)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support bulk updates override it.</p>
+     *
+     * @param entities The updated entities, each carrying its ID. Must not be {@literal null}.
+     * @return The result of every chunk; will never be {@literal null}.
+     * @throws UnsupportedOperationException if the implementation does not support bulk updates.
+     */
+    default BulkWriteResult bulkUpdate(Iterable<? extends T> entities) {
+        throw unsupported("bulk updates");
+    }
+
+    /**
+     * Updates a large number of existing entities in chunks, applying each one as
+     * {@link #updateById(Object, Object)} does: the stored entity keeps its ID, version and creation
+     * audit fields, and only an entity that carries a version must carry the current one. Chunks are
+     * written and reported as by {@link #bulkSave(Iterable, int)}; a chunk fails if one of its entities
+     * does not exist or carries a stale version.
+     *
+     * <p>Once a chunk is written, its entities hold the stored ID, version and audit fields.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support bulk updates override it.</p>
+     *
+     * @param entities  The updated entities, each carrying its ID. Must not be {@literal null}.
+     * @param chunkSize The number of entities per chunk and JDBC batch. Must be positive.
+     * @return The result of every chunk; will never be {@literal null}.
+     * @throws UnsupportedOperationException if the implementation does not support bulk updates.
+     */
+    default BulkWriteResult bulkUpdate(Iterable<? extends T> entities, int chunkSize) {
+        throw unsupported("bulk updates");
+    }
+
     /**
      * Retrieves an entity by its ID.
      *
@@ -39,6 +122,24 @@ public interface IBaseService<T, ID> {
      */
     Optional<T> findById(ID id);
 
+    /**
+     * Retrieves only the given attributes of an entity by its ID. Only their columns are selected, so
+     * collections and large attributes that are not asked for are never read.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support selecting attributes override it.</p>
+     *
+     * @param id     The ID of the entity to retrieve. Must not be {@literal null}.
+     * @param fields The names of the basic or embedded attributes to select. The ID is always included.
+     * @return An {@link Optional} containing the selected attributes keyed by name, in the order given,
+     * or {@link Optional#empty()} if not found.
+     * @throws IllegalArgumentException if an attribute does not exist or is a collection or association.
+     * @throws UnsupportedOperationException if the implementation does not support selecting attributes.
+     */
+    default Optional<Map<String, Object>> findById(ID id, Collection<String> fields) {
+        throw unsupported("selecting attributes");
+    }
+
     /**
      * Checks if an entity with the given ID exists.
      *
@@ -47,6 +148,38 @@ public interface IBaseService<T, ID> {
      */
     boolean existsById(ID id);
 
+    /**
+     * Returns which of the given IDs belong to existing entities, without loading the entities.
+     *
+     * <p>The default implementation calls {@link #existsById(Object)} for each ID.</p>
+     *
+     * @param ids The IDs to check. Must not be {@literal null}.
+     * @return The IDs that exist; will never be {@literal null}.
+     */
+    default Set<ID> findExistingIds(Iterable<ID> ids) {
+        Set<ID> existing = new LinkedHashSet<>();
+        for (ID id : ids) {
+            if (existsById(id)) {
+                existing.add(id);
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * Returns the ID of the given entity.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support reading IDs override it.</p>
+     *
+     * @param entity The entity. Must not be {@literal null}.
+     * @return The ID, or {@literal null} if the entity has not been saved yet.
+     * @throws UnsupportedOperationException if the implementation does not support reading IDs.
+     */
+    default ID getId(T entity) {
+        throw unsupported("reading IDs");
+    }
+
     /**
      * Returns all instances of the type.
      *
@@ -54,6 +187,107 @@ public interface IBaseService<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * Returns a page of entities, using the offset, size and sort order of the given {@link Pageable}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support paging override it.</p>
+     *
+     * @param pageable The page to return. Must not be {@literal null}.
+     * @return The requested page; will never be {@literal null}.
+     * @throws UnsupportedOperationException if the implementation does not support paging.
+     */
+    default Page<T> findAll(Pageable pageable) {
+        throw unsupported("paging");
+    }
+
+    /**
+     * Returns a page of entities with only the given attributes selected. See {@link #findById(Object, Collection)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support selecting attributes override it.</p>
+     *
+     * @param fields   The names of the basic or embedded attributes to select. The ID is always included.
+     * @param pageable The page to return; {@link Pageable#unpaged()} returns all entities. Must not be {@literal null}.
+     * @return The requested page of attribute maps; will never be {@literal null}.
+     * @throws IllegalArgumentException if an attribute does not exist or is a collection or association.
+     * @throws UnsupportedOperationException if the implementation does not support selecting attributes.
+     */
+    default Page<Map<String, Object>> findAll(Collection<String> fields, Pageable pageable) {
+        throw unsupported("selecting attributes");
+    }
+
+    /**
+     * Returns the keyset page that follows the given cursor with only the given attributes selected.
+     * See {@link #findAll(String, int, Sort)} and {@link #findById(Object, Collection)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support selecting attributes override it.</p>
+     *
+     * @param fields The names of the basic or embedded attributes to select. The ID is always included.
+     * @param cursor The cursor of the previous page, or {@literal null} for the first page.
+     * @param size   The maximum number of entities to return. Must be positive.
+     * @param sort   The sort order, with at most one property.
+     * @return The requested page of attribute maps; will never be {@literal null}.
+     * @throws IllegalArgumentException if an attribute does not exist or the cursor is malformed.
+     * @throws UnsupportedOperationException if the implementation does not support selecting attributes.
+     */
+    default KeysetPage<Map<String, Object>> findAll(Collection<String> fields, String cursor, int size, Sort sort) {
+        throw unsupported("selecting attributes");
+    }
+
+    /**
+     * Returns the page of entities that follows the given cursor, using keyset (seek) pagination.
+     * Rather than skipping rows, the query starts right after the sort key of the last entity
+     * of the previous page, so every page costs the same to read no matter how deep it is.
+     * Entities are ordered by the sort property and then by ID, which breaks ties.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support keyset paging override it.</p>
+     *
+     * @param cursor The {@link KeysetPage#getNextCursor() cursor} of the previous page, or {@literal null}
+     *               for the first page.
+     * @param size   The maximum number of entities to return. Must be positive.
+     * @param sort   The sort order, with at most one property whose values are never {@literal null}.
+     *               {@link Sort#unsorted()} sorts by ID.
+     * @return The requested page; will never be {@literal null}.
+     * @throws IllegalArgumentException if the cursor is malformed or was created for a different sort property.
+     * @throws UnsupportedOperationException if the implementation does not support keyset paging.
+     */
+    default KeysetPage<T> findAll(String cursor, int size, Sort sort) {
+        throw unsupported("keyset paging");
+    }
+
+    /**
+     * Returns all entities as a lazily fetched {@link Stream}. Rows are read from a database cursor in
+     * batches instead of being loaded into a {@link List} up front.
+     *
+     * <p>The stream holds a database connection open. It must be consumed inside a transaction and
+     * closed afterwards, preferably with try-with-resources. Entities stay in the persistence context
+     * until they are detached; use {@link #streamAll(Consumer)} to have that done for you.</p>
+     *
+     * <p>The default implementation streams the result of {@link #findAll()}, which is loaded up front.</p>
+     *
+     * @return A {@link Stream} of all entities; will never be {@literal null}.
+     */
+    default Stream<T> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * Passes every entity to the given action, reading them from a database cursor in batches. The
+     * read runs in its own read-only transaction, and each entity is detached once the action returns,
+     * so memory use stays flat no matter how many rows there are.
+     *
+     * <p>The default implementation passes the result of {@link #findAll()} to the action, which is loaded up
+     * front.</p>
+     *
+     * @param action The action to perform on each entity. Must not be {@literal null}.
+     */
+    default void streamAll(Consumer<? super T> action) {
+        findAll().forEach(action);
+    }
+
     /**
      * Returns all instances of the type {@code T} with the given IDs.
      * <p>
@@ -74,6 +308,100 @@ public interface IBaseService<T, ID> {
      */
     long count();
 
+    /**
+     * Overwrites the entity with the given ID with the state of the given entity. Collections are not
+     * updated, and the ID of the given entity is ignored. For JPA, the stored entity is loaded and changed
+     * in the persistence context, so entity listeners, Bean Validation and the {@code @Version} check apply.
+     *
+     * @param id     The ID of the entity to update. Must not be {@literal null}.
+     * @param entity The new state of the entity. Must not be {@literal null}.
+     * @return The entity as stored after the update, or {@link Optional#empty()} if no entity with the given ID exists.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the given entity carries a version
+     *                                                                   other than the stored one, or the entity
+     *                                                                   was changed concurrently.
+     */
+    default Optional<T> updateById(ID id, T entity) {
+        return updateById(id, entity, null);
+    }
+
+    /**
+     * Overwrites the entity with the given ID as {@link #updateById(Object, Object)} does, if its current
+     * state passes a precondition such as an {@code If-Match} header. The precondition is tested against
+     * the stored state, and the update fails rather than overwrite a change made after the test. For JPA,
+     * a versioned entity is updated only while it has the version that was tested, and other entities are
+     * locked with {@link jakarta.persistence.LockModeType#PESSIMISTIC_WRITE} from the test to the end of
+     * the transaction.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support updates by ID override it.</p>
+     *
+     * @param id           The ID of the entity to update. Must not be {@literal null}.
+     * @param entity       The new state of the entity. Must not be {@literal null}.
+     * @param precondition Tests the current state of the entity, or {@literal null} to update it unconditionally.
+     * @return The entity as stored after the update, or {@link Optional#empty()} if no entity with the given ID exists.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the precondition fails, the given
+     *                                                                   entity carries a version other than
+     *                                                                   the stored one, or the entity was
+     *                                                                   changed concurrently.
+     * @throws UnsupportedOperationException if the implementation does not support updates by ID.
+     */
+    default Optional<T> updateById(ID id, T entity, Predicate<? super T> precondition) {
+        throw unsupported("updates by ID");
+    }
+
+    /**
+     * Changes some attributes of the entity with the given ID. For JPA, the entity is loaded and changed in
+     * the persistence context, so entity listeners, Bean Validation and the {@code @Version} check apply.
+     *
+     * @param id      The ID of the entity to patch. Must not be {@literal null}.
+     * @param changes The new attribute values, keyed by attribute name. Attributes of embeddables are
+     *                addressed with dotted paths such as {@code address.city}. Must not be {@literal null}.
+     * @return The number of updated rows: {@code 1} if the entity exists, {@code 0} otherwise.
+     * @throws IllegalArgumentException if an attribute does not exist or cannot be changed, such as the ID.
+     */
+    default int patchById(ID id, Map<String, ?> changes) {
+        return patchById(id, changes, null);
+    }
+
+    /**
+     * Changes some attributes of the entity with the given ID as {@link #patchById(Object, Map)} does, if
+     * its current state passes a precondition. The precondition is tested and the change applied as by
+     * {@link #updateById(Object, Object, Predicate)}.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}; implementations that
+     * support patches override it.</p>
+     *
+     * @param id           The ID of the entity to patch. Must not be {@literal null}.
+     * @param changes      The new attribute values, keyed by attribute name or dotted path. Must not be {@literal null}.
+     * @param precondition Tests the current state of the entity, or {@literal null} to patch it unconditionally.
+     * @return The number of updated rows: {@code 1} if the entity exists, {@code 0} otherwise.
+     * @throws IllegalArgumentException                                  if an attribute does not exist or cannot be changed.
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the precondition fails or the entity
+     *                                                                   was changed concurrently.
+     * @throws UnsupportedOperationException                             if the implementation does not support patches.
+     */
+    default int patchById(ID id, Map<String, ?> changes, Predicate<? super T> precondition) {
+        throw unsupported("patches");
+    }
+
+    /**
+     * Deletes the entity with the given ID, if it exists. For JPA, the entity is loaded and removed, so
+     * cascades, orphan removal and entity listeners apply.
+     *
+     * <p>The default implementation checks {@link #existsById(Object)} and then calls
+     * {@link #deleteById(Object)}.</p>
+     *
+     * @param id The ID of the entity to delete. Must not be {@literal null}.
+     * @return The number of deleted rows: {@code 1} if the entity existed, {@code 0} otherwise.
+     */
+    default int deleteByIdIfPresent(ID id) {
+        if (!existsById(id)) {
+            return 0;
+        }
+        deleteById(id);
+        return 1;
+    }
+
     /**
      * Deletes the entity with the given ID.
      *
@@ -82,6 +410,26 @@ public interface IBaseService<T, ID> {
      */
     void deleteById(ID id);
 
+    /**
+     * Deletes the entities with the given IDs in a single transaction. For JPA, the entities are loaded
+     * in chunks and removed, so cascades, orphan removal and entity listeners apply.
+     *
+     * <p>The default implementation calls {@link #deleteByIdIfPresent(Object)} for each ID, without a
+     * surrounding transaction.</p>
+     *
+     * @param ids The IDs of the entities to delete. Must not be {@literal null}.
+     * @return The IDs of the entities that existed and were deleted; will never be {@literal null}.
+     */
+    default Set<ID> deleteAllById(Iterable<ID> ids) {
+        Set<ID> deleted = new LinkedHashSet<>();
+        for (ID id : ids) {
+            if (deleteByIdIfPresent(id) > 0) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
     /**
      * Deletes a given entity.
      *
@@ -102,4 +450,8 @@ public interface IBaseService<T, ID> {
      * Deletes all entities managed by the service.
      */
     void deleteAll();
+
+    private UnsupportedOperationException unsupported(String operation) {
+        return new UnsupportedOperationException(getClass().getSimpleName() + " does not support " + operation);
+    }
 }
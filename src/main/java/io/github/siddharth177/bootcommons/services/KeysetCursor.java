@@ -0,0 +1,131 @@
+package io.github.siddharth177.bootcommons.services;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * The position of a keyset page: the sort property and the sort and id values of the last entity
+ * read. It is exchanged with clients as an opaque, URL-safe string.
+ *
+ * @param property The sort property the cursor was created for.
+ * @param key      The sort value of the last entity, formatted so that it converts back exactly.
+ * @param id       The id of the last entity, formatted so that it converts back exactly.
+ */
+record KeysetCursor(String property, String key, String id) {
+
+    /**
+     * Creates a cursor for the last entity of a page.
+     *
+     * @param property The sort property.
+     * @param key      The sort value of the last entity. Must not be {@literal null}.
+     * @param id       The id of the last entity. Must not be {@literal null}.
+     * @return The cursor.
+     * @throws IllegalArgumentException if the sort value is {@literal null}.
+     */
+    static KeysetCursor of(String property, Object key, Object id) {
+        if (key == null) {
+            throw new IllegalArgumentException("Keyset pagination requires non-null values of " + property);
+        }
+        return new KeysetCursor(property, format(key), format(id));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode()}.
+     *
+     * @param cursor The encoded cursor.
+     * @return The cursor.
+     * @throws IllegalArgumentException if the cursor is malformed.
+     */
+    static KeysetCursor decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            return new KeysetCursor(in.readUTF(), in.readUTF(), in.readUTF());
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, ex);
+        }
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe string.
+     *
+     * @return The encoded cursor.
+     */
+    String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(property);
+            out.writeUTF(key);
+            out.writeUTF(id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Formats a value so that {@link #convert(String, Class)} restores it exactly. Dates are written as
+     * ISO instants, which keep their milliseconds and, for {@link Timestamp}s, their nanoseconds, and
+     * enums by their name, since {@code toString()} may be overridden. {@code java.time} values are
+     * written in their ISO form; everything else goes through the default conversion service.
+     */
+    private static String format(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toInstant().toString();
+        }
+        if (value instanceof Date date) {
+            return Instant.ofEpochMilli(date.getTime()).toString();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        return (String) DefaultConversionService.getSharedInstance()
+                .convert(value, TypeDescriptor.forObject(value), TypeDescriptor.valueOf(String.class));
+    }
+
+    /**
+     * Converts a value of this cursor back to the type of its attribute. Dates and {@code java.time}
+     * types are parsed from their ISO form; a {@code java.util.Date} with sub-millisecond precision
+     * comes back as a {@link Timestamp}. Everything else, including enums by name, goes through the
+     * default conversion service.
+     *
+     * @param value The string value.
+     * @param type  The attribute type.
+     * @return The converted value.
+     * @throws IllegalArgumentException if the value cannot be converted.
+     */
+    static Object convert(String value, Class<?> type) {
+        try {
+            if (Date.class.isAssignableFrom(type)) {
+                Instant instant = Instant.parse(value);
+                if (type == Timestamp.class || (type == Date.class && instant.getNano() % 1_000_000 != 0)) {
+                    return Timestamp.from(instant);
+                }
+                return type.getConstructor(long.class).newInstance(instant.toEpochMilli());
+            }
+            if (TemporalAccessor.class.isAssignableFrom(type)) {
+                return type.getMethod("parse", CharSequence.class).invoke(null, value);
+            }
+            return DefaultConversionService.getSharedInstance()
+                    .convert(value, TypeDescriptor.valueOf(String.class), TypeDescriptor.valueOf(type));
+        } catch (InvocationTargetException ex) {
+            throw new IllegalArgumentException("Malformed cursor value: " + value, ex.getCause());
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            throw new IllegalArgumentException("Malformed cursor value: " + value, ex);
+        }
+    }
+}
@@ -0,0 +1,927 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.util.ClassUtils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * An abstract base class that implements {@link IBaseService} for MongoDB documents on top of a
+ * {@link MongoTemplate}, so that {@code @Document} types get the same service and controller stack
+ * as JPA entities.
+ *
+ * <p>To use this class, extend it with the document type and its ID type; the document type is
+ * resolved from the subclass's type arguments.</p>
+ *
+ * <p>Multi-document writes use as few round trips as possible: {@link #saveAll(Iterable)} and
+ * {@link #bulkSave(Iterable, int)} send {@link BulkOperations} batches, deletes by ID send one
+ * {@code $in} filter per batch, and single-document updates and patches are one {@code updateOne}.
+ * Batches hold {@code bootcommons.mongo.batch-size} (500) documents, and streaming reads fetch
+ * {@code bootcommons.mongo.stream-fetch-size} (500) documents per round trip.</p>
+ *
+ * <p>Unlike {@link BaseService}, writes that touch several documents do not run in a transaction,
+ * since MongoDB only supports transactions on replica sets. A failed batch may have been partly
+ * written. Writes check and increment a numeric {@code @Version} as {@link MongoTemplate#save(Object)}
+ * does: an existing document is only replaced or updated while it has the version the entity carries.</p>
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * @Service
+ * public class StudentService extends MongoBaseService<Student, String> {
+ *     public StudentService(MongoTemplate mongoTemplate) {
+ *         super(mongoTemplate);
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T>  The type of the document to be managed.
+ * @param <ID> The type of the document's identifier.
+ */
+public abstract class MongoBaseService<T, ID> implements IBaseService<T, ID> {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoBaseService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private volatile MongoPersistentEntity<T> persistentEntity;
+
+    @Value("${bootcommons.mongo.stream-fetch-size:500}")
+    private int streamFetchSize = 500;
+
+    @Value("${bootcommons.mongo.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Constructs a new {@code MongoBaseService} with the given template.
+     *
+     * @param mongoTemplate The {@link MongoTemplate} to use for data access. Must not be {@literal null}.
+     */
+    public MongoBaseService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T save(T entity) {
+        return mongoTemplate.save(entity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The documents are written with ordered {@link BulkOperations}, one round trip per
+     * {@code bootcommons.mongo.batch-size} documents. New documents are inserted and existing ones
+     * replaced, versioned ones only while they have the entity's version. New documents without an ID
+     * get a generated {@link ObjectId}.</p>
+     *
+     * @throws OptimisticLockingFailureException if a versioned document was changed since it was read.
+     * The other documents of its batch and the preceding batches are written.
+     */
+    @Override
+    public List<T> saveAll(Iterable<T> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("entities must not be null");
+        }
+        List<T> saved = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(batchSize);
+        for (T entity : entities) {
+            chunk.add(entity);
+            if (chunk.size() == batchSize) {
+                write(chunk);
+                saved.addAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            write(chunk);
+            saved.addAll(chunk);
+        }
+        return saved;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities) {
+        return bulkSave(entities, batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each chunk is one ordered {@link BulkOperations} batch. There is no transaction, so the
+     * documents of a failed chunk that precede the failing one stay written.</p>
+     */
+    @Override
+    public BulkWriteResult bulkSave(Iterable<? extends T> entities, int chunkSize) {
+        return chunked(entities, chunkSize, this::write);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities) {
+        return bulkUpdate(entities, batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each chunk is one ordered {@link BulkOperations} batch of the updates that
+     * {@link #updateById(Object, Object)} sends, followed by one query that reads the updated documents
+     * back. There is no transaction, so the documents of a failed chunk may be partly updated.</p>
+     */
+    @Override
+    public BulkWriteResult bulkUpdate(Iterable<? extends T> entities, int chunkSize) {
+        return chunked(entities, chunkSize, this::update);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<T> findById(ID id) {
+        return Optional.ofNullable(mongoTemplate.findById(id, entityClass()));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the given fields are returned by the server. Embedded documents and arrays can be
+     * selected; {@code @DBRef} associations cannot.</p>
+     */
+    @Override
+    public Optional<Map<String, Object>> findById(ID id, Collection<String> fields) {
+        List<String> names = projection(fields);
+        Query query = byId(id);
+        query.fields().include(names.toArray(String[]::new));
+        return Optional.ofNullable(mongoTemplate.findOne(query, entityClass())).map(entity -> row(names, entity));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(ID id) {
+        return mongoTemplate.exists(byId(id), entityClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>IDs are checked with one query per {@code bootcommons.mongo.batch-size} IDs, returning only
+     * the ID field.</p>
+     */
+    @Override
+    public Set<ID> findExistingIds(Iterable<ID> ids) {
+        Set<ID> existing = new HashSet<>();
+        for (List<ID> chunk : chunks(ids)) {
+            Query query = new Query(Criteria.where(idName()).in(chunk));
+            query.fields().include(idName());
+            for (T entity : mongoTemplate.find(query, entityClass())) {
+                existing.add(getId(entity));
+            }
+        }
+        return existing;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ID getId(T entity) {
+        return (ID) persistentEntity().getIdentifierAccessor(entity).getIdentifier();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> findAll() {
+        return mongoTemplate.findAll(entityClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> content = mongoTemplate.find(new Query().with(pageable), entityClass());
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(new Query(), entityClass()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Map<String, Object>> findAll(Collection<String> fields, Pageable pageable) {
+        List<String> names = projection(fields);
+        for (Sort.Order order : pageable.getSort()) {
+            property(order.getProperty());
+        }
+        Query query = new Query().with(pageable);
+        query.fields().include(names.toArray(String[]::new));
+        List<Map<String, Object>> content = new ArrayList<>();
+        for (T entity : mongoTemplate.find(query, entityClass())) {
+            content.add(row(names, entity));
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> mongoTemplate.count(new Query(), entityClass()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<Map<String, Object>> findAll(Collection<String> fields, String cursor, int size, Sort sort) {
+        List<String> names = projection(fields);
+        KeysetPage<T> page = keyset(names, cursor, size, sort);
+        List<Map<String, Object>> content = new ArrayList<>(page.getContent().size());
+        for (T entity : page.getContent()) {
+            content.add(row(names, entity));
+        }
+        return new KeysetPage<>(content, page.getSize(), page.getNextCursor());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public KeysetPage<T> findAll(String cursor, int size, Sort sort) {
+        return keyset(null, cursor, size, sort);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Documents are read from a server-side cursor. The stream does not need a transaction, but it
+     * must still be closed to release the cursor.</p>
+     */
+    @Override
+    public Stream<T> streamAll() {
+        return mongoTemplate.stream(new Query().cursorBatchSize(streamFetchSize), entityClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void streamAll(Consumer<? super T> action) {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("ids must not be null");
+        }
+        List<T> found = new ArrayList<>();
+        for (List<ID> chunk : chunks(ids)) {
+            found.addAll(mongoTemplate.find(new Query(Criteria.where(idName()).in(chunk)), entityClass()));
+        }
+        return found;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long count() {
+        return mongoTemplate.count(new Query(), entityClass());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Every field is set except the ID and {@link CreatedDate @CreatedDate}, {@link CreatedBy @CreatedBy}
+     * and {@link LastModifiedBy @LastModifiedBy} fields, with a single {@code findAndModify} that returns the
+     * new document. A numeric {@code @Version} is incremented and a {@link LastModifiedDate @LastModifiedDate}
+     * field is set to the current time. If the given entity carries a version, the document is only updated
+     * while it has that version. {@code @DBRef} associations are not updated.</p>
+     */
+    @Override
+    public Optional<T> updateById(ID id, T entity) {
+        return updateById(id, entity, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The current document is read to test the precondition, and the update only matches the
+     * document while its {@code @Version} or, failing that, its {@link LastModifiedDate @LastModifiedDate}
+     * field still has the tested value. Documents with neither are updated without that guard.</p>
+     */
+    @Override
+    public Optional<T> updateById(ID id, T entity, Predicate<? super T> precondition) {
+        Update update = updateOf(entity);
+        MongoPersistentProperty versionProperty = persistentEntity().getVersionProperty();
+        Object version = versionProperty == null ? null : persistentEntity().getPropertyAccessor(entity).getProperty(versionProperty);
+        Query query = updateFilter(id, version, precondition);
+        if (query == null) {
+            return Optional.empty();
+        }
+        T updated = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), entityClass());
+        if (updated == null && (version != null || precondition != null) && existsById(id)) {
+            throw new OptimisticLockingFailureException(entityClass().getName() + " with id " + id + " was changed concurrently");
+        }
+        return Optional.ofNullable(updated);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The update sets only the given fields, plus the {@code @Version} and
+     * {@link LastModifiedDate @LastModifiedDate} fields as in {@link #updateById(Object, Object)}.
+     * A {@literal null} value removes the field from the document.</p>
+     */
+    @Override
+    public int patchById(ID id, Map<String, ?> changes) {
+        return patchById(id, changes, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The precondition is tested as in {@link #updateById(Object, Object, Predicate)}.</p>
+     */
+    @Override
+    public int patchById(ID id, Map<String, ?> changes, Predicate<? super T> precondition) {
+        Update update = new Update();
+        for (Map.Entry<String, ?> change : changes.entrySet()) {
+            patchablePath(change.getKey());
+            if (change.getValue() == null) {
+                update.unset(change.getKey());
+            } else {
+                update.set(change.getKey(), change.getValue());
+            }
+        }
+        Query query = updateFilter(id, null, precondition);
+        if (query == null) {
+            return 0;
+        }
+        if (changes.isEmpty()) {
+            return mongoTemplate.exists(query, entityClass()) ? 1 : 0;
+        }
+        touch(update);
+        long matched = mongoTemplate.updateFirst(query, update, entityClass()).getMatchedCount();
+        if (matched == 0 && precondition != null && existsById(id)) {
+            throw new OptimisticLockingFailureException(entityClass().getName() + " with id " + id + " was changed concurrently");
+        }
+        return (int) matched;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int deleteByIdIfPresent(ID id) {
+        return (int) mongoTemplate.remove(byId(id), entityClass()).getDeletedCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteById(ID id) {
+        if (deleteByIdIfPresent(id) == 0) {
+            throw new EmptyResultDataAccessException("No " + entityClass().getName() + " entity with id " + id + " exists", 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each batch of {@code bootcommons.mongo.batch-size} IDs is checked with one query and deleted
+     * with one {@code $in} filter.</p>
+     */
+    @Override
+    public Set<ID> deleteAllById(Iterable<ID> ids) {
+        Set<ID> deleted = new HashSet<>();
+        for (List<ID> chunk : chunks(ids)) {
+            Set<ID> existing = findExistingIds(chunk);
+            if (!existing.isEmpty()) {
+                mongoTemplate.remove(new Query(Criteria.where(idName()).in(existing)), entityClass());
+                deleted.addAll(existing);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void delete(T entity) {
+        if (entity == null) {
+            throw new IllegalArgumentException("entity must not be null");
+        }
+        mongoTemplate.remove(entity);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The documents are deleted with one {@code $in} filter per {@code bootcommons.mongo.batch-size} IDs.</p>
+     */
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        if (entities == null) {
+            throw new IllegalArgumentException("entities must not be null");
+        }
+        List<ID> ids = new ArrayList<>();
+        for (T entity : entities) {
+            ID id = getId(entity);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        for (List<ID> chunk : chunks(ids)) {
+            mongoTemplate.remove(new Query(Criteria.where(idName()).in(chunk)), entityClass());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteAll() {
+        mongoTemplate.remove(new Query(), entityClass());
+    }
+
+    /**
+     * Returns the mapping metadata of the managed document type.
+     *
+     * @return The {@link MongoPersistentEntity}.
+     * @throws IllegalStateException if the document type cannot be resolved.
+     */
+    @SuppressWarnings("unchecked")
+    protected MongoPersistentEntity<T> persistentEntity() {
+        MongoPersistentEntity<T> type = persistentEntity;
+        if (type == null) {
+            Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(getClass(), MongoBaseService.class);
+            if (arguments == null || arguments[0] == null) {
+                throw new IllegalStateException("Cannot resolve the document type of " + getClass().getName());
+            }
+            type = (MongoPersistentEntity<T>) mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(arguments[0]);
+            persistentEntity = type;
+        }
+        return type;
+    }
+
+    private Class<T> entityClass() {
+        return persistentEntity().getType();
+    }
+
+    private String idName() {
+        return persistentEntity().getRequiredIdProperty().getName();
+    }
+
+    private Query byId(ID id) {
+        return new Query(Criteria.where(idName()).is(id));
+    }
+
+    /**
+     * Returns the filter of an update of the document with the given ID. It also matches the expected
+     * version, if any, and with a precondition, the version or last modification date of the document
+     * that passed it.
+     *
+     * @return The filter, or {@literal null} if a precondition is given and the document does not exist.
+     * @throws OptimisticLockingFailureException if the precondition fails or the document has another version.
+     */
+    private Query updateFilter(ID id, Object expectedVersion, Predicate<? super T> precondition) {
+        MongoPersistentEntity<T> type = persistentEntity();
+        MongoPersistentProperty versionProperty = type.getVersionProperty();
+        Query query = byId(id);
+        if (precondition == null) {
+            if (expectedVersion != null) {
+                query.addCriteria(Criteria.where(versionProperty.getName()).is(expectedVersion));
+            }
+            return query;
+        }
+        T current = mongoTemplate.findById(id, type.getType());
+        if (current == null) {
+            return null;
+        }
+        if (!precondition.test(current)) {
+            throw new OptimisticLockingFailureException("Precondition failed for " + type.getType().getName() + " with id " + id);
+        }
+        MongoPersistentProperty stamp = versionProperty != null ? versionProperty : type.getPersistentProperty(LastModifiedDate.class);
+        if (stamp != null) {
+            Object value = type.getPropertyAccessor(current).getProperty(stamp);
+            if (expectedVersion != null && !expectedVersion.equals(value)) {
+                throw new OptimisticLockingFailureException("Version " + expectedVersion + " of " + type.getType().getName()
+                        + " with id " + id + " is not current");
+            }
+            query.addCriteria(Criteria.where(stamp.getName()).is(value));
+        }
+        return query;
+    }
+
+    private KeysetPage<T> keyset(List<String> fields, String cursor, int size, Sort sort) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        MongoPersistentEntity<T> type = persistentEntity();
+        MongoPersistentProperty idProperty = type.getRequiredIdProperty();
+        String id = idProperty.getName();
+        List<Sort.Order> orders = sort == null ? List.of() : sort.toList();
+        if (orders.size() > 1) {
+            throw new IllegalArgumentException("Keyset pagination supports a single sort property: " + sort);
+        }
+        Sort.Order order = orders.isEmpty() ? Sort.Order.asc(id) : orders.get(0);
+        String key = order.getProperty();
+        MongoPersistentProperty keyProperty = property(key);
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+        if (after != null && !after.property().equals(key)) {
+            throw new IllegalArgumentException("Cursor was created for sort property " + after.property() + ", not " + key);
+        }
+
+        Query query = new Query();
+        if (after != null) {
+            Object afterId = KeysetCursor.convert(after.id(), idProperty.getType());
+            if (key.equals(id)) {
+                query.addCriteria(compare(Criteria.where(id), order, afterId));
+            } else {
+                Object afterKey = KeysetCursor.convert(after.key(), keyProperty.getType());
+                query.addCriteria(new Criteria().orOperator(
+                        compare(Criteria.where(key), order, afterKey),
+                        compare(Criteria.where(key).is(afterKey).and(id), order, afterId)));
+            }
+        }
+        query.with(key.equals(id) ? Sort.by(order) : Sort.by(order, new Sort.Order(order.getDirection(), id)));
+        if (fields != null) {
+            Set<String> selected = new LinkedHashSet<>(fields);
+            selected.add(key);
+            query.fields().include(selected.toArray(String[]::new));
+        }
+        List<T> rows = mongoTemplate.find(query.limit(size + 1), entityClass());
+
+        List<T> content = rows.size() > size ? new ArrayList<>(rows.subList(0, size)) : rows;
+        String nextCursor = null;
+        if (rows.size() > size) {
+            T last = rows.get(size - 1);
+            nextCursor = KeysetCursor.of(key, type.getPropertyAccessor(last).getProperty(keyProperty), getId(last)).encode();
+        }
+        return new KeysetPage<>(content, size, nextCursor);
+    }
+
+    private static Criteria compare(Criteria criteria, Sort.Order order, Object value) {
+        return order.isAscending() ? criteria.gt(value) : criteria.lt(value);
+    }
+
+    private List<String> projection(Collection<String> fields) {
+        Set<String> names = new LinkedHashSet<>();
+        names.add(idName());
+        for (String field : fields) {
+            String name = field.trim();
+            if (!name.isEmpty()) {
+                if (property(name).isAssociation()) {
+                    throw new IllegalArgumentException("Associations cannot be selected: " + name);
+                }
+                names.add(name);
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private MongoPersistentProperty property(String name) {
+        MongoPersistentProperty property = persistentEntity().getPersistentProperty(name);
+        if (property == null) {
+            throw new IllegalArgumentException("Unknown attribute: " + name);
+        }
+        return property;
+    }
+
+    private Map<String, Object> row(List<String> names, T entity) {
+        PersistentPropertyAccessor<T> accessor = persistentEntity().getPropertyAccessor(entity);
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String name : names) {
+            row.put(name, accessor.getProperty(property(name)));
+        }
+        return row;
+    }
+
+    /**
+     * Checks that every segment of a dotted path names a field that can be patched, descending into
+     * embedded documents.
+     */
+    private void patchablePath(String path) {
+        MongoPersistentEntity<?> owner = persistentEntity();
+        String[] names = path.split("\\.");
+        for (int i = 0; i < names.length; i++) {
+            MongoPersistentProperty property = owner.getPersistentProperty(names[i]);
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown attribute: " + path);
+            }
+            if (!isUpdatable(property) || property.isVersionProperty() || property.isAnnotationPresent(LastModifiedDate.class)) {
+                throw new IllegalArgumentException("Attribute cannot be patched: " + path);
+            }
+            if (i < names.length - 1) {
+                if (!property.isEntity() || property.isCollectionLike() || property.isMap()) {
+                    throw new IllegalArgumentException("Not an embedded document: " + path);
+                }
+                owner = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(property);
+            }
+        }
+    }
+
+    private static boolean isUpdatable(MongoPersistentProperty property) {
+        return !property.isIdProperty()
+                && property.isWritable()
+                && !property.isAssociation()
+                && !property.isAnnotationPresent(CreatedDate.class)
+                && !property.isAnnotationPresent(CreatedBy.class)
+                && !property.isAnnotationPresent(LastModifiedBy.class);
+    }
+
+    /**
+     * Returns the update that replaces every updatable field with the entity's value and increments
+     * the version.
+     */
+    private Update updateOf(T entity) {
+        MongoPersistentEntity<T> type = persistentEntity();
+        PersistentPropertyAccessor<T> accessor = type.getPropertyAccessor(entity);
+        Update update = new Update();
+        type.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            if (isMaintained(property)) {
+                return;
+            }
+            update.set(property.getName(), accessor.getProperty(property));
+        });
+        touch(update);
+        return update;
+    }
+
+    /**
+     * Returns whether a field is kept by an update rather than taken from the given entity.
+     */
+    private static boolean isMaintained(MongoPersistentProperty property) {
+        return !isUpdatable(property) || property.isVersionProperty() || property.isAnnotationPresent(LastModifiedDate.class);
+    }
+
+    private void touch(Update update) {
+        persistentEntity().doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            if (property.isVersionProperty()) {
+                if (Number.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(property.getType()))) {
+                    update.inc(property.getName(), 1);
+                }
+            } else if (property.isAnnotationPresent(LastModifiedDate.class)) {
+                Object now = BaseService.now(property.getType());
+                if (now != null) {
+                    update.set(property.getName(), now);
+                }
+            }
+        });
+    }
+
+    /**
+     * Writes a batch of documents with one ordered bulk operation. Existing documents with a
+     * {@code @Version} are replaced only while they still have the version the entity carries, which is
+     * incremented as {@link MongoTemplate#save(Object)} does.
+     *
+     * @throws OptimisticLockingFailureException if a versioned document was changed or removed since it was
+     *                                           read. The other documents of the batch are written.
+     */
+    private void write(List<T> chunk) {
+        MongoPersistentEntity<T> type = persistentEntity();
+        MongoPersistentProperty versionProperty = type.getVersionProperty();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, entityClass());
+        Map<ID, Object> versions = new LinkedHashMap<>();
+        int upserts = 0;
+        for (T entity : chunk) {
+            if (type.isNew(entity)) {
+                assignId(type, entity);
+                if (versionProperty != null && type.getPropertyAccessor(entity).getProperty(versionProperty) == null) {
+                    type.getPropertyAccessor(entity).setProperty(versionProperty, version(versionProperty, 0));
+                }
+                operations.insert(entity);
+            } else if (versionProperty != null) {
+                ID id = getId(entity);
+                PersistentPropertyAccessor<T> accessor = type.getPropertyAccessor(entity);
+                Number version = (Number) accessor.getProperty(versionProperty);
+                versions.put(id, version);
+                accessor.setProperty(versionProperty, version(versionProperty, version.longValue() + 1));
+                operations.replaceOne(byId(id).addCriteria(Criteria.where(versionProperty.getName()).is(version)), entity);
+            } else {
+                operations.replaceOne(byId(getId(entity)), entity, FindAndReplaceOptions.options().upsert());
+                upserts++;
+            }
+        }
+        com.mongodb.bulk.BulkWriteResult result = operations.execute();
+        // Unversioned replacements either match or upsert; whatever else matched was versioned
+        int versionedMatches = result.getMatchedCount() - (upserts - result.getUpserts().size());
+        if (versionedMatches < versions.size()) {
+            List<ID> stale = staleVersions(chunk, versions);
+            if (!stale.isEmpty()) {
+                throw new OptimisticLockingFailureException("Documents of " + entityClass().getName() + " with ids "
+                        + stale + " were changed or removed since they were read");
+            }
+        }
+    }
+
+    /**
+     * Finds the versioned documents of a batch that were not replaced and restores the version of their
+     * entities. The bulk result only counts the replaced documents, and a concurrent writer may have set
+     * the same version, so a document counts as replaced if it is stored as it was written.
+     */
+    private List<ID> staleVersions(List<T> chunk, Map<ID, Object> versions) {
+        MongoPersistentEntity<T> type = persistentEntity();
+        MongoPersistentProperty versionProperty = type.getRequiredVersionProperty();
+        Map<Object, Document> stored = new HashMap<>();
+        for (T current : mongoTemplate.find(new Query(Criteria.where(idName()).in(versions.keySet())), entityClass())) {
+            stored.put(getId(current), document(current));
+        }
+        List<ID> stale = new ArrayList<>();
+        for (T entity : chunk) {
+            ID id = getId(entity);
+            if (versions.containsKey(id) && !document(entity).equals(stored.get(id))) {
+                type.getPropertyAccessor(entity).setProperty(versionProperty, versions.get(id));
+                stale.add(id);
+            }
+        }
+        return stale;
+    }
+
+    private Document document(T entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        return document;
+    }
+
+    private Object version(MongoPersistentProperty versionProperty, long value) {
+        return mongoTemplate.getConverter().getConversionService().convert(value, versionProperty.getType());
+    }
+
+    /**
+     * Generates the ID of a new document on the client, so that it is known once the bulk insert
+     * returns. IDs of other types than {@link ObjectId}, {@link String} and {@link BigInteger} must be
+     * assigned by the caller.
+     */
+    private static <E> void assignId(MongoPersistentEntity<E> type, E entity) {
+        MongoPersistentProperty idProperty = type.getRequiredIdProperty();
+        PersistentPropertyAccessor<E> accessor = type.getPropertyAccessor(entity);
+        if (accessor.getProperty(idProperty) != null) {
+            return;
+        }
+        Class<?> idType = idProperty.getType();
+        if (idType == ObjectId.class) {
+            accessor.setProperty(idProperty, new ObjectId());
+        } else if (idType == String.class) {
+            accessor.setProperty(idProperty, new ObjectId().toHexString());
+        } else if (idType == BigInteger.class) {
+            accessor.setProperty(idProperty, new BigInteger(new ObjectId().toHexString(), 16));
+        }
+    }
+
+    private List<List<ID>> chunks(Iterable<ID> ids) {
+        List<List<ID>> chunks = new ArrayList<>();
+        List<ID> chunk = new ArrayList<>();
+        for (ID id : ids) {
+            chunk.add(id);
+            if (chunk.size() == batchSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * Applies a batch of updates to existing documents with one ordered bulk operation, then reads the
+     * documents back so the entities hold their stored version and audit fields.
+     *
+     * @throws OptimisticLockingFailureException if a document does not exist or has another version than
+     *                                           its entity carries. The other documents of the batch are updated.
+     */
+    private void update(List<T> chunk) {
+        MongoPersistentEntity<T> type = persistentEntity();
+        MongoPersistentProperty versionProperty = type.getVersionProperty();
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, entityClass());
+        List<ID> ids = new ArrayList<>(chunk.size());
+        for (T entity : chunk) {
+            ID id = getId(entity);
+            if (id == null) {
+                throw new IllegalArgumentException("Cannot update a document without an ID");
+            }
+            Object version = versionProperty == null ? null : type.getPropertyAccessor(entity).getProperty(versionProperty);
+            Query query = byId(id);
+            if (version != null) {
+                query.addCriteria(Criteria.where(versionProperty.getName()).is(version));
+            }
+            operations.updateOne(query, updateOf(entity));
+            ids.add(id);
+        }
+        int matched = operations.execute().getMatchedCount();
+        if (matched < chunk.size()) {
+            throw new OptimisticLockingFailureException((chunk.size() - matched) + " documents of " + entityClass().getName()
+                    + " were removed or changed since they were read");
+        }
+
+        Map<Object, T> stored = new HashMap<>();
+        for (T current : mongoTemplate.find(new Query(Criteria.where(idName()).in(ids)), entityClass())) {
+            stored.put(getId(current), current);
+        }
+        for (T entity : chunk) {
+            T current = stored.get(getId(entity));
+            if (current == null) {
+                continue;
+            }
+            PersistentPropertyAccessor<T> source = type.getPropertyAccessor(current);
+            PersistentPropertyAccessor<T> target = type.getPropertyAccessor(entity);
+            type.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+                if (isMaintained(property) && !property.isAssociation()) {
+                    target.setProperty(property, source.getProperty(property));
+                }
+            });
+        }
+    }
+
+    /**
+     * Splits the input into chunks and writes each one, collecting their results.
+     */
+    private BulkWriteResult chunked(Iterable<? extends T> entities, int chunkSize, Consumer<List<T>> write) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        List<ChunkResult> results = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long offset = 0;
+        Iterator<? extends T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                results.add(writeChunk(results.size(), offset, chunk, write));
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        return new BulkWriteResult(results);
+    }
+
+    private ChunkResult writeChunk(int number, long offset, List<T> chunk, Consumer<List<T>> write) {
+        try {
+            write.accept(chunk);
+            return new ChunkResult(number, offset, chunk.size(), true, null);
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to save chunk {} of {} documents at offset {}", number, chunk.size(), offset, ex);
+            return new ChunkResult(number, offset, chunk.size(), false, ex.getMessage());
+        }
+    }
+}
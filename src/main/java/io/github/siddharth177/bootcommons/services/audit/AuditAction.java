@@ -0,0 +1,22 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+/**
+ * The kind of change an {@link AuditRecord} describes.
+ */
+public enum AuditAction {
+
+    /**
+     * The entity was inserted.
+     */
+    CREATE,
+
+    /**
+     * The entity was updated.
+     */
+    UPDATE,
+
+    /**
+     * The entity was deleted.
+     */
+    DELETE
+}
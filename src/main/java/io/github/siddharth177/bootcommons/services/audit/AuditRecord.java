@@ -0,0 +1,19 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of the audit trail: a change to a single entity.
+ *
+ * @param entityType The simple name of the entity class.
+ * @param entityId   The ID of the entity, as a string.
+ * @param action     Whether the entity was created, updated or deleted.
+ * @param changes    The fields that changed, in declaration order.
+ * @param changedBy  The user who made the change, from the entity's {@code createdBy} or
+ *                   {@code updatedBy}, or {@code null} if unknown.
+ * @param changedAt  When the change was made.
+ */
+public record AuditRecord(String entityType, String entityId, AuditAction action, List<FieldChange> changes,
+                          String changedBy, LocalDateTime changedAt) {
+}
@@ -0,0 +1,33 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A service provider interface for storing {@link AuditRecord}s. {@link AuditTrail} calls it from a
+ * single background thread with batches of records in the order they were committed.
+ *
+ * <p>The library provides {@link JdbcAuditSink} and {@link FileAuditSink}. Register an
+ * {@code AuditSink} bean to store the trail elsewhere, for example in a message broker.</p>
+ */
+public interface AuditSink extends AutoCloseable {
+
+    /**
+     * Stores a batch of records. The batch is retried if this method throws, so it should either
+     * store all records or none.
+     *
+     * @param records The records to store, never empty.
+     * @throws IOException If the records could not be stored.
+     */
+    void write(List<AuditRecord> records) throws IOException;
+
+    /**
+     * Releases the resources held by the sink. The default implementation does nothing.
+     *
+     * @throws IOException If releasing the resources fails.
+     */
+    @Override
+    default void close() throws IOException {
+        // Nothing to release
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+import io.github.siddharth177.bootcommons.entities.AuditEntityListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects {@link AuditRecord}s in a bounded in-memory queue and writes them to an {@link AuditSink}
+ * in batches from a single background thread, so the transactions that produce them do not wait for
+ * the audit writes.
+ *
+ * <p>The writer takes up to {@code batchSize} records at a time and waits at most
+ * {@code flushInterval} for a batch to fill before writing it. A batch that fails is retried three
+ * times, one flush interval apart, and then dropped with an error.</p>
+ *
+ * <p>When the queue is full, {@link #record(AuditRecord)} applies backpressure: the calling thread
+ * waits up to {@code maxBlock} for space. If there is still none, the record is dropped and counted.
+ * The queue should be large enough to absorb bursts while the sink is briefly slow.</p>
+ */
+public class AuditTrail implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long CLOSE_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final AuditSink sink;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long maxBlockNanos;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@code AuditTrail} and starts its writer thread.
+     *
+     * @param sink          The sink the records are written to.
+     * @param queueCapacity The maximum number of records waiting to be written.
+     * @param batchSize     The maximum number of records written at once.
+     * @param flushInterval The longest a record waits for its batch to fill.
+     * @param maxBlock      The longest {@link #record(AuditRecord)} waits for space in a full queue.
+     */
+    public AuditTrail(AuditSink sink, int queueCapacity, int batchSize, Duration flushInterval, Duration maxBlock) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.sink = sink;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.maxBlockNanos = maxBlock.toNanos();
+        this.writer = Thread.ofPlatform().name("bootcommons-audit-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues a record to be written. If the queue is full, waits for space for at most the configured
+     * maximum.
+     *
+     * @param auditRecord The record. Must not be {@literal null}.
+     * @return {@code true} if the record was queued, {@code false} if it was dropped because the queue
+     * stayed full, the thread was interrupted, or the trail is closed.
+     */
+    public boolean record(AuditRecord auditRecord) {
+        if (closed) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (queue.offer(auditRecord)) {
+            return true;
+        }
+        try {
+            if (queue.offer(auditRecord, maxBlockNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long total = dropped.incrementAndGet();
+        logger.error("Dropped audit record for {} {} because the queue is full ({} dropped in total)",
+                auditRecord.entityType(), auditRecord.entityId(), total);
+        return false;
+    }
+
+    /**
+     * Returns the number of records waiting to be written.
+     *
+     * @return The queue size.
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of records that were dropped because the queue stayed full or the sink kept
+     * failing.
+     *
+     * @return The number of dropped records since the trail was created.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting records, writes the ones still queued, waiting at most 30 seconds, and closes
+     * the sink.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        AuditEntityListener.uninstall(this);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.error("Gave up waiting for {} audit records to be written", queue.size());
+        }
+        try {
+            sink.close();
+        } catch (Exception e) {
+            logger.warn("Failed to close the audit sink", e);
+        }
+    }
+
+    private void drain() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || closed) {
+                        break;
+                    }
+                    AuditRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditRecord> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.write(batch);
+                return;
+            } catch (Exception e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    dropped.addAndGet(batch.size());
+                    logger.error("Dropped {} audit records after {} failed attempts to write them", batch.size(), attempt, e);
+                    return;
+                }
+                logger.warn("Failed to write {} audit records, retrying", batch.size(), e);
+                TimeUnit.NANOSECONDS.sleep(flushIntervalNanos);
+            }
+        }
+    }
+}
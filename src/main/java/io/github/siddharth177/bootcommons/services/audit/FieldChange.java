@@ -0,0 +1,11 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+/**
+ * The change of one field of an audited entity.
+ *
+ * @param field    The name of the field.
+ * @param oldValue The value before the change, or {@code null} for a created entity.
+ * @param newValue The value after the change, or {@code null} for a deleted entity.
+ */
+public record FieldChange(String field, Object oldValue, Object newValue) {
+}
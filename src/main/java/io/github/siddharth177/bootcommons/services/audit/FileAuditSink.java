@@ -0,0 +1,69 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * An {@link AuditSink} that appends records to a local file as JSON lines, one record per line.
+ * Each batch is written with a single call and forced to disk before {@link #write(List)} returns,
+ * so a batch that was written survives a crash.
+ *
+ * <p>The file is only ever appended to. Rotate or ship it with external tooling.</p>
+ */
+public class FileAuditSink implements AuditSink {
+
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new {@code FileAuditSink}, creating the file and its parent directories if they do
+     * not exist.
+     *
+     * @param file         The file to append to.
+     * @param objectMapper The mapper used to write records as JSON.
+     * @throws IOException If the file cannot be opened.
+     */
+    public FileAuditSink(Path file, ObjectMapper objectMapper) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(List<AuditRecord> records) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(records.size() * 256);
+        for (AuditRecord auditRecord : records) {
+            objectMapper.writeValue(lines, auditRecord);
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If closing the file fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
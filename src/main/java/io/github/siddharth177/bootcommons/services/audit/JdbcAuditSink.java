@@ -0,0 +1,75 @@
+package io.github.siddharth177.bootcommons.services.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link AuditSink} that inserts each batch of records into a table with one JDBC batch in its own
+ * transaction. The field changes of a record are stored as a JSON array. The table is not created
+ * automatically; it needs these columns:
+ *
+ * <pre>
+ * {@code
+ * CREATE TABLE audit_log (
+ *     id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+ *     entity_type VARCHAR(255) NOT NULL,
+ *     entity_id   VARCHAR(255),
+ *     action      VARCHAR(16)  NOT NULL,
+ *     changes     TEXT,
+ *     changed_by  VARCHAR(255),
+ *     changed_at  TIMESTAMP    NOT NULL
+ * );
+ * }
+ * </pre>
+ */
+public class JdbcAuditSink implements AuditSink {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final String insertSql;
+
+    /**
+     * Constructs a new {@code JdbcAuditSink}.
+     *
+     * @param dataSource   The data source that holds the audit table.
+     * @param table        The name of the audit table, optionally qualified by its schema.
+     * @param objectMapper The mapper used to write the field changes as JSON.
+     * @throws IllegalArgumentException if the table name is not a plain SQL identifier.
+     */
+    public JdbcAuditSink(DataSource dataSource, String table, ObjectMapper objectMapper) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid audit table name: " + table);
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+        this.objectMapper = objectMapper;
+        this.insertSql = "INSERT INTO " + table
+                + " (entity_type, entity_id, action, changes, changed_by, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(List<AuditRecord> records) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(insertSql, records, records.size(),
+                (statement, auditRecord) -> {
+                    statement.setString(1, auditRecord.entityType());
+                    statement.setString(2, auditRecord.entityId());
+                    statement.setString(3, auditRecord.action().name());
+                    statement.setString(4, objectMapper.writeValueAsString(auditRecord.changes()));
+                    statement.setString(5, auditRecord.changedBy());
+                    statement.setTimestamp(6, Timestamp.valueOf(auditRecord.changedAt()));
+                }));
+    }
+}
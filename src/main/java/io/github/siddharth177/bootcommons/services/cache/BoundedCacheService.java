@@ -0,0 +1,676 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A size-bounded, in-process implementation of {@link CacheService} that uses a segmented LRU
+ * (SLRU) eviction policy.
+ *
+ * <p>The cache is split into independently locked segments selected by the key's hash, so threads
+ * working on different keys rarely contend. Each segment keeps two access-ordered queues:</p>
+ * <ul>
+ *     <li><b>Probation:</b> newly saved entries land here and are the first to be evicted.</li>
+ *     <li><b>Protected:</b> entries that are read again while on probation are promoted here. When
+ *     the protected queue exceeds 80% of the segment's capacity, its least recently used entry is
+ *     demoted back to probation.</li>
+ * </ul>
+ *
+ * <p>This keeps one-hit wonders (for example a full table scan) from flushing the frequently used
+ * entries. All queue operations, including eviction, are constant time.</p>
+ *
+ * <p>Entries can expire after a write, after an access, or after a per-entry time to live given to
+ * {@link #save(Object, Object, Duration)}. Each segment schedules its entries on a hashed timer
+ * wheel, so expired entries are reclaimed a bucket at a time as the clock advances rather than by
+ * scanning the cache. An expired entry is never returned, even before its bucket is processed.
+ * When refresh-ahead is configured, reading an entry that is older than the refresh interval
+ * returns the current value and reloads the entry in the background.</p>
+ *
+ * <p>{@link #getOrLoad(Object, Function)} and {@link #getAllOrLoad(Collection, Function)} share a
+ * single in-flight load between callers that miss on the same key at the same time, which prevents
+ * cache stampedes when a hot key expires.</p>
+ *
+ * <p>Hits, misses, loads and evictions, including expirations, are recorded in a {@link StatsCounter}
+ * and exposed through {@link #stats()}.</p>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+public class BoundedCacheService<K, V> implements CacheService<K, V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedCacheService.class);
+
+    private static final int MIN_SEGMENT_WEIGHT = 16;
+    private static final int PROTECTED_PERCENT = 80;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Each wheel tick spans 2^30 ns (about 1.07 s); 256 buckets cover about 4.5 minutes per rotation.
+     */
+    private static final int TICK_SHIFT = 30;
+    private static final int WHEEL_BUCKETS = 256;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final Weigher<K, V> weigher;
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final long refreshAfterWriteNanos;
+    private final Function<K, V> refreshLoader;
+    private final Executor executor;
+    private final LongSupplier ticker;
+    private final StatsCounter statsCounter = new StatsCounter();
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>(this, this::peek, statsCounter);
+
+    /**
+     * Constructs a new {@code BoundedCacheService} with the given spec.
+     *
+     * @param spec The {@link CacheSpec} describing the bounds of the cache. Must not be {@literal null}.
+     */
+    public BoundedCacheService(CacheSpec<K, V> spec) {
+        this(spec, System::nanoTime);
+    }
+
+    /**
+     * Constructs a cache that reads the time from the given ticker, for tests.
+     */
+    @SuppressWarnings("unchecked")
+    BoundedCacheService(CacheSpec<K, V> spec, LongSupplier ticker) {
+        this.ticker = ticker;
+        this.weigher = spec.getWeigher();
+        this.expireAfterWriteNanos = toNanos(spec.getExpireAfterWrite());
+        this.expireAfterAccessNanos = toNanos(spec.getExpireAfterAccess());
+        this.refreshAfterWriteNanos = toNanos(spec.getRefreshAfterWrite());
+        this.refreshLoader = spec.getRefreshLoader();
+        this.executor = spec.getExecutor();
+
+        long maximumWeight = spec.getMaximumWeight();
+        int segmentCount = Integer.highestOneBit(Math.max(1, spec.getConcurrencyLevel() - 1) << 1);
+        while (segmentCount > 1 && maximumWeight / segmentCount < MIN_SEGMENT_WEIGHT) {
+            segmentCount >>>= 1;
+        }
+
+        long now = ticker.getAsLong();
+        this.segments = (Segment[]) new BoundedCacheService.Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        for (int i = 0; i < segmentCount; i++) {
+            long segmentWeight = maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentWeight, now);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value) {
+        segmentFor(key).put(key, value, weigher.weigh(key, value), 0, ticker.getAsLong());
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value, Duration ttl) {
+        long ttlNanos = toNanos(ttl);
+        if (ttlNanos <= 0) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        segmentFor(key).put(key, value, weigher.weigh(key, value), ttlNanos, ticker.getAsLong());
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            statsCounter.recordMiss();
+        } else {
+            statsCounter.recordHit();
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.getOrLoad(key, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<K, V> getAllOrLoad(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        return singleFlight.getAllOrLoad(keys, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(K key) {
+        singleFlight.invalidate(key);
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        singleFlight.invalidateAll();
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(K key) {
+        return segmentFor(key).contains(key, ticker.getAsLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStats stats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+            weight += segment.weight();
+        }
+        return statsCounter.snapshot(size, weight);
+    }
+
+    /**
+     * Reclaims expired entries in every segment. Expired entries are otherwise reclaimed as a side
+     * effect of reads and writes, so calling this is only useful for caches that go idle.
+     */
+    public void cleanUp() {
+        long now = ticker.getAsLong();
+        for (Segment segment : segments) {
+            segment.cleanUp(now);
+        }
+    }
+
+    /**
+     * Returns the number of entries currently held by the cache, including expired entries that
+     * have not yet been reclaimed.
+     *
+     * @return The entry count.
+     */
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the entries currently held by the cache.
+     *
+     * @return The current weight.
+     */
+    public long weight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.weight();
+        }
+        return weight;
+    }
+
+    private V peek(K key) {
+        return segmentFor(key).get(key, ticker.getAsLong());
+    }
+
+    private Segment segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & segmentMask];
+    }
+
+    private static long toNanos(Duration duration) {
+        return duration == null ? 0 : duration.toNanos();
+    }
+
+    private void refresh(Segment segment, Node<K, V> node, long writeStamp) {
+        try {
+            executor.execute(() -> {
+                long start = ticker.getAsLong();
+                try {
+                    V value = refreshLoader.apply(node.key);
+                    statsCounter.recordLoadSuccess(ticker.getAsLong() - start);
+                    if (value != null) {
+                        segment.replace(node, writeStamp, value, weigher.weigh(node.key, value), ticker.getAsLong());
+                        return;
+                    }
+                } catch (RuntimeException ex) {
+                    statsCounter.recordLoadFailure(ticker.getAsLong() - start);
+                    logger.warn("Failed to refresh cache entry for key {}", node.key, ex);
+                }
+                segment.releaseRefresh(node);
+            });
+        } catch (RejectedExecutionException ex) {
+            logger.warn("Refresh of cache entry for key {} was rejected", node.key, ex);
+            segment.releaseRefresh(node);
+        }
+    }
+
+    /**
+     * A cache entry linked into one of the segment's access queues and, if it expires, into a
+     * bucket of the segment's timer wheel.
+     */
+    private static final class Node<K, V> {
+        final K key;
+        V value;
+        int weight;
+        boolean inProtected;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        long writeTime;
+        long writeStamp;
+        long expiresAt = NEVER;
+        long ttl;
+        boolean refreshing;
+        Node<K, V> wheelPrev;
+        Node<K, V> wheelNext;
+        boolean scheduled;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * An intrusive, doubly linked access queue. The head is the most recently used entry.
+     */
+    private static final class AccessQueue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addFirst(Node<K, V> node) {
+            node.prev = null;
+            node.next = head;
+            if (head == null) {
+                tail = node;
+            } else {
+                head.prev = node;
+            }
+            head = node;
+            weight += node.weight;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+
+    /**
+     * A hashed timer wheel. Entries are bucketed by the tick in which they expire; advancing the
+     * wheel only visits the buckets for the ticks that have elapsed. Entries whose deadline lies more
+     * than one rotation ahead stay in their bucket until a later rotation reaches them.
+     */
+    private static final class TimerWheel<K, V> {
+        @SuppressWarnings("unchecked")
+        final Node<K, V>[] buckets = new Node[WHEEL_BUCKETS];
+        long currentTick;
+
+        TimerWheel(long now) {
+            this.currentTick = now >> TICK_SHIFT;
+        }
+
+        void schedule(Node<K, V> node) {
+            int index = (int) ((node.expiresAt >> TICK_SHIFT) & (WHEEL_BUCKETS - 1));
+            Node<K, V> head = buckets[index];
+            node.wheelPrev = null;
+            node.wheelNext = head;
+            if (head != null) {
+                head.wheelPrev = node;
+            }
+            buckets[index] = node;
+            node.scheduled = true;
+        }
+
+        void deschedule(Node<K, V> node) {
+            if (!node.scheduled) {
+                return;
+            }
+            if (node.wheelPrev == null) {
+                buckets[(int) ((node.expiresAt >> TICK_SHIFT) & (WHEEL_BUCKETS - 1))] = node.wheelNext;
+            } else {
+                node.wheelPrev.wheelNext = node.wheelNext;
+            }
+            if (node.wheelNext != null) {
+                node.wheelNext.wheelPrev = node.wheelPrev;
+            }
+            node.wheelPrev = null;
+            node.wheelNext = null;
+            node.scheduled = false;
+        }
+
+        void clear() {
+            Arrays.fill(buckets, null);
+        }
+    }
+
+    /**
+     * An independently locked slice of the cache with its own SLRU queues and timer wheel.
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<K, Node<K, V>> table = new HashMap<>();
+        private final AccessQueue<K, V> probation = new AccessQueue<>();
+        private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+        private final TimerWheel<K, V> wheel;
+        private final long maximumWeight;
+        private final long maximumProtectedWeight;
+
+        Segment(long maximumWeight, long now) {
+            this.maximumWeight = maximumWeight;
+            this.maximumProtectedWeight = maximumWeight * PROTECTED_PERCENT / 100;
+            this.wheel = new TimerWheel<>(now);
+        }
+
+        V get(K key, long now) {
+            Node<K, V> refreshNode = null;
+            long refreshStamp = 0;
+            V value;
+            lock.lock();
+            try {
+                expire(now);
+                Node<K, V> node = table.get(key);
+                if (node == null) {
+                    return null;
+                }
+                if (isExpired(node, now)) {
+                    unlink(node);
+                    statsCounter.recordEvictions(1);
+                    return null;
+                }
+                onAccess(node, now);
+                if (refreshAfterWriteNanos > 0 && !node.refreshing && now - node.writeTime >= refreshAfterWriteNanos) {
+                    node.refreshing = true;
+                    refreshNode = node;
+                    refreshStamp = node.writeStamp;
+                }
+                value = node.value;
+            } finally {
+                lock.unlock();
+            }
+            if (refreshNode != null) {
+                refresh(this, refreshNode, refreshStamp);
+            }
+            return value;
+        }
+
+        boolean contains(K key, long now) {
+            lock.lock();
+            try {
+                Node<K, V> node = table.get(key);
+                return node != null && !isExpired(node, now);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(K key, V value, int weight, long ttl, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                Node<K, V> node = table.get(key);
+                if (weight > maximumWeight) {
+                    // The entry can never fit, so caching it would only flush the whole segment.
+                    if (node != null) {
+                        unlink(node);
+                    }
+                    return;
+                }
+                if (node == null) {
+                    node = new Node<>(key);
+                    node.weight = weight;
+                    table.put(key, node);
+                    probation.addFirst(node);
+                } else {
+                    queueOf(node).weight += weight - node.weight;
+                    node.weight = weight;
+                    promote(node);
+                }
+                node.value = value;
+                node.writeStamp++;
+                node.ttl = ttl;
+                node.refreshing = false;
+                onWrite(node, now);
+                evict();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void replace(Node<K, V> expected, long writeStamp, V value, int weight, long now) {
+            lock.lock();
+            try {
+                if (table.get(expected.key) != expected || expected.writeStamp != writeStamp) {
+                    // The entry was removed, evicted or saved again while the refresh was running,
+                    // so the loaded value may be older than the cached one.
+                    return;
+                }
+                if (weight > maximumWeight) {
+                    unlink(expected);
+                    return;
+                }
+                queueOf(expected).weight += weight - expected.weight;
+                expected.weight = weight;
+                expected.value = value;
+                expected.writeStamp++;
+                expected.refreshing = false;
+                onWrite(expected, now);
+                evict();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void releaseRefresh(Node<K, V> node) {
+            lock.lock();
+            try {
+                node.refreshing = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(K key) {
+            lock.lock();
+            try {
+                Node<K, V> node = table.get(key);
+                if (node != null) {
+                    unlink(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                table.clear();
+                probation.clear();
+                protectedQueue.clear();
+                wheel.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cleanUp(long now) {
+            lock.lock();
+            try {
+                expire(now);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return table.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long weight() {
+            lock.lock();
+            try {
+                return probation.weight + protectedQueue.weight;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Compares against {@code NEVER} before subtracting, since {@code NEVER - now} overflows when
+         * the ticker is negative.
+         */
+        private boolean isExpired(Node<K, V> node, long now) {
+            return node.expiresAt != NEVER && node.expiresAt - now <= 0;
+        }
+
+        private AccessQueue<K, V> queueOf(Node<K, V> node) {
+            return node.inProtected ? protectedQueue : probation;
+        }
+
+        private void onWrite(Node<K, V> node, long now) {
+            node.writeTime = now;
+            long expiresAt = NEVER;
+            if (node.ttl > 0) {
+                expiresAt = now + node.ttl;
+            } else {
+                if (expireAfterWriteNanos > 0) {
+                    expiresAt = now + expireAfterWriteNanos;
+                }
+                if (expireAfterAccessNanos > 0) {
+                    expiresAt = Math.min(expiresAt, now + expireAfterAccessNanos);
+                }
+            }
+            reschedule(node, expiresAt);
+        }
+
+        private void onAccess(Node<K, V> node, long now) {
+            promote(node);
+            if (expireAfterAccessNanos > 0 && node.ttl == 0) {
+                long expiresAt = now + expireAfterAccessNanos;
+                if (expireAfterWriteNanos > 0) {
+                    expiresAt = Math.min(expiresAt, node.writeTime + expireAfterWriteNanos);
+                }
+                reschedule(node, expiresAt);
+            }
+        }
+
+        private void promote(Node<K, V> node) {
+            queueOf(node).unlink(node);
+            node.inProtected = true;
+            protectedQueue.addFirst(node);
+            while (protectedQueue.weight > maximumProtectedWeight && protectedQueue.tail != node) {
+                Node<K, V> demoted = protectedQueue.tail;
+                protectedQueue.unlink(demoted);
+                demoted.inProtected = false;
+                probation.addFirst(demoted);
+            }
+        }
+
+        private void reschedule(Node<K, V> node, long expiresAt) {
+            wheel.deschedule(node);
+            node.expiresAt = expiresAt;
+            if (expiresAt != NEVER) {
+                wheel.schedule(node);
+            }
+        }
+
+        private void unlink(Node<K, V> node) {
+            table.remove(node.key);
+            queueOf(node).unlink(node);
+            wheel.deschedule(node);
+        }
+
+        private void expire(long now) {
+            long nowTick = now >> TICK_SHIFT;
+            if (nowTick <= wheel.currentTick) {
+                return;
+            }
+            long ticks = Math.min(nowTick - wheel.currentTick + 1, WHEEL_BUCKETS);
+            long expired = 0;
+            for (long i = 0; i < ticks; i++) {
+                int index = (int) ((wheel.currentTick + i) & (WHEEL_BUCKETS - 1));
+                Node<K, V> node = wheel.buckets[index];
+                while (node != null) {
+                    Node<K, V> next = node.wheelNext;
+                    if (isExpired(node, now)) {
+                        unlink(node);
+                        expired++;
+                    }
+                    node = next;
+                }
+            }
+            wheel.currentTick = nowTick;
+            if (expired > 0) {
+                statsCounter.recordEvictions(expired);
+            }
+        }
+
+        private void evict() {
+            while (probation.weight + protectedQueue.weight > maximumWeight) {
+                Node<K, V> victim = probation.tail != null ? probation.tail : protectedQueue.tail;
+                unlink(victim);
+                statsCounter.recordEvictions(1);
+            }
+        }
+    }
+}
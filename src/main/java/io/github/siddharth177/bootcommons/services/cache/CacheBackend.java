@@ -0,0 +1,23 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+/**
+ * The storage backends a {@link io.github.siddharth177.bootcommons.models.Caches} entry can be
+ * configured with through {@code bootcommons.cache.<cache-name>.backend}.
+ */
+public enum CacheBackend {
+
+    /**
+     * An on-heap {@link BoundedCacheService}.
+     */
+    HEAP,
+
+    /**
+     * An {@link OffHeapCacheService} that keeps serialized values outside the Java heap.
+     */
+    OFF_HEAP,
+
+    /**
+     * A {@link TieredCacheService} with an on-heap near-cache in front of a heap or off-heap tier.
+     */
+    TIERED
+}
@@ -0,0 +1,83 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.models.Caches;
+import io.github.siddharth177.bootcommons.services.CacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Holds one {@link CacheService} for every {@link Caches} entry. The registry is populated once,
+ * at construction, so lookups never allocate or lock. Closing the registry closes every cache that
+ * holds external resources, such as the backing file of an {@link OffHeapCacheService}.
+ */
+public class CacheRegistry implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRegistry.class);
+
+    private final Map<Caches, CacheService<?, ?>> caches = new EnumMap<>(Caches.class);
+
+    /**
+     * Constructs a new {@code CacheRegistry}, creating a cache for every {@link Caches} entry.
+     *
+     * @param factory Creates the {@link CacheService} for a given {@link Caches} entry. Must not be {@literal null}.
+     */
+    public CacheRegistry(Function<Caches, CacheService<?, ?>> factory) {
+        for (Caches cache : Caches.values()) {
+            caches.put(cache, factory.apply(cache));
+        }
+    }
+
+    /**
+     * Returns the cache registered for the given entry.
+     *
+     * @param cache The {@link Caches} entry.
+     * @param <K>   The type of the cache key.
+     * @param <V>   The type of the cache value.
+     * @return The {@link CacheService}; never {@literal null}.
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> CacheService<K, V> get(Caches cache) {
+        return (CacheService<K, V>) caches.get(cache);
+    }
+
+    /**
+     * Returns all registered caches.
+     *
+     * @return An unmodifiable view of the registered caches, keyed by {@link Caches} entry.
+     */
+    public Map<Caches, CacheService<?, ?>> getAll() {
+        return Collections.unmodifiableMap(caches);
+    }
+
+    /**
+     * Takes a statistics snapshot of every registered cache.
+     *
+     * @return The statistics keyed by {@link Caches} entry.
+     */
+    public Map<Caches, CacheStats> stats() {
+        Map<Caches, CacheStats> stats = new EnumMap<>(Caches.class);
+        caches.forEach((cache, service) -> stats.put(cache, service.stats()));
+        return stats;
+    }
+
+    /**
+     * Closes every registered cache that implements {@link AutoCloseable}.
+     */
+    @Override
+    public void close() {
+        caches.forEach((cache, service) -> {
+            if (service instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    logger.warn("Failed to close cache {}", cache.getCacheName(), ex);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+/**
+ * Converts cache keys or values to and from bytes, so they can be stored outside the Java heap or
+ * sent to other nodes.
+ *
+ * @param <T> The type of the object to serialize.
+ */
+public interface CacheSerializer<T> {
+
+    /**
+     * Serializes the given object.
+     *
+     * @param object The object to serialize. Never {@literal null}.
+     * @return The serialized bytes.
+     */
+    byte[] serialize(T object);
+
+    /**
+     * Deserializes an object from the given bytes.
+     *
+     * @param bytes The bytes produced by {@link #serialize(Object)}.
+     * @return The deserialized object.
+     */
+    T deserialize(byte[] bytes);
+
+    /**
+     * Returns whether objects of the given type can be serialized. Caches call this when they are
+     * built, so a serializer that cannot handle their key type is rejected up front.
+     *
+     * @param type The type of the objects to serialize.
+     * @return {@code true} if {@link #serialize(Object)} accepts objects of the type; {@code true} by default.
+     */
+    default boolean supports(Class<?> type) {
+        return true;
+    }
+}
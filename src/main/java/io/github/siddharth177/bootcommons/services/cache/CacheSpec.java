@@ -0,0 +1,281 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * An immutable description of how an in-process cache is bounded, when its entries expire, and
+ * whether they are refreshed ahead of expiry. Instances are created through {@link #builder()}.
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * CacheSpec<String, Student> spec = CacheSpec.<String, Student>builder()
+ *         .maximumSize(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(10))
+ *         .refreshAfterWrite(Duration.ofMinutes(8), studentRepository::findStudent)
+ *         .build();
+ * CacheService<String, Student> cache = new BoundedCacheService<>(spec);
+ * }
+ * </pre>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+public final class CacheSpec<K, V> {
+
+    /**
+     * The maximum entry count used when neither a size nor a weight bound is configured.
+     */
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    /**
+     * The number of lock stripes used when no concurrency level is configured.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final long maximumWeight;
+    private final Weigher<K, V> weigher;
+    private final int concurrencyLevel;
+    private final Duration expireAfterWrite;
+    private final Duration expireAfterAccess;
+    private final Duration refreshAfterWrite;
+    private final Function<K, V> refreshLoader;
+    private final Executor executor;
+
+    private CacheSpec(Builder<K, V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.concurrencyLevel = builder.concurrencyLevel;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.expireAfterAccess = builder.expireAfterAccess;
+        this.refreshAfterWrite = builder.refreshAfterWrite;
+        this.refreshLoader = builder.refreshLoader;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param <K> The type of the cache key.
+     * @param <V> The type of the cache value.
+     * @return A new {@link Builder}.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the maximum total weight of the cache. When no weigher is configured this is the
+     * maximum entry count.
+     *
+     * @return The maximum weight.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the weigher used to compute entry weights.
+     *
+     * @return The weigher; never {@code null}.
+     */
+    public Weigher<K, V> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * Returns the number of independently locked segments the cache is split into.
+     *
+     * @return The concurrency level.
+     */
+    public int getConcurrencyLevel() {
+        return concurrencyLevel;
+    }
+
+    /**
+     * Returns how long an entry stays in the cache after it is saved.
+     *
+     * @return The expire-after-write duration, or {@code null} if entries do not expire after writes.
+     */
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * Returns how long an entry stays in the cache after it was last read or saved.
+     *
+     * @return The expire-after-access duration, or {@code null} if entries do not expire after access.
+     */
+    public Duration getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    /**
+     * Returns how long after it was saved an entry becomes eligible for a background refresh.
+     *
+     * @return The refresh-after-write duration, or {@code null} if refresh-ahead is disabled.
+     */
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    /**
+     * Returns the function used to reload entries in the background.
+     *
+     * @return The refresh loader, or {@code null} if refresh-ahead is disabled.
+     */
+    public Function<K, V> getRefreshLoader() {
+        return refreshLoader;
+    }
+
+    /**
+     * Returns the executor that runs background refreshes.
+     *
+     * @return The executor; never {@code null}.
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * A builder for {@link CacheSpec}.
+     *
+     * @param <K> The type of the cache key.
+     * @param <V> The type of the cache value.
+     */
+    public static final class Builder<K, V> {
+
+        private long maximumWeight = DEFAULT_MAXIMUM_SIZE;
+        private Weigher<K, V> weigher = Weigher.singleton();
+        private int concurrencyLevel = DEFAULT_CONCURRENCY_LEVEL;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration refreshAfterWrite;
+        private Function<K, V> refreshLoader;
+        private Executor executor = ForkJoinPool.commonPool();
+
+        private Builder() {
+        }
+
+        /**
+         * Bounds the cache by entry count.
+         *
+         * @param maximumSize The maximum number of entries. Must be positive.
+         * @return This builder.
+         */
+        public Builder<K, V> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+            }
+            this.maximumWeight = maximumSize;
+            this.weigher = Weigher.singleton();
+            return this;
+        }
+
+        /**
+         * Bounds the cache by the total weight of its entries.
+         *
+         * @param maximumWeight The maximum total weight. Must be positive.
+         * @param weigher       The weigher used to compute entry weights. Must not be {@literal null}.
+         * @return This builder.
+         */
+        public Builder<K, V> maximumWeight(long maximumWeight, Weigher<K, V> weigher) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+            }
+            if (weigher == null) {
+                throw new IllegalArgumentException("weigher must not be null");
+            }
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        /**
+         * Sets the number of lock stripes. The value is rounded up to a power of two.
+         *
+         * @param concurrencyLevel The expected number of concurrently writing threads. Must be positive.
+         * @return This builder.
+         */
+        public Builder<K, V> concurrencyLevel(int concurrencyLevel) {
+            if (concurrencyLevel <= 0) {
+                throw new IllegalArgumentException("concurrencyLevel must be positive: " + concurrencyLevel);
+            }
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has elapsed since they were saved.
+         *
+         * @param duration The time to live of an entry. Must be positive.
+         * @return This builder.
+         */
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            this.expireAfterWrite = requirePositive(duration, "expireAfterWrite");
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has elapsed since they were last read or saved.
+         *
+         * @param duration The idle time after which an entry expires. Must be positive.
+         * @return This builder.
+         */
+        public Builder<K, V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccess = requirePositive(duration, "expireAfterAccess");
+            return this;
+        }
+
+        /**
+         * Enables refresh-ahead. When an entry older than the given duration is read, the current value
+         * is returned and the entry is reloaded in the background, so hot keys are replaced before they
+         * expire instead of causing a burst of misses.
+         *
+         * @param duration The age after which a read triggers a refresh. Must be positive.
+         * @param loader   Loads the fresh value for a key. Must not be {@literal null}.
+         * @return This builder.
+         */
+        public Builder<K, V> refreshAfterWrite(Duration duration, Function<K, V> loader) {
+            if (loader == null) {
+                throw new IllegalArgumentException("loader must not be null");
+            }
+            this.refreshAfterWrite = requirePositive(duration, "refreshAfterWrite");
+            this.refreshLoader = loader;
+            return this;
+        }
+
+        /**
+         * Sets the executor that runs background refreshes. Defaults to {@link ForkJoinPool#commonPool()}.
+         *
+         * @param executor The executor. Must not be {@literal null}.
+         * @return This builder.
+         */
+        public Builder<K, V> executor(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("executor must not be null");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Builds the {@link CacheSpec}.
+         *
+         * @return The immutable spec.
+         */
+        public CacheSpec<K, V> build() {
+            return new CacheSpec<>(this);
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive: " + duration);
+            }
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+/**
+ * An immutable snapshot of a cache's statistics.
+ *
+ * @param hitCount         The number of lookups that found a value.
+ * @param missCount        The number of lookups that found no value.
+ * @param loadSuccessCount The number of loads that completed, including loads that found no value.
+ * @param loadFailureCount The number of loads that threw an exception.
+ * @param totalLoadTime    The total time spent loading, in nanoseconds.
+ * @param evictionCount    The number of entries evicted because of the size bound or expiry.
+ * @param size             The number of entries held when the snapshot was taken.
+ * @param weight           The total weight of the entries held when the snapshot was taken; for
+ *                         off-heap caches this is the number of bytes in use.
+ */
+public record CacheStats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount,
+                         long totalLoadTime, long evictionCount, long size, long weight) {
+
+    private static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, 0, 0, 0);
+
+    /**
+     * Returns a snapshot with every value set to zero, for caches that do not record statistics.
+     *
+     * @return The empty snapshot.
+     */
+    public static CacheStats empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns the number of lookups.
+     *
+     * @return The sum of hits and misses.
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns the ratio of lookups that found a value.
+     *
+     * @return The hit ratio between {@code 0.0} and {@code 1.0}; {@code 1.0} if there were no lookups.
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * Returns the average time spent per load.
+     *
+     * @return The average load time in nanoseconds; {@code 0.0} if nothing was loaded.
+     */
+    public double averageLoadPenalty() {
+        long loads = loadSuccessCount + loadFailureCount;
+        return loads == 0 ? 0.0 : (double) totalLoadTime / loads;
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationBus} that sends events to a fixed list of peers as UDP datagrams. Every node
+ * binds its own port and lists the addresses of the other nodes, which makes it easy to run several
+ * application instances on one machine and exercise multi-node invalidation over the loopback
+ * interface.
+ *
+ * <p>Every datagram carries an HMAC-SHA256 of its content, keyed with a secret shared by all nodes.
+ * Datagrams with a missing or wrong MAC, or from an address that is not a listed peer, are dropped.
+ * Events are not encrypted, and since they only evict entries, a replayed event does no more than
+ * cause a cache miss.</p>
+ *
+ * <p>Datagrams can be lost or reordered, so this bus is best-effort. It is intended for local
+ * testing and small networks.</p>
+ */
+public class DatagramInvalidationBus implements InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatagramInvalidationBus.class);
+
+    private static final int MAX_DATAGRAM_SIZE = 65_507;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_LENGTH = 32;
+    private static final int MIN_SECRET_LENGTH = 16;
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers;
+    private final Set<InetSocketAddress> peerAddresses;
+    private final ThreadLocal<Mac> mac;
+    private final Thread receiver;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a new {@code DatagramInvalidationBus}, binds it to the given address and starts
+     * listening for events from peers.
+     *
+     * @param bindAddress The local address to receive events on. Must not be {@literal null}.
+     * @param peers       The addresses of the other nodes. Must not be {@literal null}.
+     * @param secret      The key shared by all nodes to authenticate events, at least 16 bytes long.
+     * @throws UncheckedIOException if the socket cannot be bound.
+     */
+    public DatagramInvalidationBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, byte[] secret) {
+        this(bindAddress, peers, secret, Thread.ofPlatform().daemon().name("bootcommons-invalidation-bus").factory());
+    }
+
+    /**
+     * Constructs a new {@code DatagramInvalidationBus}, binds it to the given address and starts
+     * listening for events from peers on a thread created by the given factory.
+     *
+     * @param bindAddress   The local address to receive events on. Must not be {@literal null}.
+     * @param peers         The addresses of the other nodes. Must not be {@literal null}.
+     * @param secret        The key shared by all nodes to authenticate events, at least 16 bytes long.
+     * @param threadFactory Creates the receiver thread, for example a virtual-thread factory. Must not be {@literal null}.
+     * @throws IllegalArgumentException if the secret is too short.
+     * @throws UncheckedIOException if the socket cannot be bound.
+     */
+    public DatagramInvalidationBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, byte[] secret,
+                                   ThreadFactory threadFactory) {
+        if (secret == null || secret.length < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("The invalidation bus secret must be at least " + MIN_SECRET_LENGTH + " bytes long");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.clone(), MAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(MAC_ALGORITHM);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("Failed to initialize " + MAC_ALGORITHM, ex);
+            }
+        });
+        this.peers = List.copyOf(peers);
+        this.peerAddresses = Set.copyOf(peers);
+        try {
+            this.socket = new DatagramSocket(bindAddress);
+        } catch (SocketException ex) {
+            throw new UncheckedIOException("Failed to bind invalidation bus to " + bindAddress, ex);
+        }
+        this.receiver = threadFactory.newThread(this::receive);
+        this.receiver.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(InvalidationEvent event) {
+        byte[] payload = sign(encode(event));
+        if (payload.length > MAX_DATAGRAM_SIZE) {
+            logger.warn("Invalidation event for cache {} is too large to send ({} bytes)", event.cacheName(), payload.length);
+            return;
+        }
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(payload, payload.length, peer));
+            } catch (IOException ex) {
+                logger.warn("Failed to send invalidation event to {}", peer, ex);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /**
+     * Stops listening and closes the socket.
+     */
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                if (!peerAddresses.contains((InetSocketAddress) packet.getSocketAddress())) {
+                    logger.warn("Dropped invalidation event from unknown address {}", packet.getSocketAddress());
+                    continue;
+                }
+                int length = packet.getLength() - MAC_LENGTH;
+                if (length < 0 || !verify(packet.getData(), packet.getOffset(), length)) {
+                    logger.warn("Dropped unauthenticated invalidation event from {}", packet.getSocketAddress());
+                    continue;
+                }
+                InvalidationEvent event = decode(packet.getData(), packet.getOffset(), length);
+                for (Consumer<InvalidationEvent> listener : listeners) {
+                    listener.accept(event);
+                }
+            } catch (IOException ex) {
+                if (running) {
+                    logger.warn("Failed to receive invalidation event", ex);
+                }
+            } catch (RuntimeException ex) {
+                logger.warn("Failed to apply invalidation event", ex);
+            }
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        byte[] signed = Arrays.copyOf(payload, payload.length + MAC_LENGTH);
+        Mac instance = mac.get();
+        instance.update(payload);
+        try {
+            instance.doFinal(signed, payload.length);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to sign invalidation event", ex);
+        }
+        return signed;
+    }
+
+    private boolean verify(byte[] data, int offset, int length) {
+        Mac instance = mac.get();
+        instance.update(data, offset, length);
+        byte[] expected = instance.doFinal();
+        return MessageDigest.isEqual(expected, Arrays.copyOfRange(data, offset + length, offset + length + MAC_LENGTH));
+    }
+
+    private static byte[] encode(InvalidationEvent event) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(event.sourceId());
+            out.writeUTF(event.cacheName());
+            if (event.key() == null) {
+                out.writeInt(-1);
+            } else {
+                out.writeInt(event.key().length);
+                out.write(event.key());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static InvalidationEvent decode(byte[] data, int offset, int length) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length))) {
+            String sourceId = in.readUTF();
+            String cacheName = in.readUTF();
+            int keyLength = in.readInt();
+            byte[] key = null;
+            if (keyLength >= 0) {
+                key = new byte[keyLength];
+                in.readFully(key);
+            }
+            return new InvalidationEvent(sourceId, cacheName, key);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * A service provider interface for broadcasting {@link InvalidationEvent}s between nodes. A
+ * {@link TieredCacheService} publishes an event whenever an entry is explicitly saved, removed or
+ * cleared, and evicts its near-cache copy when a peer's event arrives.
+ *
+ * <p>Implementations may deliver events asynchronously and at most once; a lost event leaves a
+ * stale near-cache entry until it expires or is evicted, so the near-cache should be configured with
+ * a short expiry when the bus is lossy. Implement this interface on top of a message broker for
+ * production clusters.</p>
+ */
+public interface InvalidationBus extends AutoCloseable {
+
+    /**
+     * Broadcasts an event to every subscriber, which may include the publisher itself.
+     *
+     * @param event The event to publish. Must not be {@literal null}.
+     */
+    void publish(InvalidationEvent event);
+
+    /**
+     * Registers a listener for events published by any node.
+     *
+     * @param listener The listener to register. Must not be {@literal null}.
+     * @return A handle that unregisters the listener when closed.
+     */
+    Subscription subscribe(Consumer<InvalidationEvent> listener);
+
+    /**
+     * Releases the resources held by the bus. The default implementation does nothing.
+     */
+    @Override
+    default void close() {
+        // Nothing to release
+    }
+
+    /**
+     * A registered listener. Closing it stops delivery to the listener; closing it again does nothing.
+     */
+    interface Subscription extends AutoCloseable {
+
+        /**
+         * Unregisters the listener.
+         */
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+/**
+ * A notification that a cache entry changed on one node, so that other nodes must drop their
+ * near-cache copy of it.
+ *
+ * @param sourceId  The identifier of the node that published the event.
+ * @param cacheName The name of the cache the entry belongs to.
+ * @param key       The serialized key of the entry, or {@code null} if the whole cache was cleared.
+ */
+public record InvalidationEvent(String sourceId, String cacheName, byte[] key) {
+
+    /**
+     * Returns whether this event invalidates the whole cache rather than a single key.
+     *
+     * @return {@code true} if the whole cache was cleared.
+     */
+    public boolean isClear() {
+        return key == null;
+    }
+}
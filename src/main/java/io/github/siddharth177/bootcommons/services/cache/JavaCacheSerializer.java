@@ -0,0 +1,53 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * A {@link CacheSerializer} that uses standard Java serialization. Objects must implement
+ * {@link java.io.Serializable}.
+ *
+ * @param <T> The type of the object to serialize.
+ */
+public class JavaCacheSerializer<T> implements CacheSerializer<T> {
+
+    /**
+     * Default constructor for {@code JavaCacheSerializer}.
+     */
+    public JavaCacheSerializer() {
+        // Default constructor
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte[] serialize(T object) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to serialize " + object.getClass().getName(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to deserialize cache entry", ex);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("Failed to deserialize cache entry", ex);
+        }
+    }
+}
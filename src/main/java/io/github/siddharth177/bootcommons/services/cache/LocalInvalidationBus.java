@@ -0,0 +1,41 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * An {@link InvalidationBus} that delivers events synchronously to listeners in the same JVM. It is
+ * useful for tests that run several {@link TieredCacheService} instances side by side as if they
+ * were separate nodes.
+ */
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<InvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Default constructor for {@code LocalInvalidationBus}.
+     */
+    public LocalInvalidationBus() {
+        // Default constructor
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> listener : listeners) {
+            listener.accept(event);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Subscription subscribe(Consumer<InvalidationEvent> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
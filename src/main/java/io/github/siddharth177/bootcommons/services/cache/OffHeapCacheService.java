@@ -0,0 +1,531 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+
+/**
+ * An implementation of {@link CacheService} that keeps serialized entries outside the Java heap, so
+ * that caches with millions of entries do not add to garbage collection pauses. Only a compact index
+ * from key to location stays on the heap.
+ *
+ * <p>Entries are appended to fixed-size slabs of direct memory, or of a memory-mapped file when
+ * {@link OffHeapCacheSpec#getFile()} is set. When the last slab is full, the oldest slab is
+ * recycled as a whole and its entries are dropped from the index, so eviction is first-in,
+ * first-out by slab and never compacts memory. Overwritten and removed entries occupy space until
+ * their slab is recycled.</p>
+ *
+ * <p>When backed by a file, removals are recorded as tombstones and every slab carries a sequence
+ * number, so the index can be rebuilt by replaying the slabs in order when the cache is created
+ * again. Call {@link #close()} on shutdown to flush the mapped slabs to disk.</p>
+ *
+ * <p>Hits, misses, loads and the entries dropped by slab recycling or expiry are recorded in a
+ * {@link StatsCounter} and exposed through {@link #stats()}; the reported weight is the number of
+ * bytes in use.</p>
+ *
+ * <p>Reads never block writers: they copy the entry's bytes under an optimistic stamp that is only
+ * invalidated when a slab is recycled, and deserialize outside of any lock.</p>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+public class OffHeapCacheService<K, V> implements CacheService<K, V>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCacheService.class);
+
+    private static final int MAGIC = 0xB00C_CAC4;
+    private static final int SLAB_HEADER = 16;
+    private static final int RECORD_HEADER = 16;
+    private static final int TOMBSTONE = -1;
+
+    private final Map<K, Long> index = new ConcurrentHashMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final StampedLock recycleLock = new StampedLock();
+    private final StatsCounter statsCounter = new StatsCounter();
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>(this, this::peek, statsCounter);
+
+    private final Slab[] slabs;
+    private final int slabSize;
+    private final CacheSerializer<K> keySerializer;
+    private final CacheSerializer<V> valueSerializer;
+    private final long expireAfterWriteMillis;
+    private final boolean persistent;
+    private final FileChannel channel;
+
+    private int active;
+    private long nextSequence = 1;
+
+    /**
+     * Constructs a new {@code OffHeapCacheService} with the given spec. If the spec names a file that
+     * already holds a cache of the same layout, its entries are loaded.
+     *
+     * @param spec The {@link OffHeapCacheSpec} describing the cache. Must not be {@literal null}.
+     * @throws UncheckedIOException if the backing file cannot be opened or mapped.
+     */
+    public OffHeapCacheService(OffHeapCacheSpec<K, V> spec) {
+        this.slabSize = spec.getSlabSize();
+        this.keySerializer = spec.getKeySerializer();
+        this.valueSerializer = spec.getValueSerializer();
+        this.expireAfterWriteMillis = spec.getExpireAfterWrite() == null ? 0 : spec.getExpireAfterWrite().toMillis();
+        this.persistent = spec.getFile() != null;
+        this.slabs = new Slab[(int) (spec.getCapacity() / slabSize)];
+
+        try {
+            this.channel = persistent ? openFile(spec.getFile()) : null;
+            for (int i = 0; i < slabs.length; i++) {
+                ByteBuffer buffer = persistent
+                        ? channel.map(FileChannel.MapMode.READ_WRITE, (long) i * slabSize, slabSize)
+                        : ByteBuffer.allocateDirect(slabSize);
+                slabs[i] = new Slab(buffer);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to map off-heap cache file " + spec.getFile(), ex);
+        }
+
+        if (!persistent || !recover()) {
+            for (Slab slab : slabs) {
+                slab.reset(0);
+            }
+            active = 0;
+            slabs[0].reset(nextSequence++);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value) {
+        append(key, value, expireAfterWriteMillis);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value, Duration ttl) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        append(key, value, ttl.toMillis());
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            statsCounter.recordMiss();
+        } else {
+            statsCounter.recordHit();
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.getOrLoad(key, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<K, V> getAllOrLoad(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        return singleFlight.getAllOrLoad(keys, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(K key) {
+        singleFlight.invalidate(key);
+        appendLock.lock();
+        try {
+            if (index.remove(key) != null && persistent) {
+                writeRecord(keySerializer.serialize(key), null, 0);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        singleFlight.invalidateAll();
+        appendLock.lock();
+        long stamp = recycleLock.writeLock();
+        try {
+            index.clear();
+            for (Slab slab : slabs) {
+                slab.reset(0);
+            }
+            active = 0;
+            slabs[0].reset(nextSequence++);
+        } finally {
+            recycleLock.unlockWrite(stamp);
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(K key) {
+        Long address = index.get(key);
+        return address != null && read(address) != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot(size(), usedBytes());
+    }
+
+    /**
+     * Returns the number of entries currently indexed, including expired entries that have not yet
+     * been read or recycled.
+     *
+     * @return The entry count.
+     */
+    public long size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the number of bytes written to slabs that have not been recycled, including the space
+     * held by overwritten and removed entries.
+     *
+     * @return The used bytes.
+     */
+    public long usedBytes() {
+        appendLock.lock();
+        try {
+            long used = 0;
+            for (Slab slab : slabs) {
+                if (slab.sequence != 0) {
+                    used += slab.position;
+                }
+            }
+            return used;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes the mapped slabs to disk and releases the backing file. Direct-memory caches have
+     * nothing to flush; their memory is released when the cache becomes unreachable.
+     */
+    @Override
+    public void close() {
+        if (!persistent) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            for (Slab slab : slabs) {
+                ((MappedByteBuffer) slab.buffer).force();
+            }
+            channel.close();
+        } catch (IOException ex) {
+            logger.warn("Failed to close off-heap cache file", ex);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private V peek(K key) {
+        Long address = index.get(key);
+        if (address == null) {
+            return null;
+        }
+        byte[] bytes = read(address);
+        if (bytes == null) {
+            if (index.remove(key, address)) {
+                statsCounter.recordEvictions(1);
+            }
+            return null;
+        }
+        return valueSerializer.deserialize(bytes);
+    }
+
+    private void append(K key, V value, long ttlMillis) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        byte[] valueBytes = valueSerializer.serialize(value);
+        appendLock.lock();
+        try {
+            if (RECORD_HEADER + keyBytes.length + valueBytes.length > slabSize - SLAB_HEADER) {
+                // The entry can never fit in a slab; drop any older value so readers do not see it.
+                index.remove(key);
+                return;
+            }
+            index.put(key, writeRecord(keyBytes, valueBytes, ttlMillis));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record to the active slab, recycling the oldest slab if the active one is full.
+     * Must be called while holding the append lock.
+     */
+    private long writeRecord(byte[] keyBytes, byte[] valueBytes, long ttlMillis) {
+        int length = RECORD_HEADER + keyBytes.length + (valueBytes == null ? 0 : valueBytes.length);
+        Slab slab = slabs[active];
+        if (slab.position + length > slabSize) {
+            active = (active + 1) % slabs.length;
+            slab = slabs[active];
+            recycle(active);
+        }
+
+        int offset = slab.position;
+        ByteBuffer buffer = slab.buffer;
+        buffer.putInt(offset, keyBytes.length);
+        buffer.putInt(offset + 4, valueBytes == null ? TOMBSTONE : valueBytes.length);
+        buffer.putLong(offset + 8, ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : 0);
+        buffer.put(offset + RECORD_HEADER, keyBytes);
+        if (valueBytes != null) {
+            buffer.put(offset + RECORD_HEADER + keyBytes.length, valueBytes);
+        }
+        slab.position = offset + length;
+        buffer.putInt(4, slab.position);
+        return address(active, slab.generation, offset);
+    }
+
+    /**
+     * Drops every entry stored in the given slab from the index and makes the slab the active one.
+     * Must be called while holding the append lock.
+     */
+    private void recycle(int slabIndex) {
+        Slab slab = slabs[slabIndex];
+        long stamp = recycleLock.writeLock();
+        try {
+            if (slab.sequence != 0) {
+                long evicted = 0;
+                int offset = SLAB_HEADER;
+                while (offset < slab.position) {
+                    int keyLength = slab.buffer.getInt(offset);
+                    int valueLength = slab.buffer.getInt(offset + 4);
+                    if (valueLength != TOMBSTONE) {
+                        byte[] keyBytes = new byte[keyLength];
+                        slab.buffer.get(offset + RECORD_HEADER, keyBytes);
+                        if (index.remove(keySerializer.deserialize(keyBytes), address(slabIndex, slab.generation, offset))) {
+                            evicted++;
+                        }
+                    }
+                    offset += RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+                }
+                statsCounter.recordEvictions(evicted);
+            }
+            slab.generation++;
+            slab.reset(nextSequence++);
+        } finally {
+            recycleLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the value bytes stored at the given address, or returns {@code null} if the slab has
+     * been recycled since the address was indexed or the entry has expired.
+     */
+    private byte[] read(long address) {
+        long stamp = recycleLock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                byte[] bytes = readRecord(address);
+                if (recycleLock.validate(stamp)) {
+                    return bytes;
+                }
+            } catch (RuntimeException ex) {
+                // The slab was recycled while reading; retry under the read lock.
+            }
+        }
+        stamp = recycleLock.readLock();
+        try {
+            return readRecord(address);
+        } finally {
+            recycleLock.unlockRead(stamp);
+        }
+    }
+
+    private byte[] readRecord(long address) {
+        Slab slab = slabs[(int) (address >>> 48)];
+        if (slab.generation != (int) ((address >>> 32) & 0xFFFF)) {
+            return null;
+        }
+        int offset = (int) address;
+        long expiresAt = slab.buffer.getLong(offset + 8);
+        if (expiresAt != 0 && expiresAt <= System.currentTimeMillis()) {
+            return null;
+        }
+        int keyLength = slab.buffer.getInt(offset);
+        int valueLength = slab.buffer.getInt(offset + 4);
+        // Lengths read under an optimistic stamp may be torn; check them before allocating.
+        if (keyLength < 0 || valueLength < 0
+                || (long) offset + RECORD_HEADER + keyLength + valueLength > slabSize) {
+            throw new IllegalStateException("Invalid record at offset " + offset);
+        }
+        byte[] bytes = new byte[valueLength];
+        slab.buffer.get(offset + RECORD_HEADER + keyLength, bytes);
+        return bytes;
+    }
+
+    private static long address(int slabIndex, int generation, int offset) {
+        return ((long) slabIndex << 48) | ((long) (generation & 0xFFFF) << 32) | (offset & 0xFFFFFFFFL);
+    }
+
+    private FileChannel openFile(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (fileChannel.size() != (long) slabs.length * slabSize) {
+            // A different layout cannot be replayed; start from an empty file.
+            fileChannel.truncate(0);
+        }
+        return fileChannel;
+    }
+
+    /**
+     * Rebuilds the index by replaying the slabs of the backing file in sequence order. If any record
+     * is out of bounds or its key cannot be read, the file is treated as corrupt: the index is
+     * dropped and the caller resets every slab, so the cache starts empty.
+     *
+     * @return {@code true} if at least one valid slab was found and every record could be replayed.
+     */
+    private boolean recover() {
+        Integer[] order = new Integer[slabs.length];
+        int valid = 0;
+        for (int i = 0; i < slabs.length; i++) {
+            Slab slab = slabs[i];
+            if (slab.buffer.getInt(0) == MAGIC && slab.buffer.getLong(8) > 0) {
+                slab.sequence = slab.buffer.getLong(8);
+                slab.position = slab.buffer.getInt(4);
+                order[valid++] = i;
+            } else {
+                slab.reset(0);
+            }
+        }
+        if (valid == 0) {
+            return false;
+        }
+
+        Integer[] replay = Arrays.copyOf(order, valid);
+        Arrays.sort(replay, Comparator.comparingLong(i -> slabs[i].sequence));
+        long now = System.currentTimeMillis();
+        for (int slabIndex : replay) {
+            String problem;
+            try {
+                problem = replaySlab(slabIndex, now);
+            } catch (RuntimeException ex) {
+                logger.warn("Discarding off-heap cache file: a key in slab {} cannot be deserialized", slabIndex, ex);
+                index.clear();
+                return false;
+            }
+            if (problem != null) {
+                logger.warn("Discarding off-heap cache file: {} in slab {}", problem, slabIndex);
+                index.clear();
+                return false;
+            }
+        }
+
+        active = replay[replay.length - 1];
+        nextSequence = slabs[active].sequence + 1;
+        logger.info("Recovered {} off-heap cache entries from {} slabs", index.size(), valid);
+        return true;
+    }
+
+    /**
+     * Replays the records of one slab into the index, checking every length read from the file
+     * before using it.
+     *
+     * @return {@code null} if the slab was replayed, or a description of the first invalid record.
+     */
+    private String replaySlab(int slabIndex, long now) {
+        Slab slab = slabs[slabIndex];
+        if (slab.position < SLAB_HEADER || slab.position > slabSize) {
+            return "invalid write position " + slab.position;
+        }
+        int offset = SLAB_HEADER;
+        while (offset < slab.position) {
+            if (slab.position - offset < RECORD_HEADER) {
+                return "truncated record at offset " + offset;
+            }
+            int keyLength = slab.buffer.getInt(offset);
+            int valueLength = slab.buffer.getInt(offset + 4);
+            if (keyLength < 0 || (valueLength < 0 && valueLength != TOMBSTONE)
+                    || (long) offset + RECORD_HEADER + keyLength + Math.max(valueLength, 0) > slab.position) {
+                return "invalid record at offset " + offset;
+            }
+            long expiresAt = slab.buffer.getLong(offset + 8);
+            byte[] keyBytes = new byte[keyLength];
+            slab.buffer.get(offset + RECORD_HEADER, keyBytes);
+            K key = keySerializer.deserialize(keyBytes);
+            if (valueLength == TOMBSTONE || (expiresAt != 0 && expiresAt <= now)) {
+                index.remove(key);
+            } else {
+                index.put(key, address(slabIndex, slab.generation, offset));
+            }
+            offset += RECORD_HEADER + keyLength + Math.max(valueLength, 0);
+        }
+        return null;
+    }
+
+    /**
+     * A fixed-size region of off-heap memory. The first bytes hold a header with a magic number,
+     * the write position and the sequence number assigned when the slab was last activated.
+     */
+    private static final class Slab {
+        final ByteBuffer buffer;
+        int position;
+        long sequence;
+        int generation;
+
+        Slab(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void reset(long sequence) {
+            this.sequence = sequence;
+            this.position = SLAB_HEADER;
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, SLAB_HEADER);
+            buffer.putLong(8, sequence);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * An immutable description of an {@link OffHeapCacheService}. Instances are created through
+ * {@link #builder()}.
+ *
+ * <p><b>Usage:</b></p>
+ * <pre>
+ * {@code
+ * OffHeapCacheSpec<String, Student> spec = OffHeapCacheSpec.<String, Student>builder()
+ *         .capacity(1L << 30)
+ *         .slabSize(64 << 20)
+ *         .persistTo(Path.of("/var/cache/students.bin"))
+ *         .build();
+ * }
+ * </pre>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+public final class OffHeapCacheSpec<K, V> {
+
+    /**
+     * The total capacity used when none is configured (256 MB).
+     */
+    public static final long DEFAULT_CAPACITY = 256L << 20;
+
+    /**
+     * The slab size used when none is configured (16 MB).
+     */
+    public static final int DEFAULT_SLAB_SIZE = 16 << 20;
+
+    /**
+     * The maximum number of slabs a cache can be split into.
+     */
+    public static final int MAX_SLABS = 0xFFFF;
+
+    private final long capacity;
+    private final int slabSize;
+    private final CacheSerializer<K> keySerializer;
+    private final CacheSerializer<V> valueSerializer;
+    private final Duration expireAfterWrite;
+    private final Path file;
+
+    private OffHeapCacheSpec(Builder<K, V> builder) {
+        this.capacity = builder.capacity;
+        this.slabSize = builder.slabSize;
+        this.keySerializer = builder.keySerializer;
+        this.valueSerializer = builder.valueSerializer;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.file = builder.file;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param <K> The type of the cache key.
+     * @param <V> The type of the cache value.
+     * @return A new {@link Builder}.
+     */
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the total number of bytes reserved for entries, rounded down to whole slabs.
+     *
+     * @return The capacity in bytes.
+     */
+    public long getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the size of each slab. A single entry can never be larger than a slab.
+     *
+     * @return The slab size in bytes.
+     */
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    /**
+     * Returns the serializer used for keys.
+     *
+     * @return The key serializer; never {@code null}.
+     */
+    public CacheSerializer<K> getKeySerializer() {
+        return keySerializer;
+    }
+
+    /**
+     * Returns the serializer used for values.
+     *
+     * @return The value serializer; never {@code null}.
+     */
+    public CacheSerializer<V> getValueSerializer() {
+        return valueSerializer;
+    }
+
+    /**
+     * Returns how long an entry stays in the cache after it is saved.
+     *
+     * @return The expire-after-write duration, or {@code null} if entries do not expire after writes.
+     */
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * Returns the file the slabs are memory-mapped from.
+     *
+     * @return The file, or {@code null} if the slabs live in direct memory and are lost on restart.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * A builder for {@link OffHeapCacheSpec}.
+     *
+     * @param <K> The type of the cache key.
+     * @param <V> The type of the cache value.
+     */
+    public static final class Builder<K, V> {
+
+        private long capacity = DEFAULT_CAPACITY;
+        private int slabSize = DEFAULT_SLAB_SIZE;
+        private CacheSerializer<K> keySerializer = new JavaCacheSerializer<>();
+        private CacheSerializer<V> valueSerializer = new JavaCacheSerializer<>();
+        private Duration expireAfterWrite;
+        private Path file;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the total number of bytes reserved for entries.
+         *
+         * @param capacity The capacity in bytes. Must be at least two slabs.
+         * @return This builder.
+         */
+        public Builder<K, V> capacity(long capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the size of each slab. When the cache is full, the oldest slab is recycled as a whole.
+         *
+         * @param slabSize The slab size in bytes. Must be at least 4 KB.
+         * @return This builder.
+         */
+        public Builder<K, V> slabSize(int slabSize) {
+            this.slabSize = slabSize;
+            return this;
+        }
+
+        /**
+         * Sets the serializer used for keys. Defaults to {@link JavaCacheSerializer}.
+         *
+         * @param keySerializer The key serializer. Must not be {@literal null}.
+         * @return This builder.
+         */
+        public Builder<K, V> keySerializer(CacheSerializer<K> keySerializer) {
+            if (keySerializer == null) {
+                throw new IllegalArgumentException("keySerializer must not be null");
+            }
+            this.keySerializer = keySerializer;
+            return this;
+        }
+
+        /**
+         * Sets the serializer used for values. Defaults to {@link JavaCacheSerializer}.
+         *
+         * @param valueSerializer The value serializer. Must not be {@literal null}.
+         * @return This builder.
+         */
+        public Builder<K, V> valueSerializer(CacheSerializer<V> valueSerializer) {
+            if (valueSerializer == null) {
+                throw new IllegalArgumentException("valueSerializer must not be null");
+            }
+            this.valueSerializer = valueSerializer;
+            return this;
+        }
+
+        /**
+         * Expires entries once the given duration has elapsed since they were saved.
+         *
+         * @param duration The time to live of an entry. Must be positive.
+         * @return This builder.
+         */
+        public Builder<K, V> expireAfterWrite(Duration duration) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException("expireAfterWrite must be positive: " + duration);
+            }
+            this.expireAfterWrite = duration;
+            return this;
+        }
+
+        /**
+         * Memory-maps the slabs from the given file, so the cache survives a restart.
+         *
+         * @param file The backing file. It is created if it does not exist.
+         * @return This builder.
+         */
+        public Builder<K, V> persistTo(Path file) {
+            this.file = file;
+            return this;
+        }
+
+        /**
+         * Builds the {@link OffHeapCacheSpec}.
+         *
+         * @return The immutable spec.
+         */
+        public OffHeapCacheSpec<K, V> build() {
+            if (slabSize < 4096) {
+                throw new IllegalArgumentException("slabSize must be at least 4096 bytes: " + slabSize);
+            }
+            if (capacity / slabSize < 2) {
+                throw new IllegalArgumentException("capacity must hold at least two slabs: " + capacity);
+            }
+            if (capacity / slabSize > MAX_SLABS) {
+                throw new IllegalArgumentException("capacity must not exceed " + MAX_SLABS + " slabs: " + capacity);
+            }
+            return new OffHeapCacheSpec<>(this);
+        }
+    }
+}
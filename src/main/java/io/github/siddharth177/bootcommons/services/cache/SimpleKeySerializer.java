@@ -0,0 +1,105 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A {@link CacheSerializer} for keys of basic types: strings, UUIDs, primitive wrappers and
+ * booleans. Each key is written as a one-byte type tag followed by its value.
+ *
+ * <p>Unlike {@link JavaCacheSerializer}, deserialization never instantiates a class named by the
+ * input, so it is safe for keys received from other nodes. Keys of any other type are rejected with
+ * an {@link IllegalArgumentException}.</p>
+ *
+ * @param <K> The type of the cache key.
+ */
+public class SimpleKeySerializer<K> implements CacheSerializer<K> {
+
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte SHORT = 4;
+    private static final byte BYTE = 5;
+    private static final byte CHARACTER = 6;
+    private static final byte BOOLEAN = 7;
+    private static final byte DOUBLE = 8;
+    private static final byte FLOAT = 9;
+    private static final byte UUID_KEY = 10;
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(String.class, Integer.class, Long.class,
+            Short.class, Byte.class, Character.class, Boolean.class, Double.class, Float.class, UUID.class);
+
+    /**
+     * Default constructor for {@code SimpleKeySerializer}.
+     */
+    public SimpleKeySerializer() {
+        // Default constructor
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the key is not of a supported type.
+     */
+    @Override
+    public byte[] serialize(K key) {
+        return switch (key) {
+            case String value -> {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                yield ByteBuffer.allocate(1 + bytes.length).put(STRING).put(bytes).array();
+            }
+            case Integer value -> ByteBuffer.allocate(5).put(INTEGER).putInt(value).array();
+            case Long value -> ByteBuffer.allocate(9).put(LONG).putLong(value).array();
+            case Short value -> ByteBuffer.allocate(3).put(SHORT).putShort(value).array();
+            case Byte value -> new byte[]{BYTE, value};
+            case Character value -> ByteBuffer.allocate(3).put(CHARACTER).putChar(value).array();
+            case Boolean value -> new byte[]{BOOLEAN, (byte) (value ? 1 : 0)};
+            case Double value -> ByteBuffer.allocate(9).put(DOUBLE).putDouble(value).array();
+            case Float value -> ByteBuffer.allocate(5).put(FLOAT).putFloat(value).array();
+            case UUID value -> ByteBuffer.allocate(17).put(UUID_KEY)
+                    .putLong(value.getMostSignificantBits()).putLong(value.getLeastSignificantBits()).array();
+            default -> throw new IllegalArgumentException("Unsupported key type: " + key.getClass().getName());
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean supports(Class<?> type) {
+        return SUPPORTED_TYPES.contains(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the bytes do not hold a key written by this serializer.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public K deserialize(byte[] bytes) {
+        if (bytes.length == 0) {
+            throw new IllegalArgumentException("Empty key");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        Object key = switch (bytes[0]) {
+            case STRING -> new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            case INTEGER -> buffer.getInt();
+            case LONG -> buffer.getLong();
+            case SHORT -> buffer.getShort();
+            case BYTE -> buffer.get();
+            case CHARACTER -> buffer.getChar();
+            case BOOLEAN -> buffer.get() != 0;
+            case DOUBLE -> buffer.getDouble();
+            case FLOAT -> buffer.getFloat();
+            case UUID_KEY -> new UUID(buffer.getLong(), buffer.getLong());
+            default -> throw new IllegalArgumentException("Unknown key type tag: " + bytes[0]);
+        };
+        if (!(key instanceof String) && buffer.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes after key");
+        }
+        return (K) key;
+    }
+}
@@ -0,0 +1,220 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent cache misses so that each missing key is loaded at most once at a time.
+ *
+ * <p>The first thread that misses on a key registers an in-flight load and runs the loader; threads
+ * that miss on the same key while the load is running wait for its result instead of calling the
+ * loader themselves. A load that is invalidated by {@link #invalidate(Object)} while running still
+ * returns its value to the waiting callers, but the value is not written to the cache, so a removal
+ * that races with a load cannot resurrect stale data. The check and the write happen under the same
+ * lock as the invalidation, so a removal either prevents the write or, if it comes second, runs after
+ * it and evicts the value. Callers must invalidate before they remove the entry from the cache.</p>
+ *
+ * <p>Lookups go through the cache's {@code get}, so they are counted as hits or misses, and every
+ * loader call is timed and recorded as a load in the given {@link StatsCounter}.</p>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<K, Load<V>> inFlight = new ConcurrentHashMap<>();
+    private final CacheService<K, V> cache;
+    private final Function<K, V> peek;
+    private final BiConsumer<K, V> fill;
+    private final StatsCounter stats;
+
+    /**
+     * @param cache The cache that is read and that loaded values are saved to.
+     * @param peek  Looks a key up without recording a hit or miss, used to re-check after a miss.
+     * @param stats The counter that loads are recorded in.
+     */
+    SingleFlight(CacheService<K, V> cache, Function<K, V> peek, StatsCounter stats) {
+        this(cache, peek, cache::save, stats);
+    }
+
+    /**
+     * @param cache The cache that is read.
+     * @param peek  Looks a key up without recording a hit or miss, used to re-check after a miss.
+     * @param fill  Stores a loaded value, for caches where filling differs from an explicit save.
+     * @param stats The counter that loads are recorded in.
+     */
+    SingleFlight(CacheService<K, V> cache, Function<K, V> peek, BiConsumer<K, V> fill, StatsCounter stats) {
+        this.cache = cache;
+        this.peek = peek;
+        this.fill = fill;
+        this.stats = stats;
+    }
+
+    V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        V value = cache.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        Load<V> load = new Load<>();
+        Load<V> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            // Another thread may have finished loading the key between the miss and the registration.
+            // That value is already cached; saving it again would reset its TTL, so only loaded values
+            // are filled.
+            value = peek.apply(key);
+            if (value == null) {
+                value = timed(() -> loader.apply(key));
+                if (value != null) {
+                    load.fill(key, value, fill);
+                }
+            }
+            load.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            load.future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    Map<K, V> getAllOrLoad(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        Map<K, V> result = new LinkedHashMap<>();
+        Map<K, Load<V>> owned = new LinkedHashMap<>();
+        Map<K, Load<V>> waiting = new HashMap<>();
+
+        for (K key : keys) {
+            if (result.containsKey(key) || owned.containsKey(key) || waiting.containsKey(key)) {
+                continue;
+            }
+            V value = cache.get(key);
+            if (value != null) {
+                result.put(key, value);
+                continue;
+            }
+            Load<V> load = new Load<>();
+            Load<V> existing = inFlight.putIfAbsent(key, load);
+            if (existing != null) {
+                waiting.put(key, existing);
+            } else {
+                owned.put(key, load);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            try {
+                Set<K> missing = Collections.unmodifiableSet(new LinkedHashSet<>(owned.keySet()));
+                Map<K, V> loaded = timed(() -> loader.apply(missing));
+                for (Map.Entry<K, Load<V>> entry : owned.entrySet()) {
+                    V value = loaded == null ? null : loaded.get(entry.getKey());
+                    if (value != null) {
+                        entry.getValue().fill(entry.getKey(), value, fill);
+                        result.put(entry.getKey(), value);
+                    }
+                    entry.getValue().future.complete(value);
+                }
+            } catch (RuntimeException | Error ex) {
+                owned.values().forEach(load -> load.future.completeExceptionally(ex));
+                throw ex;
+            } finally {
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        for (Map.Entry<K, Load<V>> entry : waiting.entrySet()) {
+            V value = entry.getValue().join();
+            if (value != null) {
+                result.put(entry.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    private <T> T timed(Supplier<T> load) {
+        long start = System.nanoTime();
+        try {
+            T result = load.get();
+            stats.recordLoadSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            stats.recordLoadFailure(System.nanoTime() - start);
+            throw ex;
+        }
+    }
+
+    void invalidate(K key) {
+        Load<V> load = inFlight.get(key);
+        if (load != null) {
+            load.invalidate();
+        }
+    }
+
+    void invalidateAll() {
+        inFlight.values().forEach(Load::invalidate);
+    }
+
+    /**
+     * A load in progress for a single key.
+     */
+    private static final class Load<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean invalidated;
+
+        /**
+         * Stores the loaded value unless the load has been invalidated.
+         */
+        <K> void fill(K key, V value, BiConsumer<K, V> fill) {
+            lock.lock();
+            try {
+                if (!invalidated) {
+                    fill.accept(key, value);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void invalidate() {
+            lock.lock();
+            try {
+                invalidated = true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        V join() {
+            try {
+                return future.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (ex.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw ex;
+            }
+        }
+    }
+}
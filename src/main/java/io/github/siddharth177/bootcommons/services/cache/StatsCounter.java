@@ -0,0 +1,80 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates cache statistics in {@link LongAdder}s. Each adder spreads concurrent updates over
+ * per-thread cells, so recording a hit never contends with other threads doing the same; the cells
+ * are only summed when a {@link CacheStats} snapshot is taken.
+ */
+public final class StatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Default constructor for {@code StatsCounter}.
+     */
+    public StatsCounter() {
+        // Default constructor
+    }
+
+    /**
+     * Records a lookup that found a value.
+     */
+    public void recordHit() {
+        hitCount.increment();
+    }
+
+    /**
+     * Records a lookup that found no value.
+     */
+    public void recordMiss() {
+        missCount.increment();
+    }
+
+    /**
+     * Records a completed load.
+     *
+     * @param loadTime The time spent loading, in nanoseconds.
+     */
+    public void recordLoadSuccess(long loadTime) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    /**
+     * Records a load that threw an exception.
+     *
+     * @param loadTime The time spent loading, in nanoseconds.
+     */
+    public void recordLoadFailure(long loadTime) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTime);
+    }
+
+    /**
+     * Records entries evicted because of the size bound or expiry.
+     *
+     * @param count The number of evicted entries.
+     */
+    public void recordEvictions(long count) {
+        evictionCount.add(count);
+    }
+
+    /**
+     * Takes a snapshot of the recorded statistics.
+     *
+     * @param size   The current number of entries.
+     * @param weight The current weight of the entries.
+     * @return The snapshot.
+     */
+    public CacheStats snapshot(long size, long weight) {
+        return new CacheStats(hitCount.sum(), missCount.sum(), loadSuccessCount.sum(), loadFailureCount.sum(),
+                totalLoadTime.sum(), evictionCount.sum(), size, weight);
+    }
+}
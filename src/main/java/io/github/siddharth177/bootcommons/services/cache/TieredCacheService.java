@@ -0,0 +1,308 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A two-level {@link CacheService} with a small, fast near-cache (L1) in front of a larger or shared
+ * cache (L2).
+ *
+ * <p>Reads are served from L1 when possible and fall back to L2, copying hits into L1. Writes go to
+ * both tiers. Every save, removal or clear is published on an {@link InvalidationBus} so that peer
+ * nodes evict their copy of the entry. Values loaded by {@link #getOrLoad(Object, Function)} and
+ * {@link #getAllOrLoad(Collection, Function)} only fill this node's tiers and are not published,
+ * since they match the source of truth and evicting them on every peer would make hot keys thrash.
+ * Events published by this node are ignored when they come back over the bus.</p>
+ *
+ * <p>When L2 is shared by all nodes, such as a remote cache behind a {@link CacheService} adapter,
+ * peers only evict their L1 copy and read the new value from L2. When L2 is node-local, for example
+ * an {@link OffHeapCacheService}, peers evict the entry from both tiers, since their L2 copy is just
+ * as stale; their next read is a miss. Pass {@code sharedL2} accordingly.</p>
+ *
+ * <p>Keys are sent to peers with the given {@link CacheSerializer}. Use a serializer that is safe
+ * for input from the network, such as {@link SimpleKeySerializer}, rather than
+ * {@link JavaCacheSerializer}. The factory methods reject a key type that the serializer does not
+ * {@linkplain CacheSerializer#supports(Class) support}, so every change can be sent as a single key.</p>
+ *
+ * <p>An L2 hit is copied into L1 only if no save, removal or peer event touched this node in the
+ * meantime; otherwise the copy is evicted again, so an old value read from L2 cannot overwrite a
+ * newer one or outlive an invalidation in L1.</p>
+ *
+ * <p>Instances are created with {@link #of(String, Class, CacheService, CacheService, InvalidationBus,
+ * CacheSerializer, boolean) of}, which subscribes the cache to the bus; {@link #close()} releases the
+ * subscription.</p>
+ *
+ * <p>A lookup counts as a hit in {@link #stats()} if either tier has the value. Evictions are the sum
+ * of both tiers' evictions, and the size and weight are those of L2.</p>
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+public class TieredCacheService<K, V> implements CacheService<K, V>, AutoCloseable {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StatsCounter statsCounter = new StatsCounter();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final SingleFlight<K, V> singleFlight = new SingleFlight<>(this, this::peek, this::fill, statsCounter);
+    private final String cacheName;
+    private final CacheService<K, V> l1;
+    private final CacheService<K, V> l2;
+    private final InvalidationBus bus;
+    private final CacheSerializer<K> keySerializer;
+    private final boolean sharedL2;
+    private volatile InvalidationBus.Subscription subscription;
+
+    private TieredCacheService(String cacheName, CacheService<K, V> l1, CacheService<K, V> l2, InvalidationBus bus,
+                               CacheSerializer<K> keySerializer, boolean sharedL2) {
+        this.cacheName = cacheName;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.bus = bus;
+        this.keySerializer = keySerializer;
+        this.sharedL2 = sharedL2;
+    }
+
+    /**
+     * Creates a new {@code TieredCacheService} with a node-local L2 and subscribes it to the given bus.
+     *
+     * @param cacheName     The name of the cache; events are only exchanged between caches of the same name.
+     * @param keyType       The type of the cache keys. Must be supported by the key serializer.
+     * @param l1            The near-cache tier. Must not be {@literal null}.
+     * @param l2            The backing tier, local to this node. Must not be {@literal null}.
+     * @param bus           The bus used to exchange invalidation events. Must not be {@literal null}.
+     * @param keySerializer The serializer used to send keys over the bus. Must not be {@literal null}.
+     * @param <K>           The type of the cache key.
+     * @param <V>           The type of the cache value.
+     * @return The subscribed cache.
+     * @throws IllegalArgumentException if the key serializer does not support the key type.
+     */
+    public static <K, V> TieredCacheService<K, V> of(String cacheName, Class<K> keyType, CacheService<K, V> l1,
+                                                     CacheService<K, V> l2, InvalidationBus bus,
+                                                     CacheSerializer<K> keySerializer) {
+        return of(cacheName, keyType, l1, l2, bus, keySerializer, false);
+    }
+
+    /**
+     * Creates a new {@code TieredCacheService} and subscribes it to the given bus.
+     *
+     * @param cacheName     The name of the cache; events are only exchanged between caches of the same name.
+     * @param keyType       The type of the cache keys. Must be supported by the key serializer.
+     * @param l1            The near-cache tier. Must not be {@literal null}.
+     * @param l2            The backing tier. Must not be {@literal null}.
+     * @param bus           The bus used to exchange invalidation events. Must not be {@literal null}.
+     * @param keySerializer The serializer used to send keys over the bus. Must not be {@literal null}.
+     * @param sharedL2      {@code true} if every node uses the same L2, so peer events only evict L1.
+     * @param <K>           The type of the cache key.
+     * @param <V>           The type of the cache value.
+     * @return The subscribed cache.
+     * @throws IllegalArgumentException if the key serializer does not support the key type.
+     */
+    public static <K, V> TieredCacheService<K, V> of(String cacheName, Class<K> keyType, CacheService<K, V> l1,
+                                                     CacheService<K, V> l2, InvalidationBus bus,
+                                                     CacheSerializer<K> keySerializer, boolean sharedL2) {
+        if (!keySerializer.supports(keyType)) {
+            throw new IllegalArgumentException("Key serializer " + keySerializer.getClass().getName()
+                    + " does not support keys of type " + keyType.getName() + " of cache " + cacheName);
+        }
+        TieredCacheService<K, V> cache = new TieredCacheService<>(cacheName, l1, l2, bus, keySerializer, sharedL2);
+        cache.subscription = bus.subscribe(cache::onInvalidation);
+        return cache;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        l2.save(key, value);
+        invalidations.incrementAndGet();
+        l1.save(key, value);
+        publish(keyBytes);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V save(K key, V value, Duration ttl) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        l2.save(key, value, ttl);
+        invalidations.incrementAndGet();
+        l1.save(key, value, ttl);
+        publish(keyBytes);
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            statsCounter.recordMiss();
+        } else {
+            statsCounter.recordHit();
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheStats stats() {
+        CacheStats own = statsCounter.snapshot(0, 0);
+        CacheStats l1Stats = l1.stats();
+        CacheStats l2Stats = l2.stats();
+        return new CacheStats(own.hitCount(), own.missCount(), own.loadSuccessCount(), own.loadFailureCount(),
+                own.totalLoadTime(), l1Stats.evictionCount() + l2Stats.evictionCount(), l2Stats.size(), l2Stats.weight());
+    }
+
+    private V peek(K key) {
+        V value = l1.get(key);
+        if (value == null) {
+            long stamp = invalidations.get();
+            value = l2.get(key);
+            if (value != null) {
+                l1.save(key, value);
+                // Writers bump the stamp between the L2 and the L1 update, so a change that the L2 read
+                // missed is either seen here or overwrites the copy afterwards
+                if (invalidations.get() != stamp) {
+                    l1.remove(key);
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public V getOrLoad(K key, Function<? super K, ? extends V> loader) {
+        return singleFlight.getOrLoad(key, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<K, V> getAllOrLoad(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+        return singleFlight.getAllOrLoad(keys, loader);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove(K key) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        singleFlight.invalidate(key);
+        l2.remove(key);
+        invalidations.incrementAndGet();
+        l1.remove(key);
+        publish(keyBytes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear() {
+        singleFlight.invalidateAll();
+        l2.clear();
+        invalidations.incrementAndGet();
+        l1.clear();
+        bus.publish(new InvalidationEvent(nodeId, cacheName, null));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(K key) {
+        return l1.contains(key) || l2.contains(key);
+    }
+
+    /**
+     * Returns the near-cache tier.
+     *
+     * @return The L1 cache.
+     */
+    public CacheService<K, V> getL1() {
+        return l1;
+    }
+
+    /**
+     * Returns the backing tier.
+     *
+     * @return The L2 cache.
+     */
+    public CacheService<K, V> getL2() {
+        return l2;
+    }
+
+    /**
+     * Unsubscribes from the bus and closes both tiers if they hold external resources. The bus is
+     * shared and is not closed.
+     *
+     * @throws Exception if a tier fails to close.
+     */
+    @Override
+    public void close() throws Exception {
+        InvalidationBus.Subscription current = subscription;
+        if (current != null) {
+            current.close();
+        }
+        if (l1 instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (l2 instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Stores the value in both tiers of this node without telling the peers.
+     */
+    private void fill(K key, V value) {
+        l2.save(key, value);
+        l1.save(key, value);
+    }
+
+    private void publish(byte[] keyBytes) {
+        bus.publish(new InvalidationEvent(nodeId, cacheName, keyBytes));
+    }
+
+    private void onInvalidation(InvalidationEvent event) {
+        if (nodeId.equals(event.sourceId()) || !cacheName.equals(event.cacheName())) {
+            return;
+        }
+        if (event.isClear()) {
+            singleFlight.invalidateAll();
+            if (!sharedL2) {
+                l2.clear();
+            }
+            invalidations.incrementAndGet();
+            l1.clear();
+        } else {
+            K key = keySerializer.deserialize(event.key());
+            singleFlight.invalidate(key);
+            if (!sharedL2) {
+                l2.remove(key);
+            }
+            invalidations.incrementAndGet();
+            l1.remove(key);
+        }
+    }
+}
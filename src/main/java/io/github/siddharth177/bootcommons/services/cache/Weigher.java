@@ -0,0 +1,33 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+/**
+ * Calculates the weight of a cache entry. The total weight of all entries is used to bound
+ * a cache instead of its entry count when a maximum weight is configured.
+ *
+ * @param <K> The type of the cache key.
+ * @param <V> The type of the cache value.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns the weight of the given entry. Weights are computed once, when the entry is saved.
+     *
+     * @param key   The key of the entry.
+     * @param value The value of the entry.
+     * @return The non-negative weight of the entry.
+     */
+    int weigh(K key, V value);
+
+    /**
+     * Returns a weigher that gives every entry a weight of one, so that the maximum weight
+     * becomes a maximum entry count.
+     *
+     * @param <K> The type of the cache key.
+     * @param <V> The type of the cache value.
+     * @return The singleton weigher.
+     */
+    static <K, V> Weigher<K, V> singleton() {
+        return (key, value) -> 1;
+    }
+}
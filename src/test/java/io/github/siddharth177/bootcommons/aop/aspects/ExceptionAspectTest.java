@@ -0,0 +1,150 @@
+package io.github.siddharth177.bootcommons.aop.aspects;
+
+import io.github.siddharth177.bootcommons.aop.annotations.HandleException;
+import io.github.siddharth177.bootcommons.aop.annotations.HandleException.Stackless;
+import io.github.siddharth177.bootcommons.aop.annotations.ThrowIf;
+import io.github.siddharth177.bootcommons.configs.ExceptionsProperties;
+import io.github.siddharth177.bootcommons.exceptions.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Exercises the advice of {@link ExceptionAspect} on proxied targets.
+ */
+class ExceptionAspectTest {
+
+    private final Lists lists = proxy(new Lists());
+
+    @Test
+    void typeAndBeanReferencesAreEvaluated() {
+        assertThatCode(() -> lists.checkedWithType(List.of("a"))).doesNotThrowAnyException();
+        assertThat(catchThrowable(() -> lists.checkedWithType(List.of()))).isInstanceOf(IllegalStateException.class);
+        assertThat(catchThrowable(() -> lists.checkedWithBean(List.of("a", "b", "c")))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void readOnlyExpressionRejectsTypeReferences() {
+        assertThat(catchThrowable(() -> lists.readOnlyWithType(List.of()))).isInstanceOf(SpelEvaluationException.class);
+    }
+
+    @Test
+    void stacklessExceptionKeepsNoSuppressedExceptions() {
+        Throwable first = catchThrowable(() -> lists.stackless(List.of()));
+        first.addSuppressed(new IllegalArgumentException("cleanup failed"));
+        Throwable second = catchThrowable(() -> lists.stackless(List.of()));
+
+        assertThat(second).isSameAs(first).isInstanceOf(Quota.class);
+        assertThat(second.getSuppressed()).isEmpty();
+        assertThat(second.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void stacklessWithoutSuppressionConstructorIsCreatedPerThrow() {
+        Throwable first = catchThrowable(() -> lists.stacklessPerThrow(List.of()));
+        Throwable second = catchThrowable(() -> lists.stacklessPerThrow(List.of()));
+
+        assertThat(second).isNotSameAs(first).isInstanceOf(IllegalStateException.class);
+        assertThat(second.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void handleExceptionFollowsTheSettingUnlessTheMethodChooses() {
+        ExceptionsProperties properties = new ExceptionsProperties();
+        properties.setStackless(true);
+        Failing failing = proxy(new Failing(), properties);
+
+        assertThat(((ErrorResponse) catchThrowable(failing::byDefault)).getStackTrace()).isEmpty();
+        assertThat(((ErrorResponse) catchThrowable(failing::never)).getStackTrace()).isNotEmpty();
+        assertThat(((ErrorResponse) catchThrowable(proxy(new Failing(), new ExceptionsProperties())::always))
+                .getStackTrace()).isEmpty();
+    }
+
+    private static Lists proxy(Lists target) {
+        return proxy(target, new ExceptionsProperties());
+    }
+
+    private static <T> T proxy(T target, ExceptionsProperties properties) {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("limits", new Limits());
+        ExceptionAspect aspect = new ExceptionAspect();
+        aspect.setBeanFactory(beans);
+        aspect.setExceptionsProperties(properties);
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    static class Lists {
+
+        @ThrowIf(expression = "T(java.util.Objects).equals(#returnValue.size(), 0)", exception = IllegalStateException.class)
+        public List<String> checkedWithType(List<String> values) {
+            return values;
+        }
+
+        @ThrowIf(expression = "#returnValue.size() > @limits.max()", exception = IllegalStateException.class)
+        public List<String> checkedWithBean(List<String> values) {
+            return values;
+        }
+
+        @ThrowIf(expression = "T(java.util.Objects).equals(#returnValue.size(), 0)", exception = IllegalStateException.class,
+                readOnly = true)
+        public List<String> readOnlyWithType(List<String> values) {
+            return values;
+        }
+
+        @ThrowIf(expression = "#returnValue.isEmpty()", exception = Quota.class, stackless = true)
+        public List<String> stackless(List<String> values) {
+            return values;
+        }
+
+        @ThrowIf(expression = "#returnValue.isEmpty()", exception = IllegalStateException.class, stackless = true)
+        public List<String> stacklessPerThrow(List<String> values) {
+            return values;
+        }
+    }
+
+    static class Failing {
+
+        @HandleException(statusCode = HttpStatus.CONFLICT)
+        public void byDefault() {
+            throw new IllegalStateException("taken");
+        }
+
+        @HandleException(statusCode = HttpStatus.CONFLICT, stackless = Stackless.NEVER)
+        public void never() {
+            throw new IllegalStateException("taken");
+        }
+
+        @HandleException(statusCode = HttpStatus.CONFLICT, stackless = Stackless.ALWAYS)
+        public void always() {
+            throw new IllegalStateException("taken");
+        }
+    }
+
+    public static class Limits {
+
+        public int max() {
+            return 2;
+        }
+    }
+
+    public static class Quota extends RuntimeException {
+
+        public Quota(String message) {
+            super(message);
+        }
+
+        public Quota(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+            super(message, cause, enableSuppression, writableStackTrace);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.siddharth177.bootcommons.aop.aspects;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.github.siddharth177.bootcommons.aop.annotations.Loggable;
+import io.github.siddharth177.bootcommons.aop.logging.AsyncLogWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises {@link LoggingAspect} on a proxied target, with a writer that holds the log tasks until
+ * the test runs them.
+ */
+class LoggingAspectTest {
+
+    private final HeldLogWriter writer = new HeldLogWriter();
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final Service service = proxy(new Service());
+
+    @BeforeEach
+    void attachAppender() {
+        appender.start();
+        ((Logger) LoggerFactory.getLogger(LoggingAspect.class)).addAppender(appender);
+    }
+
+    @AfterEach
+    void detachAppender() {
+        ((Logger) LoggerFactory.getLogger(LoggingAspect.class)).detachAppender(appender);
+    }
+
+    @Test
+    void argumentsAndResultAreFormattedWhenTheCallIsMade() {
+        List<String> items = new ArrayList<>(List.of("a"));
+
+        service.add(items);
+        // Changes after the call must neither show up in nor break the log lines written later
+        items.add("c");
+        writer.runHeldTasks();
+
+        assertThat(messages()).containsExactly(
+                "Entering method: Service.add(..) with arguments: [[a]]",
+                "Exiting method: Service.add(..) with result: [a, b]");
+    }
+
+    @Test
+    void backgroundFormattingIsOptIn() {
+        List<String> items = new ArrayList<>(List.of("a"));
+
+        service.addFormattedInBackground(items);
+        items.add("c");
+        writer.runHeldTasks();
+
+        assertThat(messages()).containsExactly(
+                "Entering method: Service.addFormattedInBackground(..) with arguments: [[a, b, c]]",
+                "Exiting method: Service.addFormattedInBackground(..) with result: [a, b, c]");
+    }
+
+    @Test
+    void sampleRateLogsAShareOfTheCalls() {
+        for (int i = 0; i < 4000; i++) {
+            service.sampled(i);
+            service.neverSampled(i);
+        }
+        writer.runHeldTasks();
+
+        // A quarter of 4,000 calls has a standard deviation of about 27
+        assertThat(entries("Service.sampled(..)")).isBetween(800L, 1200L);
+        assertThat(entries("Service.neverSampled(..)")).isZero();
+    }
+
+    @Test
+    void maxPerSecondLimitsCallsAndReportsTheSkippedOnes() throws InterruptedException {
+        awaitStartOfSecond();
+        for (int i = 0; i < 10; i++) {
+            service.limited(i);
+        }
+        assertThat(entries("Service.limited(..)")).isZero();
+        writer.runHeldTasks();
+        assertThat(entries("Service.limited(..)")).isEqualTo(3);
+
+        awaitStartOfSecond();
+        service.limited(10);
+        writer.runHeldTasks();
+
+        assertThat(messages()).contains(
+                "Skipped logging 7 calls to method: Service.limited(..) because of the rate limit",
+                "Entering method: Service.limited(..) with arguments: [10]");
+        assertThat(entries("Service.limited(..)")).isEqualTo(4);
+    }
+
+    private List<String> messages() {
+        return appender.list.stream().map(ILoggingEvent::getFormattedMessage).toList();
+    }
+
+    private long entries(String method) {
+        return messages().stream().filter(message -> message.startsWith("Entering method: " + method)).count();
+    }
+
+    /**
+     * Waits for the start of the next rate limit window, so that a few quick calls fall into one window.
+     */
+    private static void awaitStartOfSecond() throws InterruptedException {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        long current = System.nanoTime() / second;
+        while (System.nanoTime() / second == current) {
+            Thread.sleep(1);
+        }
+    }
+
+    private Service proxy(Service target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new LoggingAspect(writer));
+        return factory.getProxy();
+    }
+
+    /**
+     * A writer that keeps the submitted tasks until they are run by the test, as a busy writer thread would.
+     */
+    static class HeldLogWriter extends AsyncLogWriter {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        HeldLogWriter() {
+            super(false, 1);
+        }
+
+        @Override
+        public synchronized boolean submit(Runnable task) {
+            tasks.add(task);
+            return true;
+        }
+
+        synchronized void runHeldTasks() {
+            tasks.forEach(Runnable::run);
+            tasks.clear();
+        }
+    }
+
+    static class Service {
+
+        @Loggable
+        public List<String> add(List<String> items) {
+            items.add("b");
+            return items;
+        }
+
+        @Loggable(formatInBackground = true)
+        public List<String> addFormattedInBackground(List<String> items) {
+            items.add("b");
+            return items;
+        }
+
+        @Loggable(sampleRate = 0.25)
+        public int sampled(int value) {
+            return value;
+        }
+
+        @Loggable(sampleRate = 0)
+        public int neverSampled(int value) {
+            return value;
+        }
+
+        @Loggable(maxPerSecond = 3)
+        public int limited(int value) {
+            return value;
+        }
+    }
+}
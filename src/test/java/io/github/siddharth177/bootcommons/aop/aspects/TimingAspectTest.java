@@ -0,0 +1,67 @@
+package io.github.siddharth177.bootcommons.aop.aspects;
+
+import io.github.siddharth177.bootcommons.aop.annotations.Timed;
+import io.github.siddharth177.bootcommons.aop.timing.TimingRegistry;
+import io.github.siddharth177.bootcommons.configs.TimingMetricsConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises {@link TimingAspect} on a proxied target with overloaded methods.
+ */
+class TimingAspectTest {
+
+    private final TimingRegistry registry = new TimingRegistry();
+
+    @Test
+    void overloadsGetHistogramsOfTheirOwn() {
+        Greeter greeter = proxy(new Greeter());
+
+        greeter.greet("Ada");
+        greeter.greet("Ada", 2);
+        greeter.greet("Ada", 3);
+
+        String prefix = Greeter.class.getName() + ".greet";
+        assertThat(registry.snapshot(prefix + "(java.lang.String)").orElseThrow().getCount()).isEqualTo(1);
+        assertThat(registry.snapshot(prefix + "(java.lang.String,int)").orElseThrow().getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void meterBinderPublishesQualifiedNames() {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("timingRegistry", registry);
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        new TimingMetricsConfig().timingMetrics(beans.getBeanProvider(TimingRegistry.class)).bindTo(meters);
+
+        proxy(new Greeter()).greet("Ada", 2);
+        // Meters only hold their state object weakly, so it must stay reachable through the registry
+        System.gc();
+
+        assertThat(meters.get("timed.duration")
+                .tag("method", Greeter.class.getName() + ".greet(java.lang.String,int)")
+                .functionTimer().count()).isEqualTo(1);
+    }
+
+    private Greeter proxy(Greeter target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new TimingAspect(registry));
+        return factory.getProxy();
+    }
+
+    static class Greeter {
+
+        @Timed
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        @Timed
+        public String greet(String name, int times) {
+            return ("Hello " + name + " ").repeat(times);
+        }
+    }
+}
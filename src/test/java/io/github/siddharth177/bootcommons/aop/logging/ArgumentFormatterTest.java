@@ -0,0 +1,65 @@
+package io.github.siddharth177.bootcommons.aop.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the length and depth limits of {@link ArgumentFormatter}.
+ */
+class ArgumentFormatterTest {
+
+    @Test
+    void longValuesAreCutOff() {
+        ArgumentFormatter formatter = new ArgumentFormatter(5, 3);
+
+        assertThat(formatter.format("abcdefgh")).isEqualTo("abcde...");
+        assertThat(formatter.format("abcde")).isEqualTo("abcde");
+        assertThat(formatter.format(1234567)).isEqualTo("12345...");
+        assertThat(new ArgumentFormatter(-1, 3).format("x".repeat(5000))).hasSize(5000);
+    }
+
+    @Test
+    void eachArgumentIsCutOffOnItsOwn() {
+        ArgumentFormatter formatter = new ArgumentFormatter(4, 3);
+
+        assertThat(formatter.formatArgs(new Object[]{"abcdef", 1, null, "xyz"})).isEqualTo("[abcd..., 1, null, xyz]");
+        assertThat(formatter.formatArgs(null)).isEqualTo("null");
+    }
+
+    @Test
+    void largeCollectionsStopAtTheLimit() {
+        List<Integer> large = IntStream.range(0, 100_000).boxed().toList();
+
+        assertThat(new ArgumentFormatter(10, 3).format(large)).isEqualTo("[0, 1, 2, ...");
+    }
+
+    @Test
+    void nestedValuesBelowTheDepthAreSummarised() {
+        List<Object> nested = List.of(new ArrayList<>(List.of(1, 2)), new int[]{1, 2}, new HashMap<>(Map.of("k", "v")));
+
+        assertThat(new ArgumentFormatter(-1, 2).format(nested)).isEqualTo("[[1, 2], [1, 2], {k=v}]");
+        assertThat(new ArgumentFormatter(-1, 1).format(nested)).isEqualTo("[ArrayList(size=2), int[2], HashMap(size=1)]");
+        assertThat(new ArgumentFormatter(-1, 0).format(new int[]{1, 2, 3})).isEqualTo("int[3]");
+    }
+
+    @Test
+    void failingToStringIsWrittenInstead() {
+        assertThat(new ArgumentFormatter(-1, 3).format(new Detached()))
+                .isEqualTo("<Detached.toString() threw java.lang.IllegalStateException: no session>");
+    }
+
+    static class Detached {
+
+        @Override
+        public String toString() {
+            throw new IllegalStateException("no session");
+        }
+    }
+}
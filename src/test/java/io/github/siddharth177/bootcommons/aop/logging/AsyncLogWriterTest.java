@@ -0,0 +1,46 @@
+package io.github.siddharth177.bootcommons.aop.logging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link AsyncLogWriter} runs tasks with the context of the thread that submitted them.
+ */
+class AsyncLogWriterTest {
+
+    private final AsyncLogWriter writer = new AsyncLogWriter(true, 16);
+
+    @AfterEach
+    void close() {
+        writer.close();
+        MDC.clear();
+    }
+
+    @Test
+    void taskSeesCallerMdcAndThreadName() throws Exception {
+        CompletableFuture<String> seen = new CompletableFuture<>();
+        MDC.put("requestId", "42");
+
+        writer.submit(() -> seen.complete(MDC.get("requestId") + "@" + Thread.currentThread().getName()));
+
+        assertThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo("42@" + Thread.currentThread().getName());
+    }
+
+    @Test
+    void mdcDoesNotLeakIntoLaterTasks() throws Exception {
+        MDC.put("requestId", "42");
+        writer.submit(() -> { });
+        MDC.clear();
+        CompletableFuture<String> seen = new CompletableFuture<>();
+
+        writer.submit(() -> seen.complete(MDC.get("requestId") + "@" + Thread.currentThread().getName()));
+
+        assertThat(seen.get(5, TimeUnit.SECONDS)).isEqualTo("null@" + Thread.currentThread().getName());
+    }
+}
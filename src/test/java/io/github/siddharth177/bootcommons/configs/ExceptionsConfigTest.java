@@ -0,0 +1,48 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.exceptions.ErrorResponse;
+import io.github.siddharth177.bootcommons.exceptions.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@code bootcommons.exceptions.stackless} is bound per application context.
+ */
+class ExceptionsConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ExceptionsConfig.class))
+            .withBean(GlobalExceptionHandler.class);
+
+    @Test
+    void settingDoesNotLeakBetweenContexts() {
+        runner.withPropertyValues("bootcommons.exceptions.stackless=true").run(stackless ->
+                runner.run(regular -> {
+                    assertThat(stackless.getBean(ExceptionsProperties.class).isStackless()).isTrue();
+                    assertThat(regular.getBean(ExceptionsProperties.class).isStackless()).isFalse();
+                }));
+    }
+
+    @Test
+    void handlerReusesBodiesOnlyWhenStackless() {
+        runner.withPropertyValues("bootcommons.exceptions.stackless=true").run(context -> {
+            GlobalExceptionHandler handler = context.getBean(GlobalExceptionHandler.class);
+            assertThat(handler.handleGlobalException(new IllegalStateException()).getBody())
+                    .isSameAs(handler.handleGlobalException(new IllegalStateException()).getBody());
+        });
+        runner.run(context -> {
+            GlobalExceptionHandler handler = context.getBean(GlobalExceptionHandler.class);
+            assertThat(handler.handleGlobalException(new IllegalStateException()).getBody())
+                    .isNotSameAs(handler.handleGlobalException(new IllegalStateException()).getBody());
+        });
+    }
+
+    @Test
+    void exceptionsKeepStackTraceByDefault() {
+        assertThat(new ErrorResponse(HttpStatus.NOT_FOUND, "missing").getStackTrace()).isNotEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.siddharth177.bootcommons.configs;
+
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives an embedded Tomcat with more concurrent blocking requests than it has worker threads, once
+ * on platform threads and once with {@code bootcommons.virtual-threads.enabled=true}.
+ *
+ * <p>It takes several seconds and compares elapsed times, so it is left out of the default build and
+ * runs with {@code mvn -P load-tests test}.</p>
+ */
+@Tag("load")
+class VirtualThreadsLoadTest {
+
+    private static final int TOMCAT_THREADS = 5;
+    private static final int REQUESTS = 200;
+    private static final long BLOCK_MILLIS = 100;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void virtualThreadsRaiseThroughputOfBlockingRequests() throws Exception {
+        Run platform = run(false);
+        Run virtual = run(true);
+
+        assertThat(platform.virtual()).isFalse();
+        assertThat(virtual.virtual()).isTrue();
+        // The platform pool serves the requests in waves of TOMCAT_THREADS
+        assertThat(platform.elapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(REQUESTS / TOMCAT_THREADS * BLOCK_MILLIS));
+        assertThat(virtual.elapsed()).isLessThan(platform.elapsed().dividedBy(2));
+    }
+
+    private Run run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TestApplication.class)
+                .properties("server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "server.tomcat.threads.min-spare=" + TOMCAT_THREADS,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads,
+                        "bootcommons.virtual-threads.enabled=" + virtualThreads)
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/slow?millis=" + BLOCK_MILLIS);
+            // The first burst opens the connections and warms up the server
+            burst(uri);
+            return burst(uri);
+        }
+    }
+
+    private Run burst(URI uri) {
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(client.sendAsync(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        boolean virtual = true;
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            HttpResponse<String> result = response.join();
+            assertThat(result.statusCode()).isEqualTo(200);
+            virtual &= Boolean.parseBoolean(result.body());
+        }
+        return new Run(Duration.ofNanos(System.nanoTime() - start), virtual);
+    }
+
+    private record Run(Duration elapsed, boolean virtual) {
+    }
+}
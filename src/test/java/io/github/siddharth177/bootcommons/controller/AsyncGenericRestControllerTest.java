@@ -0,0 +1,99 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.testapp.Shelf;
+import io.github.siddharth177.bootcommons.testapp.ShelfRepository;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs {@link AsyncGenericRestController} against an in-memory H2 database without open-in-view.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@AutoConfigureMockMvc
+class AsyncGenericRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ShelfRepository repository;
+
+    @BeforeEach
+    void clearTables() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void lazyCollectionsAreLoadedOnTheExecutor() throws Exception {
+        Shelf saved = repository.save(shelf("Fiction", List.of("classic", "space")));
+
+        perform(get("/async/shelves/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.labels[1]").value("space"));
+        perform(get("/async/shelves"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].labels[0]").value("classic"));
+    }
+
+    @Test
+    void updateReturnsStoredEntity() throws Exception {
+        Shelf saved = repository.save(shelf("Fiction", List.of("classic")));
+
+        perform(put("/async/shelves/{id}", saved.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Novels\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (saved.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.name").value("Novels"))
+                .andExpect(jsonPath("$.labels[0]").value("classic"));
+    }
+
+    @Test
+    void updateWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        Shelf saved = repository.save(shelf("Fiction", List.of()));
+
+        perform(put("/async/shelves/{id}", saved.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + (saved.getVersion() + 1) + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Novels\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void invalidPagingIsBadRequest() throws Exception {
+        perform(get("/async/shelves").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Shelf shelf(String name, List<String> labels) {
+        Shelf shelf = new Shelf();
+        shelf.setName(name);
+        shelf.getLabels().addAll(labels);
+        return shelf;
+    }
+
+    private ResultActions perform(RequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
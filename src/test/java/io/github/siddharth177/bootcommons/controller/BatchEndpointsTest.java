@@ -0,0 +1,133 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the chunked batch endpoints of {@link GenericRestController} against an in-memory H2 database,
+ * with chunks of two entities.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch;DB_CLOSE_DELAY=-1",
+        "bootcommons.jpa.batch-size=2"
+})
+@AutoConfigureMockMvc
+class BatchEndpointsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository repository;
+
+    @BeforeEach
+    void clearTables() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void createAllSavesEveryChunk() throws Exception {
+        mockMvc.perform(post("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"Dune\"},{\"title\":\"Emma\"},{\"title\":\"Ulysses\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].status").value(201))
+                .andExpect(jsonPath("$[2].entity.title").value("Ulysses"))
+                .andExpect(jsonPath("$[2].entity.id").isNumber());
+
+        assertThat(repository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void createAllRejectsExistingIdsWithoutOverwritingThem() throws Exception {
+        Book dune = repository.save(new Book("Dune", "Herbert"));
+
+        mockMvc.perform(post("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + dune.getId() + ",\"version\":" + dune.getVersion()
+                                + ",\"title\":\"Dune\",\"author\":\"Someone else\"},{\"title\":\"Emma\"}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value(409))
+                .andExpect(jsonPath("$[0].id").value(dune.getId()))
+                .andExpect(jsonPath("$[0].error").value("Already exists"))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(201))
+                .andExpect(jsonPath("$[1].entity.version").value(0));
+
+        assertThat(repository.findById(dune.getId()).orElseThrow().getAuthor()).isEqualTo("Herbert");
+        assertThat(repository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void updateAllKeepsCreationAuditAndAcceptsMissingVersion() throws Exception {
+        Book dune = repository.save(new Book("Dune", "Herbert"));
+        Book emma = repository.save(new Book("Emma", "Austen"));
+        LocalDateTime created = repository.findById(dune.getId()).orElseThrow().getCreatedAt();
+
+        mockMvc.perform(put("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + dune.getId() + ",\"title\":\"Dune\",\"author\":\"F. Herbert\"},"
+                                + "{\"id\":" + emma.getId() + ",\"version\":" + emma.getVersion()
+                                + ",\"title\":\"Emma\",\"author\":\"J. Austen\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].entity.version").value(dune.getVersion() + 1))
+                .andExpect(jsonPath("$[0].entity.createdBy").value(TestApplication.AUDITOR))
+                .andExpect(jsonPath("$[0].entity.createdAt").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value(200));
+
+        Book updated = repository.findById(dune.getId()).orElseThrow();
+        assertThat(updated.getAuthor()).isEqualTo("F. Herbert");
+        assertThat(updated.getVersion()).isEqualTo(dune.getVersion() + 1);
+        assertThat(updated.getCreatedBy()).isEqualTo(TestApplication.AUDITOR);
+        assertThat(updated.getCreatedAt()).isEqualTo(created);
+        assertThat(repository.findById(emma.getId()).orElseThrow().getAuthor()).isEqualTo("J. Austen");
+    }
+
+    @Test
+    void staleVersionRollsBackOnlyItsChunkWithoutExposingTheCause() throws Exception {
+        Book dune = repository.save(new Book("Dune", "Herbert"));
+        Book emma = repository.save(new Book("Emma", "Austen"));
+        Book ulysses = repository.save(new Book("Ulysses", "Joyce"));
+
+        mockMvc.perform(put("/books/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"id\":" + dune.getId() + ",\"title\":\"Dune\",\"author\":\"F. Herbert\"},"
+                                + "{\"id\":" + emma.getId() + ",\"version\":" + (emma.getVersion() + 1)
+                                + ",\"title\":\"Emma\",\"author\":\"J. Austen\"},"
+                                + "{\"id\":" + ulysses.getId() + ",\"title\":\"Ulysses\",\"author\":\"J. Joyce\"},"
+                                + "{\"id\":-1,\"title\":\"Missing\"}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value(500))
+                .andExpect(jsonPath("$[0].error").value("Chunk 0 was rolled back"))
+                .andExpect(jsonPath("$[1].status").value(500))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[3].status").value(404))
+                .andExpect(content().string(not(containsString(Book.class.getName()))));
+
+        assertThat(repository.findById(dune.getId()).orElseThrow().getAuthor()).isEqualTo("Herbert");
+        assertThat(repository.findById(emma.getId()).orElseThrow().getAuthor()).isEqualTo("Austen");
+        assertThat(repository.findById(ulysses.getId()).orElseThrow().getAuthor()).isEqualTo("J. Joyce");
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the conditional requests of {@link GenericRestController} against an in-memory H2 database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+@AutoConfigureMockMvc
+class ConditionalRequestsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository repository;
+
+    @BeforeEach
+    void clearTables() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void putWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        mockMvc.perform(put("/books/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (saved.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Dune\",\"author\":\"F. Herbert\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Herbert");
+    }
+
+    @Test
+    void putWithMatchingIfMatchIsApplied() throws Exception {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        mockMvc.perform(put("/books/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + saved.getVersion() + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Dune\",\"author\":\"Frank Herbert\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (saved.getVersion() + 1) + "\""))
+                .andExpect(jsonPath("$.author").value("Frank Herbert"));
+    }
+
+    @Test
+    void patchWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        mockMvc.perform(patch("/books/{id}", saved.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (saved.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"author\":\"F. Herbert\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void listChangesTagButSendsNoLastModified() throws Exception {
+        List<Book> saved = repository.saveAll(List.of(new Book("Dune", "Herbert"), new Book("Emma", "Austen")));
+
+        String etag = mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        repository.delete(saved.get(0));
+
+        mockMvc.perform(get("/books").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import jakarta.persistence.Version;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which attributes {@link EntityTags} derives entity tags from.
+ */
+class EntityTagsTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void jpaVersionIsTheTag() {
+        assertThat(EntityTags.tag(new JpaEntity(3L, "a"), objectMapper)).isEqualTo("3");
+    }
+
+    @Test
+    void springDataVersionIsTheTag() {
+        assertThat(EntityTags.tag(new Document(5L, "a"), objectMapper)).isEqualTo("5");
+        assertThat(EntityTags.tag(new Document(5L, "b"), objectMapper)).isEqualTo("5");
+    }
+
+    @Test
+    void unversionedEntityIsTaggedByItsContent() {
+        String tag = EntityTags.tag(new Unversioned("a"), objectMapper);
+
+        assertThat(tag).hasSize(32).isEqualTo(EntityTags.tag(new Unversioned("a"), objectMapper));
+        assertThat(EntityTags.tag(new Unversioned("b"), objectMapper)).isNotEqualTo(tag);
+    }
+
+    record JpaEntity(@Version Long version, String name) {
+    }
+
+    record Document(@org.springframework.data.annotation.Version Long version, String name) {
+    }
+
+    record Unversioned(String name) {
+    }
+}
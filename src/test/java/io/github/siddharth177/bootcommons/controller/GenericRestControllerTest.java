@@ -0,0 +1,195 @@
+package io.github.siddharth177.bootcommons.controller;
+
+import io.github.siddharth177.bootcommons.exceptions.GlobalExceptionHandler;
+import io.github.siddharth177.bootcommons.services.IBaseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.core.PropertyReferenceException;
+import org.springframework.data.core.TypeInformation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import tools.jackson.databind.PropertyNamingStrategies;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Exercises the list, stream and patch endpoints of {@link GenericRestController} against a mocked service.
+ */
+class GenericRestControllerTest {
+
+    private static final int STREAM_CHUNK_SIZE = 2;
+
+    @SuppressWarnings("unchecked")
+    private final IBaseService<Widget, Long> service = mock(IBaseService.class);
+
+    @Test
+    void unknownSortPropertyIsBadRequest() throws Exception {
+        when(service.findAll(any(Pageable.class))).thenThrow(
+                new PropertyReferenceException("colour", TypeInformation.of(Widget.class), List.of()));
+
+        mvc(new WidgetController(service)).perform(get("/widgets").param("page", "0").param("sort", "colour"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unpagedRequestUsesOverriddenGetAll() throws Exception {
+        WidgetController controller = new WidgetController(service) {
+            @Override
+            @SuppressWarnings("deprecation")
+            public ResponseEntity<List<Widget>> getAll() {
+                return new ResponseEntity<>(List.of(new Widget(7L, "overridden")), HttpStatus.OK);
+            }
+        };
+
+        mvc(controller).perform(get("/widgets"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].name").value("overridden"));
+    }
+
+    @Test
+    void streamWritesOneEntityPerLine() throws Exception {
+        streamWidgets(3);
+        MockMvc mvc = mvc(new WidgetController(service));
+
+        MvcResult started = mvc.perform(get("/widgets/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body).isEqualTo("""
+                {"id":0,"name":"widget-0"}
+                {"id":1,"name":"widget-1"}
+                {"id":2,"name":"widget-2"}
+                """);
+    }
+
+    @Test
+    void streamFlushesEveryChunk() throws Exception {
+        streamWidgets(5);
+        WidgetController controller = configure(new WidgetController(service));
+        List<Integer> flushedAtLines = new ArrayList<>();
+        ByteArrayOutputStream written = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushedAtLines.add((int) toString(StandardCharsets.UTF_8).lines().count());
+            }
+        };
+
+        controller.streamAll().getBody().writeTo(written);
+
+        assertThat(flushedAtLines).containsExactly(STREAM_CHUNK_SIZE, 2 * STREAM_CHUNK_SIZE, 5);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void patchMapsJsonNamesToFields() throws Exception {
+        @SuppressWarnings("unchecked")
+        IBaseService<Gadget, Long> gadgets = mock(IBaseService.class);
+        when(gadgets.patchById(any(), any(), any())).thenReturn(1);
+        GadgetController controller = new GadgetController(gadgets);
+        controller.setObjectMapper(JsonMapper.builder().propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE).build());
+
+        MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(new GlobalExceptionHandler()).build()
+                .perform(patch("/gadgets/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"label\":\"Sprocket\",\"unit_price\":5,\"dimensions\":{\"width_mm\":3}}"))
+                .andExpect(status().isNoContent());
+
+        verify(gadgets).patchById(eq(1L), eq(Map.of("name", "Sprocket", "unitPrice", 5L, "dimensions.widthMm", 3)), any());
+    }
+
+    private void streamWidgets(int count) {
+        doAnswer(invocation -> {
+            Consumer<Widget> action = invocation.getArgument(0);
+            for (long i = 0; i < count; i++) {
+                action.accept(new Widget(i, "widget-" + i));
+            }
+            return null;
+        }).when(service).streamAll(any(Consumer.class));
+    }
+
+    private static MockMvc mvc(GenericRestController<Widget, Long> controller) {
+        return MockMvcBuilders.standaloneSetup(configure(controller)).setControllerAdvice(new GlobalExceptionHandler()).build();
+    }
+
+    private static <C extends GenericRestController<Widget, Long>> C configure(C controller) {
+        controller.setObjectMapper(JsonMapper.builder().build());
+        ReflectionTestUtils.setField(controller, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(controller, "maxPageSize", 100);
+        ReflectionTestUtils.setField(controller, "streamChunkSize", STREAM_CHUNK_SIZE);
+        return controller;
+    }
+
+    record Widget(Long id, String name) {
+    }
+
+    static class Gadget {
+
+        public Long id;
+
+        @JsonProperty("label")
+        public String name;
+
+        public Long unitPrice;
+
+        public Dimensions dimensions;
+    }
+
+    static class Dimensions {
+
+        public Integer widthMm;
+    }
+
+    @RestController
+    @RequestMapping("/gadgets")
+    static class GadgetController extends GenericRestController<Gadget, Long> {
+
+        GadgetController(IBaseService<Gadget, Long> service) {
+            super(service);
+        }
+    }
+
+    @RestController
+    @RequestMapping("/widgets")
+    static class WidgetController extends GenericRestController<Widget, Long> {
+
+        WidgetController(IBaseService<Widget, Long> service) {
+            super(service);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.github.siddharth177.bootcommons.exceptions;
+
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that Spring MVC writes error bodies with {@link ApiErrorHttpMessageConverter}, following the
+ * application's Jackson settings, while entities are still written by Jackson.
+ */
+@SpringBootTest(classes = TestApplication.class, properties = {
+        "spring.jackson.property-naming-strategy=SNAKE_CASE",
+        "spring.datasource.url=jdbc:h2:mem:api-error"
+})
+@AutoConfigureMockMvc
+class ApiErrorHttpMessageConverterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Test
+    void entityIsWrittenByJackson() throws Exception {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        mockMvc.perform(get("/books/{id}", saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Dune"))
+                .andExpect(jsonPath("$.author").value("Herbert"));
+    }
+
+    @Test
+    void errorBodyIsWrittenByConverterWithApplicationSettings() throws Exception {
+        MvcResult result = mockMvc.perform(get("/books").param("page", "0").param("sort", "title,sideways"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status_code").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid sort direction: sideways"))
+                .andExpect(jsonPath("$.timestamp").isNotEmpty())
+                .andReturn();
+
+        // Only the converter knows the length of the body in advance
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH))
+                .isEqualTo(String.valueOf(result.getResponse().getContentAsByteArray().length));
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.siddharth177.bootcommons.exceptions;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.PropertyNamingStrategies;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.cfg.DateTimeFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that {@link ApiErrorWriter} writes the same JSON as the mapper it follows.
+ */
+class ApiErrorWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123_000_000);
+
+    @Test
+    void matchesDefaultMapper() throws IOException {
+        assertWritesLikeMapper(JsonMapper.builder().build());
+    }
+
+    @Test
+    void matchesNamingStrategyAndDateFormat() throws IOException {
+        assertWritesLikeMapper(JsonMapper.builder()
+                .propertyNamingStrategy(PropertyNamingStrategies.KEBAB_CASE)
+                .enable(DateTimeFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @Test
+    void indentedOutputFallsBackToMapper() throws IOException {
+        assertWritesLikeMapper(JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build());
+    }
+
+    private static void assertWritesLikeMapper(ObjectMapper mapper) throws IOException {
+        ApiErrorWriter writer = new ApiErrorWriter(mapper);
+        for (int i = 0; i < 300; i++) {
+            ApiError error = new ApiError(404, "Book \"" + i + "\" not found\n", NOW.plusSeconds(i % 3));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.write(error, out);
+
+            String expected = mapper.writeValueAsString(error);
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+            long length = writer.contentLength(error);
+            assertThat(length == -1 || length == expected.getBytes(StandardCharsets.UTF_8).length).isTrue();
+        }
+        ApiError withoutMessage = new ApiError(500, null, NOW);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(withoutMessage, out);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(mapper.writeValueAsString(withoutMessage));
+    }
+}
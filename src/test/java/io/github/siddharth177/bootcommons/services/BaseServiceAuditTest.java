@@ -0,0 +1,124 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.entities.AuditEntityListener;
+import io.github.siddharth177.bootcommons.services.audit.AuditAction;
+import io.github.siddharth177.bootcommons.services.audit.AuditRecord;
+import io.github.siddharth177.bootcommons.services.audit.AuditTrail;
+import io.github.siddharth177.bootcommons.services.audit.FieldChange;
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.BookService;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the by-ID and bulk writes of {@link BaseService} are recorded by the {@link AuditEntityListener}.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BaseServiceAuditTest {
+
+    private static final String DELETER = "deleter";
+
+    @Autowired
+    private BookService service;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<AuditRecord> records = new CopyOnWriteArrayList<>();
+
+    private AuditTrail trail;
+
+    @BeforeEach
+    void installTrail() {
+        repository.deleteAll();
+        trail = new AuditTrail(records::addAll, 100, 10, Duration.ofMillis(10), Duration.ofSeconds(1));
+        // Deletions are credited to the installed auditor, which differs from the one that fills updatedBy
+        AuditEntityListener.install(trail, () -> Optional.of(DELETER));
+    }
+
+    @AfterEach
+    void uninstallTrail() {
+        AuditEntityListener.uninstall(trail);
+        trail.close();
+    }
+
+    @Test
+    void updatesPatchesAndDeletesAreRecorded() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+        String id = String.valueOf(saved.getId());
+
+        service.updateById(saved.getId(), new Book("Dune", "Frank Herbert"));
+        service.patchById(saved.getId(), Map.of("title", "Dune Messiah"));
+        service.deleteAllById(List.of(saved.getId()));
+        trail.close();
+
+        assertThat(records).extracting(AuditRecord::action)
+                .containsExactly(AuditAction.CREATE, AuditAction.UPDATE, AuditAction.UPDATE, AuditAction.DELETE);
+        assertThat(records).extracting(AuditRecord::entityId).containsOnly(id);
+        assertThat(records.get(1).changes()).containsExactly(new FieldChange("author", "Herbert", "Frank Herbert"));
+        assertThat(records.get(1).changedBy()).isEqualTo(TestApplication.AUDITOR);
+        assertThat(records.get(2).changes()).containsExactly(new FieldChange("title", "Dune", "Dune Messiah"));
+        assertThat(records.get(3).changedBy()).isEqualTo(DELETER);
+    }
+
+    @Test
+    void deletesWithoutAnAuditorAreNotCreditedToTheLastUpdater() {
+        AuditEntityListener.install(trail);
+        Book saved = repository.save(new Book("Emma", "Austen"));
+
+        service.deleteAllById(List.of(saved.getId()));
+        trail.close();
+
+        assertThat(records).extracting(AuditRecord::action).containsExactly(AuditAction.CREATE, AuditAction.DELETE);
+        assertThat(records.get(0).changedBy()).isEqualTo(TestApplication.AUDITOR);
+        assertThat(records.get(1).changedBy()).isNull();
+    }
+
+    @Test
+    void bulkSaveChunksRecordIndependentlyOfTheSurroundingTransaction() {
+        // Flushing first makes the outer transaction collect a record before the chunks run
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            repository.saveAndFlush(new Book("Outer", "Caller"));
+            service.bulkSave(List.of(
+                    new Book("A", "Author"), new Book("B", "Author"),
+                    new Book("C", "Author"), new Book("x".repeat(300), "Too long")), 2);
+        });
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            repository.saveAndFlush(new Book("Rolled back", "Caller"));
+            service.bulkSave(List.of(new Book("D", "Author")), 1);
+            status.setRollbackOnly();
+        });
+        trail.close();
+
+        // The failed chunk is not recorded with the outer transaction, and the committed chunk of the
+        // rolled-back transaction is still recorded
+        assertThat(records).extracting(AuditRecord::action).containsOnly(AuditAction.CREATE);
+        assertThat(records).extracting(BaseServiceAuditTest::title).containsExactlyInAnyOrder("Outer", "A", "B", "D");
+    }
+
+    private static Object title(AuditRecord auditRecord) {
+        return auditRecord.changes().stream()
+                .filter(change -> change.field().equals("title"))
+                .map(FieldChange::newValue)
+                .findFirst()
+                .orElse(null);
+    }
+}
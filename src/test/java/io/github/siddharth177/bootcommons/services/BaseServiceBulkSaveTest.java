@@ -0,0 +1,92 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.BookService;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link BaseService#bulkSave} against an in-memory H2 database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BaseServiceBulkSaveTest {
+
+    @Autowired
+    private BookService service;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void clearTables() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Review").executeUpdate();
+            entityManager.createQuery("delete from Book").executeUpdate();
+        });
+    }
+
+    @Test
+    void failedChunkDoesNotAffectSurroundingTransaction() {
+        TransactionTemplate outer = new TransactionTemplate(transactionManager);
+        outer.executeWithoutResult(status -> {
+            Book own = new Book("Outer", "Caller");
+            entityManager.persist(own);
+
+            BulkWriteResult result = service.bulkSave(List.of(
+                    new Book("A", "Author"), new Book("B", "Author"),
+                    new Book("C", "Author"), new Book("x".repeat(300), "Too long")), 2);
+
+            assertThat(result.getChunks()).extracting(chunk -> chunk.isSuccess()).containsExactly(true, false);
+            assertThat(status.isRollbackOnly()).isFalse();
+            assertThat(entityManager.contains(own)).isTrue();
+        });
+
+        assertThat(repository.findAll()).extracting(Book::getTitle).containsExactlyInAnyOrder("Outer", "A", "B");
+    }
+
+    @Test
+    void mergedEntitiesHoldTheStoredVersion() {
+        Book stored = repository.save(new Book("Dune", "Herbert"));
+        Book changed = new Book("Dune", "Frank Herbert");
+        changed.setId(stored.getId());
+        changed.setVersion(stored.getVersion());
+
+        BulkWriteResult result = service.bulkSave(List.of(changed, new Book("Emma", "Austen")), 2);
+
+        assertThat(result.getFailed()).isZero();
+        assertThat(changed.getVersion()).isEqualTo(stored.getVersion() + 1);
+        assertThat(changed.getCreatedBy()).isEqualTo(TestApplication.AUDITOR);
+        assertThat(changed.getUpdatedAt()).isNotNull();
+        assertThat(repository.findById(stored.getId()).orElseThrow().getAuthor()).isEqualTo("Frank Herbert");
+    }
+
+    @Test
+    void enablesStatementOrdering() {
+        assertThat(entityManagerFactory.getProperties())
+                .containsEntry("hibernate.order_inserts", "true")
+                .containsEntry("hibernate.order_updates", "true");
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.KeysetPage;
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.BookService;
+import io.github.siddharth177.bootcommons.testapp.Publication;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the projected reads of {@link BaseService} against an in-memory H2 database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BaseServiceProjectionTest {
+
+    @Autowired
+    private BookService service;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void clearTables() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Review").executeUpdate();
+            entityManager.createQuery("delete from Book").executeUpdate();
+        });
+    }
+
+    @Test
+    void findByIdSelectsOnlyRequestedFields() {
+        Book book = new Book("Dune", "Herbert");
+        Publication publication = new Publication();
+        publication.setPublisher("Chilton");
+        publication.setPublishedYear(1965);
+        book.setPublication(publication);
+        Book saved = repository.save(book);
+
+        Map<String, Object> row = service.findById(saved.getId(), List.of("publication", " title ")).orElseThrow();
+
+        assertThat(row.keySet()).containsExactly("id", "publication", "title");
+        assertThat(row.get("title")).isEqualTo("Dune");
+        assertThat(row.get("publication")).isInstanceOfSatisfying(Publication.class,
+                value -> assertThat(value.getPublishedYear()).isEqualTo(1965));
+        assertThat(service.findById(saved.getId() + 1, List.of("title"))).isEmpty();
+    }
+
+    @Test
+    void unknownAndAssociationFieldsAreRejected() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        assertThatThrownBy(() -> service.findById(saved.getId(), List.of("title", "colour")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown attribute: colour");
+        assertThatThrownBy(() -> service.findAll(List.of("reviews"), PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("reviews");
+        assertThatThrownBy(() -> service.findAll(List.of("title"), PageRequest.of(0, 10, Sort.by("colour"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown attribute: colour");
+        assertThatThrownBy(() -> service.findAll(List.of("colour"), null, 10, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offsetPageIsProjectedAndSorted() {
+        repository.saveAll(List.of(new Book("Emma", "Austen"), new Book("Dune", "Herbert"), new Book("Ulysses", "Joyce")));
+
+        Page<Map<String, Object>> page = service.findAll(List.of("title"), PageRequest.of(1, 2, Sort.by("title")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).singleElement().satisfies(row -> {
+            assertThat(row).containsOnlyKeys("id", "title");
+            assertThat(row.get("title")).isEqualTo("Ulysses");
+        });
+    }
+
+    @Test
+    void keysetPagesAreProjectedAndFollowTheSortKey() {
+        repository.saveAll(List.of(new Book("A1", "Austen"), new Book("J1", "Joyce"), new Book("A2", "Austen"),
+                new Book("H1", "Herbert"), new Book("A3", "Austen")));
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetPage<Map<String, Object>> page = service.findAll(List.of("title"), cursor, 2, Sort.by(Sort.Order.desc("author")));
+            page.getContent().forEach(row -> {
+                assertThat(row).containsOnlyKeys("id", "title");
+                titles.add((String) row.get("title"));
+            });
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        // Ties on the author are broken by the ID, in the same direction
+        assertThat(titles).containsExactly("J1", "H1", "A3", "A2", "A1");
+    }
+
+    @Test
+    void keysetCursorIsBoundToItsSortKey() {
+        repository.saveAll(List.of(new Book("A1", "Austen"), new Book("J1", "Joyce"), new Book("H1", "Herbert")));
+        String byAuthor = service.findAll(List.of("title"), null, 2, Sort.by("author")).getNextCursor();
+
+        assertThatThrownBy(() -> service.findAll(List.of("title"), byAuthor, 2, Sort.by("title")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("author");
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.testapp.Book;
+import io.github.siddharth177.bootcommons.testapp.BookRepository;
+import io.github.siddharth177.bootcommons.testapp.BookService;
+import io.github.siddharth177.bootcommons.testapp.Review;
+import io.github.siddharth177.bootcommons.testapp.TestApplication;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the by-ID writes of {@link BaseService} against an in-memory H2 database.
+ */
+@SpringBootTest(classes = TestApplication.class)
+class BaseServiceWriteTest {
+
+    @Autowired
+    private BookService service;
+
+    @Autowired
+    private BookRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void clearTables() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("delete from Review").executeUpdate();
+            entityManager.createQuery("delete from Book").executeUpdate();
+        });
+    }
+
+    @Test
+    void updateByIdReturnsStoredStateAndRunsListeners() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+        LocalDateTime createdAt = repository.findById(saved.getId()).orElseThrow().getCreatedAt();
+
+        Book update = new Book("Dune Messiah", "Frank Herbert");
+        Book updated = service.updateById(saved.getId(), update).orElseThrow();
+
+        assertThat(updated.getTitle()).isEqualTo("Dune Messiah");
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(updated.getCreatedAt()).isNotNull().isEqualTo(createdAt);
+        assertThat(updated.getUpdatedAt()).isAfterOrEqualTo(saved.getUpdatedAt());
+        assertThat(updated.getUpdatedBy()).isEqualTo(TestApplication.AUDITOR);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Frank Herbert");
+    }
+
+    @Test
+    void updateByIdRejectsStaleVersion() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+        service.updateById(saved.getId(), new Book("Dune", "Frank Herbert"));
+
+        Book stale = new Book("Dune", "F. Herbert");
+        stale.setVersion(saved.getVersion());
+
+        assertThatThrownBy(() -> service.updateById(saved.getId(), stale))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Frank Herbert");
+    }
+
+    @Test
+    void updateByIdOfMissingEntityIsEmpty() {
+        assertThat(service.updateById(-1L, new Book("Dune", "Herbert"))).isEmpty();
+    }
+
+    @Test
+    void updateByIdChecksPrecondition() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        assertThatThrownBy(() -> service.updateById(saved.getId(), new Book("Dune", "F. Herbert"), current -> false))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(service.updateById(saved.getId(), new Book("Dune", "Frank Herbert"),
+                current -> current.getAuthor().equals("Herbert"))).isPresent();
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Frank Herbert");
+    }
+
+    @Test
+    void updateByIdFailsIfEntityChangesAfterPrecondition() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        assertThatThrownBy(() -> service.updateById(saved.getId(), new Book("Dune", "F. Herbert"), current -> {
+            concurrent.executeWithoutResult(status -> {
+                Book other = repository.findById(saved.getId()).orElseThrow();
+                other.setAuthor("Frank Herbert");
+                repository.save(other);
+            });
+            return true;
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Frank Herbert");
+    }
+
+    @Test
+    void patchByIdChecksPrecondition() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        assertThatThrownBy(() -> service.patchById(saved.getId(), Map.of("author", "F. Herbert"), current -> false))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(repository.findById(saved.getId()).orElseThrow().getAuthor()).isEqualTo("Herbert");
+    }
+
+    @Test
+    void patchByIdChangesManagedEntity() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        int patched = service.patchById(saved.getId(), Map.of("author", "Frank Herbert", "publication.publishedYear", 1965));
+
+        Book stored = repository.findById(saved.getId()).orElseThrow();
+        assertThat(patched).isEqualTo(1);
+        assertThat(stored.getTitle()).isEqualTo("Dune");
+        assertThat(stored.getAuthor()).isEqualTo("Frank Herbert");
+        assertThat(stored.getPublication().getPublishedYear()).isEqualTo(1965);
+        assertThat(stored.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThat(stored.getUpdatedBy()).isEqualTo(TestApplication.AUDITOR);
+    }
+
+    @Test
+    void patchByIdRejectsReadOnlyAttributes() {
+        Book saved = repository.save(new Book("Dune", "Herbert"));
+
+        assertThatThrownBy(() -> service.patchById(saved.getId(), Map.of("version", 7L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.patchById(saved.getId(), Map.of("title.length", 3)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.patchById(-1L, Map.of("title", "Emma"))).isZero();
+    }
+
+    @Test
+    void deletesCascade() {
+        Book first = bookWithReview("Dune");
+        Book second = bookWithReview("Emma");
+        Book third = bookWithReview("Ulysses");
+
+        assertThat(service.deleteByIdIfPresent(first.getId())).isEqualTo(1);
+        assertThat(service.deleteByIdIfPresent(first.getId())).isZero();
+        assertThat(service.deleteAllById(List.of(second.getId(), third.getId(), -1L)))
+                .isEqualTo(Set.of(second.getId(), third.getId()));
+
+        assertThat(repository.count()).isZero();
+        assertThat(entityManager.getEntityManagerFactory().createEntityManager()
+                .createQuery("select count(r) from Review r", Long.class).getSingleResult()).isZero();
+    }
+
+    private Book bookWithReview(String title) {
+        Book book = new Book(title, "Author");
+        book.getReviews().add(new Review(book, "Good"));
+        return repository.save(book);
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.siddharth177.bootcommons.services;
+
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import io.github.siddharth177.bootcommons.services.cache.BoundedCacheService;
+import io.github.siddharth177.bootcommons.services.cache.CacheSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that {@link CachingBaseService} reads through its cache and evicts on every write.
+ */
+class CachingBaseServiceTest {
+
+    @SuppressWarnings("unchecked")
+    private final IBaseService<Widget, Long> delegate = mock(IBaseService.class);
+    private final BoundedCacheService<Long, Widget> cache =
+            new BoundedCacheService<>(CacheSpec.<Long, Widget>builder().maximumSize(100).build());
+    private final CachingBaseService<Widget, Long> service = new CachingBaseService<>(delegate, cache);
+
+    @BeforeEach
+    void stubIds() {
+        when(delegate.getId(any())).thenAnswer(invocation -> invocation.<Widget>getArgument(0).id());
+    }
+
+    @Test
+    void findByIdReadsThroughOnce() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(new Widget(1L, "stored")));
+
+        assertThat(service.findById(1L)).contains(new Widget(1L, "stored"));
+        assertThat(service.findById(1L)).contains(new Widget(1L, "stored"));
+        assertThat(service.existsById(1L)).isTrue();
+
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void missingEntitiesAreNotCached() {
+        when(delegate.findById(1L)).thenReturn(Optional.empty());
+
+        assertThat(service.findById(1L)).isEmpty();
+        assertThat(service.existsById(1L)).isFalse();
+
+        verify(delegate, times(2)).findById(1L);
+        assertThat(cache.contains(1L)).isFalse();
+    }
+
+    @Test
+    void findAllByIdLoadsOnlyMissesInOneBatch() {
+        cache.save(1L, new Widget(1L, "cached"));
+        when(delegate.findAllById(anyIterable())).thenReturn(List.of(new Widget(3L, "three"), new Widget(2L, "two")));
+
+        List<Widget> found = service.findAllById(List.of(3L, 1L, 2L, 4L));
+
+        assertThat(found).extracting(Widget::name).containsExactly("three", "cached", "two");
+        verify(delegate).findAllById(Set.of(2L, 3L, 4L));
+        assertThat(service.findAllById(List.of(2L, 3L))).hasSize(2);
+        verify(delegate, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void saveWritesThrough() {
+        when(delegate.save(any())).thenReturn(new Widget(1L, "saved"));
+
+        service.save(new Widget(null, "saved"));
+
+        assertThat(cache.get(1L)).isEqualTo(new Widget(1L, "saved"));
+    }
+
+    @Test
+    void singleWritesEvict() {
+        Widget widget = new Widget(1L, "new");
+        assertEvicts(() -> service.updateById(1L, widget));
+        assertEvicts(() -> service.updateById(1L, widget, current -> true));
+        assertEvicts(() -> service.patchById(1L, Map.of("name", "new")));
+        assertEvicts(() -> service.patchById(1L, Map.of("name", "new"), current -> true));
+        assertEvicts(() -> service.deleteById(1L));
+        assertEvicts(() -> service.deleteByIdIfPresent(1L));
+        assertEvicts(() -> service.deleteAllById(List.of(1L)));
+        assertEvicts(() -> service.delete(widget));
+        assertEvicts(() -> service.deleteAll(List.of(widget)));
+        assertEvicts(service::deleteAll);
+    }
+
+    @Test
+    void failedWriteStillEvicts() {
+        when(delegate.updateById(any(), any())).thenThrow(new IllegalStateException("failed"));
+        cache.save(1L, new Widget(1L, "old"));
+
+        assertThatThrownBy(() -> service.updateById(1L, new Widget(1L, "new"))).hasMessage("failed");
+        assertThat(cache.contains(1L)).isFalse();
+    }
+
+    @Test
+    void bulkWritesEvictEntriesCachedWhileWriting() {
+        List<Widget> widgets = List.of(new Widget(1L, "new"), new Widget(2L, "new"));
+        assertBulkEvicts(widgets, () -> service.bulkSave(widgets), write -> when(delegate.bulkSave(anyIterable())).thenAnswer(
+                invocation -> write.apply(invocation.getArgument(0))));
+        assertBulkEvicts(widgets, () -> service.bulkSave(widgets, 1), write -> when(delegate.bulkSave(anyIterable(), anyInt())).thenAnswer(
+                invocation -> write.apply(invocation.getArgument(0))));
+        assertBulkEvicts(widgets, () -> service.bulkUpdate(widgets), write -> when(delegate.bulkUpdate(anyIterable())).thenAnswer(
+                invocation -> write.apply(invocation.getArgument(0))));
+        assertBulkEvicts(widgets, () -> service.bulkUpdate(widgets, 1), write -> when(delegate.bulkUpdate(anyIterable(), anyInt())).thenAnswer(
+                invocation -> write.apply(invocation.getArgument(0))));
+    }
+
+    @Test
+    void bulkWritesHandTheInputToTheDelegateOneChunkAtATime() {
+        List<Widget> widgets = List.of(new Widget(1L, "a"), new Widget(2L, "b"), new Widget(3L, "c"));
+        List<List<Long>> calls = new ArrayList<>();
+        when(delegate.bulkSave(anyIterable(), anyInt())).thenAnswer(invocation -> {
+            List<Long> ids = new ArrayList<>();
+            invocation.<Iterable<Widget>>getArgument(0).forEach(widget -> ids.add(widget.id()));
+            calls.add(ids);
+            // In the second call, the entry cached during the first is already evicted, before the whole write returns
+            assertThat(cache.contains(1L)).isFalse();
+            cache.save(ids.get(0), new Widget(ids.get(0), "old"));
+            return new BulkWriteResult(List.of(new ChunkResult(0, 0, ids.size(), !ids.contains(3L), null)));
+        });
+
+        BulkWriteResult result = service.bulkSave(widgets, 2);
+
+        assertThat(calls).containsExactly(List.of(1L, 2L), List.of(3L));
+        assertThat(result.getChunks()).extracting(ChunkResult::getChunk).containsExactly(0, 1);
+        assertThat(result.getChunks()).extracting(ChunkResult::getOffset).containsExactly(0L, 2L);
+        assertThat(result.getSaved()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(cache.contains(1L)).isFalse();
+        assertThat(cache.contains(3L)).isFalse();
+    }
+
+    @Test
+    void bulkWritesInsideATransactionEvictAgainWhenItCompletes() {
+        List<Widget> widgets = List.of(new Widget(1L, "new"));
+        when(delegate.bulkSave(anyIterable(), anyInt())).thenReturn(new BulkWriteResult(List.of()));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.bulkSave(widgets, 1);
+            // A read before the outer transaction completes caches the state it may still roll back
+            cache.save(1L, new Widget(1L, "uncommitted"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.contains(1L)).isFalse();
+    }
+
+    private void assertEvicts(Runnable write) {
+        cache.save(1L, new Widget(1L, "old"));
+        write.run();
+        assertThat(cache.contains(1L)).as("evicted").isFalse();
+    }
+
+    /**
+     * Stubs a bulk write that, for each entity, checks that it was evicted before being written and
+     * then lets a concurrent reader cache the old state, as if the chunk had not committed yet.
+     */
+    private void assertBulkEvicts(List<Widget> widgets, Runnable bulkWrite, Consumer<BulkWrite> stub) {
+        widgets.forEach(widget -> cache.save(widget.id(), new Widget(widget.id(), "old")));
+        stub.accept(input -> {
+            for (Widget widget : input) {
+                assertThat(cache.contains(widget.id())).as("evicted before the write").isFalse();
+                cache.save(widget.id(), new Widget(widget.id(), "old"));
+            }
+            return new BulkWriteResult(List.of());
+        });
+
+        bulkWrite.run();
+
+        widgets.forEach(widget -> assertThat(cache.contains(widget.id())).as("evicted after the write").isFalse());
+    }
+
+    interface BulkWrite {
+
+        BulkWriteResult apply(Iterable<Widget> input);
+    }
+
+    record Widget(Long id, String name) {
+    }
+}
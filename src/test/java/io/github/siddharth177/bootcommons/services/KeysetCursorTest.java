@@ -0,0 +1,82 @@
+package io.github.siddharth177.bootcommons.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the values of a {@link KeysetCursor} convert back to exactly the values it was created from.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void datesKeepTheirMilliseconds() {
+        assertRoundTrip(new Date(1_700_000_000_123L), Date.class);
+        assertRoundTrip(new java.sql.Date(1_700_000_000_123L), java.sql.Date.class);
+    }
+
+    @Test
+    void timestampsKeepTheirNanoseconds() {
+        Timestamp timestamp = new Timestamp(1_700_000_000_123L);
+        timestamp.setNanos(123_456_789);
+
+        assertRoundTrip(timestamp, Timestamp.class);
+        // Hibernate loads java.util.Date attributes of TIMESTAMP columns as Timestamps
+        assertThat(roundTrip(timestamp, Date.class)).isEqualTo(timestamp);
+    }
+
+    @Test
+    void enumsAreKeptByName() {
+        assertRoundTrip(Shelf.TOP, Shelf.class);
+        assertRoundTrip(Shelf.BOTTOM, Shelf.class);
+    }
+
+    @Test
+    void javaTimeValuesKeepTheirPrecision() {
+        assertRoundTrip(Instant.ofEpochSecond(1_700_000_000L, 123_456_789), Instant.class);
+        assertRoundTrip(LocalDateTime.of(2023, 11, 14, 22, 13, 20, 123_456_789), LocalDateTime.class);
+        assertRoundTrip(OffsetDateTime.of(2023, 11, 14, 22, 13, 20, 123_000_000, ZoneOffset.ofHours(2)), OffsetDateTime.class);
+        assertRoundTrip(LocalDate.of(2023, 11, 14), LocalDate.class);
+    }
+
+    @Test
+    void otherValuesGoThroughTheConversionService() {
+        assertRoundTrip(42L, Long.class);
+        assertRoundTrip(UUID.fromString("1b4e28ba-2fa1-11d2-883f-0016d3cca427"), UUID.class);
+        assertRoundTrip("title, with: punctuation", String.class);
+    }
+
+    private static void assertRoundTrip(Object value, Class<?> type) {
+        assertThat(roundTrip(value, type)).isEqualTo(value);
+    }
+
+    private static Object roundTrip(Object value, Class<?> type) {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of("key", value, 1L).encode());
+        assertThat(KeysetCursor.convert(cursor.id(), Long.class)).isEqualTo(1L);
+        return KeysetCursor.convert(cursor.key(), type);
+    }
+
+    enum Shelf {
+        TOP {
+            @Override
+            public String toString() {
+                return "Top shelf";
+            }
+        },
+        BOTTOM;
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.siddharth177.bootcommons.services;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.github.siddharth177.bootcommons.models.BulkWriteResult;
+import io.github.siddharth177.bootcommons.models.ChunkResult;
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the writes of {@link MongoBaseService} against an in-memory MongoDB server.
+ */
+class MongoBaseServiceTest {
+
+    private static MongoServer server;
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+
+    private final NoteService service = new NoteService(mongoTemplate);
+
+    @BeforeAll
+    static void startServer() {
+        server = new MongoServer(new MemoryBackend());
+        InetSocketAddress address = server.bind();
+        client = MongoClients.create("mongodb://" + address.getHostString() + ":" + address.getPort());
+        mongoTemplate = new MongoTemplate(client, "bootcommons");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        client.close();
+        server.shutdown();
+    }
+
+    @BeforeEach
+    void clearCollection() {
+        mongoTemplate.dropCollection(Note.class);
+    }
+
+    @Test
+    void saveAllInsertsAndReplacesWithVersions() {
+        List<Note> saved = service.saveAll(List.of(note("Dune"), note("Emma")));
+
+        assertThat(saved).allSatisfy(note -> {
+            assertThat(note.getId()).isNotNull();
+            assertThat(note.getVersion()).isZero();
+        });
+
+        Note dune = saved.get(0);
+        dune.setTitle("Dune Messiah");
+        service.saveAll(List.of(dune));
+
+        assertThat(dune.getVersion()).isEqualTo(1);
+        Note stored = service.findById(dune.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Dune Messiah");
+        assertThat(stored.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void saveAllRejectsStaleVersions() {
+        Note saved = service.save(note("Dune"));
+        Note first = service.findById(saved.getId()).orElseThrow();
+        Note second = service.findById(saved.getId()).orElseThrow();
+        first.setTitle("Dune Messiah");
+        service.saveAll(List.of(first));
+
+        second.setTitle("Children of Dune");
+        Note emma = note("Emma");
+        assertThatThrownBy(() -> service.saveAll(List.of(second, emma)))
+                .isInstanceOf(OptimisticLockingFailureException.class)
+                .hasMessageContaining(saved.getId());
+
+        assertThat(second.getVersion()).isZero();
+        assertThat(service.findById(saved.getId()).orElseThrow().getTitle()).isEqualTo("Dune Messiah");
+        assertThat(service.findById(emma.getId())).isPresent();
+    }
+
+    @Test
+    void bulkSaveReportsChunkWithStaleVersion() {
+        Note saved = service.save(note("Dune"));
+        Note stale = service.findById(saved.getId()).orElseThrow();
+        Note current = service.findById(saved.getId()).orElseThrow();
+        current.setTitle("Dune Messiah");
+        service.save(current);
+        stale.setTitle("Children of Dune");
+
+        BulkWriteResult result = service.bulkSave(List.of(note("Emma"), stale), 1);
+
+        assertThat(result.getChunks()).extracting(ChunkResult::isSuccess).containsExactly(true, false);
+    }
+
+    @Test
+    void updateByIdChecksVersion() {
+        Note saved = service.save(note("Dune"));
+        Note update = note("Dune Messiah");
+        update.setVersion(saved.getVersion());
+
+        Note updated = service.updateById(saved.getId(), update).orElseThrow();
+
+        assertThat(updated.getTitle()).isEqualTo("Dune Messiah");
+        assertThat(updated.getVersion()).isEqualTo(saved.getVersion() + 1);
+        assertThatThrownBy(() -> service.updateById(saved.getId(), update))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(service.updateById("missing", note("Emma"))).isEmpty();
+    }
+
+    @Test
+    void patchByIdChecksPrecondition() {
+        Note saved = service.save(note("Dune"));
+
+        assertThatThrownBy(() -> service.patchById(saved.getId(), Map.of("title", "Emma"), current -> false))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(service.patchById(saved.getId(), Map.of("title", "Dune Messiah"),
+                current -> current.getTitle().equals("Dune"))).isEqualTo(1);
+
+        Note stored = service.findById(saved.getId()).orElseThrow();
+        assertThat(stored.getTitle()).isEqualTo("Dune Messiah");
+        assertThat(stored.getVersion()).isEqualTo(saved.getVersion() + 1);
+    }
+
+    @Test
+    void deleteAllByIdReturnsDeletedIds() {
+        List<Note> saved = service.saveAll(List.of(note("Dune"), note("Emma")));
+
+        Set<String> deleted = service.deleteAllById(List.of(saved.get(0).getId(), "missing"));
+
+        assertThat(deleted).containsExactly(saved.get(0).getId());
+        assertThat(service.count()).isEqualTo(1);
+    }
+
+    private static Note note(String title) {
+        Note note = new Note();
+        note.setTitle(title);
+        return note;
+    }
+
+    @Getter
+    @Setter
+    public static class Note {
+
+        @Id
+        private String id;
+
+        @Version
+        private Long version;
+
+        private String title;
+    }
+
+    static class NoteService extends MongoBaseService<Note, String> {
+
+        NoteService(MongoTemplate mongoTemplate) {
+            super(mongoTemplate);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Exercises {@link BoundedCacheService} against a manual clock and a manual executor, and its
+ * eviction policy and segments under concurrent use.
+ */
+class BoundedCacheServiceTest {
+
+    private final AtomicLong ticker = new AtomicLong();
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    @Test
+    void entryExpiresAfterWrite() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .expireAfterWrite(Duration.ofSeconds(10)));
+        cache.save("key", "value");
+
+        advance(Duration.ofSeconds(9));
+        assertThat(cache.get("key")).isEqualTo("value");
+        advance(Duration.ofSeconds(1));
+        assertThat(cache.get("key")).isNull();
+        assertThat(cache.contains("key")).isFalse();
+    }
+
+    @Test
+    void entryExpiresAfterAccess() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .expireAfterAccess(Duration.ofSeconds(10)));
+        cache.save("key", "value");
+
+        for (int i = 0; i < 5; i++) {
+            advance(Duration.ofSeconds(8));
+            assertThat(cache.get("key")).isEqualTo("value");
+        }
+        advance(Duration.ofSeconds(10));
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void perEntryTtlOverridesExpireAfterWrite() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .expireAfterWrite(Duration.ofMinutes(10)));
+        cache.save("short", "value", Duration.ofSeconds(5));
+        cache.save("long", "value");
+
+        advance(Duration.ofSeconds(5));
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isEqualTo("value");
+    }
+
+    @Test
+    void timerWheelReclaimsExpiredEntriesWithoutReadingThem() {
+        BoundedCacheService<Integer, String> cache = cache(CacheSpec.<Integer, String>builder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofSeconds(30)));
+        for (int i = 0; i < 100; i++) {
+            cache.save(i, "value");
+        }
+        // Beyond one rotation of the wheel, to check that far deadlines are not reclaimed early
+        cache.save(1_000, "later", Duration.ofMinutes(10));
+        assertThat(cache.size()).isEqualTo(101);
+
+        advance(Duration.ofSeconds(40));
+        cache.cleanUp();
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.stats().evictionCount()).isEqualTo(100);
+        advance(Duration.ofMinutes(10));
+        cache.cleanUp();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void entriesWithoutExpiryNeverExpireWhenClockIsNegative() {
+        ticker.set(Long.MIN_VALUE / 2);
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .expireAfterAccess(Duration.ofSeconds(10)));
+        BoundedCacheService<String, String> unbounded = cache(CacheSpec.builder());
+        cache.save("ttl", "value", Duration.ofSeconds(1));
+        unbounded.save("key", "value");
+
+        advance(Duration.ofHours(1));
+        cache.cleanUp();
+        unbounded.cleanUp();
+
+        assertThat(unbounded.get("key")).isEqualTo("value");
+        assertThat(unbounded.contains("key")).isTrue();
+        assertThat(cache.get("ttl")).isNull();
+    }
+
+    @Test
+    void refreshAheadReloadsInBackground() {
+        AtomicLong loads = new AtomicLong();
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .refreshAfterWrite(Duration.ofSeconds(10), key -> key + "-" + loads.incrementAndGet()));
+        cache.save("key", "initial");
+
+        advance(Duration.ofSeconds(5));
+        assertThat(cache.get("key")).isEqualTo("initial");
+        assertThat(refreshes).isEmpty();
+
+        advance(Duration.ofSeconds(5));
+        assertThat(cache.get("key")).isEqualTo("initial");
+        assertThat(cache.get("key")).isEqualTo("initial");
+        assertThat(refreshes).hasSize(1);
+        runRefreshes();
+
+        assertThat(cache.get("key")).isEqualTo("key-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void refreshDoesNotOverwriteSaveMadeWhileLoading() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .refreshAfterWrite(Duration.ofSeconds(10), key -> "stale"));
+        cache.save("key", "initial");
+        advance(Duration.ofSeconds(10));
+        cache.get("key");
+
+        cache.save("key", "fresh");
+        runRefreshes();
+
+        assertThat(cache.get("key")).isEqualTo("fresh");
+    }
+
+    @Test
+    void refreshDoesNotResurrectRemovedEntry() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .refreshAfterWrite(Duration.ofSeconds(10), key -> "reloaded"));
+        cache.save("key", "initial");
+        advance(Duration.ofSeconds(10));
+        cache.get("key");
+
+        cache.remove("key");
+        runRefreshes();
+
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void fullCacheEvictsLeastRecentlyUsedEntriesOnProbation() {
+        BoundedCacheService<Integer, String> cache = cache(CacheSpec.<Integer, String>builder()
+                .maximumSize(10)
+                .concurrencyLevel(1));
+        for (int i = 0; i < 10; i++) {
+            cache.save(i, "value");
+        }
+        cache.get(0);
+
+        for (int i = 10; i < 15; i++) {
+            cache.save(i, "value");
+        }
+
+        assertThat(cache.size()).isEqualTo(10);
+        assertThat(cache.stats().evictionCount()).isEqualTo(5);
+        assertThat(IntStream.rangeClosed(1, 5)).noneMatch(cache::contains);
+        assertThat(IntStream.of(0, 6, 9, 14)).allMatch(cache::contains);
+    }
+
+    @Test
+    void entriesReadOnProbationSurviveAScan() {
+        BoundedCacheService<Integer, String> cache = cache(CacheSpec.<Integer, String>builder()
+                .maximumSize(10)
+                .concurrencyLevel(1));
+        for (int i = 0; i < 4; i++) {
+            cache.save(i, "hot");
+            cache.get(i);
+        }
+
+        for (int i = 100; i < 200; i++) {
+            cache.save(i, "scan");
+        }
+
+        assertThat(IntStream.range(0, 4)).allMatch(cache::contains);
+        assertThat(cache.size()).isEqualTo(10);
+    }
+
+    @Test
+    void protectedOverflowIsDemotedToProbation() {
+        BoundedCacheService<Integer, String> cache = cache(CacheSpec.<Integer, String>builder()
+                .maximumSize(10)
+                .concurrencyLevel(1));
+        for (int i = 0; i < 10; i++) {
+            cache.save(i, "value");
+        }
+        // Promotes all ten; the protected queue holds eight, so 0 and then 1 are demoted
+        for (int i = 0; i < 10; i++) {
+            cache.get(i);
+        }
+
+        cache.save(10, "value");
+        assertThat(cache.contains(0)).isFalse();
+        assertThat(cache.contains(1)).isTrue();
+        cache.save(11, "value");
+        assertThat(cache.contains(1)).isFalse();
+        assertThat(IntStream.rangeClosed(2, 11)).allMatch(cache::contains);
+    }
+
+    @Test
+    void concurrentWritersAndReadersStayWithinTheBound() throws Exception {
+        BoundedCacheService<Integer, Integer> cache = new BoundedCacheService<>(CacheSpec.<Integer, Integer>builder()
+                .maximumSize(1_000)
+                .concurrencyLevel(8)
+                .build());
+        int threads = 8;
+        int keysPerThread = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> mismatches = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                int first = t * keysPerThread;
+                mismatches.add(executor.submit(() -> {
+                    start.await();
+                    int wrong = 0;
+                    for (int key = first; key < first + keysPerThread; key++) {
+                        cache.save(key, -key);
+                        // Writers in the same segment may have evicted it already
+                        Integer value = cache.get(key);
+                        if (value != null && value != -key) {
+                            wrong++;
+                        }
+                    }
+                    return wrong;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> wrong : mismatches) {
+                assertThat(wrong.get(30, TimeUnit.SECONDS)).isZero();
+            }
+        }
+
+        long total = (long) threads * keysPerThread;
+        assertThat(cache.size()).isLessThanOrEqualTo(1_000).isEqualTo(cache.weight());
+        assertThat(cache.stats().evictionCount()).isEqualTo(total - cache.size());
+        assertThat(IntStream.range(0, (int) total).filter(cache::contains))
+                .hasSize((int) cache.size())
+                .allMatch(key -> cache.get(key) == -key);
+    }
+
+    @Test
+    void statsCountAKnownSequence() {
+        BoundedCacheService<String, String> cache = cache(CacheSpec.<String, String>builder()
+                .maximumSize(10)
+                .concurrencyLevel(1));
+        cache.save("a", "value");
+        cache.get("a");
+        cache.get("b");
+        cache.getOrLoad("c", key -> {
+            spin(Duration.ofMillis(5));
+            return "loaded";
+        });
+        cache.getOrLoad("c", key -> "unused");
+        cache.getOrLoad("d", key -> null);
+        assertThatThrownBy(() -> cache.getOrLoad("e", key -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        cache.getAllOrLoad(List.of("a", "f", "g"), keys -> Map.of("f", "loaded"));
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(3);
+        assertThat(stats.missCount()).isEqualTo(6);
+        assertThat(stats.loadSuccessCount()).isEqualTo(3);
+        assertThat(stats.loadFailureCount()).isEqualTo(1);
+        assertThat(stats.totalLoadTime()).isGreaterThanOrEqualTo(Duration.ofMillis(5).toNanos());
+        assertThat(stats.evictionCount()).isZero();
+        assertThat(stats.size()).isEqualTo(3);
+        assertThat(stats.weight()).isEqualTo(3);
+        assertThat(stats.hitRate()).isEqualTo(3.0 / 9);
+
+        for (int i = 0; i < 10; i++) {
+            cache.save("fill-" + i, "value");
+        }
+        cache.save("ttl", "value", Duration.ofSeconds(1));
+        advance(Duration.ofSeconds(1));
+        cache.get("ttl");
+
+        stats = cache.stats();
+        assertThat(stats.evictionCount()).isEqualTo(5);
+        assertThat(stats.missCount()).isEqualTo(7);
+        assertThat(stats.size()).isEqualTo(9);
+    }
+
+    private <K, V> BoundedCacheService<K, V> cache(CacheSpec.Builder<K, V> spec) {
+        return new BoundedCacheService<>(spec.executor(refreshes::add).build(), ticker::get);
+    }
+
+    private void advance(Duration duration) {
+        ticker.addAndGet(duration.toNanos());
+    }
+
+    private static void spin(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() - until < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void runRefreshes() {
+        for (Runnable refresh = refreshes.poll(); refresh != null; refresh = refreshes.poll()) {
+            refresh.run();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatagramInvalidationBusTest {
+
+    private static final byte[] SECRET = "0123456789abcdef-secret".getBytes(StandardCharsets.UTF_8);
+
+    private final List<AutoCloseable> closeables = new ArrayList<>();
+
+    @AfterEach
+    void close() throws Exception {
+        for (AutoCloseable closeable : closeables) {
+            closeable.close();
+        }
+    }
+
+    @Test
+    void deliversSignedEventsBetweenPeers() throws Exception {
+        InetSocketAddress first = freeAddress();
+        InetSocketAddress second = freeAddress();
+        DatagramInvalidationBus sender = bus(first, second, SECRET);
+        BlockingQueue<InvalidationEvent> received = listen(bus(second, first, SECRET));
+
+        byte[] key = new SimpleKeySerializer<UUID>().serialize(UUID.randomUUID());
+        sender.publish(new InvalidationEvent("node-1", "cache", key));
+
+        InvalidationEvent event = received.poll(5, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.sourceId()).isEqualTo("node-1");
+        assertThat(event.key()).isEqualTo(key);
+    }
+
+    @Test
+    void dropsEventsSignedWithAnotherSecret() throws Exception {
+        InetSocketAddress first = freeAddress();
+        InetSocketAddress second = freeAddress();
+        DatagramInvalidationBus sender = bus(first, second, "another-secret-of-16-bytes".getBytes(StandardCharsets.UTF_8));
+        BlockingQueue<InvalidationEvent> received = listen(bus(second, first, SECRET));
+
+        sender.publish(new InvalidationEvent("node-1", "cache", null));
+
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void dropsEventsFromUnknownAddresses() throws Exception {
+        InetSocketAddress first = freeAddress();
+        InetSocketAddress second = freeAddress();
+        InetSocketAddress stranger = freeAddress();
+        DatagramInvalidationBus sender = bus(stranger, second, SECRET);
+        BlockingQueue<InvalidationEvent> received = listen(bus(second, first, SECRET));
+
+        sender.publish(new InvalidationEvent("node-1", "cache", null));
+
+        assertThat(received.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void rejectsShortSecrets() {
+        assertThatThrownBy(() -> new DatagramInvalidationBus(freeAddress(), List.of(), new byte[8]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DatagramInvalidationBus bus(InetSocketAddress bind, InetSocketAddress peer, byte[] secret) {
+        DatagramInvalidationBus bus = new DatagramInvalidationBus(bind, List.of(peer), secret);
+        closeables.add(bus);
+        return bus;
+    }
+
+    private static BlockingQueue<InvalidationEvent> listen(InvalidationBus bus) {
+        BlockingQueue<InvalidationEvent> received = new LinkedBlockingQueue<>();
+        bus.subscribe(received::add);
+        return received;
+    }
+
+    private static InetSocketAddress freeAddress() throws IOException {
+        try (DatagramSocket socket = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks slab recycling, expiry and recovery from a backing file of {@link OffHeapCacheService}.
+ */
+class OffHeapCacheServiceTest {
+
+    private static final int SLAB_SIZE = 4096;
+    private static final String VALUE = "x".repeat(100);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void fullCacheRecyclesOldestSlab() {
+        OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().build());
+        int entries = 200;
+        for (int i = 0; i < entries; i++) {
+            cache.save("key-" + i, VALUE + i);
+        }
+
+        assertThat(cache.size()).isLessThan(entries);
+        assertThat(cache.usedBytes()).isLessThanOrEqualTo(2L * SLAB_SIZE);
+        assertThat(cache.stats().evictionCount()).isEqualTo(entries - cache.size());
+        assertThat(cache.get("key-0")).isNull();
+        assertThat(cache.get("key-" + (entries - 1))).isEqualTo(VALUE + (entries - 1));
+    }
+
+    @Test
+    void entriesExpire() throws InterruptedException {
+        OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec()
+                .expireAfterWrite(Duration.ofMillis(50))
+                .build());
+        cache.save("default", VALUE);
+        cache.save("short", VALUE, Duration.ofMillis(1));
+        Thread.sleep(10);
+
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.contains("short")).isFalse();
+        assertThat(cache.get("default")).isEqualTo(VALUE);
+
+        Thread.sleep(60);
+        assertThat(cache.get("default")).isNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void persistedEntriesAreRecovered() {
+        Path file = directory.resolve("cache.bin");
+        try (OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().persistTo(file).build())) {
+            cache.save("kept", VALUE);
+            cache.save("overwritten", "old");
+            cache.save("overwritten", "new");
+            cache.save("removed", VALUE);
+            cache.remove("removed");
+        }
+
+        try (OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().persistTo(file).build())) {
+            assertThat(cache.size()).isEqualTo(2);
+            assertThat(cache.get("kept")).isEqualTo(VALUE);
+            assertThat(cache.get("overwritten")).isEqualTo("new");
+            assertThat(cache.get("removed")).isNull();
+
+            cache.save("added", VALUE);
+            assertThat(cache.get("added")).isEqualTo(VALUE);
+        }
+    }
+
+    @Test
+    void corruptFileIsDiscarded() throws IOException {
+        Path file = directory.resolve("cache.bin");
+        try (OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().persistTo(file).build())) {
+            cache.save("first", VALUE);
+            cache.save("second", VALUE);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // The key length of the first record in the first slab, just past the slab header
+            channel.write(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE - 8), 16);
+        }
+
+        try (OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().persistTo(file).build())) {
+            assertThat(cache.size()).isZero();
+            assertThat(cache.get("second")).isNull();
+            cache.save("fresh", VALUE);
+        }
+        try (OffHeapCacheService<String, String> cache = new OffHeapCacheService<>(spec().persistTo(file).build())) {
+            assertThat(cache.size()).isEqualTo(1);
+            assertThat(cache.get("fresh")).isEqualTo(VALUE);
+        }
+    }
+
+    private static OffHeapCacheSpec.Builder<String, String> spec() {
+        return OffHeapCacheSpec.<String, String>builder()
+                .capacity(2L * SLAB_SIZE)
+                .slabSize(SLAB_SIZE)
+                .keySerializer(new SimpleKeySerializer<>());
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that {@link SingleFlight} shares in-flight loads between callers, through the caches that use it.
+ */
+class SingleFlightTest {
+
+    private final BoundedCacheService<String, String> cache =
+            new BoundedCacheService<>(CacheSpec.<String, String>builder().maximumSize(100).build());
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<String, String> loader = key -> {
+            loads.incrementAndGet();
+            await(release);
+            return "loaded-" + key;
+        };
+
+        List<Thread> callers = new ArrayList<>();
+        List<String> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(Thread.ofPlatform().start(() -> results.add(cache.getOrLoad("key", loader))));
+        }
+        awaitBlocked(callers);
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(8).containsOnly("loaded-key");
+        assertThat(cache.get("key")).isEqualTo("loaded-key");
+        assertThat(cache.stats().loadSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void batchLoadsOnlyMissingKeysAndSharesThemWithSingleMisses() throws Exception {
+        cache.save("cached", "value");
+        AtomicReference<Set<String>> requested = new AtomicReference<>();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Map<String, String>> batch = CompletableFuture.supplyAsync(() ->
+                cache.getAllOrLoad(List.of("cached", "a", "b", "a"), keys -> {
+                    requested.set(keys);
+                    await(release);
+                    return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "loaded-" + key));
+                }));
+        while (requested.get() == null) {
+            Thread.onSpinWait();
+        }
+
+        AtomicInteger singleLoads = new AtomicInteger();
+        CompletableFuture<String> single = new CompletableFuture<>();
+        Thread waiter = Thread.ofPlatform().start(() -> single.complete(cache.getOrLoad("b", key -> {
+            singleLoads.incrementAndGet();
+            return "other";
+        })));
+        awaitBlocked(List.of(waiter));
+        release.countDown();
+
+        assertThat(requested.get()).containsExactly("a", "b");
+        assertThat(batch.get(5, TimeUnit.SECONDS)).containsExactly(
+                Map.entry("cached", "value"), Map.entry("a", "loaded-a"), Map.entry("b", "loaded-b"));
+        assertThat(single.get(5, TimeUnit.SECONDS)).isEqualTo("loaded-b");
+        assertThat(singleLoads).hasValue(0);
+        assertThat(cache.get("a")).isEqualTo("loaded-a");
+    }
+
+    @Test
+    void loadFailureReachesEveryWaiterAndIsNotCached() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        Function<String, String> loader = key -> {
+            await(release);
+            throw failure;
+        };
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            results.add(result);
+            callers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    result.complete(cache.getOrLoad("key", loader));
+                } catch (RuntimeException ex) {
+                    result.completeExceptionally(ex);
+                }
+            }));
+        }
+        awaitBlocked(callers);
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(cache.contains("key")).isFalse();
+        assertThat(cache.stats().loadFailureCount()).isEqualTo(1);
+        assertThat(cache.getOrLoad("key", key -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void removalDuringLoadKeepsValueOutOfCache() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> result = CompletableFuture.supplyAsync(() -> cache.getOrLoad("key", key -> {
+            started.countDown();
+            await(release);
+            return "stale";
+        }));
+        await(started);
+
+        cache.remove("key");
+        release.countDown();
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void removalRacingWithFillEvictsTheFilledValue() throws Exception {
+        CountDownLatch filling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(cache, cache::get, (key, value) -> {
+            filling.countDown();
+            await(release);
+            cache.save(key, value);
+        }, new StatsCounter());
+        CompletableFuture<String> load = CompletableFuture.supplyAsync(() -> singleFlight.getOrLoad("key", key -> "stale"));
+        await(filling);
+
+        // Invalidates and then removes, in the order the caches do
+        Thread remover = Thread.ofPlatform().start(() -> {
+            singleFlight.invalidate("key");
+            cache.remove("key");
+        });
+        awaitBlocked(List.of(remover));
+        release.countDown();
+        remover.join();
+
+        assertThat(load.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.get("key")).isNull();
+    }
+
+    @Test
+    void valueFoundOnRecheckIsReturnedWithoutBeingSavedAgain() {
+        // The re-check finds a value another load stored after the miss; saving it again would reset its TTL
+        List<String> filled = new CopyOnWriteArrayList<>();
+        AtomicInteger loads = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(cache, key -> "cached",
+                (key, value) -> filled.add(key), new StatsCounter());
+
+        String value = singleFlight.getOrLoad("key", key -> {
+            loads.incrementAndGet();
+            return "loaded";
+        });
+
+        assertThat(value).isEqualTo("cached");
+        assertThat(loads).hasValue(0);
+        assertThat(filled).isEmpty();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Waits until every thread is parked, which means it is running the blocked loader or waiting for
+     * the in-flight load or a lock.
+     */
+    private static void awaitBlocked(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (threads.stream().anyMatch(thread -> thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TIMED_WAITING)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Threads did not block: " + threads);
+            }
+            Thread.sleep(1);
+        }
+    }
+}
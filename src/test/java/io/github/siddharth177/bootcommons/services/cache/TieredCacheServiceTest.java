@@ -0,0 +1,202 @@
+package io.github.siddharth177.bootcommons.services.cache;
+
+import io.github.siddharth177.bootcommons.services.CacheService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs several {@link TieredCacheService} nodes side by side on a {@link LocalInvalidationBus}.
+ */
+class TieredCacheServiceTest {
+
+    private final LocalInvalidationBus bus = new LocalInvalidationBus();
+
+    @Test
+    void peerSaveEvictsNodeLocalTiers() {
+        TieredCacheService<String, String> a = node(heap(), false);
+        TieredCacheService<String, String> b = node(heap(), false);
+        a.save("key", "v1");
+        b.save("key", "v1");
+
+        a.save("key", "v2");
+
+        assertThat(b.getL1().get("key")).isNull();
+        assertThat(b.getL2().get("key")).isNull();
+        assertThat(b.get("key")).isNull();
+        assertThat(a.get("key")).isEqualTo("v2");
+    }
+
+    @Test
+    void peerRemoveAndClearEvictNodeLocalTiers() {
+        TieredCacheService<String, String> a = node(heap(), false);
+        TieredCacheService<String, String> b = node(heap(), false);
+        b.save("k1", "v1");
+        b.save("k2", "v2");
+
+        a.remove("k1");
+        assertThat(b.get("k1")).isNull();
+        assertThat(b.get("k2")).isEqualTo("v2");
+
+        a.clear();
+        assertThat(b.get("k2")).isNull();
+    }
+
+    @Test
+    void peerSaveOnlyEvictsNearCacheWhenL2IsShared() {
+        CacheService<String, String> shared = heap();
+        TieredCacheService<String, String> a = node(shared, true);
+        TieredCacheService<String, String> b = node(shared, true);
+        a.save("key", "v1");
+        assertThat(b.get("key")).isEqualTo("v1");
+
+        a.save("key", "v2");
+
+        assertThat(b.getL1().get("key")).isNull();
+        assertThat(b.get("key")).isEqualTo("v2");
+    }
+
+    @Test
+    void ownEventsDoNotEvictLocalCopy() {
+        TieredCacheService<String, String> a = node(heap(), false);
+        a.save("key", "v1");
+
+        assertThat(a.getL1().get("key")).isEqualTo("v1");
+        assertThat(a.getL2().get("key")).isEqualTo("v1");
+    }
+
+    @Test
+    void loadedValuesFillLocalTiersWithoutEvictingPeers() {
+        TieredCacheService<String, String> a = node(heap(), false);
+        TieredCacheService<String, String> b = node(heap(), false);
+        b.save("k1", "v1");
+        b.save("k2", "v2");
+
+        assertThat(a.getOrLoad("k1", key -> "loaded-" + key)).isEqualTo("loaded-k1");
+        assertThat(a.getAllOrLoad(List.of("k2", "k3"), keys -> keys.stream()
+                .collect(Collectors.toMap(Function.identity(), key -> "loaded-" + key))))
+                .containsOnly(Map.entry("k2", "loaded-k2"), Map.entry("k3", "loaded-k3"));
+
+        assertThat(a.getL1().get("k1")).isEqualTo("loaded-k1");
+        assertThat(a.getL2().get("k3")).isEqualTo("loaded-k3");
+        assertThat(b.get("k1")).isEqualTo("v1");
+        assertThat(b.get("k2")).isEqualTo("v2");
+    }
+
+    @Test
+    void invalidationDuringPromotionKeepsOldValueOutOfNearCache() throws Exception {
+        AtomicBoolean pause = new AtomicBoolean();
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheService<String, String> l2 = new BoundedCacheService<>(CacheSpec.<String, String>builder().maximumSize(100).build()) {
+            @Override
+            public String get(String key) {
+                String value = super.get(key);
+                if (pause.getAndSet(false)) {
+                    read.countDown();
+                    await(release);
+                }
+                return value;
+            }
+        };
+        TieredCacheService<String, String> a = node(l2, false);
+        TieredCacheService<String, String> b = node(heap(), false);
+        a.save("key", "v1");
+        a.getL1().remove("key");
+
+        // Reads v1 from L2 and stops before copying it into L1
+        pause.set(true);
+        CompletableFuture<String> reader = CompletableFuture.supplyAsync(() -> a.get("key"));
+        await(read);
+        b.remove("key");
+        release.countDown();
+
+        assertThat(reader.get(5, TimeUnit.SECONDS)).isEqualTo("v1");
+        assertThat(a.getL1().get("key")).isNull();
+        assertThat(a.get("key")).isNull();
+    }
+
+    @Test
+    void closedCacheNoLongerReceivesEvents() throws Exception {
+        TieredCacheService<String, String> a = node(heap(), false);
+        TieredCacheService<String, String> b = node(heap(), false);
+        b.save("key", "v1");
+
+        b.close();
+        a.save("key", "v2");
+
+        assertThat(b.getL1().get("key")).isEqualTo("v1");
+        assertThat(b.getL2().get("key")).isEqualTo("v1");
+    }
+
+    @Test
+    void unsupportedKeyTypeIsRejected() {
+        assertThatThrownBy(() -> TieredCacheService.of("test", List.class, heap(), heap(), bus, new SimpleKeySerializer<>()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("java.util.List");
+        assertThatThrownBy(() -> TieredCacheService.of("test", Object.class, heap(), heap(), bus, new SimpleKeySerializer<>()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void eventsOfOtherCachesAreIgnored() {
+        TieredCacheService<String, String> a = node(heap(), false);
+        TieredCacheService<String, String> other = TieredCacheService.of("other", String.class, heap(), heap(), bus,
+                new SimpleKeySerializer<>());
+        other.save("key", "mine");
+
+        a.save("key", "theirs");
+
+        assertThat(other.get("key")).isEqualTo("mine");
+    }
+
+    @Test
+    void statsCountLookupsOnceAndSumTierEvictions() {
+        CacheService<String, String> l1 = new BoundedCacheService<>(CacheSpec.<String, String>builder().maximumSize(1).build());
+        TieredCacheService<String, String> cache = TieredCacheService.of("test", String.class, l1, heap(), bus,
+                new SimpleKeySerializer<>());
+        cache.save("k1", "v1");
+        cache.save("k2", "v2");
+
+        cache.get("k2");
+        cache.get("k1");
+        cache.get("k3");
+        cache.getOrLoad("k4", key -> "v4");
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.loadSuccessCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(3);
+        assertThat(stats.size()).isEqualTo(3);
+    }
+
+    private TieredCacheService<String, String> node(CacheService<String, String> l2, boolean sharedL2) {
+        return TieredCacheService.of("test", String.class, heap(), l2, bus, new SimpleKeySerializer<>(), sharedL2);
+    }
+
+    private static <K, V> CacheService<K, V> heap() {
+        return new BoundedCacheService<>(CacheSpec.<K, V>builder().maximumSize(100).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import io.github.siddharth177.bootcommons.controller.AsyncGenericRestController;
+import io.github.siddharth177.bootcommons.services.AsyncBaseService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.Executor;
+
+@RestController
+@RequestMapping("/async/shelves")
+public class AsyncShelfController extends AsyncGenericRestController<Shelf, Long> {
+
+    public AsyncShelfController(ShelfService service, @Qualifier("bootCommonsExecutor") Executor executor) {
+        super(new AsyncBaseService<>(service, executor));
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.siddharth177.bootcommons.entities.Auditable;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@DynamicUpdate
+@Getter
+@Setter
+@NoArgsConstructor
+public class Book extends Auditable<String> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    private String title;
+
+    private String author;
+
+    @Embedded
+    private Publication publication;
+
+    @JsonIgnore
+    @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<Review> reviews = new ArrayList<>();
+
+    public Book(String title, String author) {
+        this.title = title;
+        this.author = author;
+    }
+}
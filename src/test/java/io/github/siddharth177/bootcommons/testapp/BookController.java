@@ -0,0 +1,14 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import io.github.siddharth177.bootcommons.controller.GenericRestController;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/books")
+public class BookController extends GenericRestController<Book, Long> {
+
+    public BookController(BookService service) {
+        super(service);
+    }
+}
@@ -0,0 +1,6 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BookRepository extends JpaRepository<Book, Long> {
+}
@@ -0,0 +1,12 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import io.github.siddharth177.bootcommons.services.BaseService;
+import org.springframework.stereotype.Service;
+
+@Service
+public class BookService extends BaseService<Book, Long> {
+
+    public BookService(BookRepository repository) {
+        super(repository);
+    }
+}
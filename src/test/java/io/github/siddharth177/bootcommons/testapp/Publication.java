@@ -0,0 +1,17 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import jakarta.persistence.Embeddable;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+public class Publication {
+
+    private String publisher;
+
+    private Integer publishedYear;
+}
@@ -0,0 +1,34 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An entity whose JSON includes a lazy collection, for endpoints that run without open-in-view.
+ */
+@Entity
+@Getter
+@Setter
+public class Shelf {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Version
+    private Long version;
+
+    private String name;
+
+    @ElementCollection
+    private List<String> labels = new ArrayList<>();
+}
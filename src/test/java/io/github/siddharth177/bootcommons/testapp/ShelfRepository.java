@@ -0,0 +1,6 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ShelfRepository extends JpaRepository<Shelf, Long> {
+}
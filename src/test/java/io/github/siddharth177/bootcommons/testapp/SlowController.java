@@ -0,0 +1,18 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * An endpoint that blocks like a slow query, for load tests.
+ */
+@RestController
+public class SlowController {
+
+    @GetMapping("/slow")
+    public boolean slow(@RequestParam long millis) throws InterruptedException {
+        Thread.sleep(millis);
+        return Thread.currentThread().isVirtual();
+    }
+}
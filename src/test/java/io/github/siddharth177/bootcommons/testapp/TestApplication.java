@@ -0,0 +1,29 @@
+package io.github.siddharth177.bootcommons.testapp;
+
+import io.github.siddharth177.bootcommons.exceptions.GlobalExceptionHandler;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+import java.util.Optional;
+
+/**
+ * A minimal application for tests that need JPA and Spring MVC, backed by an in-memory H2 database.
+ */
+@SpringBootApplication
+@EnableJpaAuditing
+@Import(GlobalExceptionHandler.class)
+public class TestApplication {
+
+    /**
+     * The name recorded as {@code createdBy} and {@code updatedBy}.
+     */
+    public static final String AUDITOR = "tester";
+
+    @Bean
+    AuditorAware<String> auditorAware() {
+        return () -> Optional.of(AUDITOR);
+    }
+}